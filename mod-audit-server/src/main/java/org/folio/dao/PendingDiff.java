@@ -0,0 +1,12 @@
+package org.folio.dao;
+
+import org.folio.util.DiffSnapshot;
+
+/**
+ * Audit record saved in deferred diff mode, without the diff and with the snapshot to calculate it from.
+ *
+ * @param entity   audit record
+ * @param snapshot old and new values of the update
+ * @param <E>      type of the audit record
+ */
+public record PendingDiff<E>(E entity, DiffSnapshot snapshot) { }
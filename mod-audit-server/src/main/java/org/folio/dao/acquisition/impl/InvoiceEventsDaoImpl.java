@@ -11,11 +11,14 @@ import static org.folio.util.AuditEventDBConstants.ORDER_BY_PATTERN;
 import static org.folio.util.AuditEventDBConstants.TOTAL_RECORDS_FIELD;
 import static org.folio.util.AuditEventDBConstants.USER_ID_FIELD;
 import static org.folio.util.DbUtils.formatDBTableName;
+import static org.folio.util.DbUtils.formatValuesPlaceholders;
+import static org.folio.util.DbUtils.mergeTuples;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import io.vertx.core.Future;
@@ -26,6 +29,8 @@ import io.vertx.sqlclient.Tuple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.dao.acquisition.InvoiceEventsDao;
+import org.folio.dao.batch.BatchWriter;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.rest.jaxrs.model.InvoiceAuditEvent;
 import org.folio.rest.jaxrs.model.InvoiceAuditEventCollection;
 import org.folio.util.PostgresClientFactory;
@@ -42,20 +47,23 @@ public class InvoiceEventsDaoImpl implements InvoiceEventsDao {
     " (SELECT count(*) AS total_records FROM %s WHERE invoice_id = $1) FROM %s WHERE invoice_id = $1 %s LIMIT $2 OFFSET $3";
 
   public static final String INSERT_SQL = "INSERT INTO %s (id, action, invoice_id, user_id, event_date, action_date, modified_content_snapshot)" +
-    " VALUES ($1, $2, $3, $4, $5, $6, $7)";
+    " VALUES ($1, $2, $3, $4, $5, $6, $7) ON CONFLICT DO NOTHING";
+
+  private static final String BATCH_INSERT_SQL = "INSERT INTO %s (id, action, invoice_id, user_id, event_date, action_date, modified_content_snapshot) VALUES %s ON CONFLICT DO NOTHING";
+  private static final int INSERT_COLUMNS_COUNT = 7;
 
   private final PostgresClientFactory pgClientFactory;
+  private final BatchWriter<InvoiceAuditEvent> batchWriter;
 
-  public InvoiceEventsDaoImpl(PostgresClientFactory pgClientFactory) {
+  public InvoiceEventsDaoImpl(PostgresClientFactory pgClientFactory, BatchWriterFactory batchWriterFactory) {
     this.pgClientFactory = pgClientFactory;
+    this.batchWriter = batchWriterFactory.create(TABLE_NAME, INSERT_COLUMNS_COUNT, this::insertAll, this::insert);
   }
 
   @Override
   public Future<RowSet<Row>> save(InvoiceAuditEvent event, String tenantId) {
     LOGGER.debug("save:: Saving Invoice AuditEvent with invoice id: {}", event.getInvoiceId());
-    String logTable = formatDBTableName(tenantId, TABLE_NAME);
-    String query = format(INSERT_SQL, logTable);
-    return makeSaveCall(query, event, tenantId)
+    return batchWriter.write(tenantId, event)
       .onSuccess(rows -> LOGGER.info("save:: Saved Invoice AuditEvent with invoice id : {}", event.getInvoiceId()))
       .onFailure(e -> LOGGER.error("Failed to save record with id: {} for invoice id: {} in to table {}",
         event.getId(), event.getInvoiceId(), TABLE_NAME, e));
@@ -70,21 +78,42 @@ public class InvoiceEventsDaoImpl implements InvoiceEventsDao {
       .map(this::mapRowToListOfInvoiceEvent);
   }
 
+  private Future<RowSet<Row>> insert(String tenantId, InvoiceAuditEvent event) {
+    String logTable = formatDBTableName(tenantId, TABLE_NAME);
+    String query = format(INSERT_SQL, logTable);
+    return makeSaveCall(query, event, tenantId);
+  }
+
+  private Future<RowSet<Row>> insertAll(String tenantId, List<InvoiceAuditEvent> events) {
+    LOGGER.debug("insertAll:: Making batch save call for tenant id : {}", tenantId);
+    try {
+      String logTable = formatDBTableName(tenantId, TABLE_NAME);
+      String query = format(BATCH_INSERT_SQL, logTable, formatValuesPlaceholders(INSERT_COLUMNS_COUNT, events.size()));
+      return pgClientFactory.createInstance(tenantId).execute(query, mergeTuples(events.stream().map(this::toTuple).toList()));
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
   private Future<RowSet<Row>> makeSaveCall(String query, InvoiceAuditEvent invoiceAuditEvent, String tenantId) {
     LOGGER.debug("makeSaveCall:: Making save call for tenant id : {}", tenantId);
     try {
-      return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(invoiceAuditEvent.getId(),
-        invoiceAuditEvent.getAction(),
-        invoiceAuditEvent.getInvoiceId(),
-        invoiceAuditEvent.getUserId(),
-        LocalDateTime.ofInstant(invoiceAuditEvent.getEventDate().toInstant(), ZoneId.systemDefault()),
-        LocalDateTime.ofInstant(invoiceAuditEvent.getActionDate().toInstant(), ZoneId.systemDefault()),
-        JsonObject.mapFrom(invoiceAuditEvent.getInvoiceSnapshot())));
+      return pgClientFactory.createInstance(tenantId).execute(query, toTuple(invoiceAuditEvent));
     } catch (Exception e) {
       return Future.failedFuture(e);
     }
   }
 
+  private Tuple toTuple(InvoiceAuditEvent invoiceAuditEvent) {
+    return Tuple.of(invoiceAuditEvent.getId(),
+      invoiceAuditEvent.getAction(),
+      invoiceAuditEvent.getInvoiceId(),
+      invoiceAuditEvent.getUserId(),
+      LocalDateTime.ofInstant(invoiceAuditEvent.getEventDate().toInstant(), ZoneId.systemDefault()),
+      LocalDateTime.ofInstant(invoiceAuditEvent.getActionDate().toInstant(), ZoneId.systemDefault()),
+      JsonObject.mapFrom(invoiceAuditEvent.getInvoiceSnapshot()));
+  }
+
   private InvoiceAuditEventCollection mapRowToListOfInvoiceEvent(RowSet<Row> rowSet) {
     LOGGER.debug("mapRowToListOfInvoiceEvent:: Mapping row to List of Invoice Events");
     if (rowSet.rowCount() == 0) {
@@ -12,11 +12,14 @@ import static org.folio.util.AuditEventDBConstants.ORDER_BY_PATTERN;
 import static org.folio.util.AuditEventDBConstants.TOTAL_RECORDS_FIELD;
 import static org.folio.util.AuditEventDBConstants.USER_ID_FIELD;
 import static org.folio.util.DbUtils.formatDBTableName;
+import static org.folio.util.DbUtils.formatValuesPlaceholders;
+import static org.folio.util.DbUtils.mergeTuples;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import io.vertx.core.Future;
@@ -27,6 +30,8 @@ import io.vertx.sqlclient.Tuple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.dao.acquisition.InvoiceLineEventsDao;
+import org.folio.dao.batch.BatchWriter;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.rest.jaxrs.model.InvoiceLineAuditEvent;
 import org.folio.rest.jaxrs.model.InvoiceLineAuditEventCollection;
 import org.folio.util.PostgresClientFactory;
@@ -44,20 +49,23 @@ public class InvoiceLineEventsDaoImpl implements InvoiceLineEventsDao {
     " FROM %s WHERE invoice_line_id = $1 %s LIMIT $2 OFFSET $3";
 
   private static final String INSERT_SQL = "INSERT INTO %s (id, action, invoice_id, invoice_line_id, user_id, event_date, action_date, modified_content_snapshot) " +
-    "VALUES ($1, $2, $3, $4, $5, $6, $7, $8)";
+    "VALUES ($1, $2, $3, $4, $5, $6, $7, $8) ON CONFLICT DO NOTHING";
+
+  private static final String BATCH_INSERT_SQL = "INSERT INTO %s (id, action, invoice_id, invoice_line_id, user_id, event_date, action_date, modified_content_snapshot) VALUES %s ON CONFLICT DO NOTHING";
+  private static final int INSERT_COLUMNS_COUNT = 8;
 
   private final PostgresClientFactory pgClientFactory;
+  private final BatchWriter<InvoiceLineAuditEvent> batchWriter;
 
-  public InvoiceLineEventsDaoImpl(PostgresClientFactory pgClientFactory) {
+  public InvoiceLineEventsDaoImpl(PostgresClientFactory pgClientFactory, BatchWriterFactory batchWriterFactory) {
     this.pgClientFactory = pgClientFactory;
+    this.batchWriter = batchWriterFactory.create(TABLE_NAME, INSERT_COLUMNS_COUNT, this::insertAll, this::insert);
   }
 
   @Override
   public Future<RowSet<Row>> save(InvoiceLineAuditEvent event, String tenantId) {
     LOGGER.debug("save:: Saving InvoiceLine AuditEvent with invoice line id: {}", event.getInvoiceLineId());
-    String logTable = formatDBTableName(tenantId, TABLE_NAME);
-    String query = format(INSERT_SQL, logTable);
-    return makeSaveCall(query, event, tenantId)
+    return batchWriter.write(tenantId, event)
       .onSuccess(rows -> LOGGER.info("save:: Saved InvoiceLine AuditEvent with invoice line id : {}", event.getInvoiceLineId()))
       .onFailure(e -> LOGGER.error("Failed to save record with id: {} for invoice line id: {} in to table {}",
         event.getId(), event.getInvoiceLineId(), TABLE_NAME, e));
@@ -72,22 +80,43 @@ public class InvoiceLineEventsDaoImpl implements InvoiceLineEventsDao {
       .map(this::mapRowToListOfInvoiceLineEvent);
   }
 
+  private Future<RowSet<Row>> insert(String tenantId, InvoiceLineAuditEvent event) {
+    String logTable = formatDBTableName(tenantId, TABLE_NAME);
+    String query = format(INSERT_SQL, logTable);
+    return makeSaveCall(query, event, tenantId);
+  }
+
+  private Future<RowSet<Row>> insertAll(String tenantId, List<InvoiceLineAuditEvent> events) {
+    LOGGER.debug("insertAll:: Making batch save call for tenant id : {}", tenantId);
+    try {
+      String logTable = formatDBTableName(tenantId, TABLE_NAME);
+      String query = format(BATCH_INSERT_SQL, logTable, formatValuesPlaceholders(INSERT_COLUMNS_COUNT, events.size()));
+      return pgClientFactory.createInstance(tenantId).execute(query, mergeTuples(events.stream().map(this::toTuple).toList()));
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
   private Future<RowSet<Row>> makeSaveCall(String query, InvoiceLineAuditEvent invoiceLineAuditEvent, String tenantId) {
     LOGGER.debug("makeSaveCall:: Making save call for tenant id : {}", tenantId);
     try {
-      return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(invoiceLineAuditEvent.getId(),
-        invoiceLineAuditEvent.getAction(),
-        invoiceLineAuditEvent.getInvoiceId(),
-        invoiceLineAuditEvent.getInvoiceLineId(),
-        invoiceLineAuditEvent.getUserId(),
-        LocalDateTime.ofInstant(invoiceLineAuditEvent.getEventDate().toInstant(), ZoneId.systemDefault()),
-        LocalDateTime.ofInstant(invoiceLineAuditEvent.getActionDate().toInstant(), ZoneId.systemDefault()),
-        JsonObject.mapFrom(invoiceLineAuditEvent.getInvoiceLineSnapshot())));
+      return pgClientFactory.createInstance(tenantId).execute(query, toTuple(invoiceLineAuditEvent));
     } catch (Exception e) {
       return Future.failedFuture(e);
     }
   }
 
+  private Tuple toTuple(InvoiceLineAuditEvent invoiceLineAuditEvent) {
+    return Tuple.of(invoiceLineAuditEvent.getId(),
+      invoiceLineAuditEvent.getAction(),
+      invoiceLineAuditEvent.getInvoiceId(),
+      invoiceLineAuditEvent.getInvoiceLineId(),
+      invoiceLineAuditEvent.getUserId(),
+      LocalDateTime.ofInstant(invoiceLineAuditEvent.getEventDate().toInstant(), ZoneId.systemDefault()),
+      LocalDateTime.ofInstant(invoiceLineAuditEvent.getActionDate().toInstant(), ZoneId.systemDefault()),
+      JsonObject.mapFrom(invoiceLineAuditEvent.getInvoiceLineSnapshot()));
+  }
+
   private InvoiceLineAuditEventCollection mapRowToListOfInvoiceLineEvent(RowSet<Row> rowSet) {
     LOGGER.debug("mapRowToListOfInvoiceLineEvent:: Mapping row to List of Invoice Line Events");
     if (rowSet.rowCount() == 0) {
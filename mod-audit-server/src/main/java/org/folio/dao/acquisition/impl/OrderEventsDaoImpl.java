@@ -11,11 +11,14 @@ import static org.folio.util.AuditEventDBConstants.ORDER_ID_FIELD;
 import static org.folio.util.AuditEventDBConstants.TOTAL_RECORDS_FIELD;
 import static org.folio.util.AuditEventDBConstants.USER_ID_FIELD;
 import static org.folio.util.DbUtils.formatDBTableName;
+import static org.folio.util.DbUtils.formatValuesPlaceholders;
+import static org.folio.util.DbUtils.mergeTuples;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import io.vertx.core.Future;
@@ -27,6 +30,8 @@ import io.vertx.sqlclient.Tuple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.dao.acquisition.OrderEventsDao;
+import org.folio.dao.batch.BatchWriter;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.rest.jaxrs.model.OrderAuditEvent;
 import org.folio.rest.jaxrs.model.OrderAuditEventCollection;
 import org.folio.util.PostgresClientFactory;
@@ -43,21 +48,24 @@ public class OrderEventsDaoImpl implements OrderEventsDao {
     " (SELECT count(*) AS total_records FROM %s WHERE order_id = $1) FROM %s WHERE order_id = $1 %s LIMIT $2 OFFSET $3";
 
   public static final String INSERT_SQL = "INSERT INTO %s (id, action, order_id, user_id, event_date, action_date, modified_content_snapshot)" +
-    " VALUES ($1, $2, $3, $4, $5, $6, $7)";
+    " VALUES ($1, $2, $3, $4, $5, $6, $7) ON CONFLICT DO NOTHING";
+
+  private static final String BATCH_INSERT_SQL = "INSERT INTO %s (id, action, order_id, user_id, event_date, action_date, modified_content_snapshot) VALUES %s ON CONFLICT DO NOTHING";
+  private static final int INSERT_COLUMNS_COUNT = 7;
 
   private final PostgresClientFactory pgClientFactory;
+  private final BatchWriter<OrderAuditEvent> batchWriter;
 
-  public OrderEventsDaoImpl(PostgresClientFactory pgClientFactory) {
+  public OrderEventsDaoImpl(PostgresClientFactory pgClientFactory, BatchWriterFactory batchWriterFactory) {
     this.pgClientFactory = pgClientFactory;
+    this.batchWriter = batchWriterFactory.create(TABLE_NAME, INSERT_COLUMNS_COUNT, this::insertAll, this::insert);
   }
 
   @Override
   public Future<RowSet<Row>> save(OrderAuditEvent event, String tenantId) {
     LOGGER.debug("save:: Saving Order AuditEvent with order id: {}", event.getOrderId());
-    String logTable = formatDBTableName(tenantId, TABLE_NAME);
-    String query = format(INSERT_SQL, logTable);
     LOGGER.info("save:: Saved Order AuditEvent with order id : {}", event.getOrderId());
-    return makeSaveCall(query, event, tenantId);
+    return batchWriter.write(tenantId, event);
   }
 
   @Override
@@ -78,17 +86,28 @@ public class OrderEventsDaoImpl implements OrderEventsDao {
     return promise.future().map(this::mapRowToListOfOrderEvent);
   }
 
+  private Future<RowSet<Row>> insert(String tenantId, OrderAuditEvent event) {
+    String logTable = formatDBTableName(tenantId, TABLE_NAME);
+    String query = format(INSERT_SQL, logTable);
+    return makeSaveCall(query, event, tenantId);
+  }
+
+  private Future<RowSet<Row>> insertAll(String tenantId, List<OrderAuditEvent> events) {
+    LOGGER.debug("insertAll:: Making batch save call for tenant id : {}", tenantId);
+    try {
+      String logTable = formatDBTableName(tenantId, TABLE_NAME);
+      String query = format(BATCH_INSERT_SQL, logTable, formatValuesPlaceholders(INSERT_COLUMNS_COUNT, events.size()));
+      return pgClientFactory.createInstance(tenantId).execute(query, mergeTuples(events.stream().map(this::toTuple).toList()));
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
   private Future<RowSet<Row>> makeSaveCall(String query, OrderAuditEvent orderAuditEvent, String tenantId) {
     LOGGER.debug("makeSaveCall:: Making save call for tenant id : {}", tenantId);
     LOGGER.info("makeSaveCall:: Trying to make save call for tenant id : {}", tenantId);
     try {
-      var params = Tuple.of(orderAuditEvent.getId(),
-        orderAuditEvent.getAction(),
-        orderAuditEvent.getOrderId(),
-        orderAuditEvent.getUserId(),
-        LocalDateTime.ofInstant(orderAuditEvent.getEventDate().toInstant(), ZoneId.systemDefault()),
-        LocalDateTime.ofInstant(orderAuditEvent.getActionDate().toInstant(), ZoneId.systemDefault()),
-        JsonObject.mapFrom(orderAuditEvent.getOrderSnapshot()));
+      var params = toTuple(orderAuditEvent);
       return pgClientFactory.createInstance(tenantId).execute(query, params)
         .onFailure(e -> LOGGER.error("Failed to save record with id: {} for order id: {} in to table {}",
           orderAuditEvent.getId(), orderAuditEvent.getOrderId(), TABLE_NAME, e));
@@ -99,6 +118,16 @@ public class OrderEventsDaoImpl implements OrderEventsDao {
     }
   }
 
+  private Tuple toTuple(OrderAuditEvent orderAuditEvent) {
+    return Tuple.of(orderAuditEvent.getId(),
+      orderAuditEvent.getAction(),
+      orderAuditEvent.getOrderId(),
+      orderAuditEvent.getUserId(),
+      LocalDateTime.ofInstant(orderAuditEvent.getEventDate().toInstant(), ZoneId.systemDefault()),
+      LocalDateTime.ofInstant(orderAuditEvent.getActionDate().toInstant(), ZoneId.systemDefault()),
+      JsonObject.mapFrom(orderAuditEvent.getOrderSnapshot()));
+  }
+
   private OrderAuditEventCollection mapRowToListOfOrderEvent(RowSet<Row> rowSet) {
     LOGGER.debug("mapRowToListOfOrderEvent:: Mapping row to List of Order Events");
     if (rowSet.rowCount() == 0) {
@@ -12,11 +12,14 @@ import static org.folio.util.AuditEventDBConstants.ORDER_LINE_ID_FIELD;
 import static org.folio.util.AuditEventDBConstants.TOTAL_RECORDS_FIELD;
 import static org.folio.util.AuditEventDBConstants.USER_ID_FIELD;
 import static org.folio.util.DbUtils.formatDBTableName;
+import static org.folio.util.DbUtils.formatValuesPlaceholders;
+import static org.folio.util.DbUtils.mergeTuples;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import io.vertx.core.Future;
@@ -28,6 +31,8 @@ import io.vertx.sqlclient.Tuple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.dao.acquisition.OrderLineEventsDao;
+import org.folio.dao.batch.BatchWriter;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.rest.jaxrs.model.OrderLineAuditEvent;
 import org.folio.rest.jaxrs.model.OrderLineAuditEventCollection;
 import org.folio.util.PostgresClientFactory;
@@ -45,21 +50,24 @@ public class OrderLineEventsDaoImpl implements OrderLineEventsDao {
     " FROM %s WHERE order_line_id = $1 %s LIMIT $2 OFFSET $3";
 
   private static final String INSERT_SQL = "INSERT INTO %s (id, action, order_id, order_line_id, user_id, event_date, action_date, modified_content_snapshot) " +
-    "VALUES ($1, $2, $3, $4, $5, $6, $7, $8)";
+    "VALUES ($1, $2, $3, $4, $5, $6, $7, $8) ON CONFLICT DO NOTHING";
+
+  private static final String BATCH_INSERT_SQL = "INSERT INTO %s (id, action, order_id, order_line_id, user_id, event_date, action_date, modified_content_snapshot) VALUES %s ON CONFLICT DO NOTHING";
+  private static final int INSERT_COLUMNS_COUNT = 8;
 
   private final PostgresClientFactory pgClientFactory;
+  private final BatchWriter<OrderLineAuditEvent> batchWriter;
 
-  public OrderLineEventsDaoImpl(PostgresClientFactory pgClientFactory) {
+  public OrderLineEventsDaoImpl(PostgresClientFactory pgClientFactory, BatchWriterFactory batchWriterFactory) {
     this.pgClientFactory = pgClientFactory;
+    this.batchWriter = batchWriterFactory.create(TABLE_NAME, INSERT_COLUMNS_COUNT, this::insertAll, this::insert);
   }
 
   @Override
   public Future<RowSet<Row>> save(OrderLineAuditEvent event, String tenantId) {
     LOGGER.debug("save:: Saving OrderLine AuditEvent with order line id : {}", event.getOrderLineId());
-    String logTable = formatDBTableName(tenantId, TABLE_NAME);
-    String query = format(INSERT_SQL, logTable);
     LOGGER.info("save:: Saved OrderLine AuditEvent with order line id : {}", event.getOrderLineId());
-    return makeSaveCall(query, event, tenantId);
+    return batchWriter.write(tenantId, event);
   }
 
   @Override
@@ -81,17 +89,27 @@ public class OrderLineEventsDaoImpl implements OrderLineEventsDao {
     return promise.future().map(this::mapRowToListOfOrderLineEvent);
   }
 
+  private Future<RowSet<Row>> insert(String tenantId, OrderLineAuditEvent event) {
+    String logTable = formatDBTableName(tenantId, TABLE_NAME);
+    String query = format(INSERT_SQL, logTable);
+    return makeSaveCall(query, event, tenantId);
+  }
+
+  private Future<RowSet<Row>> insertAll(String tenantId, List<OrderLineAuditEvent> events) {
+    LOGGER.debug("insertAll:: Making batch save call for tenant id : {}", tenantId);
+    try {
+      String logTable = formatDBTableName(tenantId, TABLE_NAME);
+      String query = format(BATCH_INSERT_SQL, logTable, formatValuesPlaceholders(INSERT_COLUMNS_COUNT, events.size()));
+      return pgClientFactory.createInstance(tenantId).execute(query, mergeTuples(events.stream().map(this::toTuple).toList()));
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
   private Future<RowSet<Row>> makeSaveCall(String query, OrderLineAuditEvent orderLineAuditEvent, String tenantId) {
     LOGGER.debug("makeSaveCall:: Making save call for tenant id : {}", tenantId);
     try {
-      var params = Tuple.of(orderLineAuditEvent.getId(),
-        orderLineAuditEvent.getAction(),
-        orderLineAuditEvent.getOrderId(),
-        orderLineAuditEvent.getOrderLineId(),
-        orderLineAuditEvent.getUserId(),
-        LocalDateTime.ofInstant(orderLineAuditEvent.getEventDate().toInstant(), ZoneId.systemDefault()),
-        LocalDateTime.ofInstant(orderLineAuditEvent.getActionDate().toInstant(), ZoneId.systemDefault()),
-        JsonObject.mapFrom(orderLineAuditEvent.getOrderLineSnapshot()));
+      var params = toTuple(orderLineAuditEvent);
       return pgClientFactory.createInstance(tenantId).execute(query, params)
         .onFailure(e -> LOGGER.error("Failed to save record with id: {} for order line id: {} in to table {}",
           orderLineAuditEvent.getId(), orderLineAuditEvent.getOrderLineId(), TABLE_NAME, e));
@@ -102,6 +120,17 @@ public class OrderLineEventsDaoImpl implements OrderLineEventsDao {
     }
   }
 
+  private Tuple toTuple(OrderLineAuditEvent orderLineAuditEvent) {
+    return Tuple.of(orderLineAuditEvent.getId(),
+      orderLineAuditEvent.getAction(),
+      orderLineAuditEvent.getOrderId(),
+      orderLineAuditEvent.getOrderLineId(),
+      orderLineAuditEvent.getUserId(),
+      LocalDateTime.ofInstant(orderLineAuditEvent.getEventDate().toInstant(), ZoneId.systemDefault()),
+      LocalDateTime.ofInstant(orderLineAuditEvent.getActionDate().toInstant(), ZoneId.systemDefault()),
+      JsonObject.mapFrom(orderLineAuditEvent.getOrderLineSnapshot()));
+  }
+
   private OrderLineAuditEventCollection mapRowToListOfOrderLineEvent(RowSet<Row> rowSet) {
     LOGGER.debug("mapRowToListOfOrderLineEvent:: Mapping row to List of Order Line Events");
     if (rowSet.rowCount() == 0) {
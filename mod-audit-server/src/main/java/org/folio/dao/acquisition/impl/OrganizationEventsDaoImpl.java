@@ -8,6 +8,8 @@ import io.vertx.sqlclient.Tuple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.dao.acquisition.OrganizationEventsDao;
+import org.folio.dao.batch.BatchWriter;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.rest.jaxrs.model.OrganizationAuditEvent;
 import org.folio.rest.jaxrs.model.OrganizationAuditEventCollection;
 import org.folio.util.PostgresClientFactory;
@@ -17,6 +19,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import static java.lang.String.format;
@@ -30,6 +33,8 @@ import static org.folio.util.AuditEventDBConstants.ORGANIZATION_ID_FIELD;
 import static org.folio.util.AuditEventDBConstants.TOTAL_RECORDS_FIELD;
 import static org.folio.util.AuditEventDBConstants.USER_ID_FIELD;
 import static org.folio.util.DbUtils.formatDBTableName;
+import static org.folio.util.DbUtils.formatValuesPlaceholders;
+import static org.folio.util.DbUtils.mergeTuples;
 
 @Repository
 public class OrganizationEventsDaoImpl implements OrganizationEventsDao {
@@ -42,20 +47,23 @@ public class OrganizationEventsDaoImpl implements OrganizationEventsDao {
     " (SELECT count(*) AS total_records FROM %s WHERE organization_id = $1) FROM %s WHERE organization_id = $1 %s LIMIT $2 OFFSET $3";
 
   public static final String INSERT_SQL = "INSERT INTO %s (id, action, organization_id, user_id, event_date, action_date, modified_content_snapshot)" +
-    " VALUES ($1, $2, $3, $4, $5, $6, $7)";
+    " VALUES ($1, $2, $3, $4, $5, $6, $7) ON CONFLICT DO NOTHING";
+
+  private static final String BATCH_INSERT_SQL = "INSERT INTO %s (id, action, organization_id, user_id, event_date, action_date, modified_content_snapshot) VALUES %s ON CONFLICT DO NOTHING";
+  private static final int INSERT_COLUMNS_COUNT = 7;
 
   private final PostgresClientFactory pgClientFactory;
+  private final BatchWriter<OrganizationAuditEvent> batchWriter;
 
-  public OrganizationEventsDaoImpl(PostgresClientFactory pgClientFactory) {
+  public OrganizationEventsDaoImpl(PostgresClientFactory pgClientFactory, BatchWriterFactory batchWriterFactory) {
     this.pgClientFactory = pgClientFactory;
+    this.batchWriter = batchWriterFactory.create(TABLE_NAME, INSERT_COLUMNS_COUNT, this::insertAll, this::insert);
   }
 
   @Override
   public Future<RowSet<Row>> save(OrganizationAuditEvent event, String tenantId) {
     LOGGER.debug("save:: Saving Organization AuditEvent with organization id : {}", event.getOrganizationId());
-    String logTable = formatDBTableName(tenantId, TABLE_NAME);
-    String query = format(INSERT_SQL, logTable);
-    return makeSaveCall(query, event, tenantId)
+    return batchWriter.write(tenantId, event)
       .onSuccess(rows -> LOGGER.info("save:: Saved Organization AuditEvent with organization id: {}", event.getOrganizationId()))
       .onFailure(e -> LOGGER.error("Failed to save record with id: {} for organization id: {} in to table {}",
         event.getId(), event.getOrganizationId(), TABLE_NAME, e));
@@ -70,21 +78,42 @@ public class OrganizationEventsDaoImpl implements OrganizationEventsDao {
       .map(this::mapRowToListOfOrganizationEvent);
   }
 
+  private Future<RowSet<Row>> insert(String tenantId, OrganizationAuditEvent event) {
+    String logTable = formatDBTableName(tenantId, TABLE_NAME);
+    String query = format(INSERT_SQL, logTable);
+    return makeSaveCall(query, event, tenantId);
+  }
+
+  private Future<RowSet<Row>> insertAll(String tenantId, List<OrganizationAuditEvent> events) {
+    LOGGER.debug("insertAll:: Making batch save call for tenant id : {}", tenantId);
+    try {
+      String logTable = formatDBTableName(tenantId, TABLE_NAME);
+      String query = format(BATCH_INSERT_SQL, logTable, formatValuesPlaceholders(INSERT_COLUMNS_COUNT, events.size()));
+      return pgClientFactory.createInstance(tenantId).execute(query, mergeTuples(events.stream().map(this::toTuple).toList()));
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
   private Future<RowSet<Row>> makeSaveCall(String query, OrganizationAuditEvent organizationAuditEvent, String tenantId) {
     LOGGER.debug("makeSaveCall:: Making save call for tenant id : {}", tenantId);
     try {
-      return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(organizationAuditEvent.getId(),
-        organizationAuditEvent.getAction(),
-        organizationAuditEvent.getOrganizationId(),
-        organizationAuditEvent.getUserId(),
-        LocalDateTime.ofInstant(organizationAuditEvent.getEventDate().toInstant(), ZoneId.systemDefault()),
-        LocalDateTime.ofInstant(organizationAuditEvent.getActionDate().toInstant(), ZoneId.systemDefault()),
-        JsonObject.mapFrom(organizationAuditEvent.getOrganizationSnapshot())));
+      return pgClientFactory.createInstance(tenantId).execute(query, toTuple(organizationAuditEvent));
     } catch (Exception e) {
       return Future.failedFuture(e);
     }
   }
 
+  private Tuple toTuple(OrganizationAuditEvent organizationAuditEvent) {
+    return Tuple.of(organizationAuditEvent.getId(),
+      organizationAuditEvent.getAction(),
+      organizationAuditEvent.getOrganizationId(),
+      organizationAuditEvent.getUserId(),
+      LocalDateTime.ofInstant(organizationAuditEvent.getEventDate().toInstant(), ZoneId.systemDefault()),
+      LocalDateTime.ofInstant(organizationAuditEvent.getActionDate().toInstant(), ZoneId.systemDefault()),
+      JsonObject.mapFrom(organizationAuditEvent.getOrganizationSnapshot()));
+  }
+
   private OrganizationAuditEventCollection mapRowToListOfOrganizationEvent(RowSet<Row> rowSet) {
     LOGGER.debug("mapRowToListOfOrganizationEvent:: Mapping row to List of Organization Events");
     if (rowSet.rowCount() == 0) {
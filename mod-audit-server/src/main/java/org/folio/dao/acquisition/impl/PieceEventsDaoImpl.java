@@ -11,11 +11,14 @@ import static org.folio.util.AuditEventDBConstants.PIECE_ID_FIELD;
 import static org.folio.util.AuditEventDBConstants.TOTAL_RECORDS_FIELD;
 import static org.folio.util.AuditEventDBConstants.USER_ID_FIELD;
 import static org.folio.util.DbUtils.formatDBTableName;
+import static org.folio.util.DbUtils.formatValuesPlaceholders;
+import static org.folio.util.DbUtils.mergeTuples;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import io.vertx.core.Future;
@@ -27,6 +30,8 @@ import io.vertx.sqlclient.Tuple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.dao.acquisition.PieceEventsDao;
+import org.folio.dao.batch.BatchWriter;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.rest.jaxrs.model.PieceAuditEvent;
 import org.folio.rest.jaxrs.model.PieceAuditEventCollection;
 import org.folio.util.PostgresClientFactory;
@@ -57,21 +62,24 @@ public class PieceEventsDaoImpl implements PieceEventsDao {
     """;
 
   private static final String INSERT_SQL = "INSERT INTO %s (id, action, piece_id, user_id, event_date, action_date, modified_content_snapshot)" +
-    " VALUES ($1, $2, $3, $4, $5, $6, $7)";
+    " VALUES ($1, $2, $3, $4, $5, $6, $7) ON CONFLICT DO NOTHING";
+
+  private static final String BATCH_INSERT_SQL = "INSERT INTO %s (id, action, piece_id, user_id, event_date, action_date, modified_content_snapshot) VALUES %s ON CONFLICT DO NOTHING";
+  private static final int INSERT_COLUMNS_COUNT = 7;
 
   private final PostgresClientFactory pgClientFactory;
+  private final BatchWriter<PieceAuditEvent> batchWriter;
 
-  public PieceEventsDaoImpl(PostgresClientFactory pgClientFactory) {
+  public PieceEventsDaoImpl(PostgresClientFactory pgClientFactory, BatchWriterFactory batchWriterFactory) {
     this.pgClientFactory = pgClientFactory;
+    this.batchWriter = batchWriterFactory.create(TABLE_NAME, INSERT_COLUMNS_COUNT, this::insertAll, this::insert);
   }
 
   @Override
   public Future<RowSet<Row>> save(PieceAuditEvent event, String tenantId) {
     LOGGER.debug("save:: Trying to save Piece AuditEvent with piece id : {}", event.getPieceId());
-    String logTable = formatDBTableName(tenantId, TABLE_NAME);
-    String query = format(INSERT_SQL, logTable);
     LOGGER.info("save:: Saved Piece AuditEvent for pieceId={} in tenant id={}", event.getPieceId(), tenantId);
-    return makeSaveCall(query, event, tenantId);
+    return batchWriter.write(tenantId, event);
   }
 
   @Override
@@ -130,16 +138,27 @@ public class PieceEventsDaoImpl implements PieceEventsDao {
       .withPieceSnapshot(JsonObject.mapFrom(row.getValue(MODIFIED_CONTENT_FIELD)));
   }
 
+  private Future<RowSet<Row>> insert(String tenantId, PieceAuditEvent event) {
+    String logTable = formatDBTableName(tenantId, TABLE_NAME);
+    String query = format(INSERT_SQL, logTable);
+    return makeSaveCall(query, event, tenantId);
+  }
+
+  private Future<RowSet<Row>> insertAll(String tenantId, List<PieceAuditEvent> events) {
+    LOGGER.debug("insertAll:: Making batch save call for tenant id : {}", tenantId);
+    try {
+      String logTable = formatDBTableName(tenantId, TABLE_NAME);
+      String query = format(BATCH_INSERT_SQL, logTable, formatValuesPlaceholders(INSERT_COLUMNS_COUNT, events.size()));
+      return pgClientFactory.createInstance(tenantId).execute(query, mergeTuples(events.stream().map(this::toTuple).toList()));
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
   private Future<RowSet<Row>> makeSaveCall(String query, PieceAuditEvent pieceAuditEvent, String tenantId) {
     LOGGER.debug("makeSaveCall:: Making save call for tenant id : {}", tenantId);
     try {
-      var params = Tuple.of(pieceAuditEvent.getId(),
-        pieceAuditEvent.getAction(),
-        pieceAuditEvent.getPieceId(),
-        pieceAuditEvent.getUserId(),
-        LocalDateTime.ofInstant(pieceAuditEvent.getEventDate().toInstant(), ZoneId.systemDefault()),
-        LocalDateTime.ofInstant(pieceAuditEvent.getActionDate().toInstant(), ZoneId.systemDefault()),
-        JsonObject.mapFrom(pieceAuditEvent.getPieceSnapshot()));
+      var params = toTuple(pieceAuditEvent);
       return pgClientFactory.createInstance(tenantId).execute(query, params)
         .onFailure(e -> LOGGER.error("Failed to save record with id: {} for order id: {} in to table {}",
           pieceAuditEvent.getId(), pieceAuditEvent.getPieceId(), TABLE_NAME, e));
@@ -149,4 +168,14 @@ public class PieceEventsDaoImpl implements PieceEventsDao {
       return Future.failedFuture(e);
     }
   }
+
+  private Tuple toTuple(PieceAuditEvent pieceAuditEvent) {
+    return Tuple.of(pieceAuditEvent.getId(),
+      pieceAuditEvent.getAction(),
+      pieceAuditEvent.getPieceId(),
+      pieceAuditEvent.getUserId(),
+      LocalDateTime.ofInstant(pieceAuditEvent.getEventDate().toInstant(), ZoneId.systemDefault()),
+      LocalDateTime.ofInstant(pieceAuditEvent.getActionDate().toInstant(), ZoneId.systemDefault()),
+      JsonObject.mapFrom(pieceAuditEvent.getPieceSnapshot()));
+  }
 }
@@ -0,0 +1,387 @@
+package org.folio.dao.batch;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.pgclient.PgException;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Write-behind buffer that groups audit records of a single table into multi-row inserts.
+ * <p>
+ * Records are never held back by a timer: a record is inserted as soon as no insert of its tenant is in progress.
+ * Records that arrive while an insert is in progress are collected and inserted with a single statement once it
+ * completes, or right away when they fill a batch of {@code maxBatchSize} records. So under low load every record
+ * is inserted on its own, and under high load batches grow to the number of records that arrive during one insert,
+ * independently of how many records a single consumer keeps in flight. The batch size is also capped so that a
+ * statement never exceeds {@link #MAX_BIND_PARAMETERS}.
+ * <p>
+ * The future returned by {@link #write(String, Object)} is completed only after the batch containing
+ * the record is persisted, so that a consumer acknowledges an event only after it is saved.
+ * <p>
+ * If the multi-row insert fails (e.g. one of the records has invalid data), the records of the batch
+ * are saved one by one so that each caller receives the result of its own record.
+ * <p>
+ * If a {@link LocalSpool} is configured, a record whose save fails for a reason other than invalid data or
+ * takes longer than {@code spoolLatencyThresholdMs} is appended to the spool instead, and the returned future is
+ * completed with {@code null} rows, so that the consumer acknowledges the event. Spooled records are replayed
+ * with {@link #drainSpool(int)}, inserts of all DAOs skip existing records, so a record that was both spooled
+ * and eventually saved is not duplicated. DAOs that delete records call {@link #tombstone(String, Object)} first,
+ * so that spooled records of the deleted entity are dropped on replay instead of bringing the deleted rows back.
+ *
+ * @param <E> type of the persisted entity
+ */
+public class BatchWriter<E> {
+
+  /**
+   * Max number of bind parameters of a single Postgres statement.
+   */
+  public static final int MAX_BIND_PARAMETERS = 65535;
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Vertx vertx;
+  private final String name;
+  private final int maxBatchSize;
+  private final int maxStatementSize;
+  private final BiFunction<String, List<E>, Future<RowSet<Row>>> batchSaver;
+  private final BiFunction<String, E, Future<RowSet<Row>>> singleSaver;
+  private final LocalSpool<E> spool;
+  private final Function<E, ?> spoolKey;
+  private final long spoolLatencyThresholdMs;
+  private final Map<String, TenantQueue<E>> tenantQueues = new HashMap<>();
+  private final AtomicBoolean draining = new AtomicBoolean();
+
+  public BatchWriter(Vertx vertx, String name, int maxBatchSize, int columnsCount,
+                     BiFunction<String, List<E>, Future<RowSet<Row>>> batchSaver,
+                     BiFunction<String, E, Future<RowSet<Row>>> singleSaver) {
+    this(vertx, name, maxBatchSize, columnsCount, batchSaver, singleSaver, null, null, 0);
+  }
+
+  /**
+   * @param spool                   spool of records that can not be saved in time, {@code null} to not spool
+   * @param spoolKey                key of the entity records are deleted by, {@code null} if records of the table are
+   *                                only deleted all at once
+   * @param spoolLatencyThresholdMs save latency above which a record is spooled
+   */
+  public BatchWriter(Vertx vertx, String name, int maxBatchSize, int columnsCount,
+                     BiFunction<String, List<E>, Future<RowSet<Row>>> batchSaver,
+                     BiFunction<String, E, Future<RowSet<Row>>> singleSaver,
+                     LocalSpool<E> spool, Function<E, ?> spoolKey, long spoolLatencyThresholdMs) {
+    this.vertx = vertx;
+    this.name = name;
+    this.maxStatementSize = Math.max(1, MAX_BIND_PARAMETERS / Math.max(1, columnsCount));
+    this.maxBatchSize = Math.min(maxBatchSize, maxStatementSize);
+    this.batchSaver = batchSaver;
+    this.singleSaver = singleSaver;
+    this.spool = spool;
+    this.spoolKey = spoolKey;
+    this.spoolLatencyThresholdMs = spoolLatencyThresholdMs;
+  }
+
+  /**
+   * Creates writer that saves every record immediately without buffering.
+   *
+   * @param name        writer name used in logs
+   * @param singleSaver function that saves a single record
+   * @return pass-through writer
+   */
+  public static <E> BatchWriter<E> direct(String name, BiFunction<String, E, Future<RowSet<Row>>> singleSaver) {
+    return new BatchWriter<>(null, name, 1, 1, null, singleSaver);
+  }
+
+  /**
+   * Adds record to the tenant buffer.
+   *
+   * @param tenantId tenant id
+   * @param entity   record to save
+   * @return future completed when the record is persisted or spooled
+   */
+  public Future<RowSet<Row>> write(String tenantId, E entity) {
+    var result = buffer(tenantId, entity);
+    return spool == null ? result : spoolOnFailure(tenantId, entity, result);
+  }
+
+  private Future<RowSet<Row>> buffer(String tenantId, E entity) {
+    if (maxBatchSize <= 1) {
+      return singleSaver.apply(tenantId, entity);
+    }
+    var promise = Promise.<RowSet<Row>>promise();
+    PendingBatch<E> batchToSave;
+    lock.lock();
+    try {
+      var queue = tenantQueues.computeIfAbsent(tenantId, k -> new TenantQueue<>());
+      queue.entities.add(entity);
+      queue.promises.add(promise);
+      batchToSave = queue.inserting == 0 || queue.entities.size() >= maxBatchSize ? detach(queue) : null;
+    } finally {
+      lock.unlock();
+    }
+    if (batchToSave != null) {
+      save(tenantId, batchToSave);
+    }
+    return promise.future();
+  }
+
+  /**
+   * Takes up to {@code maxBatchSize} queued records of the tenant, must be called under the lock.
+   */
+  private PendingBatch<E> detach(TenantQueue<E> queue) {
+    var size = Math.min(maxBatchSize, queue.entities.size());
+    var batch = new PendingBatch<>(new ArrayList<>(queue.entities.subList(0, size)),
+      new ArrayList<>(queue.promises.subList(0, size)));
+    queue.entities.subList(0, size).clear();
+    queue.promises.subList(0, size).clear();
+    queue.inserting++;
+    return batch;
+  }
+
+  private void onSaved(String tenantId) {
+    PendingBatch<E> batchToSave = null;
+    lock.lock();
+    try {
+      var queue = tenantQueues.get(tenantId);
+      queue.inserting--;
+      if (!queue.entities.isEmpty()) {
+        batchToSave = detach(queue);
+      } else if (queue.inserting == 0) {
+        tenantQueues.remove(tenantId);
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (batchToSave != null) {
+      save(tenantId, batchToSave);
+    }
+  }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public LocalSpool<E> getSpool() {
+    return spool;
+  }
+
+  /**
+   * Marks records of the key as deleted before they are deleted from the database, so records of the key spooled
+   * before are not replayed.
+   *
+   * @param tenantId tenant id
+   * @param key      key the records are deleted by, {@code null} if all records of the tenant are deleted
+   * @return future completed when the tombstone is persisted
+   */
+  public Future<Void> tombstone(String tenantId, Object key) {
+    if (spool == null) {
+      return Future.succeededFuture();
+    }
+    return vertx.executeBlocking(() -> {
+      spool.tombstone(tenantId, key == null ? null : key.toString());
+      return null;
+    }, false);
+  }
+
+  /**
+   * Replays spooled records segment by segment, oldest first. A segment is deleted once all its records are saved,
+   * draining stops at the first segment that can not be saved and is retried by the next call.
+   *
+   * @param batchSize max number of records saved with a single statement
+   * @return future completed when the spool is drained or draining stopped
+   */
+  public Future<Void> drainSpool(int batchSize) {
+    if (spool == null || !draining.compareAndSet(false, true)) {
+      return Future.succeededFuture();
+    }
+    return drainNextSegment(batchSize)
+      .recover(e -> {
+        LOGGER.warn("drainSpool:: Failed to drain spool, will retry [writer: {}, records: {}]",
+          name, spool.getRecordCount(), e);
+        return Future.succeededFuture();
+      })
+      .onComplete(ar -> draining.set(false));
+  }
+
+  private Future<Void> drainNextSegment(int batchSize) {
+    return vertx.executeBlocking(spool::oldestSegment, false)
+      .compose(segment -> {
+        if (segment == null) {
+          return Future.succeededFuture();
+        }
+        return replay(segment.entries(), batchSize)
+          .compose(v -> vertx.executeBlocking(() -> {
+            spool.release(segment);
+            return null;
+          }, false))
+          .onSuccess(v -> LOGGER.info("drainNextSegment:: Replayed spooled records [writer: {}, records: {}]",
+            name, segment.entries().size()))
+          .compose(v -> drainNextSegment(batchSize));
+      });
+  }
+
+  private Future<Void> replay(List<LocalSpool.Entry<E>> entries, int batchSize) {
+    Map<String, List<E>> entitiesByTenant = new LinkedHashMap<>();
+    var deleted = 0;
+    for (var entry : entries) {
+      if (spool.isDeleted(entry, spoolKey(entry.entity()))) {
+        deleted++;
+        continue;
+      }
+      entitiesByTenant.computeIfAbsent(entry.tenantId(), k -> new ArrayList<>()).add(entry.entity());
+    }
+    if (deleted > 0) {
+      LOGGER.info("replay:: Dropping spooled records deleted after they were spooled [writer: {}, records: {}]",
+        name, deleted);
+    }
+    var result = Future.<Void>succeededFuture();
+    for (var tenantEntities : entitiesByTenant.entrySet()) {
+      var entities = tenantEntities.getValue();
+      var chunkSize = Math.clamp(batchSize, 1, maxStatementSize);
+      for (int from = 0; from < entities.size(); from += chunkSize) {
+        var chunk = entities.subList(from, Math.min(entities.size(), from + chunkSize));
+        result = result.compose(v -> replay(tenantEntities.getKey(), chunk));
+      }
+    }
+    return result;
+  }
+
+  private String spoolKey(E entity) {
+    if (spoolKey == null) {
+      return null;
+    }
+    var key = spoolKey.apply(entity);
+    return key == null ? null : key.toString();
+  }
+
+  private Future<Void> replay(String tenantId, List<E> entities) {
+    if (batchSaver == null || entities.size() == 1) {
+      return replayOneByOne(tenantId, entities);
+    }
+    return batchSaver.apply(tenantId, entities)
+      .<Void>mapEmpty()
+      .recover(e -> replayOneByOne(tenantId, entities));
+  }
+
+  private Future<Void> replayOneByOne(String tenantId, List<E> entities) {
+    var result = Future.<Void>succeededFuture();
+    for (var entity : entities) {
+      result = result.compose(v -> singleSaver.apply(tenantId, entity)
+        .<Void>mapEmpty()
+        .recover(e -> {
+          if (isSpoolable(e)) {
+            return Future.failedFuture(e);
+          }
+          LOGGER.error("replayOneByOne:: Dropping spooled record that can not be saved [writer: {}, tenantId: {}]",
+            name, tenantId, e);
+          return Future.succeededFuture();
+        }));
+    }
+    return result;
+  }
+
+  private Future<RowSet<Row>> spoolOnFailure(String tenantId, E entity, Future<RowSet<Row>> result) {
+    var promise = Promise.<RowSet<Row>>promise();
+    var timerId = vertx.setTimer(spoolLatencyThresholdMs, id -> spool(tenantId, entity, promise, null));
+    result.onComplete(ar -> {
+      vertx.cancelTimer(timerId);
+      if (ar.succeeded()) {
+        promise.tryComplete(ar.result());
+      } else if (!isSpoolable(ar.cause())) {
+        promise.tryFail(ar.cause());
+      } else {
+        spool(tenantId, entity, promise, ar.cause());
+      }
+    });
+    return promise.future();
+  }
+
+  /**
+   * Appends record to the spool and completes the promise. If the record can not be spooled, the promise is failed
+   * with the save error, or left for the pending save to complete when the record was spooled because of latency.
+   */
+  private void spool(String tenantId, E entity, Promise<RowSet<Row>> promise, Throwable saveError) {
+    if (promise.future().isComplete()) {
+      return;
+    }
+    vertx.executeBlocking(() -> {
+        spool.append(tenantId, entity);
+        return null;
+      }, false)
+      .onSuccess(v -> {
+        LOGGER.warn("spool:: Spooled record [writer: {}, tenantId: {}, reason: {}]", name, tenantId,
+          saveError == null ? "latency above " + spoolLatencyThresholdMs + "ms" : saveError.getMessage());
+        promise.tryComplete(null);
+      })
+      .onFailure(e -> {
+        LOGGER.error("spool:: Failed to spool record [writer: {}, tenantId: {}]", name, tenantId, e);
+        if (saveError != null) {
+          promise.tryFail(saveError);
+        }
+      });
+  }
+
+  /**
+   * Invalid data and constraint violations would fail again on replay, any other failure (connection errors,
+   * timeouts, server errors) is expected to pass once the database recovers.
+   */
+  private static boolean isSpoolable(Throwable throwable) {
+    return !(throwable instanceof PgException pgException && pgException.getSqlState() != null
+      && (pgException.getSqlState().startsWith("22") || pgException.getSqlState().startsWith("23")));
+  }
+
+  private void save(String tenantId, PendingBatch<E> batch) {
+    var size = batch.entities.size();
+    var start = System.currentTimeMillis();
+    var result = size == 1
+                 ? singleSaver.apply(tenantId, batch.entities.getFirst()).onComplete(batch.promises.getFirst())
+                   .<Void>mapEmpty()
+                 : batchSaver.apply(tenantId, batch.entities)
+                   .onSuccess(rows -> {
+                     LOGGER.debug("save:: Saved batch [writer: {}, tenantId: {}, size: {}, duration: {}ms]",
+                       name, tenantId, size, System.currentTimeMillis() - start);
+                     batch.promises.forEach(promise -> promise.tryComplete(rows));
+                   })
+                   .<Void>mapEmpty()
+                   .recover(e -> {
+                     LOGGER.warn("save:: Failed to save batch, saving records one by one [writer: {}, tenantId: {}, size: {}]",
+                       name, tenantId, size, e);
+                     return saveOneByOne(tenantId, batch);
+                   });
+    result.onComplete(ar -> onSaved(tenantId));
+  }
+
+  private Future<Void> saveOneByOne(String tenantId, PendingBatch<E> batch) {
+    List<Future<RowSet<Row>>> futures = new ArrayList<>(batch.entities.size());
+    for (int i = 0; i < batch.entities.size(); i++) {
+      var promise = batch.promises.get(i);
+      futures.add(singleSaver.apply(tenantId, batch.entities.get(i)).onComplete(promise));
+    }
+    return Future.join(futures).mapEmpty();
+  }
+
+  private record PendingBatch<E>(List<E> entities, List<Promise<RowSet<Row>>> promises) {
+  }
+
+  private static final class TenantQueue<E> {
+    private final List<E> entities = new ArrayList<>();
+    private final List<Promise<RowSet<Row>>> promises = new ArrayList<>();
+    private int inserting;
+  }
+}
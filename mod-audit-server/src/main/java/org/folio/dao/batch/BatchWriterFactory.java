@@ -0,0 +1,129 @@
+package org.folio.dao.batch;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.util.metrics.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates {@link BatchWriter} of every audit table.
+ * <p>
+ * When {@code audit.spool.enabled} is set, writers created with a {@link SpoolCodec} divert records that can not be
+ * saved to a {@link LocalSpool} in {@code audit.spool.dir/<writer name>} and replay them every
+ * {@code audit.spool.drain-interval-ms}. Spool size, record count and age of the oldest record are exposed as
+ * {@code spool.<writer name>.bytes}, {@code spool.<writer name>.records} and {@code spool.<writer name>.age-ms}
+ * gauges.
+ */
+@Component
+public class BatchWriterFactory {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final Vertx vertx;
+  private final MetricsRegistry metricsRegistry;
+  private final boolean enabled;
+  private final int maxBatchSize;
+  private final boolean spoolEnabled;
+  private final String spoolDir;
+  private final int spoolSegmentSizeBytes;
+  private final long spoolLatencyThresholdMs;
+  private final long spoolDrainIntervalMs;
+  private final List<BatchWriter<?>> writers = new CopyOnWriteArrayList<>();
+
+  public BatchWriterFactory(Vertx vertx, MetricsRegistry metricsRegistry,
+                            @Value("${audit.batch-writer.enabled:false}") boolean enabled,
+                            @Value("${audit.batch-writer.max-size:100}") int maxBatchSize,
+                            @Value("${audit.spool.enabled:false}") boolean spoolEnabled,
+                            @Value("${audit.spool.dir:/tmp/mod-audit-spool}") String spoolDir,
+                            @Value("${audit.spool.segment-size-bytes:67108864}") int spoolSegmentSizeBytes,
+                            @Value("${audit.spool.latency-threshold-ms:5000}") long spoolLatencyThresholdMs,
+                            @Value("${audit.spool.drain-interval-ms:10000}") long spoolDrainIntervalMs) {
+    this.vertx = vertx;
+    this.metricsRegistry = metricsRegistry;
+    this.enabled = enabled;
+    this.maxBatchSize = maxBatchSize;
+    this.spoolEnabled = spoolEnabled;
+    this.spoolDir = spoolDir;
+    this.spoolSegmentSizeBytes = spoolSegmentSizeBytes;
+    this.spoolLatencyThresholdMs = spoolLatencyThresholdMs;
+    this.spoolDrainIntervalMs = spoolDrainIntervalMs;
+    if (spoolEnabled) {
+      LOGGER.info("BatchWriterFactory:: Using local spool [dir: {}, segmentSizeBytes: {}, latencyThresholdMs: {}, "
+        + "drainIntervalMs: {}]", spoolDir, spoolSegmentSizeBytes, spoolLatencyThresholdMs, spoolDrainIntervalMs);
+      vertx.setPeriodic(spoolDrainIntervalMs, id -> drainSpools());
+    }
+  }
+
+  /**
+   * Creates writer for a single table. If batching is disabled, the writer saves every record immediately.
+   *
+   * @param name         writer name used in logs
+   * @param columnsCount number of bind parameters of a single record in the multi-row insert
+   * @param batchSaver   function that saves a list of records with a single statement
+   * @param singleSaver  function that saves a single record
+   * @return batch writer
+   */
+  public <E> BatchWriter<E> create(String name, int columnsCount,
+                                   BiFunction<String, List<E>, Future<RowSet<Row>>> batchSaver,
+                                   BiFunction<String, E, Future<RowSet<Row>>> singleSaver) {
+    return create(name, columnsCount, batchSaver, singleSaver, null, null);
+  }
+
+  /**
+   * Creates writer for a single table that spools records it can not save if the spool is enabled.
+   *
+   * @param name         writer name used in logs, metrics and as spool directory name
+   * @param columnsCount number of bind parameters of a single record in the multi-row insert
+   * @param batchSaver   function that saves a list of records with a single statement
+   * @param singleSaver  function that saves a single record
+   * @param spoolCodec   codec of spooled records, {@code null} if records of the table must not be spooled
+   * @param spoolKey     key of the entity records are deleted by, {@code null} if records of the table are only
+   *                     deleted all at once
+   * @return batch writer
+   */
+  public <E> BatchWriter<E> create(String name, int columnsCount,
+                                   BiFunction<String, List<E>, Future<RowSet<Row>>> batchSaver,
+                                   BiFunction<String, E, Future<RowSet<Row>>> singleSaver,
+                                   SpoolCodec<E> spoolCodec, Function<E, ?> spoolKey) {
+    var spool = spoolEnabled && spoolCodec != null ? createSpool(name, spoolCodec) : null;
+    var batching = enabled && maxBatchSize > 1;
+    if (!batching && spool == null) {
+      return BatchWriter.direct(name, singleSaver);
+    }
+    var writer = new BatchWriter<>(vertx, name, batching ? maxBatchSize : 1, columnsCount, batchSaver, singleSaver,
+      spool, spoolKey, spoolLatencyThresholdMs);
+    LOGGER.info("create:: Creating batch writer [name: {}, maxBatchSize: {}, spool: {}]",
+      name, writer.getMaxBatchSize(), spool != null);
+    writers.add(writer);
+    return writer;
+  }
+
+  private void drainSpools() {
+    writers.forEach(writer -> writer.drainSpool(Math.max(1, maxBatchSize)));
+  }
+
+  private <E> LocalSpool<E> createSpool(String name, SpoolCodec<E> spoolCodec) {
+    try {
+      var spool = new LocalSpool<>(Path.of(spoolDir, name), spoolSegmentSizeBytes, spoolCodec);
+      metricsRegistry.gauge("spool." + name + ".bytes", spool::getSizeBytes);
+      metricsRegistry.gauge("spool." + name + ".records", spool::getRecordCount);
+      metricsRegistry.gauge("spool." + name + ".age-ms", spool::getOldestAgeMs);
+      return spool;
+    } catch (IOException e) {
+      LOGGER.error("createSpool:: Failed to open spool, records of the writer will not be spooled [name: {}]",
+        name, e);
+      return null;
+    }
+  }
+}
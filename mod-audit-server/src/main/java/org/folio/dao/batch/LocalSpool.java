@@ -0,0 +1,421 @@
+package org.folio.dao.batch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.ToLongFunction;
+import java.util.zip.CRC32;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Append-only local spool of audit entities that could not be saved to the database in time.
+ * <p>
+ * Records are appended to a fixed-size memory-mapped segment file and forced to disk before {@link #append} returns,
+ * so that spooled records survive a crash of the module. Every record is stored as
+ * {@code [length][crc32][spooled at][tenant id][entity]} and the length is written last, so a partially written
+ * record is never read back. When the active segment is full, it is sealed and a new one is created.
+ * <p>
+ * Segments left by a previous run are recovered on start, reading every segment up to the first empty or corrupted
+ * record. Sealed segments are replayed oldest first with {@link #oldestSegment()} and deleted with
+ * {@link #release(Segment)} once all their records are saved.
+ * <p>
+ * Records deleted from the database while the spool holds records are marked with {@link #tombstone(String, String)},
+ * so that {@link #isDeleted(Entry, String)} tells which spooled records must not be replayed. Tombstones are
+ * appended to the {@code tombstones} file of the spool directory, recovered on start with the segments and removed
+ * once the spool is empty.
+ * <p>
+ * All methods block on disk I/O and must not be called from an event loop thread.
+ *
+ * @param <E> type of the spooled entity
+ */
+public class LocalSpool<E> {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".spool";
+  private static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+  private static final String TOMBSTONES_FILE = "tombstones";
+  private static final String TOMBSTONE_SEPARATOR = "\t";
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Path directory;
+  private final int segmentSize;
+  private final SpoolCodec<E> codec;
+  private final Deque<SegmentInfo> sealedSegments = new ArrayDeque<>();
+  private final Map<String, Long> tombstones = new HashMap<>();
+
+  private SegmentInfo activeSegment;
+  private MappedByteBuffer activeBuffer;
+  private long nextSequence;
+
+  public LocalSpool(Path directory, int segmentSize, SpoolCodec<E> codec) throws IOException {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.codec = codec;
+    recover();
+  }
+
+  /**
+   * Appends record to the active segment and forces it to disk.
+   *
+   * @param tenantId tenant id
+   * @param entity   entity to spool
+   * @throws IOException if the record can not be written
+   */
+  public void append(String tenantId, E entity) throws IOException {
+    var body = encode(tenantId, entity);
+    var recordSize = RECORD_HEADER_SIZE + body.length;
+    if (recordSize > segmentSize) {
+      throw new IOException("Record of %d bytes exceeds spool segment size %d".formatted(recordSize, segmentSize));
+    }
+    var crc = new CRC32();
+    crc.update(body);
+    var spooledAt = System.currentTimeMillis();
+    lock.lock();
+    try {
+      if (activeSegment == null || activeBuffer.remaining() < recordSize) {
+        sealActiveSegment();
+        openActiveSegment();
+      }
+      var position = activeBuffer.position();
+      activeBuffer.position(position + Integer.BYTES);
+      activeBuffer.putInt((int) crc.getValue());
+      activeBuffer.putLong(spooledAt);
+      activeBuffer.put(body);
+      activeBuffer.putInt(position, body.length);
+      activeBuffer.force();
+      activeSegment.add(activeBuffer.position(), spooledAt);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns records of the oldest segment, sealing the active segment if there is no sealed one.
+   *
+   * @return oldest segment or {@code null} if the spool is empty
+   * @throws IOException if the segment can not be read
+   */
+  public Segment<E> oldestSegment() throws IOException {
+    SegmentInfo segment;
+    lock.lock();
+    try {
+      if (sealedSegments.isEmpty()) {
+        sealActiveSegment();
+      }
+      segment = sealedSegments.peekFirst();
+    } finally {
+      lock.unlock();
+    }
+    if (segment == null) {
+      return null;
+    }
+    var entries = new ArrayList<Entry<E>>(segment.records);
+    read(segment.path, (spooledAt, body) -> decode(segment.path, spooledAt, body, entries));
+    return new Segment<>(segment.path, entries);
+  }
+
+  /**
+   * Marks records of the key as deleted, so spooled records of the key are not replayed. Nothing is written when
+   * the spool is empty, records spooled after the deletion are not affected.
+   *
+   * @param tenantId tenant id
+   * @param key      key of the deleted records, {@code null} if all records of the tenant are deleted
+   * @throws IOException if the tombstone can not be written
+   */
+  public void tombstone(String tenantId, String key) throws IOException {
+    var deletedAt = System.currentTimeMillis();
+    lock.lock();
+    try {
+      if (isEmpty()) {
+        return;
+      }
+      var line = String.join(TOMBSTONE_SEPARATOR, String.valueOf(deletedAt), tenantId, key == null ? "" : key) + "\n";
+      try (var channel = FileChannel.open(directory.resolve(TOMBSTONES_FILE), StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+        channel.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+        channel.force(false);
+      }
+      tombstones.merge(tombstoneKey(tenantId, key), deletedAt, Math::max);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Checks whether the spooled record was deleted after it was spooled.
+   *
+   * @param entry spooled record
+   * @param key   key of the record, {@code null} if records of the spool have no key
+   * @return true if records of the key or of the whole tenant were deleted after the record was spooled
+   */
+  public boolean isDeleted(Entry<E> entry, String key) {
+    lock.lock();
+    try {
+      if (tombstones.isEmpty()) {
+        return false;
+      }
+      var tenantDeletedAt = tombstones.get(tombstoneKey(entry.tenantId(), null));
+      var keyDeletedAt = key == null ? null : tombstones.get(tombstoneKey(entry.tenantId(), key));
+      return tenantDeletedAt != null && tenantDeletedAt >= entry.spooledAt()
+        || keyDeletedAt != null && keyDeletedAt >= entry.spooledAt();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Deletes segment once all its records are saved.
+   *
+   * @param segment segment returned by {@link #oldestSegment()}
+   * @throws IOException if the segment file can not be deleted
+   */
+  public void release(Segment<E> segment) throws IOException {
+    lock.lock();
+    try {
+      sealedSegments.removeIf(info -> info.path.equals(segment.path()));
+      Files.deleteIfExists(segment.path());
+      if (isEmpty() && !tombstones.isEmpty()) {
+        tombstones.clear();
+        Files.deleteIfExists(directory.resolve(TOMBSTONES_FILE));
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getSizeBytes() {
+    return sum(info -> info.bytes);
+  }
+
+  public long getRecordCount() {
+    return sum(info -> info.records);
+  }
+
+  /**
+   * Returns time since the oldest spooled record was written.
+   *
+   * @return age of the oldest record in milliseconds or 0 if the spool is empty
+   */
+  public long getOldestAgeMs() {
+    lock.lock();
+    try {
+      var oldest = sealedSegments.isEmpty() ? activeSegment : sealedSegments.peekFirst();
+      return oldest == null || oldest.records == 0 ? 0 : System.currentTimeMillis() - oldest.oldestSpooledAt;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Whether the spool holds no records, must be called under the lock.
+   */
+  private boolean isEmpty() {
+    return sealedSegments.isEmpty() && (activeSegment == null || activeSegment.records == 0);
+  }
+
+  private void recover() throws IOException {
+    Files.createDirectories(directory);
+    List<Path> paths;
+    try (var files = Files.list(directory)) {
+      paths = files.filter(LocalSpool::isSegment).sorted().toList();
+    }
+    for (var path : paths) {
+      var segment = new SegmentInfo(path);
+      var end = read(path, (spooledAt, body) -> segment.add(0, spooledAt));
+      if (segment.records == 0) {
+        Files.delete(path);
+        continue;
+      }
+      segment.bytes = end;
+      sealedSegments.add(segment);
+      nextSequence = Math.max(nextSequence, sequence(path) + 1);
+    }
+    recoverTombstones();
+    if (!sealedSegments.isEmpty()) {
+      LOGGER.info("recover:: Recovered spooled records [directory: {}, segments: {}, records: {}, tombstones: {}]",
+        directory, sealedSegments.size(), getRecordCount(), tombstones.size());
+    }
+  }
+
+  /**
+   * Reads tombstones left by a previous run, a partially written last line is skipped.
+   */
+  private void recoverTombstones() throws IOException {
+    var path = directory.resolve(TOMBSTONES_FILE);
+    if (Files.notExists(path)) {
+      return;
+    }
+    if (sealedSegments.isEmpty()) {
+      Files.delete(path);
+      return;
+    }
+    for (var line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+      var fields = line.split(TOMBSTONE_SEPARATOR, -1);
+      if (fields.length != 3) {
+        continue;
+      }
+      try {
+        tombstones.merge(tombstoneKey(fields[1], fields[2].isEmpty() ? null : fields[2]), Long.parseLong(fields[0]),
+          Math::max);
+      } catch (NumberFormatException e) {
+        LOGGER.warn("recoverTombstones:: Skipping corrupted tombstone [directory: {}]", directory);
+      }
+    }
+  }
+
+  /**
+   * Reads valid records of the segment, stopping at the first empty or corrupted record.
+   *
+   * @return position after the last valid record
+   */
+  private long read(Path path, BiConsumer<Long, byte[]> recordConsumer) throws IOException {
+    ByteBuffer buffer;
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+      var position = buffer.position();
+      var length = buffer.getInt();
+      var checksum = buffer.getInt();
+      var spooledAt = buffer.getLong();
+      if (length <= 0 || length > buffer.remaining()) {
+        return position;
+      }
+      var body = new byte[length];
+      buffer.get(body);
+      var crc = new CRC32();
+      crc.update(body);
+      if ((int) crc.getValue() != checksum) {
+        LOGGER.warn("read:: Corrupted spool record, skipping the rest of the segment [segment: {}, position: {}]",
+          path, position);
+        return position;
+      }
+      recordConsumer.accept(spooledAt, body);
+    }
+    return buffer.position();
+  }
+
+  private void openActiveSegment() throws IOException {
+    var path = directory.resolve("%s%019d%s".formatted(SEGMENT_PREFIX, nextSequence++, SEGMENT_SUFFIX));
+    try (var channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+      StandardOpenOption.WRITE)) {
+      activeBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+    activeSegment = new SegmentInfo(path);
+  }
+
+  private void sealActiveSegment() throws IOException {
+    if (activeSegment == null) {
+      return;
+    }
+    if (activeSegment.records > 0) {
+      sealedSegments.add(activeSegment);
+    } else {
+      Files.deleteIfExists(activeSegment.path);
+    }
+    activeSegment = null;
+    activeBuffer = null;
+  }
+
+  private byte[] encode(String tenantId, E entity) throws IOException {
+    var output = new ByteArrayOutputStream();
+    try (var dataOutput = new DataOutputStream(output)) {
+      dataOutput.writeUTF(tenantId);
+      dataOutput.write(codec.encode(entity));
+    }
+    return output.toByteArray();
+  }
+
+  private void decode(Path path, long spooledAt, byte[] body, List<Entry<E>> entries) {
+    try (var input = new DataInputStream(new ByteArrayInputStream(body))) {
+      var tenantId = input.readUTF();
+      entries.add(new Entry<>(tenantId, codec.decode(input.readAllBytes()), spooledAt));
+    } catch (Exception e) {
+      LOGGER.error("decode:: Failed to decode spooled record, skipping it [segment: {}]", path, e);
+    }
+  }
+
+  private long sum(ToLongFunction<SegmentInfo> metric) {
+    lock.lock();
+    try {
+      var total = sealedSegments.stream().mapToLong(metric).sum();
+      return activeSegment == null ? total : total + metric.applyAsLong(activeSegment);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static String tombstoneKey(String tenantId, String key) {
+    return key == null ? tenantId : tenantId + TOMBSTONE_SEPARATOR + key;
+  }
+
+  private static boolean isSegment(Path path) {
+    var fileName = path.getFileName().toString();
+    return fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX);
+  }
+
+  private static long sequence(Path path) {
+    var fileName = path.getFileName().toString();
+    return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+  }
+
+  /**
+   * Spooled records of a sealed segment.
+   *
+   * @param path    segment file
+   * @param entries records in the order they were spooled
+   */
+  public record Segment<E>(Path path, List<Entry<E>> entries) {
+  }
+
+  /**
+   * Spooled record.
+   *
+   * @param tenantId  tenant id
+   * @param entity    spooled entity
+   * @param spooledAt time the record was spooled at
+   */
+  public record Entry<E>(String tenantId, E entity, long spooledAt) {
+  }
+
+  private static final class SegmentInfo {
+
+    private final Path path;
+    private int records;
+    private long bytes;
+    private long oldestSpooledAt;
+
+    private SegmentInfo(Path path) {
+      this.path = path;
+    }
+
+    private void add(long end, long spooledAt) {
+      if (records == 0) {
+        oldestSpooledAt = spooledAt;
+      }
+      records++;
+      bytes = end;
+    }
+  }
+}
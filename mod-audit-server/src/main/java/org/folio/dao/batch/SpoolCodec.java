@@ -0,0 +1,61 @@
+package org.folio.dao.batch;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.DatabindCodec;
+import java.io.IOException;
+import java.util.function.Function;
+
+/**
+ * Converts audit entities to the bytes stored in a {@link LocalSpool} and back.
+ *
+ * @param <E> type of the spooled entity
+ */
+public interface SpoolCodec<E> {
+
+  byte[] encode(E entity) throws IOException;
+
+  E decode(byte[] bytes) throws IOException;
+
+  /**
+   * Creates codec that stores entities as JSON using the shared Jackson mapper.
+   *
+   * @param type entity type
+   * @return JSON codec
+   */
+  static <E> SpoolCodec<E> json(Class<E> type) {
+    return new SpoolCodec<>() {
+      @Override
+      public byte[] encode(E entity) throws IOException {
+        return DatabindCodec.mapper().writeValueAsBytes(entity);
+      }
+
+      @Override
+      public E decode(byte[] bytes) throws IOException {
+        return DatabindCodec.mapper().readValue(bytes, type);
+      }
+    };
+  }
+
+  /**
+   * Creates codec that stores entities as JSON objects built by the given functions,
+   * for entities with fields the shared Jackson mapper can not handle.
+   *
+   * @param encoder function that converts entity to JSON object
+   * @param decoder function that converts JSON object to entity
+   * @return JSON object codec
+   */
+  static <E> SpoolCodec<E> of(Function<E, JsonObject> encoder, Function<JsonObject, E> decoder) {
+    return new SpoolCodec<>() {
+      @Override
+      public byte[] encode(E entity) {
+        return encoder.apply(entity).toBuffer().getBytes();
+      }
+
+      @Override
+      public E decode(byte[] bytes) {
+        return decoder.apply(new JsonObject(Buffer.buffer(bytes)));
+      }
+    };
+  }
+}
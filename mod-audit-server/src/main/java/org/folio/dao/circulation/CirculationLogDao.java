@@ -0,0 +1,26 @@
+package org.folio.dao.circulation;
+
+import io.vertx.core.Future;
+import java.util.List;
+import org.folio.rest.jaxrs.model.LogRecord;
+
+public interface CirculationLogDao {
+
+  /**
+   * Retrieves circulation log records of the loan
+   *
+   * @param loanId   loan id
+   * @param tenantId tenant id
+   * @return future with log records
+   */
+  Future<List<LogRecord>> getByLoanId(String loanId, String tenantId);
+
+  /**
+   * Saves circulation log records with a single statement, records with existing ids are replaced
+   *
+   * @param logRecords log records to save
+   * @param tenantId   tenant id
+   * @return future completed when the records are saved
+   */
+  Future<Void> saveAll(List<LogRecord> logRecords, String tenantId);
+}
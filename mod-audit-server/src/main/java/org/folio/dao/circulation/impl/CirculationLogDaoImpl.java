@@ -0,0 +1,62 @@
+package org.folio.dao.circulation.impl;
+
+import static org.folio.rest.impl.CirculationLogsService.LOGS_TABLE_NAME;
+
+import io.vertx.core.Future;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.cql2pgjson.CQL2PgJSON;
+import org.folio.cql2pgjson.exception.FieldException;
+import org.folio.dao.circulation.CirculationLogDao;
+import org.folio.rest.jaxrs.model.LogRecord;
+import org.folio.rest.persist.cql.CQLWrapper;
+import org.folio.rest.persist.interfaces.Results;
+import org.folio.util.PostgresClientFactory;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class CirculationLogDaoImpl implements CirculationLogDao {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final String SEARCH_BY_LOAN_ID_QUERY_PATTERN = "items=@loanId %s";
+
+  private final PostgresClientFactory pgClientFactory;
+
+  public CirculationLogDaoImpl(PostgresClientFactory pgClientFactory) {
+    this.pgClientFactory = pgClientFactory;
+  }
+
+  @Override
+  public Future<List<LogRecord>> getByLoanId(String loanId, String tenantId) {
+    LOGGER.debug("getByLoanId:: Retrieving circulation log records [tenantId: {}, loanId: {}]", tenantId, loanId);
+    CQLWrapper cqlWrapper;
+    try {
+      cqlWrapper = new CQLWrapper(new CQL2PgJSON(LOGS_TABLE_NAME + ".jsonb"),
+        String.format(SEARCH_BY_LOAN_ID_QUERY_PATTERN, loanId));
+    } catch (FieldException e) {
+      return Future.failedFuture(e);
+    }
+    return pgClientFactory.createInstance(tenantId)
+      .get(LOGS_TABLE_NAME, LogRecord.class, cqlWrapper, false)
+      .map(Results::getResults)
+      .onFailure(e -> LOGGER.warn("getByLoanId:: Failed to retrieve circulation log records [tenantId: {}, loanId: {}]",
+        tenantId, loanId, e));
+  }
+
+  @Override
+  public Future<Void> saveAll(List<LogRecord> logRecords, String tenantId) {
+    LOGGER.debug("saveAll:: Saving {} circulation log records [tenantId: {}]", logRecords.size(), tenantId);
+    if (logRecords.isEmpty()) {
+      return Future.succeededFuture();
+    }
+    return pgClientFactory.createInstance(tenantId)
+      .upsertBatch(LOGS_TABLE_NAME, logRecords)
+      .onSuccess(rows -> LOGGER.info("saveAll:: Saved {} circulation log records [tenantId: {}]",
+        logRecords.size(), tenantId))
+      .onFailure(e -> LOGGER.warn("saveAll:: Failed to save {} circulation log records [tenantId: {}]",
+        logRecords.size(), tenantId, e))
+      .mapEmpty();
+  }
+}
@@ -0,0 +1,18 @@
+package org.folio.dao.inventory;
+
+import io.vertx.core.Future;
+import java.util.List;
+
+public interface InventoryAuditBulkInsertDao {
+
+  /**
+   * Bulk inserts inventoryAuditEntity entities into the audit table with a single multi-row {@code INSERT}.
+   * Entities that are already stored are skipped, so a range of events can be loaded more than once.
+   *
+   * @param tableName              name of the inventory audit table
+   * @param inventoryAuditEntities InventoryAuditEntity entities to load
+   * @param tenantId               tenant id
+   * @return future with number of rows written
+   */
+  Future<Long> bulkInsert(String tableName, List<InventoryAuditEntity> inventoryAuditEntities, String tenantId);
+}
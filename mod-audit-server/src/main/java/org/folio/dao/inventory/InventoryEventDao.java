@@ -6,6 +6,7 @@ import io.vertx.sqlclient.RowSet;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.UUID;
+import org.folio.dao.PendingDiff;
 import org.folio.util.inventory.InventoryResourceType;
 
 public interface InventoryEventDao {
@@ -19,6 +20,45 @@ public interface InventoryEventDao {
    */
   Future<RowSet<Row>> save(InventoryAuditEntity inventoryAuditEntity, String tenantId);
 
+  /**
+   * Saves list of inventoryAuditEntity entities to DB, the entities are written through the same batch writer as
+   * single entities, so they share its statement size cap and spool
+   *
+   * @param inventoryAuditEntities InventoryAuditEntity entities to save
+   * @param tenantId               tenant id
+   * @return future completed when the entities are saved or spooled
+   */
+  Future<Void> saveAll(List<InventoryAuditEntity> inventoryAuditEntities, String tenantId);
+
+  /**
+   * Saves inventoryAuditEntity entities without diff, with snapshots to calculate the diff from, in deferred diff mode
+   *
+   * @param pendingDiffs InventoryAuditEntity entities with snapshots to save
+   * @param tenantId     tenant id
+   * @return future completed when the entities are saved or spooled
+   */
+  Future<Void> savePending(List<PendingDiff<InventoryAuditEntity>> pendingDiffs, String tenantId);
+
+  /**
+   * Retrieves entities of the events that are saved with pending diff
+   *
+   * @param entityId entity id
+   * @param eventIds ids of the events to check
+   * @param tenantId tenant id
+   * @return future with entities and snapshots of the events with pending diff
+   */
+  Future<List<PendingDiff<InventoryAuditEntity>>> getPendingDiffs(UUID entityId, List<UUID> eventIds,
+                                                                  String tenantId);
+
+  /**
+   * Retrieves the oldest entities saved with pending diff
+   *
+   * @param limit    number of records to be returned
+   * @param tenantId tenant id
+   * @return future with entities and snapshots
+   */
+  Future<List<PendingDiff<InventoryAuditEntity>>> getPendingDiffs(int limit, String tenantId);
+
   /**
    * Retrieves inventoryAuditEntity entity list from DB with filter by entityId
    * and seek by eventDate descending not including.
@@ -49,6 +89,25 @@ public interface InventoryEventDao {
    */
   Future<Void> deleteAll(UUID entityId, String tenantId);
 
+  /**
+   * Replaces diff of the record saved for the event, the diff of the record is no longer pending
+   *
+   * @param inventoryAuditEntity InventoryAuditEntity entity with the new diff
+   * @param tenantId             tenant id
+   * @return future with number of updated rows
+   */
+  Future<Integer> updateDiff(InventoryAuditEntity inventoryAuditEntity, String tenantId);
+
+  /**
+   * Deletes the record saved for the event
+   *
+   * @param eventId  event id
+   * @param entityId entity id
+   * @param tenantId tenant id
+   * @return Void future
+   */
+  Future<Void> delete(UUID eventId, UUID entityId, String tenantId);
+
   /**
    * Returns inventory resource type for the dao
    * @return InventoryResourceType
@@ -0,0 +1,90 @@
+package org.folio.dao.inventory.impl;
+
+import static org.folio.util.DbUtils.formatDBTableName;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.sqlclient.Tuple;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.dao.inventory.InventoryAuditBulkInsertDao;
+import org.folio.dao.inventory.InventoryAuditEntity;
+import org.folio.util.PostgresClientFactory;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Bulk inserts inventory audit records over a connection of the tenant's RMB pool, so the load uses the same
+ * credentials and TLS settings as every other query of the module.
+ * <p>
+ * This is a regular {@code INSERT}, not Postgres {@code COPY}, which the reactive client does not support: every
+ * column is sent as one array parameter and the rows are expanded with {@code unnest} in a single
+ * {@code INSERT ... ON CONFLICT DO NOTHING} statement. The statement has a fixed number of parameters whatever the
+ * number of rows, and records that already exist are skipped the same way as on the regular save path.
+ */
+@Repository
+public class InventoryAuditBulkInsertDaoImpl implements InventoryAuditBulkInsertDao {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final String BULK_INSERT_SQL = """
+    INSERT INTO %s (event_id, event_date, entity_id, action, user_id, diff)
+    SELECT event_id, event_date, entity_id, action, user_id, diff::jsonb
+      FROM unnest($1::uuid[], $2::timestamp[], $3::uuid[], $4::text[], $5::uuid[], $6::text[])
+        AS t (event_id, event_date, entity_id, action, user_id, diff)
+    ON CONFLICT DO NOTHING
+    """;
+
+  private final PostgresClientFactory pgClientFactory;
+
+  public InventoryAuditBulkInsertDaoImpl(PostgresClientFactory pgClientFactory) {
+    this.pgClientFactory = pgClientFactory;
+  }
+
+  @Override
+  public Future<Long> bulkInsert(String tableName, List<InventoryAuditEntity> inventoryAuditEntities, String tenantId) {
+    LOGGER.debug("bulkInsert:: Trying to insert InventoryAuditEntities with [tenantId: {}, tableName: {}, count: {}]",
+      tenantId, tableName, inventoryAuditEntities.size());
+    if (inventoryAuditEntities.isEmpty()) {
+      return Future.succeededFuture(0L);
+    }
+    try {
+      var query = BULK_INSERT_SQL.formatted(formatDBTableName(tenantId, tableName));
+      return pgClientFactory.createInstance(tenantId).execute(query, toColumns(inventoryAuditEntities))
+        .map(rowSet -> (long) rowSet.rowCount())
+        .onSuccess(written -> LOGGER.info("bulkInsert:: Inserted InventoryAuditEntities with [tenantId: {}, tableName: {}, count: {}, written: {}]",
+          tenantId, tableName, inventoryAuditEntities.size(), written))
+        .onFailure(e -> LOGGER.error("Failed to insert records with [tableName: {}, count: {}]",
+          tableName, inventoryAuditEntities.size(), e));
+    } catch (Exception e) {
+      LOGGER.error("Failed to insert records with [tableName: {}, count: {}]", tableName, inventoryAuditEntities.size(), e);
+      return Future.failedFuture(e);
+    }
+  }
+
+  /**
+   * Turns the entities into one array parameter per column, missing user ids and diffs are loaded as nulls.
+   */
+  static Tuple toColumns(List<InventoryAuditEntity> entities) {
+    var size = entities.size();
+    var eventIds = new UUID[size];
+    var eventDates = new LocalDateTime[size];
+    var entityIds = new UUID[size];
+    var actions = new String[size];
+    var userIds = new UUID[size];
+    var diffs = new String[size];
+    for (int i = 0; i < size; i++) {
+      var entity = entities.get(i);
+      eventIds[i] = entity.eventId();
+      eventDates[i] = LocalDateTime.ofInstant(entity.eventDate().toInstant(), ZoneId.systemDefault());
+      entityIds[i] = entity.entityId();
+      actions[i] = entity.action();
+      userIds[i] = entity.userId();
+      diffs[i] = entity.diff() == null ? null : JsonObject.mapFrom(entity.diff()).encode();
+    }
+    return Tuple.of(eventIds, eventDates, entityIds, actions, userIds, diffs);
+  }
+}
@@ -3,13 +3,17 @@ package org.folio.dao.inventory.impl;
 import static java.lang.String.format;
 import static org.folio.util.AuditEventDBConstants.ACTION_FIELD;
 import static org.folio.util.AuditEventDBConstants.DIFF_FIELD;
+import static org.folio.util.AuditEventDBConstants.DIFF_SNAPSHOT_FIELD;
 import static org.folio.util.AuditEventDBConstants.ENTITY_ID_FIELD;
 import static org.folio.util.AuditEventDBConstants.EVENT_DATE_FIELD;
 import static org.folio.util.AuditEventDBConstants.EVENT_ID_FIELD;
 import static org.folio.util.AuditEventDBConstants.USER_ID_FIELD;
 import static org.folio.util.DbUtils.formatDBTableName;
+import static org.folio.util.DbUtils.formatValuesPlaceholders;
+import static org.folio.util.DbUtils.mergeTuples;
 
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
@@ -23,9 +27,14 @@ import java.util.List;
 import java.util.UUID;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.dao.PendingDiff;
+import org.folio.dao.batch.BatchWriter;
+import org.folio.dao.batch.BatchWriterFactory;
+import org.folio.dao.batch.SpoolCodec;
 import org.folio.dao.inventory.InventoryAuditEntity;
 import org.folio.dao.inventory.InventoryEventDao;
 import org.folio.domain.diff.ChangeRecordDto;
+import org.folio.util.DiffSnapshot;
 import org.folio.util.PostgresClientFactory;
 
 public abstract class InventoryEventDaoImpl implements InventoryEventDao {
@@ -35,6 +44,33 @@ public abstract class InventoryEventDaoImpl implements InventoryEventDao {
   private static final String INSERT_SQL = """
     INSERT INTO %s (event_id, event_date, entity_id, action, user_id, diff)
     VALUES ($1, $2, $3, $4, $5, $6)
+    ON CONFLICT DO NOTHING
+    """;
+
+  private static final String BATCH_INSERT_SQL = """
+    INSERT INTO %s (event_id, event_date, entity_id, action, user_id, diff)
+    VALUES %s
+    ON CONFLICT DO NOTHING
+    """;
+  private static final int INSERT_COLUMNS_COUNT = 6;
+
+  private static final String PENDING_INSERT_SQL = """
+    INSERT INTO %s (event_id, event_date, entity_id, action, user_id, diff, diff_snapshot, diff_pending)
+    VALUES %s
+    ON CONFLICT DO NOTHING
+    """;
+  private static final int PENDING_INSERT_COLUMNS_COUNT = 8;
+
+  private static final String SELECT_PENDING_BY_EVENT_IDS_SQL = """
+    SELECT * FROM %s
+      WHERE entity_id = $1 AND event_id = ANY($2) AND diff_pending
+    """;
+
+  private static final String SELECT_PENDING_SQL = """
+    SELECT * FROM %s
+      WHERE diff_pending
+      ORDER BY event_date
+      LIMIT $1
     """;
 
   private static final String SELECT_SQL = """
@@ -56,21 +92,110 @@ public abstract class InventoryEventDaoImpl implements InventoryEventDao {
       WHERE entity_id = $1
     """;
 
+  private static final String UPDATE_DIFF_SQL = """
+    UPDATE %s
+      SET diff = $3, diff_snapshot = NULL, diff_pending = false
+      WHERE event_id = $1 AND entity_id = $2
+    """;
+
+  private static final String DELETE_SQL = """
+    DELETE FROM %s
+      WHERE event_id = $1 AND entity_id = $2
+    """;
+
   private static final String SEEK_BY_DATE_CLAUSE = "AND event_date < $3";
 
+  private static final SpoolCodec<PendingDiff<InventoryAuditEntity>> PENDING_SPOOL_CODEC = SpoolCodec.of(
+    pendingDiff -> new JsonObject()
+      .put("entity", JsonObject.mapFrom(pendingDiff.entity()))
+      .put("snapshot", pendingDiff.snapshot().compress()),
+    json -> new PendingDiff<>(json.getJsonObject("entity").mapTo(InventoryAuditEntity.class),
+      DiffSnapshot.decompress(json.getBinary("snapshot"))));
+
   private final PostgresClientFactory pgClientFactory;
+  private final BatchWriter<InventoryAuditEntity> batchWriter;
+  private final BatchWriter<PendingDiff<InventoryAuditEntity>> pendingWriter;
 
-  protected InventoryEventDaoImpl(PostgresClientFactory pgClientFactory) {
+  protected InventoryEventDaoImpl(PostgresClientFactory pgClientFactory, BatchWriterFactory batchWriterFactory) {
     this.pgClientFactory = pgClientFactory;
+    var writerName = getClass().getSimpleName();
+    this.batchWriter = batchWriterFactory.create(writerName, INSERT_COLUMNS_COUNT, this::insertAll, this::insert,
+      SpoolCodec.json(InventoryAuditEntity.class), InventoryAuditEntity::entityId);
+    this.pendingWriter = batchWriterFactory.create(writerName + "-pending", PENDING_INSERT_COLUMNS_COUNT,
+      this::insertAllPending, this::insertPending, PENDING_SPOOL_CODEC, pendingDiff -> pendingDiff.entity().entityId());
   }
 
   @Override
   public Future<RowSet<Row>> save(InventoryAuditEntity event, String tenantId) {
     LOGGER.debug("save:: Trying to save InventoryAuditEntity with [tenantId: {}, eventId: {}, entityId: {}]",
       tenantId, event.eventId(), event.entityId());
+    return batchWriter.write(tenantId, event);
+  }
+
+  @Override
+  public Future<Void> saveAll(List<InventoryAuditEntity> events, String tenantId) {
+    LOGGER.debug("saveAll:: Trying to save InventoryAuditEntities with [tenantId: {}, count: {}]",
+      tenantId, events.size());
+    return Future.all(events.stream()
+        .map(event -> batchWriter.write(tenantId, event))
+        .toList())
+      .mapEmpty();
+  }
+
+  @Override
+  public Future<Void> savePending(List<PendingDiff<InventoryAuditEntity>> pendingDiffs, String tenantId) {
+    LOGGER.debug("savePending:: Trying to save InventoryAuditEntities with pending diff [tenantId: {}, count: {}]",
+      tenantId, pendingDiffs.size());
+    return Future.all(pendingDiffs.stream()
+        .map(pendingDiff -> pendingWriter.write(tenantId, pendingDiff))
+        .toList())
+      .mapEmpty();
+  }
+
+  private Future<RowSet<Row>> insertPending(String tenantId, PendingDiff<InventoryAuditEntity> pendingDiff) {
+    return insertAllPending(tenantId, List.of(pendingDiff));
+  }
+
+  private Future<RowSet<Row>> insertAllPending(String tenantId, List<PendingDiff<InventoryAuditEntity>> pendingDiffs) {
+    LOGGER.debug("insertAllPending:: Making save call of records with pending diff for tenant id : {}", tenantId);
+    try {
+      var table = formatDBTableName(tenantId, tableName());
+      var query = PENDING_INSERT_SQL.formatted(table,
+        formatValuesPlaceholders(PENDING_INSERT_COLUMNS_COUNT, pendingDiffs.size()));
+      var params = mergeTuples(pendingDiffs.stream()
+        .map(pendingDiff -> toTuple(pendingDiff.entity())
+          .addValue(Buffer.buffer(pendingDiff.snapshot().compress()))
+          .addValue(true))
+        .toList());
+      return pgClientFactory.createInstance(tenantId).execute(query, params)
+        .onSuccess(v -> LOGGER.info("insertAllPending:: Saved InventoryAuditEntities with pending diff [tenantId: {}, tableName: {}, count: {}]",
+          tenantId, tableName(), pendingDiffs.size()));
+    } catch (Exception e) {
+      LOGGER.error("Failed to save records with pending diff [tableName: {}, count: {}]", tableName(), pendingDiffs.size(), e);
+      return Future.failedFuture(e);
+    }
+  }
+
+  @Override
+  public Future<List<PendingDiff<InventoryAuditEntity>>> getPendingDiffs(UUID entityId, List<UUID> eventIds,
+                                                                         String tenantId) {
+    LOGGER.debug("getPendingDiffs:: Retrieve records with pending diff by [tenantId: {}, entityId: {}, eventIds: {}]",
+      tenantId, entityId, eventIds);
     var table = formatDBTableName(tenantId, tableName());
-    var query = format(INSERT_SQL, table);
-    return makeSaveCall(query, event, tenantId);
+    var query = SELECT_PENDING_BY_EVENT_IDS_SQL.formatted(table);
+    return pgClientFactory.createInstance(tenantId)
+      .execute(query, Tuple.of(entityId, eventIds.toArray(UUID[]::new)))
+      .map(this::mapRowToPendingDiffList);
+  }
+
+  @Override
+  public Future<List<PendingDiff<InventoryAuditEntity>>> getPendingDiffs(int limit, String tenantId) {
+    LOGGER.debug("getPendingDiffs:: Retrieve oldest records with pending diff by [tenantId: {}, limit: {}]",
+      tenantId, limit);
+    var table = formatDBTableName(tenantId, tableName());
+    var query = SELECT_PENDING_SQL.formatted(table);
+    return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(limit))
+      .map(this::mapRowToPendingDiffList);
   }
 
   @Override
@@ -110,7 +235,30 @@ public abstract class InventoryEventDaoImpl implements InventoryEventDao {
       tenantId, entityId);
     var table = formatDBTableName(tenantId, tableName());
     var query = DELETE_ALL_SQL.formatted(table);
-    return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(entityId))
+    return batchWriter.tombstone(tenantId, entityId)
+      .compose(v -> pendingWriter.tombstone(tenantId, entityId))
+      .compose(v -> pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(entityId)))
+      .mapEmpty();
+  }
+
+  @Override
+  public Future<Integer> updateDiff(InventoryAuditEntity event, String tenantId) {
+    LOGGER.debug("updateDiff:: Update diff of record by [tenantId: {}, eventId: {}, entityId: {}]",
+      tenantId, event.eventId(), event.entityId());
+    var table = formatDBTableName(tenantId, tableName());
+    var query = UPDATE_DIFF_SQL.formatted(table);
+    return pgClientFactory.createInstance(tenantId)
+      .execute(query, Tuple.of(event.eventId(), event.entityId(), JsonObject.mapFrom(event.diff())))
+      .map(RowSet::rowCount);
+  }
+
+  @Override
+  public Future<Void> delete(UUID eventId, UUID entityId, String tenantId) {
+    LOGGER.debug("delete:: Delete record by [tenantId: {}, eventId: {}, entityId: {}]",
+      tenantId, eventId, entityId);
+    var table = formatDBTableName(tenantId, tableName());
+    var query = DELETE_SQL.formatted(table);
+    return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(eventId, entityId))
       .mapEmpty();
   }
 
@@ -119,15 +267,40 @@ public abstract class InventoryEventDaoImpl implements InventoryEventDao {
     return INVENTORY_AUDIT_TABLE.formatted(resourceType().getType());
   }
 
+  private Future<RowSet<Row>> insert(String tenantId, InventoryAuditEntity event) {
+    var table = formatDBTableName(tenantId, tableName());
+    var query = format(INSERT_SQL, table);
+    return makeSaveCall(query, event, tenantId);
+  }
+
+  private Future<RowSet<Row>> insertAll(String tenantId, List<InventoryAuditEntity> events) {
+    LOGGER.debug("insertAll:: Making batch save call for tenant id : {}", tenantId);
+    try {
+      var table = formatDBTableName(tenantId, tableName());
+      var query = BATCH_INSERT_SQL.formatted(table, formatValuesPlaceholders(INSERT_COLUMNS_COUNT, events.size()));
+      var params = mergeTuples(events.stream().map(this::toTuple).toList());
+      return pgClientFactory.createInstance(tenantId).execute(query, params)
+        .onSuccess(v -> LOGGER.info("insertAll:: Saved InventoryAuditEntities with [tenantId: {}, tableName: {}, count: {}]",
+          tenantId, tableName(), events.size()));
+    } catch (Exception e) {
+      LOGGER.error("Failed to save records with [tableName: {}, count: {}]", tableName(), events.size(), e);
+      return Future.failedFuture(e);
+    }
+  }
+
+  private Tuple toTuple(InventoryAuditEntity event) {
+    return Tuple.of(event.eventId(),
+      LocalDateTime.ofInstant(event.eventDate().toInstant(), ZoneId.systemDefault()),
+      event.entityId(),
+      event.action(),
+      event.userId(),
+      JsonObject.mapFrom(event.diff()));
+  }
+
   private Future<RowSet<Row>> makeSaveCall(String query, InventoryAuditEntity event, String tenantId) {
     LOGGER.debug("makeSaveCall:: Making save call for tenant id : {}", tenantId);
     try {
-      var params = Tuple.of(event.eventId(),
-        LocalDateTime.ofInstant(event.eventDate().toInstant(), ZoneId.systemDefault()),
-        event.entityId(),
-        event.action(),
-        event.userId(),
-        JsonObject.mapFrom(event.diff()));
+      var params = toTuple(event);
       return pgClientFactory.createInstance(tenantId).execute(query, params)
         .onSuccess(v -> LOGGER.info("makeSaveCall:: Saved InventoryAuditEntity with [tenantId: {}, eventId:{}, entityId:{}]",
           tenantId, event.eventId(), event.entityId()))
@@ -152,6 +325,14 @@ public abstract class InventoryEventDaoImpl implements InventoryEventDao {
     return entities;
   }
 
+  private List<PendingDiff<InventoryAuditEntity>> mapRowToPendingDiffList(RowSet<Row> rowSet) {
+    LOGGER.debug("mapRowToPendingDiffList:: Mapping row set to List of Inventory Audit Entities with pending diff");
+    var pendingDiffs = new LinkedList<PendingDiff<InventoryAuditEntity>>();
+    rowSet.iterator().forEachRemaining(row -> pendingDiffs.add(new PendingDiff<>(mapRowToInventoryAuditEntity(row),
+      DiffSnapshot.decompress(row.getBuffer(DIFF_SNAPSHOT_FIELD).getBytes()))));
+    return pendingDiffs;
+  }
+
   private InventoryAuditEntity mapRowToInventoryAuditEntity(Row row) {
     LOGGER.debug("mapRowToInventoryAuditEntity:: Mapping row to Inventory Audit Entity");
     var diffJson = row.getJsonObject(DIFF_FIELD);
@@ -1,5 +1,6 @@
 package org.folio.dao.inventory.impl;
 
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.util.PostgresClientFactory;
 import org.folio.util.inventory.InventoryResourceType;
 import org.springframework.stereotype.Repository;
@@ -7,8 +8,8 @@ import org.springframework.stereotype.Repository;
 @Repository
 public class ItemEventDao extends InventoryEventDaoImpl {
 
-  public ItemEventDao(PostgresClientFactory pgClientFactory) {
-    super(pgClientFactory);
+  public ItemEventDao(PostgresClientFactory pgClientFactory, BatchWriterFactory batchWriterFactory) {
+    super(pgClientFactory, batchWriterFactory);
   }
 
   @Override
@@ -7,6 +7,7 @@ import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import org.folio.dao.PendingDiff;
 import org.folio.util.marc.SourceRecordType;
 
 /**
@@ -26,6 +27,60 @@ public interface MarcAuditDao {
    */
   Future<RowSet<Row>> save(MarcAuditEntity auditEntity, SourceRecordType recordType, String tenantId);
 
+  /**
+   * Persists MarcAuditEntity records without diff, with snapshots to calculate the diff from, in deferred diff mode.
+   *
+   * @param pendingDiffs the MarcAuditEntity records with snapshots of old and new parsed records
+   * @param recordType   the type of the source record (e.g., MARC_BIB or MARC_AUTHORITY)
+   * @param tenantId     the identifier of the tenant
+   * @return a Future containing a RowSet of Row objects representing the result of the database operation
+   */
+  Future<RowSet<Row>> savePending(List<PendingDiff<MarcAuditEntity>> pendingDiffs, SourceRecordType recordType,
+                                  String tenantId);
+
+  /**
+   * Retrieves records of the given events that are saved with pending diff.
+   *
+   * @param entityId   the unique identifier of the entity
+   * @param eventIds   the identifiers of the events to check
+   * @param recordType the type of the source record (e.g., MARC_BIB or MARC_AUTHORITY)
+   * @param tenantId   the identifier of the tenant
+   * @return a Future containing records with pending diff and their snapshots
+   */
+  Future<List<PendingDiff<MarcAuditEntity>>> getPendingDiffs(UUID entityId, List<UUID> eventIds,
+                                                             SourceRecordType recordType, String tenantId);
+
+  /**
+   * Retrieves the oldest records saved with pending diff.
+   *
+   * @param limit      the maximum number of records to retrieve
+   * @param recordType the type of the source record (e.g., MARC_BIB or MARC_AUTHORITY)
+   * @param tenantId   the identifier of the tenant
+   * @return a Future containing records with pending diff and their snapshots
+   */
+  Future<List<PendingDiff<MarcAuditEntity>>> getPendingDiffs(int limit, SourceRecordType recordType, String tenantId);
+
+  /**
+   * Saves the calculated diff of a record with pending diff.
+   *
+   * @param auditEntity the MarcAuditEntity with the calculated diff
+   * @param recordType  the type of the source record (e.g., MARC_BIB or MARC_AUTHORITY)
+   * @param tenantId    the identifier of the tenant
+   * @return a Future containing the number of updated records
+   */
+  Future<Integer> updateDiff(MarcAuditEntity auditEntity, SourceRecordType recordType, String tenantId);
+
+  /**
+   * Deletes the record saved for the event.
+   *
+   * @param eventId    the identifier of the event
+   * @param entityId   the unique identifier of the entity
+   * @param recordType the type of the source record (e.g., MARC_BIB or MARC_AUTHORITY)
+   * @param tenantId   the identifier of the tenant
+   * @return Void future
+   */
+  Future<Void> delete(UUID eventId, UUID entityId, SourceRecordType recordType, String tenantId);
+
   /**
    * Retrieves a list of MarcAuditEntity records from the database based on the given parameters.
    *
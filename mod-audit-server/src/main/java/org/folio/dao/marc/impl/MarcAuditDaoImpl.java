@@ -1,15 +1,21 @@
 package org.folio.dao.marc.impl;
 
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
 import io.vertx.sqlclient.Tuple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.dao.PendingDiff;
+import org.folio.dao.batch.BatchWriter;
+import org.folio.dao.batch.BatchWriterFactory;
+import org.folio.dao.batch.SpoolCodec;
 import org.folio.dao.marc.MarcAuditDao;
 import org.folio.dao.marc.MarcAuditEntity;
 import org.folio.domain.diff.ChangeRecordDto;
+import org.folio.util.DiffSnapshot;
 import org.folio.util.PostgresClientFactory;
 import org.folio.util.marc.SourceRecordType;
 import org.springframework.stereotype.Repository;
@@ -20,15 +26,19 @@ import java.time.ZoneId;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.BiFunction;
 
 import static org.folio.util.AuditEventDBConstants.ACTION_FIELD;
 import static org.folio.util.AuditEventDBConstants.DIFF_FIELD;
+import static org.folio.util.AuditEventDBConstants.DIFF_SNAPSHOT_FIELD;
 import static org.folio.util.AuditEventDBConstants.ENTITY_ID_FIELD;
 import static org.folio.util.AuditEventDBConstants.EVENT_DATE_FIELD;
 import static org.folio.util.AuditEventDBConstants.EVENT_ID_FIELD;
 import static org.folio.util.AuditEventDBConstants.ORIGIN_FIELD;
 import static org.folio.util.AuditEventDBConstants.USER_ID_FIELD;
 import static org.folio.util.DbUtils.formatDBTableName;
+import static org.folio.util.DbUtils.formatValuesPlaceholders;
+import static org.folio.util.DbUtils.mergeTuples;
 
 @Repository
 public class MarcAuditDaoImpl implements MarcAuditDao {
@@ -39,6 +49,44 @@ public class MarcAuditDaoImpl implements MarcAuditDao {
   private static final String INSERT_SQL = """
     INSERT INTO %s (event_id, event_date, entity_id, origin, action, user_id, diff)
     VALUES ($1, $2, $3, $4, $5, $6, $7)
+    ON CONFLICT DO NOTHING
+    """;
+
+  private static final String BATCH_INSERT_SQL = """
+    INSERT INTO %s (event_id, event_date, entity_id, origin, action, user_id, diff)
+    VALUES %s
+    ON CONFLICT DO NOTHING
+    """;
+  private static final int INSERT_COLUMNS_COUNT = 7;
+
+  private static final String PENDING_INSERT_SQL = """
+    INSERT INTO %s (event_id, event_date, entity_id, origin, action, user_id, diff, diff_snapshot, diff_pending)
+    VALUES %s
+    ON CONFLICT DO NOTHING
+    """;
+  private static final int PENDING_INSERT_COLUMNS_COUNT = 9;
+
+  private static final String SELECT_PENDING_BY_EVENT_IDS_SQL = """
+    SELECT * FROM %s
+      WHERE entity_id = $1 AND event_id = ANY($2) AND diff_pending
+    """;
+
+  private static final String SELECT_PENDING_SQL = """
+    SELECT * FROM %s
+      WHERE diff_pending
+      ORDER BY event_date
+      LIMIT $1
+    """;
+
+  private static final String UPDATE_DIFF_SQL = """
+    UPDATE %s
+      SET diff = $3, diff_snapshot = NULL, diff_pending = false
+      WHERE event_id = $1 AND entity_id = $2
+    """;
+
+  private static final String DELETE_SQL = """
+    DELETE FROM %s
+      WHERE event_id = $1 AND entity_id = $2
     """;
 
   private static final String SELECT_SQL = """
@@ -61,21 +109,85 @@ public class MarcAuditDaoImpl implements MarcAuditDao {
     """;
 
   private final PostgresClientFactory pgClientFactory;
+  private final BatchWriter<MarcAuditEntity> marcBibWriter;
+  private final BatchWriter<MarcAuditEntity> marcAuthorityWriter;
 
-  public MarcAuditDaoImpl(PostgresClientFactory pgClientFactory) {
+  public MarcAuditDaoImpl(PostgresClientFactory pgClientFactory, BatchWriterFactory batchWriterFactory) {
     this.pgClientFactory = pgClientFactory;
+    this.marcBibWriter = createWriter(batchWriterFactory, MARC_BIB_TABLE);
+    this.marcAuthorityWriter = createWriter(batchWriterFactory, MARC_AUTHORITY_TABLE);
   }
 
   @Override
   public Future<RowSet<Row>> save(MarcAuditEntity entity, SourceRecordType recordType, String tenantId) {
     LOGGER.debug("save:: Saving Marc domain event with id: '{}' and record id: '{}'", entity.entityId(), entity.entityId());
     var tableName = tableName(recordType);
-    var query = INSERT_SQL.formatted(formatDBTableName(tenantId, tableName));
-    return makeSaveCall(query, entity, tenantId)
+    var writer = MARC_BIB_TABLE.equals(tableName) ? marcBibWriter : marcAuthorityWriter;
+    return writer.write(tenantId, entity)
       .onSuccess(rows -> LOGGER.info("save:: Saved Marc domain event with id: '{}' and entityId: '{}' in to table '{}'", entity.eventId(), entity.entityId(), tableName))
       .onFailure(e -> LOGGER.error("save:: Failed to save Marc domain event with id: '{}' and entityId: '{}' in to table '{}'", entity.eventId(), entity.entityId(), tableName, e));
   }
 
+  @Override
+  public Future<RowSet<Row>> savePending(List<PendingDiff<MarcAuditEntity>> pendingDiffs, SourceRecordType recordType,
+                                         String tenantId) {
+    LOGGER.debug("savePending:: Saving Marc domain events with pending diff [tenantId: {}, recordType: {}, count: {}]",
+      tenantId, recordType, pendingDiffs.size());
+    var tableName = tableName(recordType);
+    try {
+      var query = PENDING_INSERT_SQL.formatted(formatDBTableName(tenantId, tableName),
+        formatValuesPlaceholders(PENDING_INSERT_COLUMNS_COUNT, pendingDiffs.size()));
+      var params = mergeTuples(pendingDiffs.stream()
+        .map(pendingDiff -> toTuple(pendingDiff.entity())
+          .addValue(Buffer.buffer(pendingDiff.snapshot().compress()))
+          .addValue(true))
+        .toList());
+      return pgClientFactory.createInstance(tenantId).execute(query, params)
+        .onSuccess(rows -> LOGGER.info("savePending:: Saved Marc domain events with pending diff in to table '{}', count: {}", tableName, pendingDiffs.size()))
+        .onFailure(e -> LOGGER.error("savePending:: Failed to save Marc domain events with pending diff in to table '{}'", tableName, e));
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  @Override
+  public Future<List<PendingDiff<MarcAuditEntity>>> getPendingDiffs(UUID entityId, List<UUID> eventIds,
+                                                                    SourceRecordType recordType, String tenantId) {
+    LOGGER.debug("getPendingDiffs:: Retrieve records with pending diff by tenantId: '{}', entityId: '{}', record type '{}'",
+      tenantId, entityId, recordType);
+    var query = SELECT_PENDING_BY_EVENT_IDS_SQL.formatted(formatDBTableName(tenantId, tableName(recordType)));
+    return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(entityId, eventIds.toArray(UUID[]::new)))
+      .map(this::mapRowToPendingDiffList);
+  }
+
+  @Override
+  public Future<List<PendingDiff<MarcAuditEntity>>> getPendingDiffs(int limit, SourceRecordType recordType,
+                                                                    String tenantId) {
+    LOGGER.debug("getPendingDiffs:: Retrieve oldest records with pending diff by tenantId: '{}', record type '{}', limit: {}",
+      tenantId, recordType, limit);
+    var query = SELECT_PENDING_SQL.formatted(formatDBTableName(tenantId, tableName(recordType)));
+    return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(limit))
+      .map(this::mapRowToPendingDiffList);
+  }
+
+  @Override
+  public Future<Integer> updateDiff(MarcAuditEntity entity, SourceRecordType recordType, String tenantId) {
+    LOGGER.debug("updateDiff:: Update diff of record by tenantId: '{}', eventId: '{}', entityId: '{}'",
+      tenantId, entity.eventId(), entity.entityId());
+    var query = UPDATE_DIFF_SQL.formatted(formatDBTableName(tenantId, tableName(recordType)));
+    return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(UUID.fromString(entity.eventId()),
+        UUID.fromString(entity.entityId()), JsonObject.mapFrom(entity.diff())))
+      .map(RowSet::rowCount);
+  }
+
+  @Override
+  public Future<Void> delete(UUID eventId, UUID entityId, SourceRecordType recordType, String tenantId) {
+    LOGGER.debug("delete:: Delete record by tenantId: '{}', eventId: '{}', entityId: '{}'", tenantId, eventId, entityId);
+    var query = DELETE_SQL.formatted(formatDBTableName(tenantId, tableName(recordType)));
+    return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(eventId, entityId))
+      .mapEmpty();
+  }
+
   @Override
   public Future<List<MarcAuditEntity>> get(UUID entityId, SourceRecordType recordType, String tenantId, LocalDateTime eventDate, int limit) {
     LOGGER.debug("get:: Retrieve records by tenantId: '{}', entityId: '{}' and record type '{}'", tenantId, entityId, recordType);
@@ -106,22 +218,69 @@ public class MarcAuditDaoImpl implements MarcAuditDao {
       .mapEmpty();
   }
 
+  private BatchWriter<MarcAuditEntity> createWriter(BatchWriterFactory batchWriterFactory, String tableName) {
+    BiFunction<String, MarcAuditEntity, Future<RowSet<Row>>> insert = (tenantId, entity) ->
+      makeSaveCall(INSERT_SQL.formatted(formatDBTableName(tenantId, tableName)), entity, tenantId);
+    return batchWriterFactory.create(tableName, INSERT_COLUMNS_COUNT,
+      (tenantId, entities) -> insertAll(tableName, entities, tenantId), insert,
+      SpoolCodec.of(this::toSpoolJson, this::fromSpoolJson), null);
+  }
+
+  private JsonObject toSpoolJson(MarcAuditEntity entity) {
+    return new JsonObject()
+      .put(EVENT_ID_FIELD, entity.eventId())
+      .put(EVENT_DATE_FIELD, entity.eventDate().toString())
+      .put(ENTITY_ID_FIELD, entity.entityId())
+      .put(ORIGIN_FIELD, entity.origin())
+      .put(ACTION_FIELD, entity.action())
+      .put(USER_ID_FIELD, entity.userId())
+      .put(DIFF_FIELD, entity.diff() == null ? null : JsonObject.mapFrom(entity.diff()));
+  }
+
+  private MarcAuditEntity fromSpoolJson(JsonObject json) {
+    var diffJson = json.getJsonObject(DIFF_FIELD);
+    return new MarcAuditEntity(
+      json.getString(EVENT_ID_FIELD),
+      LocalDateTime.parse(json.getString(EVENT_DATE_FIELD)),
+      json.getString(ENTITY_ID_FIELD),
+      json.getString(ORIGIN_FIELD),
+      json.getString(ACTION_FIELD),
+      json.getString(USER_ID_FIELD),
+      diffJson == null ? null : diffJson.mapTo(ChangeRecordDto.class)
+    );
+  }
+
+  private Future<RowSet<Row>> insertAll(String tableName, List<MarcAuditEntity> entities, String tenantId) {
+    LOGGER.debug("insertAll:: Making batch save call for tenant id : {}", tenantId);
+    try {
+      var query = BATCH_INSERT_SQL.formatted(formatDBTableName(tenantId, tableName),
+        formatValuesPlaceholders(INSERT_COLUMNS_COUNT, entities.size()));
+      return pgClientFactory.createInstance(tenantId).execute(query, mergeTuples(entities.stream().map(this::toTuple).toList()));
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
   private Future<RowSet<Row>> makeSaveCall(String query, MarcAuditEntity entity, String tenantId) {
     LOGGER.debug("makeSaveCall:: Making save call for tenant id : {}", tenantId);
     try {
-      return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(
-        entity.eventId(),
-        entity.eventDate(),
-        entity.entityId(),
-        entity.origin(),
-        entity.action(),
-        entity.userId(),
-        JsonObject.mapFrom(entity.diff())));
+      return pgClientFactory.createInstance(tenantId).execute(query, toTuple(entity));
     } catch (Exception e) {
       return Future.failedFuture(e);
     }
   }
 
+  private Tuple toTuple(MarcAuditEntity entity) {
+    return Tuple.of(
+      entity.eventId(),
+      entity.eventDate(),
+      entity.entityId(),
+      entity.origin(),
+      entity.action(),
+      entity.userId(),
+      JsonObject.mapFrom(entity.diff()));
+  }
+
   private List<MarcAuditEntity> mapRowToAuditEntityList(RowSet<Row> rowSet) {
     LOGGER.debug("mapRowToAuditEntityList:: Mapping row set to List of Marc Audit Entities");
     if (rowSet.rowCount() == 0) {
@@ -134,6 +293,14 @@ public class MarcAuditDaoImpl implements MarcAuditDao {
     return entities;
   }
 
+  private List<PendingDiff<MarcAuditEntity>> mapRowToPendingDiffList(RowSet<Row> rowSet) {
+    LOGGER.debug("mapRowToPendingDiffList:: Mapping row set to List of Marc Audit Entities with pending diff");
+    var pendingDiffs = new LinkedList<PendingDiff<MarcAuditEntity>>();
+    rowSet.iterator().forEachRemaining(row -> pendingDiffs.add(new PendingDiff<>(mapRowToAuditEntity(row),
+      DiffSnapshot.decompress(row.getBuffer(DIFF_SNAPSHOT_FIELD).getBytes()))));
+    return pendingDiffs;
+  }
+
   private MarcAuditEntity mapRowToAuditEntity(Row row) {
     LOGGER.debug("mapRowToAuditEntity:: Mapping row to Marc Audit Entity");
     var diffJson = row.getJsonObject(DIFF_FIELD);
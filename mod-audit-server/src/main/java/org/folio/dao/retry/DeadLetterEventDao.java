@@ -0,0 +1,62 @@
+package org.folio.dao.retry;
+
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import java.util.List;
+import java.util.UUID;
+
+public interface DeadLetterEventDao {
+
+  /**
+   * Saves dead-lettered event to DB
+   *
+   * @param entity   DeadLetterEventEntity to save
+   * @param tenantId tenant id
+   * @return future with created row
+   */
+  Future<RowSet<Row>> save(DeadLetterEventEntity entity, String tenantId);
+
+  /**
+   * Retrieves dead-lettered events ordered by created date descending.
+   *
+   * @param offset   number of records to skip
+   * @param limit    number of records to return
+   * @param tenantId tenant id
+   * @return future with list of dead-lettered events
+   */
+  Future<List<DeadLetterEventEntity>> get(int offset, int limit, String tenantId);
+
+  /**
+   * Retrieves dead-lettered event by id.
+   *
+   * @param id       dead-lettered event id
+   * @param tenantId tenant id
+   * @return future with dead-lettered event or null if it does not exist
+   */
+  Future<DeadLetterEventEntity> getById(UUID id, String tenantId);
+
+  /**
+   * Counts dead-lettered events.
+   *
+   * @param tenantId tenant id
+   * @return future with number of dead-lettered events
+   */
+  Future<Integer> count(String tenantId);
+
+  /**
+   * Deletes dead-lettered event by id.
+   *
+   * @param id       dead-lettered event id
+   * @param tenantId tenant id
+   * @return future with result of deletion
+   */
+  Future<Void> delete(UUID id, String tenantId);
+
+  /**
+   * Returns name of the table.
+   *
+   * @return table name
+   */
+  String tableName();
+}
@@ -0,0 +1,9 @@
+package org.folio.dao.retry;
+
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.UUID;
+
+public record DeadLetterEventEntity(UUID id, String originalTopic, String eventKey, String payload,
+                                    Map<String, String> headers, String errorMessage, int attempts,
+                                    Timestamp eventDate, Timestamp createdDate) { }
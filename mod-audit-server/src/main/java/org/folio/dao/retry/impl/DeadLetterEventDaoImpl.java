@@ -0,0 +1,153 @@
+package org.folio.dao.retry.impl;
+
+import static org.folio.util.DbUtils.formatDBTableName;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.dao.retry.DeadLetterEventDao;
+import org.folio.dao.retry.DeadLetterEventEntity;
+import org.folio.util.PostgresClientFactory;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class DeadLetterEventDaoImpl implements DeadLetterEventDao {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+  private static final String DEAD_LETTER_EVENT_TABLE = "dead_letter_event";
+
+  private static final String ID_FIELD = "id";
+  private static final String ORIGINAL_TOPIC_FIELD = "original_topic";
+  private static final String EVENT_KEY_FIELD = "event_key";
+  private static final String PAYLOAD_FIELD = "payload";
+  private static final String HEADERS_FIELD = "headers";
+  private static final String ERROR_MESSAGE_FIELD = "error_message";
+  private static final String ATTEMPTS_FIELD = "attempts";
+  private static final String EVENT_DATE_FIELD = "event_date";
+  private static final String CREATED_DATE_FIELD = "created_date";
+
+  private static final String INSERT_SQL = """
+    INSERT INTO %s (id, original_topic, event_key, payload, headers, error_message, attempts, event_date, created_date)
+    VALUES ($1, $2, $3, $4, $5, $6, $7, $8, $9)
+    ON CONFLICT DO NOTHING
+    """;
+
+  private static final String SELECT_SQL = """
+    SELECT * FROM %s
+      ORDER BY created_date DESC
+      OFFSET $1 LIMIT $2
+    """;
+
+  private static final String SELECT_BY_ID_SQL = "SELECT * FROM %s WHERE id = $1";
+
+  private static final String COUNT_SQL = "SELECT COUNT(*) FROM %s";
+
+  private static final String DELETE_BY_ID_SQL = "DELETE FROM %s WHERE id = $1";
+
+  private final PostgresClientFactory pgClientFactory;
+
+  public DeadLetterEventDaoImpl(PostgresClientFactory pgClientFactory) {
+    this.pgClientFactory = pgClientFactory;
+  }
+
+  @Override
+  public Future<RowSet<Row>> save(DeadLetterEventEntity entity, String tenantId) {
+    LOGGER.debug("save:: Saving dead-lettered event [tenantId: {}, id: {}, originalTopic: {}]",
+      tenantId, entity.id(), entity.originalTopic());
+    var query = INSERT_SQL.formatted(formatDBTableName(tenantId, tableName()));
+    var params = Tuple.of(entity.id(), entity.originalTopic(), entity.eventKey(), entity.payload(),
+      entity.headers() == null ? null : new JsonObject(new HashMap<>(entity.headers())),
+      entity.errorMessage(), entity.attempts(), toLocalDateTime(entity.eventDate()),
+      toLocalDateTime(entity.createdDate()));
+    return pgClientFactory.createInstance(tenantId).execute(query, params)
+      .onSuccess(v -> LOGGER.info("save:: Saved dead-lettered event [tenantId: {}, id: {}, originalTopic: {}]",
+        tenantId, entity.id(), entity.originalTopic()))
+      .onFailure(e -> LOGGER.error("Failed to save dead-lettered event [tenantId: {}, id: {}]",
+        tenantId, entity.id(), e));
+  }
+
+  @Override
+  public Future<List<DeadLetterEventEntity>> get(int offset, int limit, String tenantId) {
+    LOGGER.debug("get:: Retrieve dead-lettered events [tenantId: {}, offset: {}, limit: {}]", tenantId, offset, limit);
+    var query = SELECT_SQL.formatted(formatDBTableName(tenantId, tableName()));
+    return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(offset, limit))
+      .map(this::mapRowsToEntities);
+  }
+
+  @Override
+  public Future<DeadLetterEventEntity> getById(UUID id, String tenantId) {
+    LOGGER.debug("getById:: Retrieve dead-lettered event [tenantId: {}, id: {}]", tenantId, id);
+    var query = SELECT_BY_ID_SQL.formatted(formatDBTableName(tenantId, tableName()));
+    return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(id))
+      .map(rowSet -> rowSet.rowCount() == 0 ? null : mapRowToEntity(rowSet.iterator().next()));
+  }
+
+  @Override
+  public Future<Integer> count(String tenantId) {
+    LOGGER.debug("count:: Count dead-lettered events [tenantId: {}]", tenantId);
+    var query = COUNT_SQL.formatted(formatDBTableName(tenantId, tableName()));
+    return pgClientFactory.createInstance(tenantId).selectSingle(query, Tuple.tuple())
+      .map(row -> row.getInteger(0));
+  }
+
+  @Override
+  public Future<Void> delete(UUID id, String tenantId) {
+    LOGGER.debug("delete:: Deleting dead-lettered event [tenantId: {}, id: {}]", tenantId, id);
+    var query = DELETE_BY_ID_SQL.formatted(formatDBTableName(tenantId, tableName()));
+    return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(id))
+      .mapEmpty();
+  }
+
+  @Override
+  public String tableName() {
+    return DEAD_LETTER_EVENT_TABLE;
+  }
+
+  private List<DeadLetterEventEntity> mapRowsToEntities(RowSet<Row> rowSet) {
+    var entities = new ArrayList<DeadLetterEventEntity>();
+    rowSet.iterator().forEachRemaining(row -> entities.add(mapRowToEntity(row)));
+    return entities;
+  }
+
+  private DeadLetterEventEntity mapRowToEntity(Row row) {
+    var headersJson = row.getJsonObject(HEADERS_FIELD);
+    Map<String, String> headers = new HashMap<>();
+    if (headersJson != null) {
+      headersJson.forEach(entry -> headers.put(entry.getKey(), String.valueOf(entry.getValue())));
+    }
+    return new DeadLetterEventEntity(
+      row.getUUID(ID_FIELD),
+      row.getString(ORIGINAL_TOPIC_FIELD),
+      row.getString(EVENT_KEY_FIELD),
+      row.getString(PAYLOAD_FIELD),
+      headers,
+      row.getString(ERROR_MESSAGE_FIELD),
+      row.getInteger(ATTEMPTS_FIELD),
+      toTimestamp(row.getLocalDateTime(EVENT_DATE_FIELD)),
+      toTimestamp(row.getLocalDateTime(CREATED_DATE_FIELD))
+    );
+  }
+
+  private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+    return timestamp == null ? null : LocalDateTime.ofInstant(timestamp.toInstant(), ZoneId.systemDefault());
+  }
+
+  private Timestamp toTimestamp(LocalDateTime localDateTime) {
+    return localDateTime == null
+           ? null
+           : new Timestamp(ZonedDateTime.of(localDateTime, ZoneId.systemDefault()).toInstant().toEpochMilli());
+  }
+}
@@ -7,6 +7,7 @@ import java.sql.Timestamp;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import org.folio.dao.PendingDiff;
 import org.folio.rest.persist.Conn;
 
 public interface UserEventDao {
@@ -20,6 +21,34 @@ public interface UserEventDao {
    */
   Future<RowSet<Row>> save(UserAuditEntity userAuditEntity, String tenantId);
 
+  /**
+   * Saves userAuditEntities without diff, with snapshots to calculate the diff from, in deferred diff mode
+   *
+   * @param pendingDiffs UserAuditEntities with snapshots of old and new users
+   * @param tenantId     tenant id
+   * @return future with created rows
+   */
+  Future<RowSet<Row>> savePending(List<PendingDiff<UserAuditEntity>> pendingDiffs, String tenantId);
+
+  /**
+   * Retrieves audit records of the given events that are saved with pending diff
+   *
+   * @param userId   user id
+   * @param eventIds event ids to check
+   * @param tenantId tenant id
+   * @return future with records with pending diff and their snapshots
+   */
+  Future<List<PendingDiff<UserAuditEntity>>> getPendingDiffs(UUID userId, List<UUID> eventIds, String tenantId);
+
+  /**
+   * Retrieves the oldest audit records saved with pending diff
+   *
+   * @param limit    number of records to return
+   * @param tenantId tenant id
+   * @return future with records with pending diff and their snapshots
+   */
+  Future<List<PendingDiff<UserAuditEntity>>> getPendingDiffs(int limit, String tenantId);
+
   /**
    * Retrieves user audit entities from DB filtered by userId
    * and seeking by eventDate descending, not including.
@@ -50,6 +79,24 @@ public interface UserEventDao {
    */
   Future<Void> deleteByUserId(UUID userId, String tenantId);
 
+  /**
+   * Replaces diff of the audit record saved for the event, the diff is no longer pending
+   *
+   * @param userAuditEntity UserAuditEntity with the new diff
+   * @param tenantId        tenant id
+   * @return future with number of updated rows
+   */
+  Future<Integer> updateDiff(UserAuditEntity userAuditEntity, String tenantId);
+
+  /**
+   * Deletes the audit record saved for the event
+   *
+   * @param eventId  event id
+   * @param tenantId tenant id
+   * @return Void future
+   */
+  Future<Void> delete(UUID eventId, String tenantId);
+
   /**
    * Deletes all user audit records within a transaction.
    *
@@ -83,7 +130,7 @@ public interface UserEventDao {
 
   /**
    * Deletes UPDATE records with no user-visible changes: null diff or diff containing only
-   * internal metadata fields (e.g. createdDate, updatedDate, metadata.*).
+   * internal metadata fields (e.g. createdDate, updatedDate, metadata.*). Records with pending diff are kept.
    *
    * @param conn     transaction connection
    * @param tenantId tenant id
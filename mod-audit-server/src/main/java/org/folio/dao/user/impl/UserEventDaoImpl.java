@@ -3,13 +3,17 @@ package org.folio.dao.user.impl;
 import static org.folio.dao.user.UserAuditConstants.INTERNAL_METADATA_FIELD_PATHS;
 import static org.folio.util.AuditEventDBConstants.ACTION_FIELD;
 import static org.folio.util.AuditEventDBConstants.DIFF_FIELD;
+import static org.folio.util.AuditEventDBConstants.DIFF_SNAPSHOT_FIELD;
 import static org.folio.util.AuditEventDBConstants.EVENT_DATE_FIELD;
 import static org.folio.util.AuditEventDBConstants.EVENT_ID_FIELD;
 import static org.folio.util.AuditEventDBConstants.PERFORMED_BY_FIELD;
 import static org.folio.util.AuditEventDBConstants.USER_ID_FIELD;
 import static org.folio.util.DbUtils.formatDBTableName;
+import static org.folio.util.DbUtils.formatValuesPlaceholders;
+import static org.folio.util.DbUtils.mergeTuples;
 
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
@@ -24,10 +28,15 @@ import java.util.Set;
 import java.util.UUID;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.dao.PendingDiff;
+import org.folio.dao.batch.BatchWriter;
+import org.folio.dao.batch.BatchWriterFactory;
+import org.folio.dao.batch.SpoolCodec;
 import org.folio.dao.user.UserAuditEntity;
 import org.folio.dao.user.UserEventDao;
 import org.folio.domain.diff.ChangeRecordDto;
 import org.folio.rest.persist.Conn;
+import org.folio.util.DiffSnapshot;
 import org.folio.util.PostgresClientFactory;
 import org.springframework.stereotype.Repository;
 
@@ -40,6 +49,33 @@ public class UserEventDaoImpl implements UserEventDao {
   private static final String INSERT_SQL = """
     INSERT INTO %s (event_id, event_date, user_id, action, performed_by, diff)
     VALUES ($1, $2, $3, $4, $5, $6)
+    ON CONFLICT DO NOTHING
+    """;
+
+  private static final String BATCH_INSERT_SQL = """
+    INSERT INTO %s (event_id, event_date, user_id, action, performed_by, diff)
+    VALUES %s
+    ON CONFLICT DO NOTHING
+    """;
+  private static final int INSERT_COLUMNS_COUNT = 6;
+
+  private static final String PENDING_INSERT_SQL = """
+    INSERT INTO %s (event_id, event_date, user_id, action, performed_by, diff, diff_snapshot, diff_pending)
+    VALUES %s
+    ON CONFLICT DO NOTHING
+    """;
+  private static final int PENDING_INSERT_COLUMNS_COUNT = 8;
+
+  private static final String SELECT_PENDING_BY_EVENT_IDS_SQL = """
+    SELECT * FROM %s
+      WHERE user_id = $1 AND event_id = ANY($2) AND diff_pending
+    """;
+
+  private static final String SELECT_PENDING_SQL = """
+    SELECT * FROM %s
+      WHERE diff_pending
+      ORDER BY event_date
+      LIMIT $1
     """;
 
   private static final String DELETE_BY_USER_ID_SQL = """
@@ -49,6 +85,17 @@ public class UserEventDaoImpl implements UserEventDao {
 
   private static final String DELETE_ALL_SQL = "DELETE FROM %s";
 
+  private static final String UPDATE_DIFF_SQL = """
+    UPDATE %s
+      SET diff = $2, diff_snapshot = NULL, diff_pending = false
+      WHERE event_id = $1
+    """;
+
+  private static final String DELETE_SQL = """
+    DELETE FROM %s
+      WHERE event_id = $1
+    """;
+
   private static final String SELECT_SQL = """
     SELECT * FROM %s
       WHERE user_id = $1 %s
@@ -85,6 +132,7 @@ public class UserEventDaoImpl implements UserEventDao {
   private static final String DELETE_METADATA_ONLY_UPDATE_RECORDS_SQL = """
     DELETE FROM %s
     WHERE action = 'UPDATED'
+      AND NOT diff_pending
       AND NOT EXISTS (
         SELECT 1 FROM jsonb_array_elements(
           CASE WHEN jsonb_typeof(diff->'fieldChanges') = 'array'
@@ -140,9 +188,12 @@ public class UserEventDaoImpl implements UserEventDao {
 
 
   private final PostgresClientFactory pgClientFactory;
+  private final BatchWriter<UserAuditEntity> batchWriter;
 
-  public UserEventDaoImpl(PostgresClientFactory pgClientFactory) {
+  public UserEventDaoImpl(PostgresClientFactory pgClientFactory, BatchWriterFactory batchWriterFactory) {
     this.pgClientFactory = pgClientFactory;
+    this.batchWriter = batchWriterFactory.create(USER_AUDIT_TABLE, INSERT_COLUMNS_COUNT, this::insertAll, this::insert,
+      SpoolCodec.json(UserAuditEntity.class), UserAuditEntity::userId);
   }
 
   @Override
@@ -170,9 +221,48 @@ public class UserEventDaoImpl implements UserEventDao {
   public Future<RowSet<Row>> save(UserAuditEntity event, String tenantId) {
     LOGGER.debug("save:: Trying to save UserAuditEntity with [tenantId: {}, eventId: {}, userId: {}]",
       tenantId, event.eventId(), event.userId());
-    var table = formatDBTableName(tenantId, tableName());
-    var query = INSERT_SQL.formatted(table);
-    return makeSaveCall(query, event, tenantId);
+    return batchWriter.write(tenantId, event);
+  }
+
+  @Override
+  public Future<RowSet<Row>> savePending(List<PendingDiff<UserAuditEntity>> pendingDiffs, String tenantId) {
+    LOGGER.debug("savePending:: Trying to save UserAuditEntities with pending diff [tenantId: {}, count: {}]",
+      tenantId, pendingDiffs.size());
+    try {
+      var table = formatDBTableName(tenantId, tableName());
+      var query = PENDING_INSERT_SQL.formatted(table,
+        formatValuesPlaceholders(PENDING_INSERT_COLUMNS_COUNT, pendingDiffs.size()));
+      var params = mergeTuples(pendingDiffs.stream()
+        .map(pendingDiff -> toTuple(pendingDiff.entity())
+          .addValue(Buffer.buffer(pendingDiff.snapshot().compress()))
+          .addValue(true))
+        .toList());
+      return pgClientFactory.createInstance(tenantId).execute(query, params)
+        .onSuccess(v -> LOGGER.info("savePending:: Saved UserAuditEntities with pending diff [tenantId: {}, count: {}]",
+          tenantId, pendingDiffs.size()));
+    } catch (Exception e) {
+      LOGGER.error("Failed to save records with pending diff [tableName: {}, count: {}]",
+        tableName(), pendingDiffs.size(), e);
+      return Future.failedFuture(e);
+    }
+  }
+
+  @Override
+  public Future<List<PendingDiff<UserAuditEntity>>> getPendingDiffs(UUID userId, List<UUID> eventIds, String tenantId) {
+    LOGGER.debug("getPendingDiffs:: Retrieve records with pending diff by [tenantId: {}, userId: {}, count: {}]",
+      tenantId, userId, eventIds.size());
+    var query = SELECT_PENDING_BY_EVENT_IDS_SQL.formatted(formatDBTableName(tenantId, tableName()));
+    return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(userId, eventIds.toArray(UUID[]::new)))
+      .map(this::mapRowToPendingDiffList);
+  }
+
+  @Override
+  public Future<List<PendingDiff<UserAuditEntity>>> getPendingDiffs(int limit, String tenantId) {
+    LOGGER.debug("getPendingDiffs:: Retrieve oldest records with pending diff by [tenantId: {}, limit: {}]",
+      tenantId, limit);
+    var query = SELECT_PENDING_SQL.formatted(formatDBTableName(tenantId, tableName()));
+    return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(limit))
+      .map(this::mapRowToPendingDiffList);
   }
 
   @Override
@@ -181,7 +271,28 @@ public class UserEventDaoImpl implements UserEventDao {
       tenantId, userId);
     var table = formatDBTableName(tenantId, tableName());
     var query = DELETE_BY_USER_ID_SQL.formatted(table);
-    return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(userId))
+    return batchWriter.tombstone(tenantId, userId)
+      .compose(v -> pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(userId)))
+      .mapEmpty();
+  }
+
+  @Override
+  public Future<Integer> updateDiff(UserAuditEntity event, String tenantId) {
+    LOGGER.debug("updateDiff:: Updating diff of user audit record with [tenantId: {}, eventId: {}, userId: {}]",
+      tenantId, event.eventId(), event.userId());
+    var table = formatDBTableName(tenantId, tableName());
+    var query = UPDATE_DIFF_SQL.formatted(table);
+    var diff = event.diff() != null ? JsonObject.mapFrom(event.diff()) : null;
+    return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(event.eventId(), diff))
+      .map(RowSet::rowCount);
+  }
+
+  @Override
+  public Future<Void> delete(UUID eventId, String tenantId) {
+    LOGGER.debug("delete:: Deleting user audit record with [tenantId: {}, eventId: {}]", tenantId, eventId);
+    var table = formatDBTableName(tenantId, tableName());
+    var query = DELETE_SQL.formatted(table);
+    return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(eventId))
       .mapEmpty();
   }
 
@@ -190,7 +301,9 @@ public class UserEventDaoImpl implements UserEventDao {
     LOGGER.debug("deleteAll:: Deleting all user audit records with [tenantId: {}]", tenantId);
     var table = formatDBTableName(tenantId, tableName());
     var query = DELETE_ALL_SQL.formatted(table);
-    return conn.execute(query).mapEmpty();
+    return batchWriter.tombstone(tenantId, null)
+      .compose(v -> conn.execute(query))
+      .mapEmpty();
   }
 
   @Override
@@ -252,15 +365,40 @@ public class UserEventDaoImpl implements UserEventDao {
     return ANONYMIZE_ALL_SQL.formatted(formatDBTableName(tenantId, tableName()));
   }
 
+  private Future<RowSet<Row>> insert(String tenantId, UserAuditEntity event) {
+    var table = formatDBTableName(tenantId, tableName());
+    var query = INSERT_SQL.formatted(table);
+    return makeSaveCall(query, event, tenantId);
+  }
+
+  private Future<RowSet<Row>> insertAll(String tenantId, List<UserAuditEntity> events) {
+    LOGGER.debug("insertAll:: Making batch save call for tenant id : {}", tenantId);
+    try {
+      var table = formatDBTableName(tenantId, tableName());
+      var query = BATCH_INSERT_SQL.formatted(table, formatValuesPlaceholders(INSERT_COLUMNS_COUNT, events.size()));
+      var params = mergeTuples(events.stream().map(this::toTuple).toList());
+      return pgClientFactory.createInstance(tenantId).execute(query, params)
+        .onSuccess(v -> LOGGER.info("insertAll:: Saved UserAuditEntities with [tenantId: {}, count: {}]",
+          tenantId, events.size()));
+    } catch (Exception e) {
+      LOGGER.error("Failed to save records with [tableName: {}, count: {}]", tableName(), events.size(), e);
+      return Future.failedFuture(e);
+    }
+  }
+
+  private Tuple toTuple(UserAuditEntity event) {
+    return Tuple.of(event.eventId(),
+      toLocalDateTime(event.eventDate()),
+      event.userId(),
+      event.action(),
+      event.performedBy(),
+      event.diff() != null ? JsonObject.mapFrom(event.diff()) : null);
+  }
+
   private Future<RowSet<Row>> makeSaveCall(String query, UserAuditEntity event, String tenantId) {
     LOGGER.debug("makeSaveCall:: Making save call with query : {} and tenant id : {}", query, tenantId);
     try {
-      var params = Tuple.of(event.eventId(),
-        toLocalDateTime(event.eventDate()),
-        event.userId(),
-        event.action(),
-        event.performedBy(),
-        event.diff() != null ? JsonObject.mapFrom(event.diff()) : null);
+      var params = toTuple(event);
       return pgClientFactory.createInstance(tenantId).execute(query, params)
         .onSuccess(v -> LOGGER.info("makeSaveCall:: Saving UserAuditEntity with [tenantId: {}, eventId:{}, userId:{}]",
           tenantId, event.eventId(), event.userId()))
@@ -285,6 +423,14 @@ public class UserEventDaoImpl implements UserEventDao {
     return entities;
   }
 
+  private List<PendingDiff<UserAuditEntity>> mapRowToPendingDiffList(RowSet<Row> rowSet) {
+    LOGGER.debug("mapRowToPendingDiffList:: Mapping row set to List of User Audit Entities with pending diff");
+    var pendingDiffs = new LinkedList<PendingDiff<UserAuditEntity>>();
+    rowSet.iterator().forEachRemaining(row -> pendingDiffs.add(new PendingDiff<>(mapRowToUserAuditEntity(row),
+      DiffSnapshot.decompress(row.getBuffer(DIFF_SNAPSHOT_FIELD).getBytes()))));
+    return pendingDiffs;
+  }
+
   private UserAuditEntity mapRowToUserAuditEntity(Row row) {
     LOGGER.debug("mapRowToUserAuditEntity:: Mapping row to User Audit Entity");
     var diffJson = row.getJsonObject(DIFF_FIELD);
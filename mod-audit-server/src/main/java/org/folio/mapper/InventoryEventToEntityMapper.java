@@ -11,6 +11,7 @@ import java.util.stream.Collectors;
 import org.folio.dao.inventory.InventoryAuditEntity;
 import org.folio.domain.diff.ChangeRecordDto;
 import org.folio.services.diff.inventory.InventoryDiffCalculator;
+import org.folio.services.diff.inventory.InventoryUpdateNoiseFilter;
 import org.folio.util.inventory.InventoryEvent;
 import org.folio.util.inventory.InventoryEventType;
 import org.folio.util.inventory.InventoryResourceType;
@@ -20,18 +21,28 @@ import org.springframework.stereotype.Component;
 public class InventoryEventToEntityMapper implements Function<InventoryEvent, InventoryAuditEntity> {
 
   private final Map<InventoryResourceType, InventoryDiffCalculator> diffServices;
+  private final InventoryUpdateNoiseFilter noiseFilter;
 
-  public InventoryEventToEntityMapper(List<InventoryDiffCalculator> diffServices) {
+  public InventoryEventToEntityMapper(List<InventoryDiffCalculator> diffServices,
+                                      InventoryUpdateNoiseFilter noiseFilter) {
     this.diffServices = diffServices.stream()
       .collect(Collectors.toMap(InventoryDiffCalculator::getResourceType, Function.identity()));
+    this.noiseFilter = noiseFilter;
   }
 
   @Override
   public InventoryAuditEntity apply(InventoryEvent event) {
-    var userId = extractUserId(event);
     var diff = InventoryEventType.UPDATE.equals(event.getType())
                ? getDiff(event)
                : null;
+    return toEntity(event, diff);
+  }
+
+  /**
+   * Maps the event to an audit record with the given diff, e.g. without diff in deferred diff mode.
+   */
+  public static InventoryAuditEntity toEntity(InventoryEvent event, ChangeRecordDto diff) {
+    var userId = extractUserId(event);
     return new InventoryAuditEntity(
       UUID.fromString(event.getEventId()),
       new Timestamp(event.getEventTs()),
@@ -43,6 +54,9 @@ public class InventoryEventToEntityMapper implements Function<InventoryEvent, In
   }
 
   private ChangeRecordDto getDiff(InventoryEvent event) {
+    if (noiseFilter.isNoise(event.getResourceType(), event.getOldValue(), event.getNewValue())) {
+      return null;
+    }
     return diffServices.get(event.getResourceType()).calculateDiff(event.getOldValue(), event.getNewValue());
   }
 }
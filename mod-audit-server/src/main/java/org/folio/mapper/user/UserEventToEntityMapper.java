@@ -22,11 +22,18 @@ public class UserEventToEntityMapper implements Function<UserEvent, UserAuditEnt
 
   @Override
   public UserAuditEntity apply(UserEvent event) {
-    var performedByStr = UserUtils.extractPerformedBy(event);
-    var performedBy = performedByStr != null ? UUID.fromString(performedByStr) : null;
     var diff = UserEventType.UPDATED.equals(event.getType())
                ? getDiff(event)
                : null;
+    return toEntity(event, diff);
+  }
+
+  /**
+   * Maps the event to an audit record with the given diff, e.g. without diff in deferred diff mode.
+   */
+  public static UserAuditEntity toEntity(UserEvent event, ChangeRecordDto diff) {
+    var performedByStr = UserUtils.extractPerformedBy(event);
+    var performedBy = performedByStr != null ? UUID.fromString(performedByStr) : null;
     return new UserAuditEntity(
       UUID.fromString(event.getId()),
       new Timestamp(event.getTimestamp()),
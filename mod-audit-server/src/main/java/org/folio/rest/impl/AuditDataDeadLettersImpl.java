@@ -0,0 +1,83 @@
+package org.folio.rest.impl;
+
+import static org.folio.util.ErrorCodes.GENERIC_ERROR_CODE;
+import static org.folio.util.ErrorCodes.NOT_FOUND_ERROR_CODE;
+import static org.folio.util.ErrorCodes.VALIDATION_ERROR_CODE;
+import static org.folio.util.ErrorUtils.errorResponse;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import java.util.Map;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.core.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.HttpStatus;
+import org.folio.rest.jaxrs.resource.AuditDataDeadLetters;
+import org.folio.rest.tools.utils.TenantTool;
+import org.folio.services.retry.DeadLetterService;
+import org.folio.spring.SpringContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class AuditDataDeadLettersImpl implements AuditDataDeadLetters {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  @Autowired
+  private DeadLetterService deadLetterService;
+
+  public AuditDataDeadLettersImpl() {
+    SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
+  }
+
+  @Override
+  public void getAuditDataDeadLetters(int offset, int limit, Map<String, String> okapiHeaders,
+                                      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    var tenantId = TenantTool.tenantId(okapiHeaders);
+    LOGGER.debug("getAuditDataDeadLetters:: Retrieving dead-lettered events [tenantId: {}, offset: {}, limit: {}]",
+      tenantId, offset, limit);
+    try {
+      deadLetterService.getDeadLetterEvents(offset, limit, tenantId)
+        .map(AuditDataDeadLetters.GetAuditDataDeadLettersResponse::respond200WithApplicationJson)
+        .map(Response.class::cast)
+        .otherwise(this::mapExceptionToResponse)
+        .onComplete(asyncResultHandler);
+    } catch (Exception e) {
+      LOGGER.error("getAuditDataDeadLetters:: Error retrieving dead-lettered events", e);
+      asyncResultHandler.handle(Future.succeededFuture(mapExceptionToResponse(e)));
+    }
+  }
+
+  @Override
+  public void postAuditDataDeadLettersReplayById(String id, Map<String, String> okapiHeaders,
+                                                 Handler<AsyncResult<Response>> asyncResultHandler,
+                                                 Context vertxContext) {
+    var tenantId = TenantTool.tenantId(okapiHeaders);
+    LOGGER.debug("postAuditDataDeadLettersReplayById:: Replaying dead-lettered event [tenantId: {}, id: {}]",
+      tenantId, id);
+    try {
+      deadLetterService.replayDeadLetterEvent(id, okapiHeaders, tenantId)
+        .map(v -> AuditDataDeadLetters.PostAuditDataDeadLettersReplayByIdResponse.respond204())
+        .map(Response.class::cast)
+        .otherwise(this::mapExceptionToResponse)
+        .onComplete(asyncResultHandler);
+    } catch (Exception e) {
+      LOGGER.error("postAuditDataDeadLettersReplayById:: Error replaying dead-lettered event with id: '{}'", id, e);
+      asyncResultHandler.handle(Future.succeededFuture(mapExceptionToResponse(e)));
+    }
+  }
+
+  private Response mapExceptionToResponse(Throwable throwable) {
+    LOGGER.debug("mapExceptionToResponse:: Mapping Exception :{} to Response", throwable.getMessage(), throwable);
+    if (throwable instanceof NotFoundException) {
+      return errorResponse(HttpStatus.HTTP_NOT_FOUND, NOT_FOUND_ERROR_CODE, throwable);
+    }
+    if (throwable instanceof IllegalArgumentException) {
+      return errorResponse(HttpStatus.HTTP_BAD_REQUEST, VALIDATION_ERROR_CODE, throwable);
+    }
+    return errorResponse(HttpStatus.HTTP_INTERNAL_SERVER_ERROR, GENERIC_ERROR_CODE, throwable);
+  }
+}
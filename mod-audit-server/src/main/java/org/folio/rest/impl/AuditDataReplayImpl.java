@@ -0,0 +1,99 @@
+package org.folio.rest.impl;
+
+import static org.folio.util.ErrorCodes.GENERIC_ERROR_CODE;
+import static org.folio.util.ErrorCodes.NOT_FOUND_ERROR_CODE;
+import static org.folio.util.ErrorCodes.VALIDATION_ERROR_CODE;
+import static org.folio.util.ErrorUtils.errorResponse;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import java.util.Map;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.core.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.HttpStatus;
+import org.folio.rest.jaxrs.model.ReplayJob;
+import org.folio.rest.jaxrs.resource.AuditDataReplay;
+import org.folio.rest.tools.utils.TenantTool;
+import org.folio.services.replay.ReplayService;
+import org.folio.spring.SpringContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class AuditDataReplayImpl implements AuditDataReplay {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  @Autowired
+  private ReplayService replayService;
+
+  public AuditDataReplayImpl() {
+    SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
+  }
+
+  @Override
+  public void postAuditDataReplay(ReplayJob entity, Map<String, String> okapiHeaders,
+                                  Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    var tenantId = TenantTool.tenantId(okapiHeaders);
+    LOGGER.debug("postAuditDataReplay:: Starting replay [tenantId: {}, resourceType: {}]",
+      tenantId, entity.getResourceType());
+    try {
+      replayService.startReplay(entity, tenantId)
+        .map(AuditDataReplay.PostAuditDataReplayResponse::respond201WithApplicationJson)
+        .map(Response.class::cast)
+        .otherwise(this::mapExceptionToResponse)
+        .onComplete(asyncResultHandler);
+    } catch (Exception e) {
+      LOGGER.error("postAuditDataReplay:: Error starting replay", e);
+      asyncResultHandler.handle(Future.succeededFuture(mapExceptionToResponse(e)));
+    }
+  }
+
+  @Override
+  public void getAuditDataReplayById(String id, Map<String, String> okapiHeaders,
+                                     Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    var tenantId = TenantTool.tenantId(okapiHeaders);
+    LOGGER.debug("getAuditDataReplayById:: Retrieving replay job [tenantId: {}, id: {}]", tenantId, id);
+    try {
+      replayService.getReplay(id, tenantId)
+        .map(AuditDataReplay.GetAuditDataReplayByIdResponse::respond200WithApplicationJson)
+        .map(Response.class::cast)
+        .otherwise(this::mapExceptionToResponse)
+        .onComplete(asyncResultHandler);
+    } catch (Exception e) {
+      LOGGER.error("getAuditDataReplayById:: Error retrieving replay job with id: '{}'", id, e);
+      asyncResultHandler.handle(Future.succeededFuture(mapExceptionToResponse(e)));
+    }
+  }
+
+  @Override
+  public void deleteAuditDataReplayById(String id, Map<String, String> okapiHeaders,
+                                        Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    var tenantId = TenantTool.tenantId(okapiHeaders);
+    LOGGER.debug("deleteAuditDataReplayById:: Cancelling replay job [tenantId: {}, id: {}]", tenantId, id);
+    try {
+      replayService.cancelReplay(id, tenantId)
+        .map(v -> AuditDataReplay.DeleteAuditDataReplayByIdResponse.respond204())
+        .map(Response.class::cast)
+        .otherwise(this::mapExceptionToResponse)
+        .onComplete(asyncResultHandler);
+    } catch (Exception e) {
+      LOGGER.error("deleteAuditDataReplayById:: Error cancelling replay job with id: '{}'", id, e);
+      asyncResultHandler.handle(Future.succeededFuture(mapExceptionToResponse(e)));
+    }
+  }
+
+  private Response mapExceptionToResponse(Throwable throwable) {
+    LOGGER.debug("mapExceptionToResponse:: Mapping Exception :{} to Response", throwable.getMessage(), throwable);
+    if (throwable instanceof NotFoundException) {
+      return errorResponse(HttpStatus.HTTP_NOT_FOUND, NOT_FOUND_ERROR_CODE, throwable);
+    }
+    if (throwable instanceof IllegalArgumentException) {
+      return errorResponse(HttpStatus.HTTP_BAD_REQUEST, VALIDATION_ERROR_CODE, throwable);
+    }
+    return errorResponse(HttpStatus.HTTP_INTERNAL_SERVER_ERROR, GENERIC_ERROR_CODE, throwable);
+  }
+}
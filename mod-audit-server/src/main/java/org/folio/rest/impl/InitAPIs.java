@@ -14,6 +14,9 @@ import org.apache.logging.log4j.Logger;
 import org.folio.config.ApplicationConfig;
 import org.folio.rest.resource.interfaces.InitAPI;
 import org.folio.spring.SpringContextUtil;
+import org.folio.verticle.AbstractConsumersVerticle;
+import org.folio.verticle.ConsumerScalingController;
+import org.folio.verticle.MultiplexedConsumersVerticle;
 import org.folio.verticle.SpringVerticleFactory;
 import org.folio.verticle.acquisition.InvoiceEventConsumersVerticle;
 import org.folio.verticle.acquisition.InvoiceLineEventConsumersVerticle;
@@ -21,15 +24,21 @@ import org.folio.verticle.acquisition.OrderEventConsumersVerticle;
 import org.folio.verticle.acquisition.OrderLineEventConsumersVerticle;
 import org.folio.verticle.acquisition.OrganizationEventConsumersVerticle;
 import org.folio.verticle.acquisition.PieceEventConsumersVerticle;
+import org.folio.verticle.circulation.CirculationLogConsumersVerticle;
 import org.folio.verticle.inventory.HoldingsConsumersVerticle;
 import org.folio.verticle.inventory.InstanceConsumersVerticle;
 import org.folio.verticle.inventory.ItemConsumersVerticle;
 import org.folio.verticle.marc.MarcRecordEventConsumersVerticle;
+import org.folio.verticle.retry.DeadLetterConsumersVerticle;
+import org.folio.verticle.retry.RetryConsumersVerticle;
 import org.folio.verticle.user.UserConsumersVerticle;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.support.AbstractApplicationContext;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 public class InitAPIs implements InitAPI {
   private final Logger LOGGER = LogManager.getLogger();
@@ -90,6 +99,33 @@ public class InitAPIs implements InitAPI {
   @Value("${user.users.kafka.consumer.pool.size:5}")
   private int userConsumerPoolSize;
 
+  @Value("${circulation.log-record.kafka.consumer.enabled:false}")
+  private boolean circulationLogConsumerEnabled;
+  @Value("${circulation.log-record.kafka.consumer.instancesNumber:1}")
+  private int circulationLogConsumerInstancesNumber;
+  @Value("${circulation.log-record.kafka.consumer.pool.size:5}")
+  private int circulationLogConsumerPoolSize;
+
+  @Value("${audit.kafka.retry.enabled:false}")
+  private boolean retryEnabled;
+  @Value("${audit.kafka.retry.consumer.instancesNumber:1}")
+  private int retryConsumerInstancesNumber;
+  @Value("${audit.kafka.retry.consumer.pool.size:5}")
+  private int retryConsumerPoolSize;
+
+  @Value("${audit.kafka.consumer.threading-model:WORKER}")
+  private ThreadingModel consumerThreadingModel;
+
+  @Value("${audit.kafka.consumer.multiplexed.enabled:false}")
+  private boolean multiplexedConsumerEnabled;
+  @Value("${audit.kafka.consumer.multiplexed.instancesNumber:1}")
+  private int multiplexedConsumerInstancesNumber;
+  @Value("${audit.kafka.consumer.multiplexed.pool.size:5}")
+  private int multiplexedConsumerPoolSize;
+
+  @Autowired
+  private ConsumerScalingController scalingController;
+
   @Override
   public void init(Vertx vertx, Context context, Handler<AsyncResult<Boolean>> handler) {
     LOGGER.debug("init:: InitAPI starting...");
@@ -100,6 +136,9 @@ public class InitAPIs implements InitAPI {
         .onSuccess(car -> {
           handler.handle(Future.succeededFuture());
           LOGGER.info("init:: Consumer Verticles were successfully started");
+          if (scalingController.isEnabled() && !multiplexedConsumerEnabled) {
+            scalingController.start();
+          }
         })
         .onFailure(th -> {
           handler.handle(Future.failedFuture(th));
@@ -116,6 +155,14 @@ public class InitAPIs implements InitAPI {
     AbstractApplicationContext springContext = vertx.getOrCreateContext().get(SPRING_CONTEXT_KEY);
     VerticleFactory verticleFactory = springContext.getBean(SpringVerticleFactory.class);
     vertx.registerVerticleFactory(verticleFactory);
+    LOGGER.info("deployConsumersVerticles:: Deploying consumer verticles [threadingModel: {}]", consumerThreadingModel);
+
+    if (multiplexedConsumerEnabled) {
+      LOGGER.info("deployConsumersVerticles:: Deploying multiplexed consumer verticle for all events");
+      Promise<String> multiplexedConsumer = Promise.promise();
+      deployVerticle(vertx, verticleFactory, MultiplexedConsumersVerticle.class, multiplexedConsumerInstancesNumber, multiplexedConsumerPoolSize, multiplexedConsumer);
+      return multiplexedConsumer.future();
+    }
 
     Promise<String> orderEventsConsumer = Promise.promise();
     Promise<String> orderLineEventsConsumer = Promise.promise();
@@ -141,8 +188,7 @@ public class InitAPIs implements InitAPI {
     deployVerticle(vertx, verticleFactory, MarcRecordEventConsumersVerticle.class, srsSourceRecordsConsumerInstancesNumber, srsSourceRecordsConsumerPoolSize, sourceRecordsConsumer);
     deployVerticle(vertx, verticleFactory, UserConsumersVerticle.class, userConsumerInstancesNumber, userConsumerPoolSize, userEventsConsumer);
 
-    LOGGER.info("deployConsumersVerticles:: All consumer verticles were successfully deployed");
-    return Future.all(Arrays.asList(
+    List<Future<String>> futures = new ArrayList<>(Arrays.asList(
       orderEventsConsumer.future(),
       orderLineEventsConsumer.future(),
       pieceEventsConsumer.future(),
@@ -155,12 +201,36 @@ public class InitAPIs implements InitAPI {
       sourceRecordsConsumer.future(),
       userEventsConsumer.future()
     ));
+
+    if (circulationLogConsumerEnabled) {
+      Promise<String> circulationLogConsumer = Promise.promise();
+      deployVerticle(vertx, verticleFactory, CirculationLogConsumersVerticle.class, circulationLogConsumerInstancesNumber, circulationLogConsumerPoolSize, circulationLogConsumer);
+      futures.add(circulationLogConsumer.future());
+    }
+
+    if (retryEnabled) {
+      Promise<String> retryEventsConsumer = Promise.promise();
+      Promise<String> deadLetterEventsConsumer = Promise.promise();
+      deployVerticle(vertx, verticleFactory, RetryConsumersVerticle.class, retryConsumerInstancesNumber, retryConsumerPoolSize, retryEventsConsumer);
+      deployVerticle(vertx, verticleFactory, DeadLetterConsumersVerticle.class, 1, retryConsumerPoolSize, deadLetterEventsConsumer);
+      futures.add(retryEventsConsumer.future());
+      futures.add(deadLetterEventsConsumer.future());
+    }
+
+    LOGGER.info("deployConsumersVerticles:: All consumer verticles were successfully deployed");
+    return Future.all(futures);
   }
 
   private <T> void deployVerticle(Vertx vertx, VerticleFactory verticleFactory, Class<T> consumerClass,
                                   int instancesNumber, int poolSize, Promise<String> eventsConsumer) {
-    DeploymentOptions deploymentOptions = new DeploymentOptions().setThreadingModel(ThreadingModel.WORKER)
-      .setInstances(instancesNumber).setWorkerPoolSize(poolSize);
+    DeploymentOptions deploymentOptions = new DeploymentOptions().setThreadingModel(consumerThreadingModel)
+      .setInstances(instancesNumber);
+    if (consumerThreadingModel == ThreadingModel.WORKER) {
+      deploymentOptions.setWorkerPoolSize(poolSize);
+    }
+    if (scalingController.isEnabled() && AbstractConsumersVerticle.class.isAssignableFrom(consumerClass)) {
+      scalingController.register(consumerClass.asSubclass(AbstractConsumersVerticle.class), deploymentOptions);
+    }
     vertx.deployVerticle(getVerticleName(verticleFactory, consumerClass), deploymentOptions)
       .onComplete(eventsConsumer::handle);
   }
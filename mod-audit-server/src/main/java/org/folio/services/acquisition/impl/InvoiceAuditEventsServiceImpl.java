@@ -11,7 +11,6 @@ import org.folio.rest.jaxrs.model.InvoiceAuditEventCollection;
 import org.folio.services.acquisition.InvoiceAuditEventsService;
 import org.springframework.stereotype.Service;
 
-import static org.folio.util.ErrorUtils.handleFailures;
 
 @Service
 public class InvoiceAuditEventsServiceImpl implements InvoiceAuditEventsService {
@@ -30,7 +29,7 @@ public class InvoiceAuditEventsServiceImpl implements InvoiceAuditEventsService
     return invoiceEventsDao.save(invoiceAuditEvent, tenantId)
       .recover(throwable -> {
         LOGGER.error("handleFailures:: Could not save invoice audit event for Invoice id: {} in tenantId: {}", invoiceAuditEvent.getInvoiceId(), tenantId);
-        return handleFailures(throwable, invoiceAuditEvent.getId());
+        return Future.failedFuture(throwable);
       });
   }
 
@@ -1,7 +1,5 @@
 package org.folio.services.acquisition.impl;
 
-import static org.folio.util.ErrorUtils.handleFailures;
-
 import io.vertx.core.Future;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
@@ -30,7 +28,7 @@ public class InvoiceLineAuditEventsServiceImpl implements InvoiceLineAuditEvents
     return invoiceLineEventsDao.save(invoiceLineAuditEvent, tenantId)
       .recover(throwable -> {
         LOGGER.error("handleFailures:: Could not save invoice audit event for InvoiceLine id: {} in tenantId: {}", invoiceLineAuditEvent.getInvoiceLineId(), tenantId);
-        return handleFailures(throwable, invoiceLineAuditEvent.getId());
+        return Future.failedFuture(throwable);
       });
   }
 
@@ -1,7 +1,5 @@
 package org.folio.services.acquisition.impl;
 
-import static org.folio.util.ErrorUtils.handleFailures;
-
 import io.vertx.core.Future;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
@@ -30,7 +28,7 @@ public class OrderAuditEventsServiceImpl implements OrderAuditEventsService {
     return orderEventsDao.save(orderAuditEvent, tenantId)
       .recover(throwable -> {
         LOGGER.error("handleFailures:: Could not save order audit event for Order id: {} in tenantId: {}", orderAuditEvent.getOrderId(), tenantId);
-        return handleFailures(throwable, orderAuditEvent.getId());
+        return Future.failedFuture(throwable);
       });
   }
 
@@ -1,7 +1,5 @@
 package org.folio.services.acquisition.impl;
 
-import static org.folio.util.ErrorUtils.handleFailures;
-
 import io.vertx.core.Future;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
@@ -30,7 +28,7 @@ public class OrderLineAuditEventsServiceImpl implements OrderLineAuditEventsServ
     return orderLineEventsDao.save(orderLineAuditEvent, tenantId)
       .recover(throwable -> {
         LOGGER.error("handleFailures:: Could not save order audit event for OrderLine id: {} in tenantId: {}", orderLineAuditEvent.getOrderLineId(), tenantId);
-        return handleFailures(throwable, orderLineAuditEvent.getId());
+        return Future.failedFuture(throwable);
       });
   }
 
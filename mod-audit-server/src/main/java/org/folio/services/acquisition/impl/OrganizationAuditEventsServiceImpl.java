@@ -11,7 +11,6 @@ import org.folio.rest.jaxrs.model.OrganizationAuditEventCollection;
 import org.folio.services.acquisition.OrganizationAuditEventsService;
 import org.springframework.stereotype.Service;
 
-import static org.folio.util.ErrorUtils.handleFailures;
 
 @Service
 public class OrganizationAuditEventsServiceImpl implements OrganizationAuditEventsService {
@@ -30,7 +29,7 @@ public class OrganizationAuditEventsServiceImpl implements OrganizationAuditEven
     return organizationEventsDao.save(organizationAuditEvent, tenantId)
       .recover(throwable -> {
         LOGGER.error("handleFailures:: Could not save organization audit event for Organization id: {} in tenantId: {}", organizationAuditEvent.getOrganizationId(), tenantId);
-        return handleFailures(throwable, organizationAuditEvent.getId());
+        return Future.failedFuture(throwable);
       });
   }
 
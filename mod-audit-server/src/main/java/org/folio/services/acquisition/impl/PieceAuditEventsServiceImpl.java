@@ -1,7 +1,5 @@
 package org.folio.services.acquisition.impl;
 
-import static org.folio.util.ErrorUtils.handleFailures;
-
 import io.vertx.core.Future;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
@@ -29,7 +27,7 @@ public class PieceAuditEventsServiceImpl implements PieceAuditEventsService {
     return pieceEventsDao.save(pieceAuditEvent, tenantId)
       .recover(throwable -> {
         LOGGER.error("handleFailures:: Could not save order audit event for Piece id: {} in tenantId: {}", pieceAuditEvent.getPieceId(), tenantId);
-        return handleFailures(throwable, pieceAuditEvent.getId());
+        return Future.failedFuture(throwable);
       });
   }
 
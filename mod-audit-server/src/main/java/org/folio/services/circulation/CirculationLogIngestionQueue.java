@@ -0,0 +1,132 @@
+package org.folio.services.circulation;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.util.circulation.CirculationLogEvent;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.util.metrics.Summary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded queue of circulation log events received through the {@code /audit/handlers/log-record} callback.
+ * <p>
+ * The queue accepts at most {@code audit.circulation.queue.max-depth} events, so that a redelivery storm of the
+ * publisher is pushed back to it instead of piling up builder calls and log records in memory. Up to
+ * {@code audit.circulation.queue.workers} workers drain the queue in batches of at most
+ * {@code audit.circulation.queue.batch-size} events and save log records of a batch with a single statement
+ * per tenant. If a batch fails, its events are saved one by one, so that a single failing event does not drop
+ * the log records of the others.
+ */
+@Component
+public class CirculationLogIngestionQueue {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final Vertx vertx;
+  private final CirculationLogService circulationLogService;
+  private final int workers;
+  private final int batchSize;
+  private final BlockingQueue<QueuedEvent> queue;
+  private final AtomicInteger activeWorkers = new AtomicInteger();
+  private final LongAdder rejected;
+  private final Summary waitTime;
+
+  public CirculationLogIngestionQueue(Vertx vertx, CirculationLogService circulationLogService,
+                                      MetricsRegistry metricsRegistry,
+                                      @Value("${audit.circulation.queue.max-depth:1000}") int maxDepth,
+                                      @Value("${audit.circulation.queue.workers:4}") int workers,
+                                      @Value("${audit.circulation.queue.batch-size:50}") int batchSize) {
+    this.vertx = vertx;
+    this.circulationLogService = circulationLogService;
+    this.workers = Math.max(1, workers);
+    this.batchSize = Math.max(1, batchSize);
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, maxDepth));
+    this.rejected = metricsRegistry.counter("audit.circulation.queue.rejected");
+    this.waitTime = metricsRegistry.summary("audit.circulation.queue.wait-ms");
+    metricsRegistry.gauge("audit.circulation.queue.depth", queue::size);
+  }
+
+  /**
+   * Adds event to the queue.
+   *
+   * @param event    circulation log event
+   * @param tenantId tenant id
+   * @return true if the event was queued, false if the queue is full and the event should be redelivered later
+   */
+  public boolean offer(CirculationLogEvent event, String tenantId) {
+    if (!queue.offer(new QueuedEvent(event, tenantId, System.nanoTime()))) {
+      rejected.increment();
+      LOGGER.warn("offer:: Circulation log queue is full, rejecting event [tenantId: {}, depth: {}]",
+        tenantId, queue.size());
+      return false;
+    }
+    startWorkers();
+    return true;
+  }
+
+  private void startWorkers() {
+    while (!queue.isEmpty()) {
+      var active = activeWorkers.get();
+      if (active >= workers) {
+        return;
+      }
+      if (activeWorkers.compareAndSet(active, active + 1)) {
+        drain();
+      }
+    }
+  }
+
+  private void drain() {
+    var batch = new ArrayList<QueuedEvent>(batchSize);
+    queue.drainTo(batch, batchSize);
+    if (batch.isEmpty()) {
+      activeWorkers.decrementAndGet();
+      // an event may have been queued after the worker found the queue empty
+      startWorkers();
+      return;
+    }
+    var now = System.nanoTime();
+    batch.forEach(queuedEvent -> waitTime.record(TimeUnit.NANOSECONDS.toMillis(now - queuedEvent.queuedAt())));
+    save(batch).onComplete(ar -> vertx.runOnContext(v -> drain()));
+  }
+
+  private Future<Void> save(List<QueuedEvent> batch) {
+    var eventsByTenant = new LinkedHashMap<String, List<CirculationLogEvent>>();
+    batch.forEach(queuedEvent -> eventsByTenant.computeIfAbsent(queuedEvent.tenantId(), id -> new ArrayList<>())
+      .add(queuedEvent.event()));
+    var futures = eventsByTenant.entrySet().stream()
+      .map(entry -> save(entry.getValue(), entry.getKey()))
+      .toList();
+    return Future.join(futures).mapEmpty();
+  }
+
+  private Future<Void> save(List<CirculationLogEvent> events, String tenantId) {
+    return circulationLogService.saveLogRecords(events, tenantId)
+      .recover(e -> {
+        if (events.size() == 1) {
+          LOGGER.warn("save:: Error saving log event [tenantId: {}]", tenantId, e);
+          return Future.succeededFuture();
+        }
+        LOGGER.warn("save:: Error saving batch of {} log events, saving events one by one [tenantId: {}]",
+          events.size(), tenantId, e);
+        var futures = events.stream()
+          .map(event -> save(List.of(event), tenantId))
+          .toList();
+        return Future.join(futures).mapEmpty();
+      });
+  }
+
+  private record QueuedEvent(CirculationLogEvent event, String tenantId, long queuedAt) {
+  }
+}
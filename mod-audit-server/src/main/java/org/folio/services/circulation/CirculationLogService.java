@@ -0,0 +1,18 @@
+package org.folio.services.circulation;
+
+import io.vertx.core.Future;
+import java.util.List;
+import org.folio.util.circulation.CirculationLogEvent;
+
+public interface CirculationLogService {
+
+  /**
+   * Builds circulation log records of the events and saves records of all events with a single statement.
+   * Events of unsupported types are skipped.
+   *
+   * @param events   circulation log events of the tenant in the order they were received
+   * @param tenantId id of tenant
+   * @return future completed when log records of all events are saved
+   */
+  Future<Void> saveLogRecords(List<CirculationLogEvent> events, String tenantId);
+}
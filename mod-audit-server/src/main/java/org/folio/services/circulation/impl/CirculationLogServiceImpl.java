@@ -0,0 +1,139 @@
+package org.folio.services.circulation.impl;
+
+import static org.folio.util.LogEventPayloadField.LOG_EVENT_TYPE;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.builder.LogRecordBuilderResolver;
+import org.folio.dao.circulation.CirculationLogDao;
+import org.folio.rest.jaxrs.model.LogRecord;
+import org.folio.services.circulation.CirculationLogService;
+import org.folio.util.circulation.CirculationLogEvent;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CirculationLogServiceImpl implements CirculationLogService {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final Vertx vertx;
+  private final CirculationLogDao circulationLogDao;
+
+  public CirculationLogServiceImpl(Vertx vertx, CirculationLogDao circulationLogDao) {
+    this.vertx = vertx;
+    this.circulationLogDao = circulationLogDao;
+  }
+
+  @Override
+  public Future<Void> saveLogRecords(List<CirculationLogEvent> events, String tenantId) {
+    LOGGER.debug("saveLogRecords:: Building log records of {} circulation events [tenantId: {}]", events.size(), tenantId);
+    var context = vertx.getOrCreateContext();
+    var builtRecords = events.stream()
+      .map(event -> buildLogRecords(event, context))
+      .toList();
+    return Future.all(builtRecords)
+      .compose(v -> mergeLogRecords(builtRecords.stream().map(Future::result).toList(), tenantId))
+      .compose(logRecords -> circulationLogDao.saveAll(logRecords, tenantId));
+  }
+
+  private Future<List<LogRecord>> buildLogRecords(CirculationLogEvent event, Context context) {
+    var logEventType = event.payload().getString(LOG_EVENT_TYPE.value());
+    try {
+      var builder = LogRecordBuilderResolver.getBuilder(logEventType, event.okapiHeaders(), context);
+      return Future.fromCompletionStage(builder.buildLogRecord(event.payload()), context)
+        .map(logRecords -> assignIds(event.eventId(), logRecords));
+    } catch (Exception e) {
+      LOGGER.warn("buildLogRecords:: Circulation log event is not supported, skipping [eventId: {}, logEventType: {}]",
+        event.eventId(), logEventType, e);
+      return Future.succeededFuture(List.of());
+    }
+  }
+
+  /**
+   * Assigns ids derived from the event id to the log records, so that a redelivered event replaces
+   * the log records saved for it instead of duplicating them.
+   */
+  private List<LogRecord> assignIds(String eventId, List<LogRecord> logRecords) {
+    if (eventId == null) {
+      return logRecords;
+    }
+    for (int i = 0; i < logRecords.size(); i++) {
+      var logRecord = logRecords.get(i);
+      if (logRecord.getId() == null) {
+        logRecord.setId(UUID.nameUUIDFromBytes((eventId + ":" + i).getBytes(StandardCharsets.UTF_8)).toString());
+      }
+    }
+    return logRecords;
+  }
+
+  /**
+   * Merges log records of the events in the order the events were received. An anonymize event removes user data
+   * from the already saved log records of the loan and from the log records of the loan built for preceding events.
+   */
+  private Future<List<LogRecord>> mergeLogRecords(List<List<LogRecord>> builtRecords, String tenantId) {
+    var merged = new LinkedHashMap<String, LogRecord>();
+    var withoutId = new ArrayList<LogRecord>();
+    var result = Future.<Void>succeededFuture();
+    for (var logRecords : builtRecords) {
+      result = result.compose(v -> {
+        logRecords.forEach(logRecord -> add(logRecord, merged, withoutId));
+        var loanId = getAnonymizedLoanId(logRecords);
+        if (loanId == null) {
+          return Future.succeededFuture();
+        }
+        merged.values().stream()
+          .filter(logRecord -> isLoanRecord(logRecord, loanId))
+          .forEach(CirculationLogServiceImpl::anonymize);
+        return circulationLogDao.getByLoanId(loanId, tenantId)
+          .onSuccess(savedRecords -> savedRecords.forEach(savedRecord -> merged.putIfAbsent(savedRecord.getId(),
+            anonymize(savedRecord))))
+          .mapEmpty();
+      });
+    }
+    return result.map(v -> {
+      var logRecords = new ArrayList<LogRecord>(merged.size() + withoutId.size());
+      logRecords.addAll(merged.values());
+      logRecords.addAll(withoutId);
+      return logRecords;
+    });
+  }
+
+  private void add(LogRecord logRecord, Map<String, LogRecord> merged, List<LogRecord> withoutId) {
+    if (logRecord.getId() == null) {
+      withoutId.add(logRecord);
+    } else {
+      merged.put(logRecord.getId(), logRecord);
+    }
+  }
+
+  private String getAnonymizedLoanId(List<LogRecord> logRecords) {
+    if (logRecords.isEmpty() || LogRecord.Action.ANONYMIZE != logRecords.get(0).getAction()
+      || logRecords.get(0).getItems() == null || logRecords.get(0).getItems().isEmpty()) {
+      return null;
+    }
+    return logRecords.get(0).getItems().get(0).getLoanId();
+  }
+
+  private boolean isLoanRecord(LogRecord logRecord, String loanId) {
+    return logRecord.getItems() != null && logRecord.getItems().stream()
+      .anyMatch(item -> Objects.equals(loanId, item.getLoanId()));
+  }
+
+  private static LogRecord anonymize(LogRecord logRecord) {
+    logRecord.setUserBarcode(null);
+    if (logRecord.getLinkToIds() != null) {
+      logRecord.getLinkToIds().setUserId(null);
+    }
+    return logRecord;
+  }
+}
@@ -0,0 +1,197 @@
+package org.folio.services.coalescing;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.services.configuration.ConfigurationService;
+import org.folio.services.configuration.Setting;
+import org.folio.services.configuration.SettingCache;
+import org.folio.util.metrics.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tracks bursts of updates of the same record, so that updates made by the same user within a window are merged
+ * into the audit record written for the first update of the burst.
+ * <p>
+ * A burst keeps the old value of its earliest update, the new value of its latest update and the id of the audit
+ * record written for the update that opened it. Every following update of the burst recalculates the diff between
+ * these values and replaces the diff of the audit record, so the audit record is always written before the kafka
+ * record is committed. An update delivered out of order is merged as well: an update older than the earliest one
+ * moves the old value back, an update between them leaves the values as they are. A burst that is lost,
+ * e.g. on restart or when more than {@code audit.coalescing.max-bursts} bursts are open, only means that the next
+ * update starts a new audit record.
+ * <p>
+ * The window is set per tenant by the {@code update.coalescing.window} setting of the audit group in seconds,
+ * updates are not merged when it is 0. The setting is cached for {@code audit.settings.cache-ttl-ms}.
+ */
+@Component
+public class UpdateCoalescingWindow {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final SettingCache<Long> windowCache;
+  private final int maxBursts;
+  private final Map<String, Burst> bursts = new ConcurrentHashMap<>();
+  private final Map<String, Future<Void>> tails = new ConcurrentHashMap<>();
+  private final LongAdder merged;
+
+  @Autowired
+  public UpdateCoalescingWindow(ConfigurationService configurationService, MetricsRegistry metricsRegistry,
+                                @Value("${audit.coalescing.max-bursts:10000}") int maxBursts,
+                                @Value("${audit.settings.cache-ttl-ms:30000}") long settingsCacheTtlMs) {
+    this.windowCache = new SettingCache<>(configurationService, settingsCacheTtlMs,
+      value -> value instanceof Integer seconds && seconds > 0 ? seconds * 1000L : 0L);
+    this.maxBursts = maxBursts;
+    this.merged = metricsRegistry.counter("audit.coalescing.merged");
+    metricsRegistry.gauge("audit.coalescing.open", bursts::size);
+  }
+
+  /**
+   * Resolves the window of the tenant.
+   *
+   * @param setting  window setting of the audit group
+   * @param tenantId tenant id
+   * @return future with length of the window in milliseconds, 0 if updates are not merged
+   */
+  public Future<Long> getWindowMs(Setting setting, String tenantId) {
+    return windowCache.get(setting, tenantId)
+      .otherwise(e -> {
+        LOGGER.warn("getWindowMs:: Failed to load setting, updates are not merged [tenantId: {}, setting: {}]",
+          tenantId, setting, e);
+        return 0L;
+      });
+  }
+
+  /**
+   * Runs the action after actions previously started for the same record completed, so updates of a burst
+   * are merged one by one.
+   *
+   * @param key    record key
+   * @param action action to run
+   * @return future of the action
+   */
+  public <T> Future<T> execute(String key, Supplier<Future<T>> action) {
+    var promise = Promise.<Void>promise();
+    var tail = promise.future();
+    var previous = tails.put(key, tail);
+    var ready = previous == null ? Future.<Void>succeededFuture() : previous;
+    return ready.compose(v -> action.get())
+      .onComplete(ar -> {
+        tails.remove(key, tail);
+        promise.complete();
+      });
+  }
+
+  /**
+   * Finds the open burst the update belongs to.
+   *
+   * @param key         record key
+   * @param performedBy id of the user who made the update
+   * @param eventTs     timestamp of the update
+   * @param windowMs    length of the window
+   * @return burst or null if the update starts a new burst
+   */
+  public Burst find(String key, UUID performedBy, long eventTs, long windowMs) {
+    var burst = bursts.get(key);
+    if (burst == null || !Objects.equals(burst.performedBy(), performedBy)
+        || eventTs > burst.eventDate().getTime() + windowMs || eventTs < burst.firstEventTs() - windowMs) {
+      return null;
+    }
+    return burst;
+  }
+
+  /**
+   * Opens a burst that starts with the update written as the audit record. A burst opened by a later update
+   * is not replaced.
+   *
+   * @param key   record key
+   * @param burst burst
+   */
+  public void open(String key, Burst burst) {
+    if (bursts.size() >= maxBursts && !bursts.containsKey(key)) {
+      bursts.values().removeIf(open -> open.lastEventTs() < System.currentTimeMillis() - open.windowMs());
+      if (bursts.size() >= maxBursts) {
+        return;
+      }
+    }
+    bursts.merge(key, burst, (open, opened) -> open.lastEventTs() > opened.lastEventTs() ? open : opened);
+  }
+
+  /**
+   * Remembers that the update was merged into the burst.
+   *
+   * @param key    record key
+   * @param burst  burst the update was merged into
+   * @param merged burst with the update, see {@link Burst#merge(UUID, long, Map, Map)}
+   */
+  public void merge(String key, Burst burst, Burst merged) {
+    this.merged.increment();
+    bursts.replace(key, burst, merged);
+  }
+
+  /**
+   * Update burst.
+   *
+   * @param eventId        id of the audit record written for the update that opened the burst
+   * @param eventDate      date of the audit record written for the update that opened the burst
+   * @param performedBy    id of the user who made the updates
+   * @param oldValue       record before the earliest update
+   * @param newValue       record after the latest update
+   * @param firstEventTs   timestamp of the earliest merged update
+   * @param lastEventTs    timestamp of the latest merged update
+   * @param windowMs       length of the window the burst was opened with
+   * @param mergedEventIds event ids of the merged updates
+   */
+  public record Burst(UUID eventId, Timestamp eventDate, UUID performedBy, Map<String, Object> oldValue,
+                      Map<String, Object> newValue, long firstEventTs, long lastEventTs, long windowMs,
+                      Set<UUID> mergedEventIds) {
+
+    public Burst(UUID eventId, Timestamp eventDate, UUID performedBy, Map<String, Object> oldValue,
+                 Map<String, Object> newValue, long windowMs) {
+      this(eventId, eventDate, performedBy, oldValue, newValue, eventDate.getTime(), eventDate.getTime(), windowMs,
+        Set.of(eventId));
+    }
+
+    /**
+     * Checks whether the update is already reflected in the audit record of the burst, which is the case
+     * when a kafka record of the burst is redelivered.
+     *
+     * @param updateEventId event id of the update
+     * @return true if the update was already written
+     */
+    public boolean contains(UUID updateEventId) {
+      return mergedEventIds.contains(updateEventId);
+    }
+
+    /**
+     * Adds the update to the burst, the values of the update are taken only if it is older than the earliest
+     * or newer than the latest update of the burst.
+     *
+     * @param updateEventId event id of the update
+     * @param eventTs       timestamp of the update
+     * @param updateOld     record before the update
+     * @param updateNew     record after the update
+     * @return burst with the update
+     */
+    public Burst merge(UUID updateEventId, long eventTs, Map<String, Object> updateOld, Map<String, Object> updateNew) {
+      var eventIds = new HashSet<>(mergedEventIds);
+      eventIds.add(updateEventId);
+      return new Burst(eventId, eventDate, performedBy,
+        eventTs < firstEventTs ? updateOld : oldValue,
+        eventTs >= lastEventTs ? updateNew : newValue,
+        Math.min(firstEventTs, eventTs), Math.max(lastEventTs, eventTs), windowMs, Set.copyOf(eventIds));
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package org.folio.services.configuration;
+
+import io.vertx.core.Future;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches per tenant "audit enabled" settings, so consumers can drop records of tenants with disabled audit
+ * before the records are decoded.
+ * <p>
+ * Values are kept for {@code audit.settings.enabled-cache-ttl-ms}, the cache is not used when the property is not
+ * positive. A setting change on another module instance is therefore seen after at most one TTL. Failed lookups
+ * are not cached and are reported as enabled, so the record is processed and the setting is checked again.
+ */
+@Component
+public class AuditEnabledCache {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final SettingCache<Boolean> cache;
+
+  @Autowired
+  public AuditEnabledCache(ConfigurationService configurationService,
+                           @Value("${audit.settings.enabled-cache-ttl-ms:30000}") long ttlMs) {
+    this.cache = new SettingCache<>(configurationService, ttlMs, value -> !Boolean.FALSE.equals(value));
+  }
+
+  public boolean isActive() {
+    return cache.isActive();
+  }
+
+  /**
+   * Checks whether the audit is enabled for the tenant.
+   *
+   * @param setting  "enabled" setting of the audit records
+   * @param tenantId tenant id
+   * @return future with false only if the setting is known to be disabled
+   */
+  public Future<Boolean> isEnabled(Setting setting, String tenantId) {
+    if (!isActive() || tenantId == null) {
+      return Future.succeededFuture(true);
+    }
+    return cache.get(setting, tenantId)
+      .otherwise(e -> {
+        LOGGER.warn("isEnabled:: Failed to load setting [tenantId: {}, setting: {}]", tenantId, setting, e);
+        return true;
+      });
+  }
+}
@@ -10,12 +10,17 @@ public enum Setting {
   AUTHORITY_RECORDS_RETENTION_PERIOD(SettingGroup.AUTHORITY, SettingKey.RETENTION_PERIOD),
   INVENTORY_RECORDS_RETENTION_PERIOD(SettingGroup.INVENTORY, SettingKey.RETENTION_PERIOD),
   INVENTORY_RECORDS_ENABLED(SettingGroup.INVENTORY, SettingKey.ENABLED),
+  INVENTORY_RECORDS_UPDATE_COALESCING_WINDOW(SettingGroup.INVENTORY, SettingKey.UPDATE_COALESCING_WINDOW),
+  INVENTORY_RECORDS_DIFF_DEFERRED(SettingGroup.INVENTORY, SettingKey.DIFF_DEFERRED),
   AUTHORITY_RECORDS_ENABLED(SettingGroup.AUTHORITY, SettingKey.ENABLED),
+  AUTHORITY_RECORDS_DIFF_DEFERRED(SettingGroup.AUTHORITY, SettingKey.DIFF_DEFERRED),
   USER_RECORDS_ENABLED(SettingGroup.USER, SettingKey.ENABLED),
   USER_RECORDS_PAGE_SIZE(SettingGroup.USER, SettingKey.RECORDS_PAGE_SIZE),
   USER_RECORDS_ANONYMIZE(SettingGroup.USER, SettingKey.ANONYMIZE),
   USER_RECORDS_RETENTION_PERIOD(SettingGroup.USER, SettingKey.RETENTION_PERIOD),
-  USER_RECORDS_EXCLUDED_FIELDS(SettingGroup.USER, SettingKey.EXCLUDED_FIELDS);
+  USER_RECORDS_EXCLUDED_FIELDS(SettingGroup.USER, SettingKey.EXCLUDED_FIELDS),
+  USER_RECORDS_UPDATE_COALESCING_WINDOW(SettingGroup.USER, SettingKey.UPDATE_COALESCING_WINDOW),
+  USER_RECORDS_DIFF_DEFERRED(SettingGroup.USER, SettingKey.DIFF_DEFERRED);
 
   private final SettingGroup group;
   private final SettingKey key;
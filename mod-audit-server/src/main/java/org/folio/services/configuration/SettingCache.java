@@ -0,0 +1,74 @@
+package org.folio.services.configuration;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Caches per tenant values of a setting, so that consumers do not load the setting for every record.
+ * <p>
+ * A value is kept for the TTL and concurrent lookups of an expired value share one load. Failed loads are not
+ * cached. The cache is bypassed when the TTL is not positive.
+ *
+ * @param <T> type of the value the setting is mapped to
+ */
+public class SettingCache<T> {
+
+  private final ConfigurationService configurationService;
+  private final long ttlMs;
+  private final Function<Object, T> valueMapper;
+  private final Map<String, Entry<T>> entries = new ConcurrentHashMap<>();
+
+  /**
+   * @param configurationService service the settings are loaded from
+   * @param ttlMs                time a value is kept for, the cache is bypassed when it is not positive
+   * @param valueMapper          maps the raw setting value
+   */
+  public SettingCache(ConfigurationService configurationService, long ttlMs, Function<Object, T> valueMapper) {
+    this.configurationService = configurationService;
+    this.ttlMs = ttlMs;
+    this.valueMapper = valueMapper;
+  }
+
+  public boolean isActive() {
+    return ttlMs > 0;
+  }
+
+  /**
+   * Gets the value of the setting of the tenant.
+   *
+   * @param setting  setting
+   * @param tenantId tenant id
+   * @return future with the mapped value, failed if the setting can not be loaded
+   */
+  public Future<T> get(Setting setting, String tenantId) {
+    if (!isActive()) {
+      return load(setting, tenantId);
+    }
+    var key = tenantId + ":" + setting.getSettingId();
+    var now = System.currentTimeMillis();
+    var entry = entries.get(key);
+    if (entry != null && entry.expiresAt() > now) {
+      return entry.value();
+    }
+    var promise = Promise.<T>promise();
+    var newEntry = new Entry<>(promise.future(), now + ttlMs);
+    entries.put(key, newEntry);
+    load(setting, tenantId).onComplete(ar -> {
+      if (ar.failed()) {
+        entries.remove(key, newEntry);
+      }
+      promise.handle(ar);
+    });
+    return promise.future();
+  }
+
+  private Future<T> load(Setting setting, String tenantId) {
+    return configurationService.getSetting(setting, tenantId)
+      .map(result -> valueMapper.apply(result.getValue()));
+  }
+
+  private record Entry<T>(Future<T> value, long expiresAt) { }
+}
@@ -10,7 +10,9 @@ public enum SettingKey {
   RECORDS_PAGE_SIZE("records.page.size"),
   RETENTION_PERIOD("records.retention.period"),
   ANONYMIZE("anonymize"),
-  EXCLUDED_FIELDS("excluded.fields");
+  EXCLUDED_FIELDS("excluded.fields"),
+  UPDATE_COALESCING_WINDOW("update.coalescing.window"),
+  DIFF_DEFERRED("diff.deferred");
 
   private final String value;
 
@@ -0,0 +1,67 @@
+package org.folio.services.dedup;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.folio.util.metrics.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers ids of recently processed events per tenant, so redelivered events can be skipped
+ * before they are decoded and saved.
+ * <p>
+ * Every tenant keeps at most {@code audit.kafka.dedup.recent-event-ids} ids, the filter is disabled when
+ * the property is not positive. The filter only short-circuits known duplicates, events evicted from it are
+ * still rejected by the database.
+ */
+@Component
+public class RecentEventIdFilter {
+
+  private final int capacity;
+  private final Map<String, RecentUuidSet> eventIdsByTenant = new ConcurrentHashMap<>();
+  private final LongAdder hits;
+
+  @Autowired
+  public RecentEventIdFilter(MetricsRegistry metricsRegistry,
+                             @Value("${audit.kafka.dedup.recent-event-ids:0}") int capacity) {
+    this.capacity = capacity;
+    this.hits = metricsRegistry.counter("kafka.dedup.skipped");
+    metricsRegistry.gauge("kafka.dedup.tracked",
+      () -> eventIdsByTenant.values().stream().mapToInt(RecentUuidSet::size).sum());
+  }
+
+  public boolean isEnabled() {
+    return capacity > 0;
+  }
+
+  /**
+   * Checks whether the event was processed recently.
+   *
+   * @param tenantId tenant id
+   * @param eventId  event id
+   * @return true if the event was processed recently
+   */
+  public boolean isProcessed(String tenantId, UUID eventId) {
+    var eventIds = eventIdsByTenant.get(tenantId);
+    if (eventIds != null && eventIds.contains(eventId)) {
+      hits.increment();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Remembers the processed event.
+   *
+   * @param tenantId tenant id
+   * @param eventId  event id
+   */
+  public void markProcessed(String tenantId, UUID eventId) {
+    if (isEnabled()) {
+      eventIdsByTenant.computeIfAbsent(tenantId, t -> new RecentUuidSet(capacity)).add(eventId);
+    }
+  }
+}
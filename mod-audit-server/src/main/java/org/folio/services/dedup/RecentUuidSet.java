@@ -0,0 +1,159 @@
+package org.folio.services.dedup;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded set of recently added UUIDs.
+ * <p>
+ * Ids are kept as two {@code long} halves in a ring of {@code capacity} slots and indexed by an open addressing
+ * table with linear probing, so no objects are allocated per id. When the set is full the slot to reuse is chosen
+ * by the CLOCK algorithm: ids that were looked up since the hand passed them get a second chance, which keeps
+ * frequently seen ids longer than an insertion-ordered eviction would.
+ */
+public class RecentUuidSet {
+
+  private static final int EMPTY = 0;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final int capacity;
+  private final long[] mostSigBits;
+  private final long[] leastSigBits;
+  private final boolean[] referenced;
+  // ring slot index + 1 of the id stored in the bucket, EMPTY for free buckets
+  private final int[] table;
+  private final int mask;
+  private int size;
+  private int hand;
+
+  public RecentUuidSet(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+    this.capacity = capacity;
+    this.mostSigBits = new long[capacity];
+    this.leastSigBits = new long[capacity];
+    this.referenced = new boolean[capacity];
+    this.table = new int[tableSize(capacity)];
+    this.mask = table.length - 1;
+  }
+
+  /**
+   * Checks whether the id was added recently and marks it as used.
+   *
+   * @param id id to check
+   * @return true if the set contains the id
+   */
+  public boolean contains(UUID id) {
+    lock.lock();
+    try {
+      var slot = findSlot(id.getMostSignificantBits(), id.getLeastSignificantBits());
+      if (slot < 0) {
+        return false;
+      }
+      referenced[slot] = true;
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Adds the id, evicting an id that was not used recently when the set is full.
+   *
+   * @param id id to add
+   * @return true if the id was not in the set
+   */
+  public boolean add(UUID id) {
+    var msb = id.getMostSignificantBits();
+    var lsb = id.getLeastSignificantBits();
+    lock.lock();
+    try {
+      if (findSlot(msb, lsb) >= 0) {
+        return false;
+      }
+      int slot;
+      if (size < capacity) {
+        slot = size++;
+      } else {
+        slot = nextVictim();
+        removeFromTable(slot);
+      }
+      mostSigBits[slot] = msb;
+      leastSigBits[slot] = lsb;
+      referenced[slot] = false;
+      var bucket = hash(msb, lsb) & mask;
+      while (table[bucket] != EMPTY) {
+        bucket = (bucket + 1) & mask;
+      }
+      table[bucket] = slot + 1;
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int size() {
+    lock.lock();
+    try {
+      return size;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private int nextVictim() {
+    while (referenced[hand]) {
+      referenced[hand] = false;
+      hand = (hand + 1) % capacity;
+    }
+    var victim = hand;
+    hand = (hand + 1) % capacity;
+    return victim;
+  }
+
+  private int findSlot(long msb, long lsb) {
+    var bucket = hash(msb, lsb) & mask;
+    while (table[bucket] != EMPTY) {
+      var slot = table[bucket] - 1;
+      if (mostSigBits[slot] == msb && leastSigBits[slot] == lsb) {
+        return slot;
+      }
+      bucket = (bucket + 1) & mask;
+    }
+    return -1;
+  }
+
+  private void removeFromTable(int slot) {
+    var bucket = hash(mostSigBits[slot], leastSigBits[slot]) & mask;
+    while (table[bucket] != slot + 1) {
+      bucket = (bucket + 1) & mask;
+    }
+    // backward shift deletion keeps probe sequences of the following entries unbroken
+    var next = bucket;
+    while (true) {
+      next = (next + 1) & mask;
+      if (table[next] == EMPTY) {
+        break;
+      }
+      var entry = table[next] - 1;
+      var home = hash(mostSigBits[entry], leastSigBits[entry]) & mask;
+      var stays = bucket <= next ? bucket < home && home <= next : bucket < home || home <= next;
+      if (!stays) {
+        table[bucket] = table[next];
+        bucket = next;
+      }
+    }
+    table[bucket] = EMPTY;
+  }
+
+  private static int hash(long msb, long lsb) {
+    var hash = (msb ^ Long.rotateLeft(lsb, 32)) * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32));
+  }
+
+  private static int tableSize(int capacity) {
+    // keep the load factor at or below 0.5
+    return Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+  }
+}
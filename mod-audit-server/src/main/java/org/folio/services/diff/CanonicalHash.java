@@ -0,0 +1,142 @@
+package org.folio.services.diff;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 64-bit hash of a JSON tree that does not depend on its representation, used to detect updates without
+ * meaningful changes before the diff is calculated.
+ * <p>
+ * The hash is independent of the order of object entries and collection elements, of the number representation
+ * ({@code 1} and {@code 1.0} are equal) and of {@code null} entries, which are the same as missing ones. Subtrees
+ * under the ignored paths are not hashed. A path is a dot-separated list of property names of nested objects, it
+ * points to exactly one property and never matches properties of collection elements.
+ */
+public final class CanonicalHash {
+
+  private static final long OBJECT = 0x6a09e667f3bcc908L;
+  private static final long ARRAY = 0xbb67ae8584caa73bL;
+  private static final long STRING = 0x3c6ef372fe94f82bL;
+  private static final long NUMBER = 0xa54ff53a5f1d36f1L;
+  private static final long TRUE = 0x510e527fade682d1L;
+  private static final long FALSE = 0x9b05688c2b3e6c1fL;
+  private static final long ENTRY = 0x9e3779b97f4a7c15L;
+
+  private final PathNode ignoredPaths = new PathNode();
+
+  public CanonicalHash(Collection<String> ignoredPaths) {
+    for (var path : ignoredPaths) {
+      var node = this.ignoredPaths;
+      for (var name : path.split("\\.")) {
+        node = node.children.computeIfAbsent(name, key -> new PathNode());
+      }
+      node.ignored = true;
+    }
+  }
+
+  /**
+   * Returns hash of the JSON object without the ignored paths.
+   *
+   * @param value JSON object
+   * @return canonical hash
+   */
+  public long of(Map<String, Object> value) {
+    return hash(value, ignoredPaths);
+  }
+
+  private static long hash(Object value, PathNode node) {
+    if (value instanceof JsonObject jsonObject) {
+      return hashObject(jsonObject.getMap(), node);
+    }
+    if (value instanceof JsonArray jsonArray) {
+      return hashArray(jsonArray.getList());
+    }
+    if (value instanceof Map<?, ?> map) {
+      return hashObject(map, node);
+    }
+    if (value instanceof Collection<?> collection) {
+      return hashArray(collection);
+    }
+    if (value instanceof Number number) {
+      return hashNumber(number);
+    }
+    if (value instanceof Boolean bool) {
+      return bool ? TRUE : FALSE;
+    }
+    return mix(STRING ^ hashString(String.valueOf(value)));
+  }
+
+  private static long hashObject(Map<?, ?> map, PathNode node) {
+    var result = OBJECT;
+    for (var entry : map.entrySet()) {
+      if (entry.getValue() == null) {
+        continue;
+      }
+      var key = String.valueOf(entry.getKey());
+      var child = node == null ? null : node.children.get(key);
+      if (child != null && child.ignored) {
+        continue;
+      }
+      result += mix(hashString(key) * ENTRY + hash(entry.getValue(), child));
+    }
+    return mix(result);
+  }
+
+  /**
+   * Elements are summed, so that the hash is the same for any order of elements. Ignored paths do not apply to
+   * elements, so they are hashed as a whole.
+   */
+  private static long hashArray(Collection<?> collection) {
+    var result = ARRAY;
+    for (var element : collection) {
+      if (element != null) {
+        result += mix(hash(element, null));
+      }
+    }
+    return mix(result);
+  }
+
+  private static long hashNumber(Number number) {
+    if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+      return mix(NUMBER ^ number.longValue());
+    }
+    var decimal = number instanceof BigDecimal bigDecimal
+                  ? bigDecimal.stripTrailingZeros()
+                  : new BigDecimal(number.toString()).stripTrailingZeros();
+    if (decimal.scale() <= 0 && decimal.precision() - decimal.scale() < 19) {
+      return mix(NUMBER ^ decimal.longValue());
+    }
+    return mix(NUMBER ^ hashString(decimal.toString()));
+  }
+
+  /**
+   * FNV-1a over the UTF-16 characters of the string.
+   */
+  private static long hashString(String value) {
+    var result = 0xcbf29ce484222325L;
+    for (var i = 0; i < value.length(); i++) {
+      result ^= value.charAt(i);
+      result *= 0x100000001b3L;
+    }
+    return result;
+  }
+
+  /**
+   * SplitMix64 finalizer.
+   */
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+    value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+    return value ^ (value >>> 31);
+  }
+
+  private static final class PathNode {
+
+    private final Map<String, PathNode> children = new HashMap<>();
+    private boolean ignored;
+  }
+}
@@ -0,0 +1,54 @@
+package org.folio.services.diff;
+
+import io.vertx.core.Future;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.services.configuration.ConfigurationService;
+import org.folio.services.configuration.Setting;
+import org.folio.services.configuration.SettingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deferred diff mode of a tenant, enabled by the {@code diff.deferred} setting of a setting group.
+ * <p>
+ * In deferred mode updates are saved without the diff, with a compressed snapshot of old and new values and the
+ * {@code diff_pending} marker. The diff is calculated and saved when the record is first read, or by the cleanup
+ * timer, which resolves the pending records of each table in batches of {@code audit.diff.deferred.resolve-batch-size}
+ * until none are left. The setting is cached for {@code audit.settings.cache-ttl-ms}.
+ */
+@Component
+public class DeferredDiffMode {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final SettingCache<Boolean> settingCache;
+  private final int resolveBatchSize;
+
+  public DeferredDiffMode(ConfigurationService configurationService,
+                          @Value("${audit.diff.deferred.resolve-batch-size:1000}") int resolveBatchSize,
+                          @Value("${audit.settings.cache-ttl-ms:30000}") long settingsCacheTtlMs) {
+    this.settingCache = new SettingCache<>(configurationService, settingsCacheTtlMs, Boolean.TRUE::equals);
+    this.resolveBatchSize = resolveBatchSize;
+  }
+
+  /**
+   * Checks whether diffs are deferred for the tenant.
+   *
+   * @param setting  {@code diff.deferred} setting of the group
+   * @param tenantId tenant id
+   * @return future with true if diffs are deferred, false if the setting can not be loaded
+   */
+  public Future<Boolean> isEnabled(Setting setting, String tenantId) {
+    return settingCache.get(setting, tenantId)
+      .otherwise(e -> {
+        LOGGER.warn("isEnabled:: Failed to load setting, diffs are calculated on ingest [tenantId: {}, setting: {}]",
+          tenantId, setting, e);
+        return false;
+      });
+  }
+
+  public int getResolveBatchSize() {
+    return resolveBatchSize;
+  }
+}
@@ -1,43 +1,49 @@
 package org.folio.services.diff;
 
+import com.fasterxml.jackson.databind.JavaType;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.DatabindCodec;
+import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.Supplier;
 import org.folio.domain.diff.ChangeRecordDto;
-import org.folio.domain.diff.ChangeType;
 import org.folio.domain.diff.CollectionChangeDto;
 import org.folio.domain.diff.CollectionItemChangeDto;
 import org.folio.domain.diff.FieldChangeDto;
-import org.javers.core.Changes;
-import org.javers.core.Javers;
-import org.javers.core.JaversBuilder;
-import org.javers.core.diff.Change;
-import org.javers.core.diff.ListCompareAlgorithm;
-import org.javers.core.diff.changetype.InitialValueChange;
-import org.javers.core.diff.changetype.TerminalValueChange;
-import org.javers.core.diff.changetype.ValueChange;
-import org.javers.core.diff.changetype.container.CollectionChange;
-import org.javers.core.diff.changetype.container.ElementValueChange;
-import org.javers.core.diff.changetype.container.ValueAddOrRemove;
-import org.javers.core.diff.changetype.container.ValueAdded;
-import org.javers.core.diff.changetype.map.EntryAdded;
-import org.javers.core.diff.changetype.map.EntryChange;
-import org.javers.core.diff.changetype.map.EntryRemoved;
-import org.javers.core.diff.changetype.map.EntryValueChange;
-import org.javers.core.diff.changetype.map.MapChange;
-import org.javers.core.metamodel.object.ValueObjectId;
+import org.folio.services.diff.DiffSchema.Kind;
+import org.folio.services.diff.DiffSchema.Property;
 
+/**
+ * Calculates the difference between two JSON representations of a generated model type.
+ * <p>
+ * The JSON trees are walked directly, guided by the {@link DiffSchema} of the type, and only changed values are
+ * converted to the model types, so that the reported values are the same as the model property values:
+ * <ul>
+ *   <li>properties missing in the schema and {@code additionalProperties} are ignored, unless
+ *   {@link #shouldProcessMapProperty(String)} opts in</li>
+ *   <li>nested objects are compared property by property, an object that is present on one side only is compared
+ *   with an empty one if {@link #access(Object)} initializes it, otherwise it is not reported</li>
+ *   <li>collections of objects with a key, see {@link #getCollectionKey(String)}, are aligned by the key, elements
+ *   that are present on one side only are reported as added or removed and changed elements as modified</li>
+ *   <li>other collections are compared as sets, elements that are present on one side only are reported as added or
+ *   removed</li>
+ * </ul>
+ */
 public abstract class DiffCalculator<T> {
 
-  protected final Javers javers = JaversBuilder.javers()
-    .withListCompareAlgorithm(ListCompareAlgorithm.AS_SET)
-    .build();
+  private static final List<String> NATURAL_KEY = List.of("id");
+
+  private volatile Set<String> initializedObjects;
 
   /**
    * Calculates the difference between the old and new values.
@@ -47,173 +53,374 @@ public abstract class DiffCalculator<T> {
    * @return the difference between the old and new values or null if there is no difference
    */
   public ChangeRecordDto calculateDiff(Map<String, Object> oldValue, Map<String, Object> newValue) {
-    var oldRecord = new JsonObject(oldValue).mapTo(getType());
-    var newRecord = new JsonObject(newValue).mapTo(getType());
-    var diff = javers.compare(access(oldRecord).get(), access(newRecord).get());
-    return convert(diff.getChanges());
+    var fieldChanges = new ArrayList<FieldChangeDto>();
+    var collectionChanges = new ArrayList<CollectionChangeDto>();
+    var schema = DiffSchema.of(getType());
+    var initialized = getInitializedObjects();
+    for (var property : schema.getProperties()) {
+      var oldPropertyValue = oldValue.get(property.jsonName());
+      var newPropertyValue = newValue.get(property.jsonName());
+      if (property.kind() == Kind.OBJECT && initialized.contains(property.jsonName())) {
+        oldPropertyValue = oldPropertyValue == null ? Map.of() : oldPropertyValue;
+        newPropertyValue = newPropertyValue == null ? Map.of() : newPropertyValue;
+      }
+      compareProperty(schema, property, oldPropertyValue, newPropertyValue, "", fieldChanges, collectionChanges);
+    }
+    if (shouldProcessMapProperty("")) {
+      compareEntries(schema, asMap(oldValue), asMap(newValue), "", fieldChanges);
+    }
+
+    if (fieldChanges.isEmpty() && collectionChanges.isEmpty()) {
+      return null;
+    }
+    return new ChangeRecordDto(fieldChanges, collectionChanges);
   }
 
   /**
    * Accessor for the object to be compared. May be useful to initialize some fields before comparison.
+   * <p>
+   * It is applied once to an empty object to find nested objects that should be compared with an empty one
+   * when they are missing.
    */
   protected abstract Supplier<T> access(T value);
 
   protected abstract Class<T> getType();
 
-  private ChangeRecordDto convert(Changes changes) {
-    if (changes == null || changes.isEmpty()) {
-      return null;
+  /**
+   * Returns the properties that identify elements of an object collection, so that elements with the same key are
+   * aligned and a changed element is reported once as modified rather than as removed and added.
+   *
+   * <p>The default implementation returns the natural key {@code id}, which is used only if the element type has the
+   * property. Elements of a collection are compared as a set if any of them misses a key value or two of them share
+   * the same key. Subclasses may override this to configure a composite key for a collection.
+   *
+   * @param fullPath path of the collection property
+   * @return names of the key properties in JSON, empty to compare elements as a set
+   */
+  protected List<String> getCollectionKey(String fullPath) {
+    return NATURAL_KEY;
+  }
+
+  /**
+   * Determines whether entries of a map property, or additional properties of a nested object, should be compared
+   * and included in the diff output as field changes.
+   *
+   * <p>JSON schema-generated models include an {@code additionalProperties} catch-all map for unknown properties,
+   * which would otherwise produce noise for every entity. The default implementation returns {@code false}.
+   *
+   * <p>Subclasses should override this when the entity has map-type properties that carry real
+   * semantic data (e.g., {@code CustomFields} in the User model, whose values are stored in the
+   * underlying {@code additionalProperties} map).
+   *
+   * @param fullPath path of the map property or nested object, empty for the root object
+   * @return {@code true} to include changes of the entries in the diff, {@code false} to skip them
+   */
+  protected boolean shouldProcessMapProperty(String fullPath) {
+    return false;
+  }
+
+  private void compareObject(DiffSchema schema, Map<String, Object> oldValue, Map<String, Object> newValue,
+                             String path, List<FieldChangeDto> fieldChanges,
+                             List<CollectionChangeDto> collectionChanges) {
+    var prefix = path + ".";
+    for (var property : schema.getProperties()) {
+      compareProperty(schema, property, oldValue.get(property.jsonName()), newValue.get(property.jsonName()), prefix,
+        fieldChanges, collectionChanges);
     }
-    var result = new ChangeRecordDto();
-    var groupedChanges = groupChanges(changes);
-    var parentChanges = groupedChanges.get(getType().getName());
-    var changeList = parentChanges.values().iterator().next();
-    var fieldChanges = new ArrayList<FieldChangeDto>();
-    var collectionChanges = new ArrayList<CollectionChangeDto>();
+    if (shouldProcessMapProperty(path)) {
+      compareEntries(schema, oldValue, newValue, prefix, fieldChanges);
+    }
+  }
 
-    for (Change change : changeList) {
-      if (change instanceof ValueChange valueChange) {
-        fieldChanges.add(processValueChange(valueChange));
-      } else if (change instanceof CollectionChange<?> collectionChange) {
-        collectionChanges.add(processCollectionChange(collectionChange, groupedChanges));
-      // MapChanges are skipped by default to filter out noise from JSON schema additionalProperties.
-      // Subclasses opt in for map properties that carry real data (see UserDiffCalculator).
-      } else if (change instanceof MapChange mapChange && shouldProcessMapChange(mapChange)) {
-        fieldChanges.addAll(processMapChange(mapChange));
+  private void compareProperty(DiffSchema schema, Property property, Object oldValue, Object newValue, String prefix,
+                               List<FieldChangeDto> fieldChanges, List<CollectionChangeDto> collectionChanges) {
+    var path = prefix + property.name();
+    switch (property.kind()) {
+      case VALUE -> compareValue(schema, property, oldValue, newValue, path, fieldChanges);
+      case OBJECT -> {
+        var oldObject = asMap(oldValue);
+        var newObject = asMap(newValue);
+        if (oldObject != null && newObject != null) {
+          compareObject(DiffSchema.of(property.type().getRawClass()), oldObject, newObject, path, fieldChanges,
+            collectionChanges);
+        }
+      }
+      case COLLECTION -> compareCollection(property, oldValue, newValue, path, collectionChanges);
+      case MAP -> {
+        if (shouldProcessMapProperty(path)) {
+          compareEntries(null, asMap(oldValue), asMap(newValue), path + ".", fieldChanges);
+        }
       }
     }
+  }
 
-    if (fieldChanges.isEmpty() && collectionChanges.isEmpty()) {
-      return null;
+  private void compareValue(DiffSchema schema, Property property, Object oldValue, Object newValue, String path,
+                            List<FieldChangeDto> fieldChanges) {
+    if (Objects.equals(oldValue, newValue)) {
+      return;
+    }
+    var oldTyped = convert(oldValue == null ? schema.getDefault(property) : oldValue, property.type());
+    var newTyped = convert(newValue == null ? schema.getDefault(property) : newValue, property.type());
+    if (!Objects.equals(oldTyped, newTyped)) {
+      fieldChanges.add(FieldChangeDto.of(property.name(), path, oldTyped, newTyped));
     }
-    result.setFieldChanges(fieldChanges);
-    result.setCollectionChanges(collectionChanges);
-    return result;
   }
 
-  private CollectionChangeDto processCollectionChange(CollectionChange<?> collectionChange,
-                                                      Map<String, Map<String, List<Change>>> groupedChanges) {
-    Set<CollectionItemChangeDto> itemChanges = new HashSet<>();
+  private void compareCollection(Property property, Object oldValue, Object newValue, String path,
+                                 List<CollectionChangeDto> collectionChanges) {
+    var oldList = asList(oldValue);
+    var newList = asList(newValue);
+    var itemChanges = property.hasObjectElements()
+                      ? compareKeyed(property, oldList, newList, path)
+                      : null;
+    if (itemChanges == null) {
+      itemChanges = compareAsSet(property, oldList, newList);
+    }
+    if (!itemChanges.isEmpty()) {
+      collectionChanges.add(new CollectionChangeDto(path, property.name(), itemChanges));
+    }
+  }
 
-    collectionChange.getChanges().forEach(c -> {
-      if (c instanceof ElementValueChange elementValueChange) {
-        itemChanges.add(processElementValueChange(elementValueChange));
-      } else if (c instanceof ValueAddOrRemove valueAddOrRemove) {
-        processValueAddOrRemove(valueAddOrRemove, groupedChanges).ifPresent(itemChanges::add);
+  private List<CollectionItemChangeDto> compareAsSet(Property property, List<Object> oldList, List<Object> newList) {
+    var oldElements = index(oldList);
+    var newElements = index(newList);
+    if (oldElements.keySet().equals(newElements.keySet())) {
+      return List.of();
+    }
+    var itemChanges = new ArrayList<CollectionItemChangeDto>();
+    oldElements.forEach((key, element) -> {
+      if (!newElements.containsKey(key) && isReportable(property, element)) {
+        itemChanges.add(CollectionItemChangeDto.removed(convert(element, property.elementType())));
+      }
+    });
+    newElements.forEach((key, element) -> {
+      if (!oldElements.containsKey(key) && isReportable(property, element)) {
+        itemChanges.add(CollectionItemChangeDto.added(convert(element, property.elementType())));
       }
     });
+    return itemChanges;
+  }
 
-    return new CollectionChangeDto(collectionChange.getPropertyNameWithPath(),
-      collectionChange.getPropertyName(), new ArrayList<>(itemChanges));
-  }
-
-  private Optional<CollectionItemChangeDto> processValueAddOrRemove(ValueAddOrRemove valueAddOrRemove,
-                                                                    Map<String, Map<String, List<Change>>> groupedChanges) {
-    CollectionItemChangeDto itemChange = null;
-    var value = valueAddOrRemove.getValue();
-    if (value instanceof ValueObjectId valueObjectId) {
-      for (var change : groupedChanges.get(valueObjectId.getTypeName()).get(valueObjectId.value())) {
-        if (change instanceof ValueChange valueChange) {
-          itemChange = CollectionItemChangeDto.of(
-            determineAddOrRemove(valueAddOrRemove, ChangeType.ADDED, ChangeType.REMOVED),
-            determineAddOrRemove(valueAddOrRemove, null, valueChange.getAffectedObject().orElse(null)),
-            determineAddOrRemove(valueAddOrRemove, valueChange.getAffectedObject().orElse(null), null)
-          );
-        }
+  /**
+   * Aligns elements of both collections by their key and reports every element with a changed value as modified.
+   *
+   * @return item changes or {@code null} if the collection has no key or its elements can not be aligned by it
+   */
+  private List<CollectionItemChangeDto> compareKeyed(Property property, List<Object> oldList, List<Object> newList,
+                                                     String path) {
+    var keyProperties = getCollectionKey(path);
+    if (keyProperties == null || keyProperties.isEmpty()
+        || !DiffSchema.of(property.elementType().getRawClass()).hasProperties(keyProperties)) {
+      return null;
+    }
+    var oldElements = indexByKey(oldList, keyProperties);
+    var newElements = oldElements == null ? null : indexByKey(newList, keyProperties);
+    if (newElements == null) {
+      return null;
+    }
+    var itemChanges = new ArrayList<CollectionItemChangeDto>();
+    oldElements.forEach((key, oldElement) -> {
+      var newElement = newElements.get(key);
+      if (newElement == null) {
+        itemChanges.add(CollectionItemChangeDto.removed(convert(oldElement, property.elementType())));
+      } else if (!oldElement.equals(newElement) && !canonical(oldElement).equals(canonical(newElement))) {
+        itemChanges.add(CollectionItemChangeDto.modified(convert(oldElement, property.elementType()),
+          convert(newElement, property.elementType())));
+      }
+    });
+    newElements.forEach((key, newElement) -> {
+      if (!oldElements.containsKey(key)) {
+        itemChanges.add(CollectionItemChangeDto.added(convert(newElement, property.elementType())));
       }
-    } else {
-      itemChange = determineAddOrRemove(valueAddOrRemove, CollectionItemChangeDto.of(null, value),
-        CollectionItemChangeDto.of(value, null));
+    });
+    return itemChanges;
+  }
+
+  /**
+   * Compares entries that are not schema properties, reporting every changed entry as a field change.
+   */
+  private void compareEntries(DiffSchema schema, Map<String, Object> oldValue, Map<String, Object> newValue,
+                              String prefix, List<FieldChangeDto> fieldChanges) {
+    var oldEntries = additionalEntries(schema, oldValue);
+    var newEntries = additionalEntries(schema, newValue);
+    oldEntries.forEach((key, oldEntry) -> {
+      var newEntry = newEntries.get(key);
+      if (newEntry == null) {
+        fieldChanges.add(FieldChangeDto.removed(key, prefix + key, oldEntry));
+      } else if (!Objects.equals(canonical(oldEntry), canonical(newEntry))) {
+        fieldChanges.add(FieldChangeDto.modified(key, prefix + key, oldEntry, newEntry));
+      }
+    });
+    newEntries.forEach((key, newEntry) -> {
+      if (!oldEntries.containsKey(key)) {
+        fieldChanges.add(FieldChangeDto.added(key, prefix + key, newEntry));
+      }
+    });
+  }
+
+  private Map<String, Object> additionalEntries(DiffSchema schema, Map<String, Object> value) {
+    if (value == null || value.isEmpty()) {
+      return Collections.emptyMap();
     }
-    return Optional.ofNullable(itemChange);
+    Set<String> schemaProperties = schema == null ? Set.of() : new HashSet<>(
+      schema.getProperties().stream().map(Property::jsonName).toList());
+    var entries = new LinkedHashMap<String, Object>();
+    value.forEach((key, entry) -> {
+      if (entry != null && !schemaProperties.contains(key)) {
+        entries.put(key, entry);
+      }
+    });
+    return entries;
   }
 
-  private <R> R determineAddOrRemove(ValueAddOrRemove valueAdded, R ifTrue, R ifFalse) {
-    return valueAdded instanceof ValueAdded ? ifTrue : ifFalse;
+  private Set<String> getInitializedObjects() {
+    var result = initializedObjects;
+    if (result == null) {
+      result = resolveInitializedObjects();
+      initializedObjects = result;
+    }
+    return result;
   }
 
-  private CollectionItemChangeDto processElementValueChange(ElementValueChange elementValueChange) {
-    return CollectionItemChangeDto.modified(
-      elementValueChange.getLeftValue(),
-      elementValueChange.getRightValue()
-    );
+  @SuppressWarnings("unchecked")
+  private Set<String> resolveInitializedObjects() {
+    try {
+      var empty = getType().getDeclaredConstructor().newInstance();
+      var accessed = DatabindCodec.mapper().convertValue(access(empty).get(), Map.class);
+      var result = new HashSet<String>();
+      accessed.forEach((key, value) -> {
+        if (value instanceof Map<?, ?>) {
+          result.add((String) key);
+        }
+      });
+      return result;
+    } catch (ReflectiveOperationException e) {
+      return Set.of();
+    }
   }
 
   /**
-   * Determines whether a {@link MapChange} should be processed and included in the diff output.
-   *
-   * <p>JSON schema-generated models include an {@code additionalProperties} catch-all map that
-   * Javers treats as a real property, producing spurious {@link MapChange} events for every entity.
-   * The default implementation returns {@code false} to suppress these.
-   *
-   * <p>Subclasses should override this when the entity has map-type properties that carry real
-   * semantic data (e.g., {@code CustomFields} in the User model, whose values are stored in the
-   * underlying {@code additionalProperties} map).
-   *
-   * @param mapChange the map change reported by Javers
-   * @return {@code true} to include this change in the diff, {@code false} to skip it
+   * Indexes elements by their canonical form, keeping the first occurrence of equal elements.
    */
-  protected boolean shouldProcessMapChange(MapChange mapChange) {
-    return false;
+  private static Map<Object, Object> index(List<Object> elements) {
+    var result = new LinkedHashMap<Object, Object>();
+    for (var element : elements) {
+      if (element != null) {
+        result.putIfAbsent(canonical(element), element);
+      }
+    }
+    return result;
   }
 
-  private List<FieldChangeDto> processMapChange(MapChange mapChange) {
-    var result = new ArrayList<FieldChangeDto>();
-    String basePath = mapChange.getPropertyNameWithPath();
-    String propName = mapChange.getPropertyName();
-    String prefix = basePath.endsWith(propName)
-      ? basePath.substring(0, basePath.length() - propName.length())
-      : "";
-
-    for (var entry : mapChange.getEntryChanges()) {
-      EntryChange entryChange = (EntryChange) entry;
-      String key = String.valueOf(entryChange.getKey());
-      String fullPath = prefix + key;
-
-      if (entryChange instanceof EntryValueChange evc) {
-        result.add(FieldChangeDto.modified(key, fullPath, evc.getLeftValue(), evc.getRightValue()));
-      } else if (entryChange instanceof EntryAdded ea) {
-        result.add(FieldChangeDto.added(key, fullPath, ea.getValue()));
-      } else if (entryChange instanceof EntryRemoved er) {
-        result.add(FieldChangeDto.removed(key, fullPath, er.getValue()));
+  /**
+   * Indexes elements by the values of the key properties.
+   *
+   * @return indexed elements or {@code null} if an element misses a key value or the key is not unique
+   */
+  private static Map<Object, Map<String, Object>> indexByKey(List<Object> elements, List<String> keyProperties) {
+    var result = new LinkedHashMap<Object, Map<String, Object>>();
+    for (var element : elements) {
+      var object = asMap(element);
+      if (object == null) {
+        continue;
+      }
+      var key = key(object, keyProperties);
+      if (key == null || result.putIfAbsent(key, object) != null) {
+        return null;
       }
     }
     return result;
   }
 
-  private FieldChangeDto processValueChange(ValueChange valueChange) {
-    return FieldChangeDto.of(
-      valueChange.getPropertyName(),
-      valueChange.getPropertyNameWithPath(),
-      valueChange.getLeft(),
-      valueChange.getRight()
-    );
+  private static Object key(Map<String, Object> element, List<String> keyProperties) {
+    if (keyProperties.size() == 1) {
+      var value = element.get(keyProperties.get(0));
+      return value == null ? null : canonical(value);
+    }
+    var key = new ArrayList<>(keyProperties.size());
+    for (var keyProperty : keyProperties) {
+      var value = element.get(keyProperty);
+      if (value == null) {
+        return null;
+      }
+      key.add(canonical(value));
+    }
+    return key;
   }
 
   /**
-   * Groups changes by type and object id. Main map key is type name, secondary map key is object id.
+   * Elements of object collections without any value carry no information and are not reported.
    */
-  private Map<String, Map<String, List<Change>>> groupChanges(Changes changes) {
-    Map<String, Map<String, List<Change>>> groupedChanges = new HashMap<>();
-
-    for (Change change : changes) {
-      String typeName;
-      String objectId;
-      if (change instanceof InitialValueChange || change instanceof TerminalValueChange) {
-        typeName = change.getAffectedGlobalId().getTypeName();
-        objectId = change.getAffectedGlobalId().value();
-      } else {
-        typeName = change.getAffectedGlobalId().masterObjectId().getTypeName();
-        objectId = change.getAffectedGlobalId().masterObjectId().value();
-      }
+  private static boolean isReportable(Property property, Object element) {
+    if (!property.hasObjectElements()) {
+      return true;
+    }
+    var object = asMap(element);
+    return object != null && object.values().stream().anyMatch(Objects::nonNull);
+  }
+
+  /**
+   * Returns form of the JSON value with equals and hashCode independent of number representation and null entries.
+   */
+  private static Object canonical(Object value) {
+    if (value instanceof JsonObject jsonObject) {
+      return canonical(jsonObject.getMap());
+    }
+    if (value instanceof JsonArray jsonArray) {
+      return canonical(jsonArray.getList());
+    }
+    if (value instanceof Map<?, ?> map) {
+      var result = new TreeMap<String, Object>();
+      map.forEach((key, entry) -> {
+        if (entry != null) {
+          result.put(String.valueOf(key), canonical(entry));
+        }
+      });
+      return result;
+    }
+    if (value instanceof Collection<?> collection) {
+      return collection.stream().map(DiffCalculator::canonical).toList();
+    }
+    if (value instanceof Number number && !(value instanceof BigDecimal)) {
+      return new BigDecimal(number.toString()).stripTrailingZeros();
+    }
+    if (value instanceof BigDecimal decimal) {
+      return decimal.stripTrailingZeros();
+    }
+    return value;
+  }
 
-      groupedChanges
-        .computeIfAbsent(typeName, k -> new HashMap<>())
-        .computeIfAbsent(objectId, k -> new ArrayList<>())
-        .add(change);
+  /**
+   * Converts JSON value to the model type, so that the reported value is the same as the model property value.
+   */
+  private static Object convert(Object value, JavaType type) {
+    if (value instanceof JsonObject jsonObject) {
+      value = jsonObject.getMap();
+    } else if (value instanceof JsonArray jsonArray) {
+      value = jsonArray.getList();
+    }
+    if (value == null || type.getRawClass().isInstance(value) && !(value instanceof Map || value instanceof List)) {
+      return value;
     }
+    return DatabindCodec.mapper().convertValue(value, type);
+  }
 
-    return groupedChanges;
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> asMap(Object value) {
+    if (value instanceof JsonObject jsonObject) {
+      return jsonObject.getMap();
+    }
+    return value instanceof Map<?, ?> map ? (Map<String, Object>) map : null;
   }
 
+  @SuppressWarnings("unchecked")
+  private static List<Object> asList(Object value) {
+    if (value instanceof JsonArray jsonArray) {
+      return jsonArray.getList();
+    }
+    if (value instanceof List<?> list) {
+      return (List<Object>) list;
+    }
+    return value instanceof Collection<?> collection ? new ArrayList<>(collection) : List.of();
+  }
 }
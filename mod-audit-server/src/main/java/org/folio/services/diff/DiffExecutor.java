@@ -0,0 +1,317 @@
+package org.folio.services.diff;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.util.metrics.Summary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs diff computations on a dedicated bounded worker pool, so that a slow diff does not hold the consumer threads
+ * that drive Kafka polling and database futures.
+ * <p>
+ * Every type of diffed resource has its own lane: at most {@code audit.diff.executor.max-concurrency-per-type}
+ * diffs of a type run at once and the rest wait in the lane queue, so a burst of one type does not delay the others.
+ * Results are delivered on the context that submitted the diff. When a lane queue reaches its limit, verticles that
+ * submitted to the lane are asked to pause fetching, see {@link #registerBackpressure(Context, int, Runnable,
+ * Runnable)}, until the queue drains to half of the limit. The limit is {@code audit.diff.executor.max-queued-per-type}
+ * if it is positive, otherwise half of the records the submitting verticles process at once, as a queue longer
+ * than all records in flight can never be reached.
+ * <p>
+ * When the executor is disabled, diffs are computed inline on the calling thread.
+ */
+@Component
+public class DiffExecutor {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final String METRIC_PREFIX = "audit.diff.";
+  private static final String POOL_NAME = "mod-audit-diff";
+
+  private final Vertx vertx;
+  private final MetricsRegistry metricsRegistry;
+  private final WorkerExecutor workerExecutor;
+  private final int maxConcurrencyPerType;
+  private final int maxQueuedPerType;
+  private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+  private final Map<Context, BackpressureListener> listeners = new ConcurrentHashMap<>();
+
+  @Autowired
+  public DiffExecutor(Vertx vertx, MetricsRegistry metricsRegistry,
+                      @Value("${audit.diff.executor.enabled:false}") boolean enabled,
+                      @Value("${audit.diff.executor.pool-size:4}") int poolSize,
+                      @Value("${audit.diff.executor.max-concurrency-per-type:2}") int maxConcurrencyPerType,
+                      @Value("${audit.diff.executor.max-queued-per-type:0}") int maxQueuedPerType) {
+    this.vertx = vertx;
+    this.metricsRegistry = metricsRegistry;
+    this.maxConcurrencyPerType = Math.max(1, maxConcurrencyPerType);
+    this.maxQueuedPerType = maxQueuedPerType;
+    this.workerExecutor = enabled ? vertx.createSharedWorkerExecutor(POOL_NAME, Math.max(1, poolSize)) : null;
+    if (enabled) {
+      LOGGER.info("DiffExecutor:: Using dedicated diff pool [poolSize: {}, maxConcurrencyPerType: {}, maxQueuedPerType: {}]",
+        poolSize, this.maxConcurrencyPerType, this.maxQueuedPerType);
+    }
+  }
+
+  public boolean isEnabled() {
+    return workerExecutor != null;
+  }
+
+  /**
+   * Computes the diff in the lane of the type.
+   *
+   * @param type type of the diffed resource, e.g. {@code item} or {@code marc_bib}
+   * @param task diff computation
+   * @return future with the result, completed on the calling context
+   */
+  public <T> Future<T> execute(String type, Callable<T> task) {
+    if (workerExecutor == null) {
+      return executeInline(task);
+    }
+    var pendingTask = new PendingTask<>(task, Promise.<T>promise(), vertx.getOrCreateContext(), System.nanoTime());
+    lanes.computeIfAbsent(type, Lane::new).submit(pendingTask);
+    return pendingTask.promise().future();
+  }
+
+  /**
+   * Registers callbacks to pause and resume fetching of a verticle. They are invoked on the context once a lane the
+   * verticle submitted diffs to is overloaded and once all such lanes are drained.
+   *
+   * @param context   context of the verticle
+   * @param loadLimit records the verticle processes at once, the queue limit of lanes the verticle submits to is
+   *                  derived from it unless {@code audit.diff.executor.max-queued-per-type} is set
+   * @param onPause   pauses fetching
+   * @param onResume  resumes fetching
+   */
+  public void registerBackpressure(Context context, int loadLimit, Runnable onPause, Runnable onResume) {
+    listeners.put(context, new BackpressureListener(context, loadLimit, onPause, onResume));
+  }
+
+  public void unregisterBackpressure(Context context) {
+    listeners.remove(context);
+    lanes.values().forEach(lane -> lane.submitters.remove(context));
+  }
+
+  /**
+   * Runs the task on the calling thread.
+   */
+  public static <T> Future<T> executeInline(Callable<T> task) {
+    try {
+      return Future.succeededFuture(task.call());
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  private record PendingTask<T>(Callable<T> task, Promise<T> promise, Context context, long submittedAt) {
+
+    private void complete(AsyncResult<T> result) {
+      context.runOnContext(v -> {
+        if (result.succeeded()) {
+          promise.complete(result.result());
+        } else {
+          promise.fail(result.cause());
+        }
+      });
+    }
+  }
+
+  private final class Lane {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final String type;
+    private final Queue<PendingTask<?>> queue = new ArrayDeque<>();
+    private final Set<Context> submitters = ConcurrentHashMap.newKeySet();
+    private final Summary waitTime;
+    private final Summary computeTime;
+
+    private int running;
+    private boolean overloaded;
+
+    private Lane(String type) {
+      this.type = type;
+      var prefix = METRIC_PREFIX + type;
+      this.waitTime = metricsRegistry.summary(prefix + ".wait-ms");
+      this.computeTime = metricsRegistry.summary(prefix + ".compute-ms");
+      metricsRegistry.gauge(prefix + ".queued", this::getQueued);
+      metricsRegistry.gauge(prefix + ".running", this::getRunning);
+    }
+
+    /**
+     * Listeners are notified while the lane is locked, so that they see overload and recovery in the lane order.
+     */
+    private void submit(PendingTask<?> task) {
+      if (listeners.containsKey(task.context())) {
+        submitters.add(task.context());
+      }
+      var queueLimit = getQueueLimit();
+      boolean start = false;
+      lock.lock();
+      try {
+        if (running < maxConcurrencyPerType) {
+          running++;
+          start = true;
+        } else {
+          queue.add(task);
+          if (!overloaded && queue.size() >= queueLimit) {
+            overloaded = true;
+            LOGGER.info("submit:: Diff queue is full, pausing fetching [type: {}, queued: {}, limit: {}]",
+              type, queue.size(), queueLimit);
+            notifySubmitters(BackpressureListener::overloaded);
+          }
+        }
+      } finally {
+        lock.unlock();
+      }
+      if (start) {
+        run(task);
+      }
+    }
+
+    /**
+     * Queue length at which the lane is overloaded, derived from the load limits of the submitting verticles unless
+     * configured.
+     */
+    private int getQueueLimit() {
+      if (maxQueuedPerType > 0) {
+        return maxQueuedPerType;
+      }
+      var loadLimit = submitters.stream()
+        .map(listeners::get)
+        .filter(Objects::nonNull)
+        .mapToInt(BackpressureListener::getLoadLimit)
+        .sum();
+      return Math.max(1, loadLimit / 2);
+    }
+
+    private void notifySubmitters(BiConsumer<BackpressureListener, String> notification) {
+      submitters.forEach(context -> {
+        var listener = listeners.get(context);
+        if (listener != null) {
+          notification.accept(listener, type);
+        }
+      });
+    }
+
+    private <T> void run(PendingTask<T> task) {
+      waitTime.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - task.submittedAt()));
+      workerExecutor.executeBlocking(() -> {
+        var startedAt = System.nanoTime();
+        try {
+          return task.task().call();
+        } finally {
+          computeTime.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        }
+      }, false).onComplete(result -> {
+        task.complete(result);
+        runNext();
+      });
+    }
+
+    private void runNext() {
+      PendingTask<?> next;
+      var queueLimit = getQueueLimit();
+      lock.lock();
+      try {
+        next = queue.poll();
+        if (next == null) {
+          running--;
+        }
+        if (overloaded && queue.size() <= queueLimit / 2) {
+          overloaded = false;
+          LOGGER.info("runNext:: Diff queue is drained [type: {}, queued: {}]", type, queue.size());
+          notifySubmitters(BackpressureListener::recovered);
+        }
+      } finally {
+        lock.unlock();
+      }
+      if (next != null) {
+        run(next);
+      }
+    }
+
+    private int getQueued() {
+      lock.lock();
+      try {
+        return queue.size();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private int getRunning() {
+      lock.lock();
+      try {
+        return running;
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Pauses the verticle while any lane it submitted to is overloaded.
+   */
+  private static final class BackpressureListener {
+
+    private final Context context;
+    private final int loadLimit;
+    private final Runnable onPause;
+    private final Runnable onResume;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<String> overloadedTypes = new HashSet<>();
+
+    private BackpressureListener(Context context, int loadLimit, Runnable onPause, Runnable onResume) {
+      this.context = context;
+      this.loadLimit = loadLimit;
+      this.onPause = onPause;
+      this.onResume = onResume;
+    }
+
+    private int getLoadLimit() {
+      return loadLimit;
+    }
+
+    private void overloaded(String type) {
+      lock.lock();
+      try {
+        if (overloadedTypes.add(type) && overloadedTypes.size() == 1) {
+          context.runOnContext(v -> onPause.run());
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void recovered(String type) {
+      lock.lock();
+      try {
+        if (overloadedTypes.remove(type) && overloadedTypes.isEmpty()) {
+          context.runOnContext(v -> onResume.run());
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package org.folio.services.diff;
+
+import com.fasterxml.jackson.databind.JavaType;
+import io.vertx.core.json.jackson.DatabindCodec;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Diff metadata of a generated model type, resolved once per type from its Jackson bean description.
+ * <p>
+ * Every JSON property is classified as a plain value, a nested object, a collection or a map, and keeps the name
+ * of the model field it is bound to, so that diff paths match the model rather than the JSON. Default values the
+ * model assigns to missing properties are kept as well, so that a missing value is compared as the default one.
+ * Properties captured by {@code additionalProperties} are not part of the schema.
+ */
+public final class DiffSchema {
+
+  private static final Map<Class<?>, DiffSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+  private final Class<?> type;
+  private final List<Property> properties;
+  private final Set<String> propertyNames;
+  private final Map<String, Object> defaults;
+
+  private DiffSchema(Class<?> type) {
+    this.type = type;
+    var mapper = DatabindCodec.mapper();
+    var description = mapper.getSerializationConfig().introspect(mapper.constructType(type));
+    this.properties = description.findProperties().stream()
+      .map(property -> Property.of(property.getName(), property.getInternalName(), property.getPrimaryType()))
+      .toList();
+    this.propertyNames = properties.stream().map(Property::jsonName).collect(Collectors.toUnmodifiableSet());
+    this.defaults = resolveDefaults(type);
+  }
+
+  /**
+   * Returns schema of the type.
+   *
+   * @param type generated model type
+   * @return cached schema
+   */
+  public static DiffSchema of(Class<?> type) {
+    return SCHEMAS.computeIfAbsent(type, DiffSchema::new);
+  }
+
+  public Class<?> getType() {
+    return type;
+  }
+
+  public List<Property> getProperties() {
+    return properties;
+  }
+
+  /**
+   * Checks whether all the properties are part of the schema.
+   *
+   * @param jsonNames names of the properties in JSON
+   * @return true if the schema has all the properties
+   */
+  public boolean hasProperties(Collection<String> jsonNames) {
+    return propertyNames.containsAll(jsonNames);
+  }
+
+  /**
+   * Returns value the model assigns to the property when it is missing in JSON.
+   *
+   * @param property schema property
+   * @return default value or {@code null}
+   */
+  public Object getDefault(Property property) {
+    return defaults.get(property.jsonName());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> resolveDefaults(Class<?> type) {
+    try {
+      return DatabindCodec.mapper().convertValue(type.getDeclaredConstructor().newInstance(), Map.class);
+    } catch (ReflectiveOperationException | IllegalArgumentException e) {
+      return Collections.emptyMap();
+    }
+  }
+
+  /**
+   * Kind of property, defines how its values are compared.
+   */
+  public enum Kind {
+    VALUE, OBJECT, COLLECTION, MAP
+  }
+
+  /**
+   * Schema property.
+   *
+   * @param jsonName    name of the property in JSON
+   * @param name        name of the model field, used in diff paths
+   * @param kind        kind of property
+   * @param type        type of the property
+   * @param elementType type of collection elements, {@code null} for other kinds
+   */
+  public record Property(String jsonName, String name, Kind kind, JavaType type, JavaType elementType) {
+
+    private static Property of(String jsonName, String name, JavaType type) {
+      if (type.isCollectionLikeType() || type.isArrayType()) {
+        return new Property(jsonName, name, Kind.COLLECTION, type, type.getContentType());
+      }
+      if (type.isMapLikeType()) {
+        return new Property(jsonName, name, Kind.MAP, type, null);
+      }
+      return new Property(jsonName, name, isObject(type) ? Kind.OBJECT : Kind.VALUE, type, null);
+    }
+
+    /**
+     * Returns whether elements of the collection are nested objects.
+     */
+    public boolean hasObjectElements() {
+      return elementType != null && isObject(elementType);
+    }
+
+    private static boolean isObject(JavaType type) {
+      var rawClass = type.getRawClass();
+      return !rawClass.isPrimitive() && !rawClass.isEnum() && !rawClass.isArray() && rawClass != Object.class
+        && !rawClass.getName().startsWith("java.");
+    }
+  }
+}
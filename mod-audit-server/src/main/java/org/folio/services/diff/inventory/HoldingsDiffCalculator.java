@@ -1,5 +1,6 @@
 package org.folio.services.diff.inventory;
 
+import java.util.List;
 import java.util.function.Supplier;
 import org.folio.rest.external.HoldingsRecord;
 import org.folio.rest.external.ReceivingHistory;
@@ -11,6 +12,9 @@ import org.springframework.stereotype.Component;
 @Component
 public class HoldingsDiffCalculator extends DiffCalculator<HoldingsRecord> implements InventoryDiffCalculator {
 
+  private static final List<String> STATEMENT_KEY = List.of("statement");
+  private static final List<String> NOTE_KEY = List.of("holdingsNoteTypeId", "note");
+
   @Override
   public InventoryResourceType getResourceType() {
     return InventoryResourceType.HOLDINGS;
@@ -33,4 +37,17 @@ public class HoldingsDiffCalculator extends DiffCalculator<HoldingsRecord> imple
   protected Class<HoldingsRecord> getType() {
     return HoldingsRecord.class;
   }
+
+  /**
+   * Holdings statements are keyed by the statement, so a changed note of a statement is reported as modified.
+   * Notes are keyed by type and text, so a changed staff only flag is reported as modified.
+   */
+  @Override
+  protected List<String> getCollectionKey(String fullPath) {
+    return switch (fullPath) {
+      case "holdingsStatements", "holdingsStatementsForIndexes", "holdingsStatementsForSupplements" -> STATEMENT_KEY;
+      case "notes" -> NOTE_KEY;
+      default -> super.getCollectionKey(fullPath);
+    };
+  }
 }
@@ -1,5 +1,6 @@
 package org.folio.services.diff.inventory;
 
+import java.util.List;
 import java.util.function.Supplier;
 import org.folio.rest.external.Dates;
 import org.folio.rest.external.Instance;
@@ -11,6 +12,8 @@ import org.springframework.stereotype.Component;
 @Component
 public class InstanceDiffCalculator extends DiffCalculator<Instance> implements InventoryDiffCalculator {
 
+  private static final List<String> NOTE_KEY = List.of("instanceNoteTypeId", "note");
+
   @Override
   public InventoryResourceType getResourceType() {
     return InventoryResourceType.INSTANCE;
@@ -33,4 +36,12 @@ public class InstanceDiffCalculator extends DiffCalculator<Instance> implements
   protected Class<Instance> getType() {
     return Instance.class;
   }
+
+  /**
+   * Notes are keyed by type and text, so a changed staff only flag is reported as modified.
+   */
+  @Override
+  protected List<String> getCollectionKey(String fullPath) {
+    return "notes".equals(fullPath) ? NOTE_KEY : super.getCollectionKey(fullPath);
+  }
 }
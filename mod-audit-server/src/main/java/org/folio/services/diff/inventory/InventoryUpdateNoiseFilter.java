@@ -0,0 +1,89 @@
+package org.folio.services.diff.inventory;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.folio.services.diff.CanonicalHash;
+import org.folio.util.inventory.InventoryResourceType;
+import org.folio.util.metrics.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cheap pre-check of inventory updates that skips the diff calculation when old and new values differ only in
+ * volatile fields, such as {@code metadata.updatedDate} or {@code _version}, that are changed on every update.
+ * <p>
+ * Old and new values are compared by their {@link CanonicalHash} without the ignored paths of the resource type,
+ * configured as comma-separated lists in {@code audit.inventory.noise-filter.ignored-paths.<type>}. The number of
+ * checked and skipped updates and the skip ratio are reported per resource type.
+ * <p>
+ * The filter is disabled by default. Enabling it changes which updates are audited: an update that changes only
+ * ignored paths is not saved even if the diff calculator would report the change, as it does for
+ * {@code status.date} of items.
+ */
+@Component
+public class InventoryUpdateNoiseFilter {
+
+  private static final String METRIC_PREFIX = "audit.inventory.noise-filter.";
+
+  private final boolean enabled;
+  private final Map<InventoryResourceType, CanonicalHash> hashes = new EnumMap<>(InventoryResourceType.class);
+  private final Map<InventoryResourceType, LongAdder> checked = new EnumMap<>(InventoryResourceType.class);
+  private final Map<InventoryResourceType, LongAdder> skipped = new EnumMap<>(InventoryResourceType.class);
+
+  @Autowired
+  public InventoryUpdateNoiseFilter(MetricsRegistry metricsRegistry,
+                                    @Value("${audit.inventory.noise-filter.enabled:false}") boolean enabled,
+                                    @Value("${audit.inventory.noise-filter.ignored-paths.instance:_version,metadata}")
+                                    String instancePaths,
+                                    @Value("${audit.inventory.noise-filter.ignored-paths.holdings:_version,metadata}")
+                                    String holdingsPaths,
+                                    @Value("${audit.inventory.noise-filter.ignored-paths.item:_version,metadata,status.date}")
+                                    String itemPaths) {
+    this.enabled = enabled;
+    register(metricsRegistry, InventoryResourceType.INSTANCE, instancePaths);
+    register(metricsRegistry, InventoryResourceType.HOLDINGS, holdingsPaths);
+    register(metricsRegistry, InventoryResourceType.ITEM, itemPaths);
+  }
+
+  /**
+   * Checks whether the update has no meaningful changes.
+   *
+   * @param resourceType type of the updated resource
+   * @param oldValue     old value
+   * @param newValue     new value
+   * @return true if old and new values are equal except for the ignored paths
+   */
+  public boolean isNoise(InventoryResourceType resourceType, Map<String, Object> oldValue,
+                         Map<String, Object> newValue) {
+    var hash = hashes.get(resourceType);
+    if (!enabled || hash == null || oldValue == null || newValue == null) {
+      return false;
+    }
+    checked.get(resourceType).increment();
+    if (hash.of(oldValue) != hash.of(newValue)) {
+      return false;
+    }
+    skipped.get(resourceType).increment();
+    return true;
+  }
+
+  private void register(MetricsRegistry metricsRegistry, InventoryResourceType resourceType, String ignoredPaths) {
+    var paths = Arrays.stream(ignoredPaths.split(","))
+      .map(String::trim)
+      .filter(path -> !path.isEmpty())
+      .toList();
+    hashes.put(resourceType, new CanonicalHash(paths));
+    var prefix = METRIC_PREFIX + resourceType.getType();
+    var checkedCounter = metricsRegistry.counter(prefix + ".checked");
+    var skippedCounter = metricsRegistry.counter(prefix + ".skipped");
+    checked.put(resourceType, checkedCounter);
+    skipped.put(resourceType, skippedCounter);
+    metricsRegistry.gauge(prefix + ".skip-ratio", () -> {
+      var total = checkedCounter.sum();
+      return total == 0 ? 0.0 : (double) skippedCounter.sum() / total;
+    });
+  }
+}
@@ -2,7 +2,6 @@ package org.folio.services.diff.user;
 
 import java.util.function.Supplier;
 import org.folio.rest.external.CustomFields;
-import org.javers.core.diff.changetype.map.MapChange;
 import org.folio.rest.external.Metadata;
 import org.folio.rest.external.Personal__1;
 import org.folio.rest.external.Tags__3;
@@ -33,8 +32,8 @@ public class UserDiffCalculator extends DiffCalculator<User> {
   }
 
   @Override
-  protected boolean shouldProcessMapChange(MapChange mapChange) {
-    return mapChange.getPropertyNameWithPath().startsWith("customFields.");
+  protected boolean shouldProcessMapProperty(String fullPath) {
+    return "customFields".equals(fullPath);
   }
 
   @Override
@@ -2,6 +2,7 @@ package org.folio.services.inventory;
 
 import io.vertx.core.Future;
 import java.sql.Timestamp;
+import java.util.List;
 import org.folio.rest.jaxrs.model.InventoryAuditCollection;
 import org.folio.util.inventory.InventoryEvent;
 import org.folio.util.inventory.InventoryResourceType;
@@ -17,6 +18,16 @@ public interface InventoryEventService {
    */
   Future<String> processEvent(InventoryEvent inventoryEvent, String tenantId);
 
+  /**
+   * Saves batch of InventoryEvents of a single tenant.
+   * Tenant settings are resolved once per batch and entities of the same resource type are saved with a single statement.
+   *
+   * @param inventoryEvents InventoryEvents
+   * @param tenantId        id of tenant
+   * @return Future void
+   */
+  Future<Void> processEvents(List<InventoryEvent> inventoryEvents, String tenantId);
+
   /**
    * Retrieves InventoryEvent List
    *
@@ -29,6 +40,14 @@ public interface InventoryEventService {
   Future<InventoryAuditCollection> getEvents(InventoryResourceType resourceType, String entityId, String eventTs,
                                              String tenantId);
 
+  /**
+   * Calculates and saves diffs of the oldest records saved in deferred diff mode
+   *
+   * @param tenantId id of tenant
+   * @return Future void
+   */
+  Future<Void> resolvePendingDiffs(String tenantId);
+
   /**
    * Delete all MARC records which are expired
    *
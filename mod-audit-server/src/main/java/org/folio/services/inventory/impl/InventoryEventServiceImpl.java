@@ -1,9 +1,11 @@
 package org.folio.services.inventory.impl;
 
-import static org.folio.util.ErrorUtils.handleFailures;
-
 import io.vertx.core.Future;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -11,16 +13,24 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.dao.PendingDiff;
 import org.folio.dao.inventory.InventoryAuditEntity;
 import org.folio.dao.inventory.InventoryEventDao;
 import org.folio.exception.ValidationException;
+import org.folio.mapper.InventoryEventToEntityMapper;
 import org.folio.rest.jaxrs.model.InventoryAuditCollection;
+import org.folio.services.coalescing.UpdateCoalescingWindow;
+import org.folio.services.coalescing.UpdateCoalescingWindow.Burst;
 import org.folio.services.configuration.ConfigurationService;
 import org.folio.services.configuration.Setting;
+import org.folio.services.diff.DeferredDiffMode;
+import org.folio.services.diff.DiffExecutor;
 import org.folio.services.inventory.InventoryEventService;
+import org.folio.util.DiffSnapshot;
 import org.folio.util.inventory.InventoryEvent;
 import org.folio.util.inventory.InventoryEventType;
 import org.folio.util.inventory.InventoryResourceType;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Service;
@@ -37,16 +47,26 @@ public class InventoryEventServiceImpl implements InventoryEventService {
   private final Function<List<InventoryAuditEntity>, InventoryAuditCollection> entitiesToCollectionMapper;
   private final ConfigurationService configurationService;
   private final Map<InventoryResourceType, InventoryEventDao> inventoryEventDaoMap;
+  private final UpdateCoalescingWindow coalescingWindow;
+  private final DiffExecutor diffExecutor;
+  private final DeferredDiffMode deferredDiffMode;
 
+  @Autowired
   public InventoryEventServiceImpl(Function<InventoryEvent, InventoryAuditEntity> eventToEntityMapper,
                                    Function<List<InventoryAuditEntity>, InventoryAuditCollection> entitiesToCollectionMapper,
                                    ConfigurationService configurationService,
-                                   List<InventoryEventDao> inventoryEventDaoList) {
+                                   List<InventoryEventDao> inventoryEventDaoList,
+                                   UpdateCoalescingWindow coalescingWindow,
+                                   DiffExecutor diffExecutor,
+                                   DeferredDiffMode deferredDiffMode) {
     this.eventToEntityMapper = eventToEntityMapper;
     this.entitiesToCollectionMapper = entitiesToCollectionMapper;
     this.configurationService = configurationService;
     this.inventoryEventDaoMap = inventoryEventDaoList.stream()
       .collect(Collectors.toMap(InventoryEventDao::resourceType, Function.identity()));
+    this.coalescingWindow = coalescingWindow;
+    this.diffExecutor = diffExecutor;
+    this.deferredDiffMode = deferredDiffMode;
   }
 
   @Override
@@ -60,15 +80,37 @@ public class InventoryEventServiceImpl implements InventoryEventService {
           LOGGER.debug("saveEvent:: Inventory audit is disabled for tenant [tenantId: {}]", tenantId);
           return Future.succeededFuture(inventoryEvent.getEventId());
         }
-        return process(inventoryEvent, tenantId);
+        var windowMs = InventoryEventType.UPDATE == inventoryEvent.getType()
+                       ? getCoalescingWindowMs(tenantId)
+                       : Future.succeededFuture(0L);
+        return windowMs.compose(window -> process(inventoryEvent, window, tenantId));
       })
       .recover(throwable -> {
         LOGGER.error("saveEvent:: Could not save InventoryEvent for [tenantId: {}, eventId: {}, entityId: {}]",
           tenantId, inventoryEvent.getEventId(), inventoryEvent.getEntityId());
-        return handleFailures(throwable, inventoryEvent.getEventId());
+        return Future.failedFuture(throwable);
       });
   }
 
+  @Override
+  public Future<Void> processEvents(List<InventoryEvent> inventoryEvents, String tenantId) {
+    LOGGER.debug("processEvents:: Trying to save InventoryEvents with [tenantId: {}, count: {}]",
+      tenantId, inventoryEvents.size());
+
+    return configurationService.getSetting(Setting.INVENTORY_RECORDS_ENABLED, tenantId)
+      .compose(setting -> {
+        if (!((boolean) setting.getValue())) {
+          LOGGER.debug("processEvents:: Inventory audit is disabled for tenant [tenantId: {}]", tenantId);
+          return Future.succeededFuture();
+        }
+        return getCoalescingWindowMs(tenantId)
+          .compose(windowMs -> isDiffDeferred(tenantId)
+            .compose(deferred -> processInOrder(inventoryEvents, windowMs, deferred, tenantId)));
+      })
+      .onFailure(throwable -> LOGGER.error("processEvents:: Could not save InventoryEvents for [tenantId: {}, count: {}]",
+        tenantId, inventoryEvents.size(), throwable));
+  }
+
   @Override
   public Future<InventoryAuditCollection> getEvents(InventoryResourceType resourceType, String entityId,
                                                     String eventTs, String tenantId) {
@@ -94,31 +136,310 @@ public class InventoryEventServiceImpl implements InventoryEventService {
       );
   }
 
-  private Future<String> process(InventoryEvent inventoryEvent, String tenantId) {
+  /**
+   * Cuts the batch at every consortium shadow copy event, so that records of the events preceding it are saved before
+   * its records are deleted and records of the events following it are saved after, as if the batch was processed
+   * event by event.
+   */
+  private Future<Void> processInOrder(List<InventoryEvent> inventoryEvents, long windowMs, boolean diffDeferred,
+                                      String tenantId) {
+    var result = Future.<Void>succeededFuture();
+    var segment = new ArrayList<InventoryEvent>();
+    for (var inventoryEvent : inventoryEvents) {
+      if (Boolean.TRUE.equals(inventoryEvent.getIsConsortiumShadowCopy())) {
+        var segmentEvents = List.copyOf(segment);
+        segment.clear();
+        result = result
+          .compose(v -> processSegment(segmentEvents, windowMs, diffDeferred, tenantId))
+          .compose(v -> process(inventoryEvent, windowMs, tenantId).mapEmpty());
+      } else {
+        segment.add(inventoryEvent);
+      }
+    }
+    var segmentEvents = List.copyOf(segment);
+    return result.compose(v -> processSegment(segmentEvents, windowMs, diffDeferred, tenantId));
+  }
+
+  /**
+   * Saves the events of a segment with a single batch, or, if updates are coalesced, with one ordered pipeline per
+   * record, so that audit records of a record are written in the order of its events. Pipelines of different records
+   * run concurrently and their inserts are still grouped by the batch writer of the table.
+   */
+  private Future<Void> processSegment(List<InventoryEvent> inventoryEvents, long windowMs, boolean diffDeferred,
+                                      String tenantId) {
+    if (inventoryEvents.isEmpty()) {
+      return Future.succeededFuture();
+    }
+    if (inventoryEvents.stream().noneMatch(event -> isCoalesced(event, windowMs))) {
+      return saveAll(inventoryEvents, diffDeferred, tenantId);
+    }
+    var eventsByRecord = new LinkedHashMap<String, List<InventoryEvent>>();
+    inventoryEvents.forEach(event -> eventsByRecord
+      .computeIfAbsent(event.getResourceType() + ":" + event.getEntityId(), key -> new ArrayList<>()).add(event));
+    return Future.all(eventsByRecord.values().stream()
+        .map(recordEvents -> processRecordEvents(recordEvents, windowMs, diffDeferred, tenantId))
+        .toList())
+      .mapEmpty();
+  }
+
+  /**
+   * Processes the events of a single record in order, consecutive events that are not coalesced are saved as a batch.
+   */
+  private Future<Void> processRecordEvents(List<InventoryEvent> recordEvents, long windowMs, boolean diffDeferred,
+                                           String tenantId) {
+    var result = Future.<Void>succeededFuture();
+    var batch = new ArrayList<InventoryEvent>();
+    for (var inventoryEvent : recordEvents) {
+      if (isCoalesced(inventoryEvent, windowMs)) {
+        var batchEvents = List.copyOf(batch);
+        batch.clear();
+        result = result
+          .compose(v -> batchEvents.isEmpty() ? Future.<Void>succeededFuture() : saveAll(batchEvents, diffDeferred, tenantId))
+          .compose(v -> process(inventoryEvent, windowMs, tenantId).mapEmpty());
+      } else {
+        batch.add(inventoryEvent);
+      }
+    }
+    var batchEvents = List.copyOf(batch);
+    return batchEvents.isEmpty() ? result : result.compose(v -> saveAll(batchEvents, diffDeferred, tenantId));
+  }
+
+  private Future<String> process(InventoryEvent inventoryEvent, long coalescingWindowMs, String tenantId) {
     return getDao(inventoryEvent.getResourceType())
       .compose(inventoryEventDao -> {
         if (Boolean.TRUE.equals(inventoryEvent.getIsConsortiumShadowCopy())) {
           return deleteAll(inventoryEventDao, inventoryEvent, tenantId);
+        } else if (isCoalesced(inventoryEvent, coalescingWindowMs)) {
+          return coalesce(inventoryEventDao, inventoryEvent, coalescingWindowMs, tenantId);
         } else {
           return save(inventoryEventDao, inventoryEvent, tenantId);
         }
       });
   }
 
+  private Future<Long> getCoalescingWindowMs(String tenantId) {
+    return coalescingWindow.getWindowMs(Setting.INVENTORY_RECORDS_UPDATE_COALESCING_WINDOW, tenantId);
+  }
+
+  private boolean isCoalesced(InventoryEvent inventoryEvent, long coalescingWindowMs) {
+    return coalescingWindowMs > 0 && InventoryEventType.UPDATE == inventoryEvent.getType()
+      && !Boolean.TRUE.equals(inventoryEvent.getIsConsortiumShadowCopy());
+  }
+
+  private Future<String> coalesce(InventoryEventDao inventoryEventDao, InventoryEvent inventoryEvent, long windowMs,
+                                  String tenantId) {
+    var eventId = inventoryEvent.getEventId();
+    var key = inventoryEvent.getResourceType() + ":" + tenantId + ":" + inventoryEvent.getEntityId();
+    return coalescingWindow.execute(key, () -> toEntity(inventoryEvent).compose(entity -> {
+      var burst = coalescingWindow.find(key, entity.userId(), inventoryEvent.getEventTs(), windowMs);
+      if (burst == null) {
+        if (entity.diff() == null) {
+          LOGGER.debug("coalesce:: No diff calculated for InventoryEvent with [tenantId: {}, eventId: {}, entityId: {}]",
+            tenantId, eventId, inventoryEvent.getEntityId());
+          return Future.succeededFuture(eventId);
+        }
+        return inventoryEventDao.save(entity, tenantId)
+          .onSuccess(v -> coalescingWindow.open(key, new Burst(entity.eventId(), entity.eventDate(), entity.userId(),
+            inventoryEvent.getOldValue(), inventoryEvent.getNewValue(), windowMs)))
+          .map(eventId);
+      }
+      if (burst.contains(entity.eventId())) {
+        LOGGER.debug("coalesce:: InventoryEvent is already merged [tenantId: {}, eventId: {}, entityId: {}]",
+          tenantId, eventId, inventoryEvent.getEntityId());
+        return Future.succeededFuture(eventId);
+      }
+      LOGGER.debug("coalesce:: Merging InventoryEvent into audit record [tenantId: {}, eventId: {}, entityId: {}, mergedInto: {}]",
+        tenantId, eventId, inventoryEvent.getEntityId(), burst.eventId());
+      var mergedBurst = burst.merge(entity.eventId(), inventoryEvent.getEventTs(), inventoryEvent.getOldValue(),
+        inventoryEvent.getNewValue());
+      return toEntity(mergeInto(mergedBurst, inventoryEvent))
+        .compose(merged -> replace(inventoryEventDao, merged, tenantId))
+        .onSuccess(v -> coalescingWindow.merge(key, burst, mergedBurst))
+        .map(eventId);
+    }));
+  }
+
+  private Future<InventoryAuditEntity> toEntity(InventoryEvent inventoryEvent) {
+    return diffExecutor.execute(inventoryEvent.getResourceType().getType(),
+      () -> eventToEntityMapper.apply(inventoryEvent));
+  }
+
+  private InventoryEvent mergeInto(Burst burst, InventoryEvent inventoryEvent) {
+    return InventoryEvent.builder()
+      .eventId(burst.eventId().toString())
+      .eventTs(burst.eventDate().getTime())
+      .entityId(inventoryEvent.getEntityId())
+      .tenant(inventoryEvent.getTenant())
+      .type(inventoryEvent.getType())
+      .resourceType(inventoryEvent.getResourceType())
+      .isConsortiumShadowCopy(inventoryEvent.getIsConsortiumShadowCopy())
+      .oldValue(burst.oldValue())
+      .newValue(burst.newValue())
+      .build();
+  }
+
+  private Future<Void> replace(InventoryEventDao inventoryEventDao, InventoryAuditEntity entity, String tenantId) {
+    if (entity.diff() == null) {
+      return inventoryEventDao.delete(entity.eventId(), entity.entityId(), tenantId);
+    }
+    return inventoryEventDao.updateDiff(entity, tenantId)
+      .compose(updated -> updated > 0
+                          ? Future.<Void>succeededFuture()
+                          : inventoryEventDao.save(entity, tenantId).<Void>mapEmpty());
+  }
+
   private Future<String> save(InventoryEventDao inventoryEventDao, InventoryEvent inventoryEvent, String tenantId) {
     var eventId = inventoryEvent.getEventId();
     LOGGER.debug("save:: Trying to save InventoryEvent with [tenantId: {}, eventId: {}, entityId: {}]",
       tenantId, eventId, inventoryEvent.getEntityId());
 
-    var entity = eventToEntityMapper.apply(inventoryEvent);
-    if (InventoryEventType.UPDATE.name().equals(entity.action()) && entity.diff() == null) {
-      LOGGER.debug(
-        "save:: No diff calculated for InventoryEvent with [tenantId: {}, eventId: {}, entityId: {}]",
-        tenantId, eventId, inventoryEvent.getEntityId());
-      return Future.succeededFuture(eventId);
+    if (InventoryEventType.UPDATE == inventoryEvent.getType()) {
+      return isDiffDeferred(tenantId)
+        .compose(deferred -> deferred
+                             ? savePending(inventoryEventDao, List.of(inventoryEvent), tenantId).map(eventId)
+                             : saveCalculated(inventoryEventDao, inventoryEvent, tenantId));
+    }
+    return saveCalculated(inventoryEventDao, inventoryEvent, tenantId);
+  }
+
+  private Future<String> saveCalculated(InventoryEventDao inventoryEventDao, InventoryEvent inventoryEvent,
+                                        String tenantId) {
+    var eventId = inventoryEvent.getEventId();
+    return toEntity(inventoryEvent).compose(entity -> {
+      if (InventoryEventType.UPDATE.name().equals(entity.action()) && entity.diff() == null) {
+        LOGGER.debug(
+          "save:: No diff calculated for InventoryEvent with [tenantId: {}, eventId: {}, entityId: {}]",
+          tenantId, eventId, inventoryEvent.getEntityId());
+        return Future.succeededFuture(eventId);
+      }
+      return inventoryEventDao.save(entity, tenantId).map(eventId);
+    });
+  }
+
+  private Future<Void> saveAll(List<InventoryEvent> savedEvents, boolean diffDeferred, String tenantId) {
+    if (!diffDeferred) {
+      return saveAllCalculated(savedEvents, tenantId);
+    }
+    var pendingEvents = new EnumMap<InventoryResourceType, List<InventoryEvent>>(InventoryResourceType.class);
+    savedEvents.stream()
+      .filter(inventoryEvent -> InventoryEventType.UPDATE == inventoryEvent.getType())
+      .forEach(inventoryEvent -> pendingEvents
+        .computeIfAbsent(inventoryEvent.getResourceType(), type -> new ArrayList<>()).add(inventoryEvent));
+    var pendingFutures = pendingEvents.entrySet().stream()
+      .map(entry -> getDao(entry.getKey())
+        .compose(inventoryEventDao -> savePending(inventoryEventDao, entry.getValue(), tenantId)))
+      .toList();
+    var calculatedEvents = savedEvents.stream()
+      .filter(inventoryEvent -> InventoryEventType.UPDATE != inventoryEvent.getType())
+      .toList();
+    return Future.all(pendingFutures)
+      .compose(v -> saveAllCalculated(calculatedEvents, tenantId));
+  }
+
+  private Future<Void> saveAllCalculated(List<InventoryEvent> savedEvents, String tenantId) {
+    var entityFutures = savedEvents.stream()
+      .map(this::toEntity)
+      .toList();
+    return Future.all(entityFutures)
+      .compose(v -> {
+        var entitiesByResourceType = new EnumMap<InventoryResourceType, List<InventoryAuditEntity>>(InventoryResourceType.class);
+        for (int i = 0; i < savedEvents.size(); i++) {
+          var inventoryEvent = savedEvents.get(i);
+          var entity = entityFutures.get(i).result();
+          if (InventoryEventType.UPDATE.name().equals(entity.action()) && entity.diff() == null) {
+            LOGGER.debug("saveAll:: No diff calculated for InventoryEvent with [tenantId: {}, eventId: {}, entityId: {}]",
+              tenantId, inventoryEvent.getEventId(), inventoryEvent.getEntityId());
+            continue;
+          }
+          entitiesByResourceType.computeIfAbsent(inventoryEvent.getResourceType(), type -> new ArrayList<>()).add(entity);
+        }
+        return saveAll(entitiesByResourceType, tenantId);
+      });
+  }
+
+  private Future<Void> saveAll(Map<InventoryResourceType, List<InventoryAuditEntity>> entitiesByResourceType,
+                               String tenantId) {
+    var futures = entitiesByResourceType.entrySet().stream()
+      .map(entry -> getDao(entry.getKey())
+        .compose(inventoryEventDao -> inventoryEventDao.saveAll(entry.getValue(), tenantId)))
+      .toList();
+    return Future.all(futures).mapEmpty();
+  }
+
+  private Future<Void> savePending(InventoryEventDao inventoryEventDao, List<InventoryEvent> inventoryEvents,
+                                   String tenantId) {
+    LOGGER.debug("savePending:: Trying to save InventoryEvents with pending diff [tenantId: {}, resourceType: {}, count: {}]",
+      tenantId, inventoryEventDao.resourceType(), inventoryEvents.size());
+    try {
+      var pendingDiffs = inventoryEvents.stream()
+        .map(inventoryEvent -> new PendingDiff<>(InventoryEventToEntityMapper.toEntity(inventoryEvent, null),
+          new DiffSnapshot(inventoryEvent.getOldValue(), inventoryEvent.getNewValue())))
+        .toList();
+      return inventoryEventDao.savePending(pendingDiffs, tenantId).mapEmpty();
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  private Future<Boolean> isDiffDeferred(String tenantId) {
+    return deferredDiffMode.isEnabled(Setting.INVENTORY_RECORDS_DIFF_DEFERRED, tenantId);
+  }
+
+  /**
+   * Calculates diffs of the records with pending diff on the page and saves them, records whose diff turns out
+   * to be empty are deleted and dropped from the page. The page is returned as is if the diffs can not be resolved.
+   */
+  private Future<List<InventoryAuditEntity>> resolvePending(InventoryEventDao inventoryEventDao, UUID entityId,
+                                                            List<InventoryAuditEntity> entities, String tenantId) {
+    var candidateIds = entities.stream()
+      .filter(entity -> InventoryEventType.UPDATE.name().equals(entity.action()) && entity.diff() == null)
+      .map(InventoryAuditEntity::eventId)
+      .toList();
+    if (candidateIds.isEmpty()) {
+      return Future.succeededFuture(entities);
     }
+    return inventoryEventDao.getPendingDiffs(entityId, candidateIds, tenantId)
+      .compose(pendingDiffs -> Future.all(pendingDiffs.stream()
+          .map(pendingDiff -> resolve(inventoryEventDao, pendingDiff, tenantId))
+          .toList())
+        .map(resolved -> {
+          var resolvedById = new HashMap<UUID, InventoryAuditEntity>();
+          resolved.<InventoryAuditEntity>list().forEach(entity -> resolvedById.put(entity.eventId(), entity));
+          return entities.stream()
+            .map(entity -> resolvedById.getOrDefault(entity.eventId(), entity))
+            .filter(entity -> !resolvedById.containsKey(entity.eventId()) || entity.diff() != null)
+            .toList();
+        }))
+      .otherwise(throwable -> {
+        LOGGER.warn("resolvePending:: Could not resolve pending diffs [tenantId: {}, resourceType: {}, entityId: {}]",
+          tenantId, inventoryEventDao.resourceType(), entityId, throwable);
+        return entities;
+      });
+  }
 
-    return inventoryEventDao.save(entity, tenantId).map(eventId);
+  private Future<InventoryAuditEntity> resolve(InventoryEventDao inventoryEventDao,
+                                               PendingDiff<InventoryAuditEntity> pendingDiff, String tenantId) {
+    var pending = pendingDiff.entity();
+    var inventoryEvent = InventoryEvent.builder()
+      .eventId(pending.eventId().toString())
+      .eventTs(pending.eventDate().getTime())
+      .entityId(pending.entityId().toString())
+      .type(InventoryEventType.UPDATE)
+      .resourceType(inventoryEventDao.resourceType())
+      .oldValue(pendingDiff.snapshot().oldValue())
+      .newValue(pendingDiff.snapshot().newValue())
+      .build();
+    return toEntity(inventoryEvent)
+      .map(calculated -> new InventoryAuditEntity(pending.eventId(), pending.eventDate(), pending.entityId(),
+        pending.action(), pending.userId(), calculated.diff()))
+      .compose(entity -> {
+        if (entity.diff() == null) {
+          LOGGER.debug("resolve:: No diff calculated, deleting audit record [tenantId: {}, eventId: {}, entityId: {}]",
+            tenantId, entity.eventId(), entity.entityId());
+          return inventoryEventDao.delete(entity.eventId(), entity.entityId(), tenantId).map(entity);
+        }
+        return inventoryEventDao.updateDiff(entity, tenantId).map(entity);
+      });
   }
 
   private Future<String> deleteAll(InventoryEventDao inventoryEventDao, InventoryEvent inventoryEvent, String tenantId) {
@@ -129,6 +450,34 @@ public class InventoryEventServiceImpl implements InventoryEventService {
       .map(inventoryEvent.getEventId());
   }
 
+  @Override
+  public Future<Void> resolvePendingDiffs(String tenantId) {
+    return Future.all(inventoryEventDaoMap.values().stream()
+        .map(inventoryEventDao -> resolvePendingDiffs(inventoryEventDao, tenantId))
+        .toList())
+      .mapEmpty();
+  }
+
+  /**
+   * Resolves the pending diffs of the table batch by batch until a batch is not full.
+   */
+  private Future<Void> resolvePendingDiffs(InventoryEventDao inventoryEventDao, String tenantId) {
+    var batchSize = deferredDiffMode.getResolveBatchSize();
+    return inventoryEventDao.getPendingDiffs(batchSize, tenantId)
+      .compose(pendingDiffs -> {
+        LOGGER.debug("resolvePendingDiffs:: Resolving pending diffs [tenantId: {}, resourceType: {}, count: {}]",
+          tenantId, inventoryEventDao.resourceType(), pendingDiffs.size());
+        var future = Future.<Void>succeededFuture();
+        for (var pendingDiff : pendingDiffs) {
+          future = future.compose(v -> resolve(inventoryEventDao, pendingDiff, tenantId).mapEmpty());
+        }
+        // resolved records are no longer pending, so the next batch picks up where this one ended
+        return pendingDiffs.size() < batchSize
+               ? future
+               : future.compose(v -> resolvePendingDiffs(inventoryEventDao, tenantId));
+      });
+  }
+
   @Override
   public Future<Void> expireRecords(String tenantId, Timestamp expireOlderThan) {
     return Future.all(inventoryEventDaoMap.values().stream()
@@ -150,12 +499,28 @@ public class InventoryEventServiceImpl implements InventoryEventService {
       }
       return configurationService.getSetting(Setting.INVENTORY_RECORDS_PAGE_SIZE, tenantId)
         .map(setting -> (Integer) setting.getValue())
-        .compose(limit -> inventoryEventDao.get(entityId, eventTsTimestamp, limit, tenantId))
-        .map(entitiesToCollectionMapper)
-        .map(inventoryAuditCollection -> inventoryAuditCollection.withTotalRecords(count));
+        .compose(limit -> fetchPage(inventoryEventDao, entityId, eventTsTimestamp, limit, count, tenantId));
     };
   }
 
+  /**
+   * Fetches the page and resolves its pending diffs. Records deleted during resolution are subtracted from the
+   * total and the page is fetched again, so that it stays full.
+   */
+  private Future<InventoryAuditCollection> fetchPage(InventoryEventDao inventoryEventDao, UUID entityId,
+                                                     Timestamp eventTsTimestamp, int limit, int count,
+                                                     String tenantId) {
+    return inventoryEventDao.get(entityId, eventTsTimestamp, limit, tenantId)
+      .compose(entities -> resolvePending(inventoryEventDao, entityId, entities, tenantId)
+        .compose(resolved -> {
+          var deleted = entities.size() - resolved.size();
+          if (deleted > 0) {
+            return fetchPage(inventoryEventDao, entityId, eventTsTimestamp, limit, count - deleted, tenantId);
+          }
+          return Future.succeededFuture(entitiesToCollectionMapper.apply(resolved).withTotalRecords(count));
+        }));
+  }
+
   private Future<InventoryEventDao> getDao(InventoryResourceType resourceType) {
     var dao = inventoryEventDaoMap.get(resourceType);
     if (dao == null) {
@@ -39,7 +39,30 @@ public class AuditManager {
   public Future<Void> executeDatabaseCleanup(String tenantId) {
     LOGGER.info("executeDatabaseCleanup:: Deleting expired records and prepare sub-partitions for tenant [tenantId: {}]", tenantId);
     var currentTime = System.currentTimeMillis();
-    return deleteExpiredRecords(tenantId, currentTime);
+    return deleteExpiredRecords(tenantId, currentTime)
+      .compose(v -> resolvePendingDiffs(tenantId));
+  }
+
+  /**
+   * Calculates diffs of records saved in deferred diff mode, failures are logged and left for the next run
+   * or the first read of the records.
+   */
+  private Future<Void> resolvePendingDiffs(String tenantId) {
+    return Future.all(
+      recoverPendingDiffs(inventoryService.resolvePendingDiffs(tenantId), tenantId, "inventory"),
+      recoverPendingDiffs(marcService.resolvePendingDiffs(tenantId, SourceRecordType.MARC_BIB), tenantId, "marc_bib"),
+      recoverPendingDiffs(marcService.resolvePendingDiffs(tenantId, SourceRecordType.MARC_AUTHORITY), tenantId,
+        "marc_authority"),
+      recoverPendingDiffs(userEventService.resolvePendingDiffs(tenantId), tenantId, "user")
+    ).mapEmpty();
+  }
+
+  private Future<Void> recoverPendingDiffs(Future<Void> future, String tenantId, String type) {
+    return future.recover(throwable -> {
+      LOGGER.warn("resolvePendingDiffs:: Failed to resolve pending diffs [tenantId: {}, type: {}]",
+        tenantId, type, throwable);
+      return Future.succeededFuture();
+    });
   }
 
   private Future<Void> deleteExpiredRecords(String tenantId, long currentTime) {
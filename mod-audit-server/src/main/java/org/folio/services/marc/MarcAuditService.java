@@ -41,4 +41,13 @@ public interface MarcAuditService {
    * @return Future void
    */
   Future<Void> expireRecords(String tenantId, Timestamp expireOlderThan, SourceRecordType recordType);
+
+  /**
+   * Calculates and saves diffs of the oldest records saved in deferred diff mode
+   *
+   * @param tenantId   id of tenant
+   * @param recordType the type of the source record (e.g., MARC_BIB or MARC_AUTHORITY)
+   * @return Future void
+   */
+  Future<Void> resolvePendingDiffs(String tenantId, SourceRecordType recordType);
 }
@@ -5,26 +5,32 @@ import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.dao.PendingDiff;
 import org.folio.dao.marc.MarcAuditDao;
 import org.folio.dao.marc.MarcAuditEntity;
 import org.folio.exception.ValidationException;
 import org.folio.rest.jaxrs.model.MarcAuditCollection;
 import org.folio.services.configuration.ConfigurationService;
 import org.folio.services.configuration.Setting;
+import org.folio.services.diff.DeferredDiffMode;
+import org.folio.services.diff.DiffExecutor;
 import org.folio.services.marc.MarcAuditService;
 import org.folio.util.marc.MarcUtil;
 import org.folio.util.marc.SourceRecordDomainEvent;
+import org.folio.util.marc.SourceRecordDomainEventType;
 import org.folio.util.marc.SourceRecordType;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-
-import static org.folio.util.ErrorUtils.handleFailures;
+import java.util.concurrent.Callable;
 
 @Service
 public class MarcAuditServiceImpl implements MarcAuditService {
@@ -34,13 +40,23 @@ public class MarcAuditServiceImpl implements MarcAuditService {
     SourceRecordType.MARC_BIB, Setting.INVENTORY_RECORDS_ENABLED,
     SourceRecordType.MARC_AUTHORITY, Setting.AUTHORITY_RECORDS_ENABLED
   );
+  private static final Map<SourceRecordType, Setting> DIFF_DEFERRED_SETTINGS_MAP = Map.of(
+    SourceRecordType.MARC_BIB, Setting.INVENTORY_RECORDS_DIFF_DEFERRED,
+    SourceRecordType.MARC_AUTHORITY, Setting.AUTHORITY_RECORDS_DIFF_DEFERRED
+  );
 
   private final MarcAuditDao marcAuditDao;
   private final ConfigurationService configurationService;
+  private final DiffExecutor diffExecutor;
+  private final DeferredDiffMode deferredDiffMode;
 
-  public MarcAuditServiceImpl(MarcAuditDao marcAuditDao, ConfigurationService configurationService) {
+  @Autowired
+  public MarcAuditServiceImpl(MarcAuditDao marcAuditDao, ConfigurationService configurationService,
+                              DiffExecutor diffExecutor, DeferredDiffMode deferredDiffMode) {
     this.marcAuditDao = marcAuditDao;
     this.configurationService = configurationService;
+    this.diffExecutor = diffExecutor;
+    this.deferredDiffMode = deferredDiffMode;
   }
 
   @Override
@@ -60,15 +76,101 @@ public class MarcAuditServiceImpl implements MarcAuditService {
   }
 
   private Future<RowSet<Row>> save(SourceRecordDomainEvent event, String tenantId) {
-    MarcAuditEntity entity;
-    try {
-      entity = MarcUtil.mapToEntity(event);
-    } catch (Exception e) {
-      LOGGER.warn(
-        "save:: Error during mapping SourceRecordDomainEvent to MarcAuditEntity for event '{}'",
-        event.getEventId());
-      return handleFailures(e, event.getEventId());
+    if (SourceRecordDomainEventType.SOURCE_RECORD_UPDATED.equals(event.getEventType())) {
+      return isDiffDeferred(event.getRecordType(), tenantId)
+        .compose(deferred -> deferred ? savePending(event, tenantId) : saveCalculated(event, tenantId));
+    }
+    return saveCalculated(event, tenantId);
+  }
+
+  private Future<RowSet<Row>> saveCalculated(SourceRecordDomainEvent event, String tenantId) {
+    return toEntity(event)
+      .recover(e -> {
+        LOGGER.warn(
+          "save:: Error during mapping SourceRecordDomainEvent to MarcAuditEntity for event '{}'",
+          event.getEventId());
+        return Future.failedFuture(e);
+      })
+      .compose(entity -> save(entity, event, tenantId));
+  }
+
+  private Future<RowSet<Row>> savePending(SourceRecordDomainEvent event, String tenantId) {
+    LOGGER.debug("savePending:: Saving SourceRecordDomainEvent with pending diff tenantId: '{}', eventId: '{}'",
+      tenantId, event.getEventId());
+    return DiffExecutor.executeInline(() -> new PendingDiff<>(MarcUtil.mapToPendingEntity(event),
+        MarcUtil.toDiffSnapshot(event)))
+      .recover(e -> {
+        LOGGER.warn(
+          "savePending:: Error during mapping SourceRecordDomainEvent to MarcAuditEntity for event '{}'",
+          event.getEventId());
+        return Future.failedFuture(e);
+      })
+      .compose(pendingDiff -> marcAuditDao.savePending(List.of(pendingDiff), event.getRecordType(), tenantId))
+      .recover(throwable -> {
+        LOGGER.error("savePending:: Could not save marc audit event with pending diff for tenantId: {}", tenantId);
+        return Future.failedFuture(throwable);
+      });
+  }
+
+  private Future<Boolean> isDiffDeferred(SourceRecordType recordType, String tenantId) {
+    return deferredDiffMode.isEnabled(DIFF_DEFERRED_SETTINGS_MAP.get(recordType), tenantId);
+  }
+
+  /**
+   * Calculates diffs of the records with pending diff on the page and saves them, records without changes are
+   * deleted and dropped from the page. The page is returned as is if the diffs can not be resolved.
+   */
+  private Future<List<MarcAuditEntity>> resolvePending(UUID entityId, SourceRecordType recordType,
+                                                       List<MarcAuditEntity> entities, String tenantId) {
+    var candidateIds = entities.stream()
+      .filter(entity -> entity.diff() == null)
+      .map(entity -> UUID.fromString(entity.eventId()))
+      .toList();
+    if (candidateIds.isEmpty()) {
+      return Future.succeededFuture(entities);
     }
+    return marcAuditDao.getPendingDiffs(entityId, candidateIds, recordType, tenantId)
+      .compose(pendingDiffs -> Future.all(pendingDiffs.stream()
+          .map(pendingDiff -> resolve(pendingDiff, recordType, tenantId))
+          .toList())
+        .map(resolved -> {
+          var resolvedById = new HashMap<String, MarcAuditEntity>();
+          resolved.<MarcAuditEntity>list().forEach(entity -> resolvedById.put(entity.eventId(), entity));
+          return entities.stream()
+            .map(entity -> resolvedById.getOrDefault(entity.eventId(), entity))
+            .filter(entity -> !resolvedById.containsKey(entity.eventId()) || !isDiffEmpty(entity))
+            .toList();
+        }))
+      .otherwise(throwable -> {
+        LOGGER.warn("resolvePending:: Could not resolve pending diffs for tenantId: '{}', recordType: '{}', entityId: '{}'",
+          tenantId, recordType, entityId, throwable);
+        return entities;
+      });
+  }
+
+  private Future<MarcAuditEntity> resolve(PendingDiff<MarcAuditEntity> pendingDiff, SourceRecordType recordType,
+                                          String tenantId) {
+    var pending = pendingDiff.entity();
+    Callable<MarcAuditEntity> calculate = () -> new MarcAuditEntity(pending.eventId(),
+      pending.eventDate(), pending.entityId(), pending.origin(), pending.action(), pending.userId(),
+      MarcUtil.calculateDifferences(pendingDiff.snapshot()));
+    return diffExecutor.execute(recordType.getValue().toLowerCase(), calculate).compose(entity -> {
+      var eventId = UUID.fromString(entity.eventId());
+      var entityId = UUID.fromString(entity.entityId());
+      if (isDiffEmpty(entity)) {
+        LOGGER.debug("resolve:: No changes detected, deleting record '{}' of event '{}' and tenantId='{}'",
+          entity.entityId(), entity.eventId(), tenantId);
+        return marcAuditDao.delete(eventId, entityId, recordType, tenantId).map(entity);
+      }
+      return marcAuditDao.updateDiff(entity, recordType, tenantId).map(entity);
+    });
+  }
+
+  private Future<MarcAuditEntity> toEntity(SourceRecordDomainEvent event) {
+    return diffExecutor.execute(event.getRecordType().getValue().toLowerCase(), () -> MarcUtil.mapToEntity(event));
+  }
+
+  private Future<RowSet<Row>> save(MarcAuditEntity entity, SourceRecordDomainEvent event, String tenantId) {
     if (isDiffEmpty(entity)) {
       LOGGER.debug("save:: No changes detected, skipping save record '{}' and tenantId='{}'",
         entity.entityId(), tenantId);
@@ -77,7 +179,7 @@ public class MarcAuditServiceImpl implements MarcAuditService {
     return marcAuditDao.save(entity, event.getRecordType(), tenantId)
       .recover(throwable -> {
         LOGGER.error("save:: Could not save order audit event for tenantId: {}", tenantId);
-        return handleFailures(throwable, event.getEventId());
+        return Future.failedFuture(throwable);
       });
   }
 
@@ -107,21 +209,55 @@ public class MarcAuditServiceImpl implements MarcAuditService {
           return Future.succeededFuture(new MarcAuditCollection().withTotalRecords(count));
         }
         return getMarcRecordPageSize(tenantId, recordType)
-          .compose(limit -> marcAuditDao.get(entityUUID, recordType, tenantId, eventDateTime, limit))
-          .map(entities -> MarcUtil.mapToCollection(entities).withTotalRecords(count));
+          .compose(limit -> fetchPage(entityUUID, recordType, tenantId, eventDateTime, limit, count));
       })
       .recover(throwable -> {
         LOGGER.error("fetchIfExists:: Could not retrieve marc audit records for tenantId: '{}', recordType: '{}', entityId: '{}'",
           tenantId, recordType, entityUUID, throwable);
-        return handleFailures(throwable, entityUUID.toString());
+        return Future.failedFuture(throwable);
       });
   }
 
+  /**
+   * Fetches the page and resolves its pending diffs. Records deleted during resolution are subtracted from the
+   * total and the page is fetched again, so that it stays full.
+   */
+  private Future<MarcAuditCollection> fetchPage(UUID entityUUID, SourceRecordType recordType, String tenantId,
+                                                LocalDateTime eventDateTime, int limit, int count) {
+    return marcAuditDao.get(entityUUID, recordType, tenantId, eventDateTime, limit)
+      .compose(entities -> resolvePending(entityUUID, recordType, entities, tenantId)
+        .compose(resolved -> {
+          var deleted = entities.size() - resolved.size();
+          if (deleted > 0) {
+            return fetchPage(entityUUID, recordType, tenantId, eventDateTime, limit, count - deleted);
+          }
+          return Future.succeededFuture(MarcUtil.mapToCollection(resolved).withTotalRecords(count));
+        }));
+  }
+
   @Override
   public Future<Void> expireRecords(String tenantId, Timestamp expireOlderThan, SourceRecordType recordType) {
     return marcAuditDao.deleteOlderThanDate(expireOlderThan, tenantId, recordType);
   }
 
+  @Override
+  public Future<Void> resolvePendingDiffs(String tenantId, SourceRecordType recordType) {
+    var batchSize = deferredDiffMode.getResolveBatchSize();
+    return marcAuditDao.getPendingDiffs(batchSize, recordType, tenantId)
+      .compose(pendingDiffs -> {
+        LOGGER.debug("resolvePendingDiffs:: Resolving pending diffs for tenantId: '{}', recordType: '{}', count: {}",
+          tenantId, recordType, pendingDiffs.size());
+        var future = Future.<Void>succeededFuture();
+        for (var pendingDiff : pendingDiffs) {
+          future = future.compose(v -> resolve(pendingDiff, recordType, tenantId).mapEmpty());
+        }
+        // resolved records are no longer pending, so the next batch picks up where this one ended
+        return pendingDiffs.size() < batchSize
+               ? future
+               : future.compose(v -> resolvePendingDiffs(tenantId, recordType));
+      });
+  }
+
   private Future<Integer> getMarcRecordPageSize(String tenantId, SourceRecordType type) {
     var setting = SourceRecordType.MARC_BIB.equals(type) ? Setting.INVENTORY_RECORDS_PAGE_SIZE : Setting.AUTHORITY_RECORDS_PAGE_SIZE;
     return configurationService.getSetting(setting, tenantId)
@@ -0,0 +1,34 @@
+package org.folio.services.replay;
+
+import io.vertx.core.Future;
+import org.folio.rest.jaxrs.model.ReplayJob;
+
+public interface ReplayService {
+
+  /**
+   * Starts replay of inventory events of the tenant published within the date range of the job.
+   *
+   * @param replayJob resource type and date range to replay
+   * @param tenantId  tenant id
+   * @return future with the started job, failed with {@link IllegalArgumentException} if the range can not be replayed
+   */
+  Future<ReplayJob> startReplay(ReplayJob replayJob, String tenantId);
+
+  /**
+   * Retrieves progress of the replay job.
+   *
+   * @param id       replay job id
+   * @param tenantId tenant id
+   * @return future with the job, failed with {@link javax.ws.rs.NotFoundException} if job does not exist
+   */
+  Future<ReplayJob> getReplay(String id, String tenantId);
+
+  /**
+   * Cancels the replay job, audit records written so far are kept.
+   *
+   * @param id       replay job id
+   * @param tenantId tenant id
+   * @return future with result of cancellation, failed with {@link javax.ws.rs.NotFoundException} if job does not exist
+   */
+  Future<Void> cancelReplay(String id, String tenantId);
+}
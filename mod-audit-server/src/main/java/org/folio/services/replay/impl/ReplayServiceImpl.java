@@ -0,0 +1,492 @@
+package org.folio.services.replay.impl;
+
+import static org.folio.util.inventory.InventoryUtils.isShadowCopyEvent;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.common.TopicPartition;
+import io.vertx.kafka.client.consumer.KafkaConsumer;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecords;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.ws.rs.NotFoundException;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.dao.inventory.InventoryAuditBulkInsertDao;
+import org.folio.dao.inventory.InventoryAuditEntity;
+import org.folio.dao.inventory.InventoryEventDao;
+import org.folio.kafka.KafkaConfig;
+import org.folio.rest.jaxrs.model.ReplayJob;
+import org.folio.services.configuration.ConfigurationService;
+import org.folio.services.configuration.Setting;
+import org.folio.services.replay.ReplayService;
+import org.folio.util.KafkaUtils;
+import org.folio.util.inventory.InventoryEvent;
+import org.folio.util.inventory.InventoryEventType;
+import org.folio.util.inventory.InventoryKafkaEvent;
+import org.folio.util.inventory.InventoryResourceType;
+import org.folio.util.metrics.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Rebuilds inventory audit history by re-reading the inventory topic of the tenant.
+ * <p>
+ * Every job reads its offset range with its own consumer that is assigned the partitions directly and has no
+ * consumer group, so the regular consumers are not affected and no group is left behind on the brokers. The range is resolved when the job starts: from the first record published
+ * at or after {@code fromDate} to the first record published at or after {@code toDate}, or to the end of the
+ * topic at that moment. Records of each polled batch are decoded and diffed in {@code audit.replay.parallelism}
+ * chunks on worker threads and the resulting audit records are bulk loaded, records that already exist are
+ * skipped. Jobs are rejected for tenants with disabled inventory audit. Consortium shadow copy events are handled
+ * as on the regular path: the history of the entity is deleted instead of being replayed.
+ * <p>
+ * Progress is logged every {@code audit.replay.progress-interval-ms} and kept in memory of the instance that
+ * runs the job for {@code audit.replay.job-retention-ms} after the job is finished.
+ */
+@Service
+public class ReplayServiceImpl implements ReplayService {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+  private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+  private final Vertx vertx;
+  private final KafkaConfig kafkaConfig;
+  private final Function<InventoryEvent, InventoryAuditEntity> eventToEntityMapper;
+  private final Map<InventoryResourceType, InventoryEventDao> inventoryEventDaoMap;
+  private final InventoryAuditBulkInsertDao inventoryAuditBulkInsertDao;
+  private final ConfigurationService configurationService;
+  private final Function<Map<String, String>, KafkaConsumer<String, String>> consumerFactory;
+  private final int batchSize;
+  private final int parallelism;
+  private final long progressIntervalMs;
+  private final long jobRetentionMs;
+  private final LongAdder recordsRead;
+  private final LongAdder rowsWritten;
+  private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+  @Autowired
+  public ReplayServiceImpl(Vertx vertx, KafkaConfig kafkaConfig,
+                           Function<InventoryEvent, InventoryAuditEntity> eventToEntityMapper,
+                           List<InventoryEventDao> inventoryEventDaoList, InventoryAuditBulkInsertDao inventoryAuditBulkInsertDao,
+                           ConfigurationService configurationService, MetricsRegistry metricsRegistry,
+                           @Value("${audit.replay.batch-size:5000}") int batchSize,
+                           @Value("${audit.replay.parallelism:4}") int parallelism,
+                           @Value("${audit.replay.progress-interval-ms:10000}") long progressIntervalMs,
+                           @Value("${audit.replay.job-retention-ms:86400000}") long jobRetentionMs) {
+    this(vertx, kafkaConfig, eventToEntityMapper, inventoryEventDaoList, inventoryAuditBulkInsertDao, configurationService,
+      metricsRegistry, batchSize, parallelism, progressIntervalMs, jobRetentionMs,
+      props -> KafkaConsumer.create(vertx, props));
+  }
+
+  ReplayServiceImpl(Vertx vertx, KafkaConfig kafkaConfig,
+                    Function<InventoryEvent, InventoryAuditEntity> eventToEntityMapper,
+                    List<InventoryEventDao> inventoryEventDaoList, InventoryAuditBulkInsertDao inventoryAuditBulkInsertDao,
+                    ConfigurationService configurationService, MetricsRegistry metricsRegistry, int batchSize,
+                    int parallelism, long progressIntervalMs, long jobRetentionMs,
+                    Function<Map<String, String>, KafkaConsumer<String, String>> consumerFactory) {
+    this.vertx = vertx;
+    this.kafkaConfig = kafkaConfig;
+    this.eventToEntityMapper = eventToEntityMapper;
+    this.inventoryEventDaoMap = inventoryEventDaoList.stream()
+      .collect(Collectors.toMap(InventoryEventDao::resourceType, Function.identity()));
+    this.inventoryAuditBulkInsertDao = inventoryAuditBulkInsertDao;
+    this.configurationService = configurationService;
+    this.batchSize = batchSize;
+    this.parallelism = Math.max(1, parallelism);
+    this.progressIntervalMs = progressIntervalMs;
+    this.jobRetentionMs = jobRetentionMs;
+    this.consumerFactory = consumerFactory;
+    this.recordsRead = metricsRegistry.counter("audit.replay.records-read");
+    this.rowsWritten = metricsRegistry.counter("audit.replay.rows-written");
+  }
+
+  @Override
+  public Future<ReplayJob> startReplay(ReplayJob replayJob, String tenantId) {
+    var resourceType = InventoryResourceType.valueOf(replayJob.getResourceType().name());
+    var fromDate = replayJob.getFromDate();
+    var toDate = replayJob.getToDate();
+    LOGGER.debug("startReplay:: Starting replay [tenantId: {}, resourceType: {}, fromDate: {}, toDate: {}]",
+      tenantId, resourceType, fromDate, toDate);
+    var inventoryEventDao = inventoryEventDaoMap.get(resourceType);
+    if (inventoryEventDao == null) {
+      return Future.failedFuture(new IllegalArgumentException("Replay of %s events is not supported".formatted(resourceType)));
+    }
+    if (fromDate != null && toDate != null && !fromDate.before(toDate)) {
+      return Future.failedFuture(new IllegalArgumentException("fromDate must be before toDate"));
+    }
+    return configurationService.getSetting(Setting.INVENTORY_RECORDS_ENABLED, tenantId)
+      .compose(setting -> {
+        if (!((boolean) setting.getValue())) {
+          return Future.failedFuture(new IllegalArgumentException("Inventory audit is disabled for tenant"));
+        }
+        return startReplay(replayJob, resourceType, inventoryEventDao, tenantId);
+      });
+  }
+
+  private Future<ReplayJob> startReplay(ReplayJob replayJob, InventoryResourceType resourceType,
+                                        InventoryEventDao inventoryEventDao, String tenantId) {
+    var fromDate = replayJob.getFromDate();
+    var toDate = replayJob.getToDate();
+    if (jobs.values().stream().anyMatch(job -> job.isInProgress() && job.tenantId.equals(tenantId)
+                                               && job.inventoryResourceType == resourceType)) {
+      return Future.failedFuture(new IllegalArgumentException("Replay of %s events is already in progress"
+        .formatted(replayJob.getResourceType().value())));
+    }
+
+    var job = new Job(UUID.randomUUID().toString(), tenantId, replayJob.getResourceType(), resourceType,
+      inventoryEventDao.tableName(), fromDate, toDate);
+    var topic = String.join(".", kafkaConfig.getEnvId(), tenantId,
+      InventoryKafkaEvent.valueOf(resourceType.name()).getTopicName());
+    var consumer = consumerFactory.apply(consumerProps());
+    jobs.put(job.id, job);
+    return seek(consumer, topic, job)
+      .onSuccess(v -> {
+        LOGGER.info("startReplay:: Replay is started [jobId: {}, tenantId: {}, topic: {}, records: {}]",
+          job.id, tenantId, topic, job.recordsTotal);
+        poll(consumer, job);
+      })
+      .onFailure(e -> {
+        LOGGER.error("startReplay:: Failed to start replay [tenantId: {}, topic: {}]", tenantId, topic, e);
+        jobs.remove(job.id);
+        consumer.close();
+      })
+      .map(v -> job.toReplayJob());
+  }
+
+  @Override
+  public Future<ReplayJob> getReplay(String id, String tenantId) {
+    LOGGER.debug("getReplay:: Retrieving replay job [tenantId: {}, id: {}]", tenantId, id);
+    return getJob(id, tenantId).map(Job::toReplayJob);
+  }
+
+  @Override
+  public Future<Void> cancelReplay(String id, String tenantId) {
+    LOGGER.info("cancelReplay:: Cancelling replay job [tenantId: {}, id: {}]", tenantId, id);
+    return getJob(id, tenantId)
+      .onSuccess(job -> job.cancelled = true)
+      .mapEmpty();
+  }
+
+  private Future<Job> getJob(String id, String tenantId) {
+    var job = jobs.get(id);
+    if (job == null || !job.tenantId.equals(tenantId)) {
+      return Future.failedFuture(new NotFoundException("Replay job with id '%s' not found".formatted(id)));
+    }
+    return Future.succeededFuture(job);
+  }
+
+  private Map<String, String> consumerProps() {
+    var props = new HashMap<>(kafkaConfig.getConsumerProps());
+    props.remove(ConsumerConfig.GROUP_ID_CONFIG);
+    props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+    props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(batchSize));
+    return props;
+  }
+
+  /**
+   * Resolves offset range of every partition and positions the consumer at the start of the ranges,
+   * partitions with empty ranges are not assigned.
+   */
+  private Future<Void> seek(KafkaConsumer<String, String> consumer, String topic, Job job) {
+    return consumer.partitionsFor(topic)
+      .compose(partitionInfos -> {
+        if (partitionInfos.isEmpty()) {
+          return Future.failedFuture(new IllegalArgumentException("Topic %s not found".formatted(topic)));
+        }
+        var partitions = partitionInfos.stream()
+          .map(partitionInfo -> new TopicPartition(topic, partitionInfo.getPartition()))
+          .collect(Collectors.toSet());
+        return consumer.endOffsets(partitions)
+          .compose(endOffsets -> offsetsAt(consumer, job.toDate, endOffsets)
+            .compose(ends -> (job.fromDate == null
+                              ? consumer.beginningOffsets(partitions)
+                              : offsetsAt(consumer, job.fromDate, endOffsets))
+              .compose(starts -> seek(consumer, job, starts, ends))));
+      });
+  }
+
+  private Future<Void> seek(KafkaConsumer<String, String> consumer, Job job, Map<TopicPartition, Long> starts,
+                            Map<TopicPartition, Long> ends) {
+    var assigned = new HashSet<TopicPartition>();
+    for (var entry : ends.entrySet()) {
+      var partition = entry.getKey();
+      var end = entry.getValue();
+      var start = starts.getOrDefault(partition, end);
+      job.ends.put(partition, end);
+      job.positions.put(partition, start);
+      if (start < end) {
+        assigned.add(partition);
+        job.recordsTotal += end - start;
+      }
+    }
+    if (assigned.isEmpty()) {
+      return Future.succeededFuture();
+    }
+    return consumer.assign(assigned)
+      .compose(v -> Future.all(assigned.stream()
+        .map(partition -> consumer.seek(partition, job.positions.get(partition)))
+        .toList()))
+      .mapEmpty();
+  }
+
+  /**
+   * Finds offsets of the first records published at or after the date, partitions without such records
+   * resolve to their end offsets.
+   */
+  private Future<Map<TopicPartition, Long>> offsetsAt(KafkaConsumer<String, String> consumer, Date date,
+                                                     Map<TopicPartition, Long> endOffsets) {
+    if (date == null) {
+      return Future.succeededFuture(endOffsets);
+    }
+    var timestamps = endOffsets.keySet().stream()
+      .collect(Collectors.toMap(Function.identity(), partition -> date.getTime()));
+    return consumer.offsetsForTimes(timestamps)
+      .map(offsets -> endOffsets.keySet().stream()
+        .collect(Collectors.toMap(Function.identity(), partition -> {
+          var offset = offsets.get(partition);
+          return offset == null ? endOffsets.get(partition) : offset.getOffset();
+        })));
+  }
+
+  private void poll(KafkaConsumer<String, String> consumer, Job job) {
+    if (job.cancelled) {
+      finish(consumer, job, ReplayJob.Status.CANCELLED, null);
+      return;
+    }
+    if (job.isRangeRead()) {
+      finish(consumer, job, ReplayJob.Status.COMPLETED, null);
+      return;
+    }
+    consumer.poll(POLL_TIMEOUT)
+      .compose(records -> records.isEmpty() ? refreshPositions(consumer, job) : process(consumer, job, records))
+      .onSuccess(v -> {
+        logProgress(job, false);
+        poll(consumer, job);
+      })
+      .onFailure(e -> finish(consumer, job, ReplayJob.Status.FAILED, e));
+  }
+
+  private Future<Void> process(KafkaConsumer<String, String> consumer, Job job,
+                               KafkaConsumerRecords<String, String> records) {
+    var inRange = new ArrayList<KafkaConsumerRecord<String, String>>(records.size());
+    var readPartitions = new HashSet<TopicPartition>();
+    for (int i = 0; i < records.size(); i++) {
+      var kafkaConsumerRecord = records.recordAt(i);
+      var partition = new TopicPartition(kafkaConsumerRecord.topic(), kafkaConsumerRecord.partition());
+      var end = job.ends.get(partition);
+      if (end == null || kafkaConsumerRecord.offset() >= end) {
+        continue;
+      }
+      inRange.add(kafkaConsumerRecord);
+      job.positions.put(partition, kafkaConsumerRecord.offset() + 1);
+      if (kafkaConsumerRecord.offset() + 1 >= end) {
+        readPartitions.add(partition);
+      }
+    }
+    job.recordsRead.addAndGet(inRange.size());
+    recordsRead.add(inRange.size());
+
+    var chunks = ListUtils.partition(inRange, Math.max(1, (inRange.size() + parallelism - 1) / parallelism));
+    var futures = chunks.stream()
+      .map(chunk -> vertx.executeBlocking(() -> toEntities(chunk, job), false))
+      .toList();
+    return pause(consumer, readPartitions)
+      .compose(v -> Future.all(futures))
+      .compose(result -> {
+        var replayedEvents = new ArrayList<ReplayedEvent>(inRange.size());
+        futures.forEach(future -> replayedEvents.addAll(future.result()));
+        return write(job, replayedEvents, inRange.size());
+      });
+  }
+
+  /**
+   * Deletes the history of entities that became consortium shadow copies within the batch, together with the
+   * records of their earlier events in the batch, and loads the remaining records, the same way as the regular
+   * path handles these events one by one.
+   */
+  private Future<Void> write(Job job, List<ReplayedEvent> replayedEvents, int recordsCount) {
+    var entities = new ArrayList<InventoryAuditEntity>(replayedEvents.size());
+    var shadowCopyEntityIds = new HashSet<UUID>();
+    for (var replayedEvent : replayedEvents) {
+      if (replayedEvent.entity() == null) {
+        entities.removeIf(entity -> entity.entityId().equals(replayedEvent.entityId()));
+        shadowCopyEntityIds.add(replayedEvent.entityId());
+      } else {
+        entities.add(replayedEvent.entity());
+      }
+    }
+    job.recordsSkipped.addAndGet(recordsCount - (long) entities.size());
+    var inventoryEventDao = inventoryEventDaoMap.get(job.inventoryResourceType);
+    return Future.all(shadowCopyEntityIds.stream()
+        .map(entityId -> inventoryEventDao.deleteAll(entityId, job.tenantId))
+        .toList())
+      .compose(v -> inventoryAuditBulkInsertDao.bulkInsert(job.tableName, entities, job.tenantId))
+      .onSuccess(written -> {
+        job.rowsWritten.addAndGet(written);
+        rowsWritten.add(written);
+      })
+      .mapEmpty();
+  }
+
+  private List<ReplayedEvent> toEntities(List<KafkaConsumerRecord<String, String>> kafkaConsumerRecords, Job job) {
+    var replayedEvents = new ArrayList<ReplayedEvent>(kafkaConsumerRecords.size());
+    for (var kafkaConsumerRecord : kafkaConsumerRecords) {
+      try {
+        var event = KafkaUtils.decodeValue(kafkaConsumerRecord, InventoryEvent.class);
+        if (InventoryEventType.UNKNOWN == event.getType()) {
+          continue;
+        }
+        var entityId = UUID.fromString(kafkaConsumerRecord.key());
+        if (isShadowCopyEvent(event)) {
+          if (InventoryEventType.CREATE != event.getType()) {
+            replayedEvents.add(new ReplayedEvent(entityId, null));
+          }
+          continue;
+        }
+        event.setEntityId(kafkaConsumerRecord.key());
+        event.setResourceType(job.inventoryResourceType);
+        var entity = eventToEntityMapper.apply(event);
+        if (InventoryEventType.UPDATE.name().equals(entity.action()) && entity.diff() == null) {
+          continue;
+        }
+        replayedEvents.add(new ReplayedEvent(entityId, entity));
+      } catch (RuntimeException e) {
+        LOGGER.warn("toEntities:: Skipping record that can not be replayed [jobId: {}, topic: {}, partition: {}, offset: {}]",
+          job.id, kafkaConsumerRecord.topic(), kafkaConsumerRecord.partition(), kafkaConsumerRecord.offset(), e);
+      }
+    }
+    return replayedEvents;
+  }
+
+  /**
+   * Moves positions of partitions that returned no records, so partitions whose remaining records were removed
+   * by retention or compaction or ended with transaction markers are recognized as read.
+   */
+  private Future<Void> refreshPositions(KafkaConsumer<String, String> consumer, Job job) {
+    var futures = job.ends.entrySet().stream()
+      .filter(entry -> job.positions.get(entry.getKey()) < entry.getValue())
+      .map(entry -> consumer.position(entry.getKey())
+        .compose(position -> {
+          job.positions.put(entry.getKey(), position);
+          return position >= entry.getValue() ? pause(consumer, Set.of(entry.getKey())) : Future.<Void>succeededFuture();
+        }))
+      .toList();
+    return Future.all(futures).mapEmpty();
+  }
+
+  private Future<Void> pause(KafkaConsumer<String, String> consumer, Set<TopicPartition> partitions) {
+    return partitions.isEmpty() ? Future.succeededFuture() : consumer.pause(partitions);
+  }
+
+  private void finish(KafkaConsumer<String, String> consumer, Job job, ReplayJob.Status status, Throwable error) {
+    job.finishedAt = System.currentTimeMillis();
+    job.errorMessage = error == null ? null : error.getMessage();
+    job.status = status;
+    if (error == null) {
+      LOGGER.info("finish:: Replay is finished [jobId: {}, tenantId: {}, status: {}]", job.id, job.tenantId, status);
+    } else {
+      LOGGER.error("finish:: Replay is failed [jobId: {}, tenantId: {}]", job.id, job.tenantId, error);
+    }
+    logProgress(job, true);
+    consumer.close()
+      .onFailure(e -> LOGGER.warn("finish:: Failed to close replay consumer [jobId: {}]", job.id, e));
+    vertx.setTimer(Math.max(1, jobRetentionMs), timerId -> jobs.remove(job.id));
+  }
+
+  private void logProgress(Job job, boolean force) {
+    var now = System.currentTimeMillis();
+    if (!force && now - job.progressLoggedAt < progressIntervalMs) {
+      return;
+    }
+    job.progressLoggedAt = now;
+    LOGGER.info("logProgress:: Replay progress [jobId: {}, tenantId: {}, resourceType: {}, read: {}/{}, skipped: {}, written: {}, recordsPerSecond: {}]",
+      job.id, job.tenantId, job.resourceType.value(), job.recordsRead.get(), job.recordsTotal,
+      job.recordsSkipped.get(), job.rowsWritten.get(), Math.round(job.recordsPerSecond()));
+  }
+
+  /**
+   * Audit record of a replayed event, without the record for consortium shadow copy events.
+   */
+  private record ReplayedEvent(UUID entityId, InventoryAuditEntity entity) { }
+
+  private static final class Job {
+
+    private final String id;
+    private final String tenantId;
+    private final ReplayJob.ResourceType resourceType;
+    private final InventoryResourceType inventoryResourceType;
+    private final String tableName;
+    private final Date fromDate;
+    private final Date toDate;
+    private final long startedAt = System.currentTimeMillis();
+    private final Map<TopicPartition, Long> ends = new ConcurrentHashMap<>();
+    private final Map<TopicPartition, Long> positions = new ConcurrentHashMap<>();
+    private final AtomicLong recordsRead = new AtomicLong();
+    private final AtomicLong recordsSkipped = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private volatile long recordsTotal;
+    private volatile ReplayJob.Status status = ReplayJob.Status.IN_PROGRESS;
+    private volatile boolean cancelled;
+    private volatile long finishedAt;
+    private volatile String errorMessage;
+    private long progressLoggedAt = startedAt;
+
+    private Job(String id, String tenantId, ReplayJob.ResourceType resourceType,
+                InventoryResourceType inventoryResourceType, String tableName, Date fromDate, Date toDate) {
+      this.id = id;
+      this.tenantId = tenantId;
+      this.resourceType = resourceType;
+      this.inventoryResourceType = inventoryResourceType;
+      this.tableName = tableName;
+      this.fromDate = fromDate;
+      this.toDate = toDate;
+    }
+
+    private boolean isInProgress() {
+      return status == ReplayJob.Status.IN_PROGRESS;
+    }
+
+    private boolean isRangeRead() {
+      return ends.entrySet().stream().allMatch(entry -> positions.get(entry.getKey()) >= entry.getValue());
+    }
+
+    private double recordsPerSecond() {
+      var elapsedMs = (finishedAt == 0 ? System.currentTimeMillis() : finishedAt) - startedAt;
+      return elapsedMs == 0 ? 0 : recordsRead.get() * 1000d / elapsedMs;
+    }
+
+    private ReplayJob toReplayJob() {
+      return new ReplayJob()
+        .withId(id)
+        .withResourceType(resourceType)
+        .withFromDate(fromDate)
+        .withToDate(toDate)
+        .withStatus(status)
+        .withRecordsTotal(recordsTotal)
+        .withRecordsRead(recordsRead.get())
+        .withRecordsSkipped(recordsSkipped.get())
+        .withRowsWritten(rowsWritten.get())
+        .withRecordsPerSecond(recordsPerSecond())
+        .withStartedDate(new Date(startedAt))
+        .withFinishedDate(finishedAt == 0 ? null : new Date(finishedAt))
+        .withErrorMessage(errorMessage);
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package org.folio.services.retry;
+
+import io.vertx.core.Future;
+import java.util.Map;
+import org.folio.dao.retry.DeadLetterEventEntity;
+import org.folio.rest.jaxrs.model.DeadLetterEventCollection;
+
+public interface DeadLetterService {
+
+  /**
+   * Saves an event that could not be processed after all retry attempts.
+   *
+   * @param entity   dead-lettered event
+   * @param tenantId tenant id
+   * @return future with result of saving
+   */
+  Future<Void> saveDeadLetterEvent(DeadLetterEventEntity entity, String tenantId);
+
+  /**
+   * Retrieves dead-lettered events, most recent first.
+   *
+   * @param offset   number of records to skip
+   * @param limit    number of records to return
+   * @param tenantId tenant id
+   * @return future with collection of dead-lettered events
+   */
+  Future<DeadLetterEventCollection> getDeadLetterEvents(int offset, int limit, String tenantId);
+
+  /**
+   * Publishes dead-lettered event to the first retry topic and removes it from the dead letters.
+   *
+   * @param id           dead-lettered event id
+   * @param okapiHeaders okapi headers of the request, used to process the replayed event
+   * @param tenantId     tenant id
+   * @return future with result of replay, failed with {@link javax.ws.rs.NotFoundException} if event does not exist
+   */
+  Future<Void> replayDeadLetterEvent(String id, Map<String, String> okapiHeaders, String tenantId);
+}
@@ -0,0 +1,193 @@
+package org.folio.services.retry;
+
+import static org.folio.util.retry.RetryUtils.ATTEMPT_HEADER;
+import static org.folio.util.retry.RetryUtils.DEAD_LETTER_EVENT_TYPE;
+import static org.folio.util.retry.RetryUtils.ERROR_HEADER;
+import static org.folio.util.retry.RetryUtils.NOT_BEFORE_HEADER;
+import static org.folio.util.retry.RetryUtils.ORIGINAL_TOPIC_HEADER;
+import static org.folio.util.retry.RetryUtils.RETRY_HEADERS;
+import static org.folio.util.retry.RetryUtils.retryEventType;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.producer.KafkaProducer;
+import io.vertx.kafka.client.producer.KafkaProducerRecord;
+import io.vertx.kafka.client.producer.RecordMetadata;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.KafkaConfig;
+import org.folio.kafka.KafkaHeaderUtils;
+import org.folio.kafka.KafkaTopicNameHelper;
+import org.folio.rest.util.OkapiConnectionParams;
+import org.folio.util.metrics.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-publishes records that failed processing to delayed retry topics and, once retry attempts are exhausted,
+ * to the dead-letter topic of the tenant.
+ * <p>
+ * Attempt {@code n} is published to the {@code AUDIT_RETRY_n} topic with a not-before time of
+ * {@code backoffMs * backoffMultiplier^(n - 1)} from now. The original topic and timestamp of the record are kept,
+ * so the record is processed by the handler of the original topic when it is retried.
+ */
+@Component
+public class FailedEventPublisher {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+  private static final String PRODUCER_NAME = "mod-audit-retry-producer";
+  private static final int MAX_ERROR_LENGTH = 1000;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Vertx vertx;
+  private final KafkaConfig kafkaConfig;
+  private final int maxAttempts;
+  private final long backoffMs;
+  private final double backoffMultiplier;
+  private final int publishAttempts;
+  private final long publishRetryDelayMs;
+  private final LongAdder retried;
+  private final LongAdder deadLettered;
+
+  private KafkaProducer<String, String> producer;
+
+  @Autowired
+  public FailedEventPublisher(Vertx vertx, KafkaConfig kafkaConfig, MetricsRegistry metricsRegistry,
+                              @Value("${audit.kafka.retry.max-attempts:3}") int maxAttempts,
+                              @Value("${audit.kafka.retry.backoff-ms:5000}") long backoffMs,
+                              @Value("${audit.kafka.retry.backoff-multiplier:6}") double backoffMultiplier,
+                              @Value("${audit.kafka.retry.publish-attempts:5}") int publishAttempts,
+                              @Value("${audit.kafka.retry.publish-retry-delay-ms:1000}") long publishRetryDelayMs) {
+    this(vertx, kafkaConfig, metricsRegistry, maxAttempts, backoffMs, backoffMultiplier, publishAttempts,
+      publishRetryDelayMs, null);
+  }
+
+  FailedEventPublisher(Vertx vertx, KafkaConfig kafkaConfig, MetricsRegistry metricsRegistry, int maxAttempts,
+                       long backoffMs, double backoffMultiplier, int publishAttempts, long publishRetryDelayMs,
+                       KafkaProducer<String, String> producer) {
+    this.vertx = vertx;
+    this.kafkaConfig = kafkaConfig;
+    this.maxAttempts = maxAttempts;
+    this.backoffMs = backoffMs;
+    this.backoffMultiplier = backoffMultiplier;
+    this.publishAttempts = publishAttempts;
+    this.publishRetryDelayMs = publishRetryDelayMs;
+    this.producer = producer;
+    this.retried = metricsRegistry.counter("kafka.retry.published");
+    this.deadLettered = metricsRegistry.counter("kafka.retry.dead-lettered");
+  }
+
+  /**
+   * Publishes the failed record to the next retry topic or to the dead-letter topic. Sending is retried up to
+   * {@code audit.kafka.retry.publish-attempts} times, so a record is not failed in place on a short kafka outage.
+   *
+   * @param kafkaConsumerRecord failed record
+   * @param cause               failure of the record processing
+   * @return future completed when the record is published
+   */
+  public Future<Void> publish(KafkaConsumerRecord<String, String> kafkaConsumerRecord, Throwable cause) {
+    var headers = KafkaHeaderUtils.kafkaHeadersToMap(kafkaConsumerRecord.headers());
+    var tenantId = new OkapiConnectionParams(headers, vertx).getTenantId();
+    if (StringUtils.isBlank(tenantId)) {
+      return Future.failedFuture(new IllegalStateException("Tenant header is missing, record can not be retried"));
+    }
+    var originalTopic = headers.getOrDefault(ORIGINAL_TOPIC_HEADER, kafkaConsumerRecord.topic());
+    var attempt = Integer.parseInt(headers.getOrDefault(ATTEMPT_HEADER, "0")) + 1;
+    var deadLetter = attempt > maxAttempts;
+    var eventType = deadLetter ? DEAD_LETTER_EVENT_TYPE : retryEventType(attempt);
+    var notBefore = System.currentTimeMillis() + (deadLetter ? 0 : getBackoffDelay(attempt));
+    var error = StringUtils.abbreviate(String.valueOf(cause.getMessage()), MAX_ERROR_LENGTH);
+
+    var producerRecord = KafkaProducerRecord.create(formatTopicName(tenantId, eventType), kafkaConsumerRecord.key(),
+      kafkaConsumerRecord.value(), kafkaConsumerRecord.timestamp() >= 0 ? kafkaConsumerRecord.timestamp() : null, null);
+    addHeaders(producerRecord, headers, originalTopic, attempt, notBefore, error);
+    return send(producerRecord, 1)
+      .onSuccess(metadata -> {
+        (deadLetter ? deadLettered : retried).increment();
+        LOGGER.info("publish:: Failed record is published [tenantId: {}, originalTopic: {}, key: {}, attempt: {}, topic: {}]",
+          tenantId, originalTopic, kafkaConsumerRecord.key(), attempt, producerRecord.topic());
+      })
+      .onFailure(e -> LOGGER.error("publish:: Failed to publish failed record [tenantId: {}, originalTopic: {}, key: {}]",
+        tenantId, originalTopic, kafkaConsumerRecord.key(), e))
+      .mapEmpty();
+  }
+
+  /**
+   * Publishes the dead-lettered record to the first retry topic with a full set of retry attempts.
+   *
+   * @param tenantId      tenant id
+   * @param originalTopic topic the record was originally consumed from
+   * @param key           record key
+   * @param value         record value
+   * @param timestamp     original record timestamp
+   * @param headers       record headers
+   * @return future completed when the record is published
+   */
+  public Future<Void> replay(String tenantId, String originalTopic, String key, String value, Long timestamp,
+                             Map<String, String> headers) {
+    var producerRecord = KafkaProducerRecord.create(formatTopicName(tenantId, retryEventType(1)), key, value,
+      timestamp, null);
+    addHeaders(producerRecord, headers, originalTopic, 0, System.currentTimeMillis(), null);
+    return getProducer().send(producerRecord)
+      .onSuccess(metadata -> LOGGER.info("replay:: Dead-lettered record is published for replay [tenantId: {}, originalTopic: {}, key: {}]",
+        tenantId, originalTopic, key))
+      .mapEmpty();
+  }
+
+  private Future<RecordMetadata> send(KafkaProducerRecord<String, String> producerRecord, int sendAttempt) {
+    return getProducer().send(producerRecord)
+      .recover(e -> {
+        if (sendAttempt >= publishAttempts) {
+          return Future.failedFuture(e);
+        }
+        LOGGER.warn("send:: Failed to send record, retrying [topic: {}, key: {}, sendAttempt: {}]",
+          producerRecord.topic(), producerRecord.key(), sendAttempt, e);
+        Promise<Void> delay = Promise.promise();
+        vertx.setTimer(publishRetryDelayMs, id -> delay.complete());
+        return delay.future().compose(v -> send(producerRecord, sendAttempt + 1));
+      });
+  }
+
+  long getBackoffDelay(int attempt) {
+    return (long) (backoffMs * Math.pow(backoffMultiplier, attempt - 1d));
+  }
+
+  private void addHeaders(KafkaProducerRecord<String, String> producerRecord, Map<String, String> headers,
+                          String originalTopic, int attempt, long notBefore, String error) {
+    headers.forEach((name, value) -> {
+      if (!RETRY_HEADERS.contains(name) && value != null) {
+        producerRecord.addHeader(name, value);
+      }
+    });
+    producerRecord.addHeader(ORIGINAL_TOPIC_HEADER, originalTopic);
+    producerRecord.addHeader(ATTEMPT_HEADER, String.valueOf(attempt));
+    producerRecord.addHeader(NOT_BEFORE_HEADER, String.valueOf(notBefore));
+    if (error != null) {
+      producerRecord.addHeader(ERROR_HEADER, error);
+    }
+  }
+
+  private String formatTopicName(String tenantId, String eventType) {
+    return KafkaTopicNameHelper.formatTopicName(kafkaConfig.getEnvId(), KafkaTopicNameHelper.getDefaultNameSpace(),
+      tenantId, eventType);
+  }
+
+  private KafkaProducer<String, String> getProducer() {
+    lock.lock();
+    try {
+      if (producer == null) {
+        producer = KafkaProducer.createShared(vertx, PRODUCER_NAME, kafkaConfig.getProducerProps());
+      }
+      return producer;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package org.folio.services.retry.impl;
+
+import io.vertx.core.Future;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import javax.ws.rs.NotFoundException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.dao.retry.DeadLetterEventDao;
+import org.folio.dao.retry.DeadLetterEventEntity;
+import org.folio.rest.jaxrs.model.DeadLetterEvent;
+import org.folio.rest.jaxrs.model.DeadLetterEventCollection;
+import org.folio.services.retry.DeadLetterService;
+import org.folio.services.retry.FailedEventPublisher;
+import org.springframework.stereotype.Service;
+
+@Service
+public class DeadLetterServiceImpl implements DeadLetterService {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+  private static final String OKAPI_HEADER_PREFIX = "x-okapi-";
+
+  private final DeadLetterEventDao deadLetterEventDao;
+  private final FailedEventPublisher failedEventPublisher;
+
+  public DeadLetterServiceImpl(DeadLetterEventDao deadLetterEventDao, FailedEventPublisher failedEventPublisher) {
+    this.deadLetterEventDao = deadLetterEventDao;
+    this.failedEventPublisher = failedEventPublisher;
+  }
+
+  @Override
+  public Future<Void> saveDeadLetterEvent(DeadLetterEventEntity entity, String tenantId) {
+    LOGGER.debug("saveDeadLetterEvent:: Saving dead-lettered event [tenantId: {}, originalTopic: {}, key: {}]",
+      tenantId, entity.originalTopic(), entity.eventKey());
+    return deadLetterEventDao.save(entity, tenantId).mapEmpty();
+  }
+
+  @Override
+  public Future<DeadLetterEventCollection> getDeadLetterEvents(int offset, int limit, String tenantId) {
+    LOGGER.debug("getDeadLetterEvents:: Retrieving dead-lettered events [tenantId: {}, offset: {}, limit: {}]",
+      tenantId, offset, limit);
+    return deadLetterEventDao.count(tenantId)
+      .compose(count -> deadLetterEventDao.get(offset, limit, tenantId)
+        .map(entities -> toCollection(entities, count)));
+  }
+
+  @Override
+  public Future<Void> replayDeadLetterEvent(String id, Map<String, String> okapiHeaders, String tenantId) {
+    LOGGER.info("replayDeadLetterEvent:: Replaying dead-lettered event [tenantId: {}, id: {}]", tenantId, id);
+    var eventId = UUID.fromString(id);
+    return deadLetterEventDao.getById(eventId, tenantId)
+      .compose(entity -> {
+        if (entity == null) {
+          return Future.failedFuture(new NotFoundException("Dead-lettered event with id '%s' not found".formatted(id)));
+        }
+        var headers = new HashMap<>(entity.headers());
+        okapiHeaders.forEach((name, value) -> {
+          var headerName = name.toLowerCase(Locale.ROOT);
+          if (headerName.startsWith(OKAPI_HEADER_PREFIX)) {
+            headers.put(headerName, value);
+          }
+        });
+        var timestamp = entity.eventDate() == null ? null : entity.eventDate().getTime();
+        return failedEventPublisher.replay(tenantId, entity.originalTopic(), entity.eventKey(), entity.payload(),
+            timestamp, headers)
+          .compose(v -> deadLetterEventDao.delete(eventId, tenantId));
+      });
+  }
+
+  private DeadLetterEventCollection toCollection(List<DeadLetterEventEntity> entities, int totalRecords) {
+    return new DeadLetterEventCollection()
+      .withDeadLetterEvents(entities.stream().map(this::toDeadLetterEvent).toList())
+      .withTotalRecords(totalRecords);
+  }
+
+  private DeadLetterEvent toDeadLetterEvent(DeadLetterEventEntity entity) {
+    return new DeadLetterEvent()
+      .withId(entity.id().toString())
+      .withOriginalTopic(entity.originalTopic())
+      .withEventKey(entity.eventKey())
+      .withPayload(entity.payload())
+      .withErrorMessage(entity.errorMessage())
+      .withAttempts(entity.attempts())
+      .withEventDate(toDate(entity.eventDate()))
+      .withCreatedDate(toDate(entity.createdDate()));
+  }
+
+  private Date toDate(Timestamp timestamp) {
+    return timestamp == null ? null : new Date(timestamp.getTime());
+  }
+}
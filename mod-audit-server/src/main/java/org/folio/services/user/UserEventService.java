@@ -27,4 +27,12 @@ public interface UserEventService {
   Future<UserAuditCollection> getEvents(String userId, String eventTs, String tenantId);
 
   Future<Void> expireRecords(String tenantId, Timestamp expireOlderThan);
+
+  /**
+   * Calculates and saves diffs of the oldest records saved in deferred diff mode
+   *
+   * @param tenantId id of tenant
+   * @return Future void
+   */
+  Future<Void> resolvePendingDiffs(String tenantId);
 }
@@ -2,28 +2,36 @@ package org.folio.services.user.impl;
 
 import static org.folio.dao.user.UserAuditConstants.ANONYMIZED_FIELD_PATHS;
 import static org.folio.dao.user.UserAuditConstants.INTERNAL_METADATA_FIELD_PATHS;
-import static org.folio.util.ErrorUtils.handleFailures;
 
 import io.vertx.core.Future;
 import java.sql.Timestamp;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.dao.PendingDiff;
 import org.folio.dao.user.UserAuditEntity;
 import org.folio.domain.diff.CollectionChangeDto;
 import org.folio.domain.diff.FieldChangeDto;
 import org.folio.dao.user.UserEventDao;
 import org.folio.exception.ValidationException;
+import org.folio.mapper.user.UserEventToEntityMapper;
 import org.folio.rest.jaxrs.model.UserAuditCollection;
+import org.folio.services.coalescing.UpdateCoalescingWindow;
+import org.folio.services.coalescing.UpdateCoalescingWindow.Burst;
 import org.folio.services.configuration.ConfigurationService;
 import org.folio.services.configuration.Setting;
+import org.folio.services.diff.DeferredDiffMode;
+import org.folio.services.diff.DiffExecutor;
 import org.folio.services.user.UserEventService;
 import org.folio.services.user.UserFieldExclusionFilter;
+import org.folio.util.DiffSnapshot;
 import org.folio.util.user.UserEvent;
 import org.folio.util.user.UserEventType;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Service;
@@ -34,19 +42,31 @@ public class UserEventServiceImpl implements UserEventService {
 
   private static final Logger LOGGER = LogManager.getLogger();
 
+  private static final String DIFF_TYPE = "user";
+
   private final Function<UserEvent, UserAuditEntity> eventToEntityMapper;
   private final Function<List<UserAuditEntity>, UserAuditCollection> entitiesToCollectionMapper;
   private final ConfigurationService configurationService;
   private final UserEventDao userEventDao;
+  private final UpdateCoalescingWindow coalescingWindow;
+  private final DiffExecutor diffExecutor;
+  private final DeferredDiffMode deferredDiffMode;
 
+  @Autowired
   public UserEventServiceImpl(Function<UserEvent, UserAuditEntity> eventToEntityMapper,
                                Function<List<UserAuditEntity>, UserAuditCollection> entitiesToCollectionMapper,
                                ConfigurationService configurationService,
-                               UserEventDao userEventDao) {
+                               UserEventDao userEventDao,
+                               UpdateCoalescingWindow coalescingWindow,
+                               DiffExecutor diffExecutor,
+                               DeferredDiffMode deferredDiffMode) {
     this.eventToEntityMapper = eventToEntityMapper;
     this.entitiesToCollectionMapper = entitiesToCollectionMapper;
     this.configurationService = configurationService;
     this.userEventDao = userEventDao;
+    this.coalescingWindow = coalescingWindow;
+    this.diffExecutor = diffExecutor;
+    this.deferredDiffMode = deferredDiffMode;
   }
 
   @Override
@@ -72,7 +92,7 @@ public class UserEventServiceImpl implements UserEventService {
       .recover(throwable -> {
         LOGGER.error("processEvent:: Could not process UserEvent for [tenantId: {}, eventId: {}, userId: {}]",
           tenantId, event.getId(), event.getUserId(), throwable);
-        return handleFailures(throwable, event.getId());
+        return Future.failedFuture(throwable);
       });
   }
 
@@ -80,7 +100,120 @@ public class UserEventServiceImpl implements UserEventService {
     if (UserEventType.DELETED.equals(event.getType())) {
       return deleteAll(event, tenantId);
     }
-    var entity = eventToEntityMapper.apply(event);
+    if (UserEventType.UPDATED.equals(event.getType())) {
+      return coalescingWindow.getWindowMs(Setting.USER_RECORDS_UPDATE_COALESCING_WINDOW, tenantId)
+        .compose(windowMs -> windowMs > 0 ? coalesce(event, windowMs, tenantId) : saveEvent(event, tenantId));
+    }
+    return saveEvent(event, tenantId);
+  }
+
+  private Future<String> saveEvent(UserEvent event, String tenantId) {
+    if (UserEventType.UPDATED.equals(event.getType())) {
+      return isDiffDeferred(tenantId)
+        .compose(deferred -> deferred ? savePending(event, tenantId) : saveCalculated(event, tenantId));
+    }
+    return saveCalculated(event, tenantId);
+  }
+
+  private Future<String> saveCalculated(UserEvent event, String tenantId) {
+    return toEntity(event)
+      .compose(entity -> transform(entity, tenantId))
+      .compose(transformed -> save(transformed, tenantId))
+      .map(event.getId());
+  }
+
+  private Future<String> savePending(UserEvent event, String tenantId) {
+    LOGGER.debug("savePending:: Saving UserAuditEntity with pending diff [tenantId: {}, eventId: {}, userId: {}]",
+      tenantId, event.getId(), event.getUserId());
+    return DiffExecutor.executeInline(() -> UserEventToEntityMapper.toEntity(event, null))
+      .compose(entity -> transform(entity, tenantId))
+      .compose(entity -> userEventDao.savePending(
+        List.of(new PendingDiff<>(entity, new DiffSnapshot(event.getOldValue(), event.getNewValue()))), tenantId))
+      .map(event.getId());
+  }
+
+  private Future<Boolean> isDiffDeferred(String tenantId) {
+    return deferredDiffMode.isEnabled(Setting.USER_RECORDS_DIFF_DEFERRED, tenantId);
+  }
+
+  /**
+   * Calculates diffs of the records with pending diff on the page and saves them, records without user-visible
+   * changes are deleted and dropped from the page. The page is returned as is if the diffs can not be resolved.
+   */
+  private Future<List<UserAuditEntity>> resolvePending(UUID userId, List<UserAuditEntity> entities, String tenantId) {
+    var candidateIds = entities.stream()
+      .filter(this::isUpdateWithNoDiff)
+      .map(UserAuditEntity::eventId)
+      .toList();
+    if (candidateIds.isEmpty()) {
+      return Future.succeededFuture(entities);
+    }
+    return userEventDao.getPendingDiffs(userId, candidateIds, tenantId)
+      .compose(pendingDiffs -> Future.all(pendingDiffs.stream()
+          .map(pendingDiff -> resolve(pendingDiff, tenantId))
+          .toList())
+        .map(resolved -> {
+          var resolvedById = new HashMap<UUID, UserAuditEntity>();
+          resolved.<UserAuditEntity>list().forEach(entity -> resolvedById.put(entity.eventId(), entity));
+          return entities.stream()
+            .map(entity -> resolvedById.getOrDefault(entity.eventId(), entity))
+            .filter(entity -> !resolvedById.containsKey(entity.eventId()) || !isSkipped(entity))
+            .toList();
+        }))
+      .otherwise(throwable -> {
+        LOGGER.warn("resolvePending:: Could not resolve pending diffs [tenantId: {}, userId: {}]",
+          tenantId, userId, throwable);
+        return entities;
+      });
+  }
+
+  private Future<UserAuditEntity> resolve(PendingDiff<UserAuditEntity> pendingDiff, String tenantId) {
+    var pending = pendingDiff.entity();
+    var event = UserEvent.builder()
+      .id(pending.eventId().toString())
+      .timestamp(pending.eventDate().getTime())
+      .type(UserEventType.UPDATED)
+      .userId(pending.userId().toString())
+      .oldValue(pendingDiff.snapshot().oldValue())
+      .newValue(pendingDiff.snapshot().newValue())
+      .build();
+    return toEntity(event)
+      .map(calculated -> new UserAuditEntity(pending.eventId(), pending.eventDate(), pending.userId(),
+        pending.action(), pending.performedBy(), calculated.diff()))
+      .compose(entity -> transform(entity, tenantId))
+      .compose(entity -> {
+        if (isSkipped(entity)) {
+          LOGGER.debug("resolve:: No user-visible changes, deleting UserAuditEntity [tenantId: {}, eventId: {}, userId: {}]",
+            tenantId, entity.eventId(), entity.userId());
+          return userEventDao.delete(entity.eventId(), tenantId).map(entity);
+        }
+        return userEventDao.updateDiff(entity, tenantId).map(entity);
+      });
+  }
+
+  @Override
+  public Future<Void> resolvePendingDiffs(String tenantId) {
+    var batchSize = deferredDiffMode.getResolveBatchSize();
+    return userEventDao.getPendingDiffs(batchSize, tenantId)
+      .compose(pendingDiffs -> {
+        LOGGER.debug("resolvePendingDiffs:: Resolving pending diffs [tenantId: {}, count: {}]",
+          tenantId, pendingDiffs.size());
+        var future = Future.<Void>succeededFuture();
+        for (var pendingDiff : pendingDiffs) {
+          future = future.compose(v -> resolve(pendingDiff, tenantId).mapEmpty());
+        }
+        // resolved records are no longer pending, so the next batch picks up where this one ended
+        return pendingDiffs.size() < batchSize
+               ? future
+               : future.compose(v -> resolvePendingDiffs(tenantId));
+      });
+  }
+
+  private Future<UserAuditEntity> toEntity(UserEvent event) {
+    return diffExecutor.execute(DIFF_TYPE, () -> eventToEntityMapper.apply(event));
+  }
+
+  private Future<UserAuditEntity> transform(UserAuditEntity entity, String tenantId) {
     var anonymizeSetting = configurationService.getSetting(Setting.USER_RECORDS_ANONYMIZE, tenantId);
     var excludedFieldsSetting = configurationService.getSetting(Setting.USER_RECORDS_EXCLUDED_FIELDS, tenantId);
 
@@ -93,13 +226,68 @@ public class UserEventServiceImpl implements UserEventService {
           result = anonymize(result);
         }
         return result;
-      })
-      .compose(transformed -> save(transformed, tenantId))
-      .map(event.getId());
+      });
+  }
+
+  private Future<String> coalesce(UserEvent event, long windowMs, String tenantId) {
+    var key = "user:" + tenantId + ":" + event.getUserId();
+    return coalescingWindow.execute(key, () -> toEntity(event).compose(entity -> {
+      var burst = coalescingWindow.find(key, entity.performedBy(), event.getTimestamp(), windowMs);
+      if (burst == null) {
+        return transform(entity, tenantId)
+          .compose(transformed -> save(transformed, tenantId)
+            .onSuccess(v -> {
+              if (!isSkipped(transformed)) {
+                coalescingWindow.open(key, new Burst(entity.eventId(), entity.eventDate(), entity.performedBy(),
+                  event.getOldValue(), event.getNewValue(), windowMs));
+              }
+            }))
+          .map(event.getId());
+      }
+      if (burst.contains(entity.eventId())) {
+        LOGGER.debug("coalesce:: UserEvent is already merged [tenantId: {}, eventId: {}, userId: {}]",
+          tenantId, event.getId(), event.getUserId());
+        return Future.succeededFuture(event.getId());
+      }
+      LOGGER.debug("coalesce:: Merging UserEvent into audit record [tenantId: {}, eventId: {}, userId: {}, mergedInto: {}]",
+        tenantId, event.getId(), event.getUserId(), burst.eventId());
+      var mergedBurst = burst.merge(entity.eventId(), event.getTimestamp(), event.getOldValue(), event.getNewValue());
+      return toEntity(mergeInto(mergedBurst, event))
+        .compose(merged -> transform(merged, tenantId))
+        .compose(merged -> replace(merged, tenantId))
+        .onSuccess(v -> coalescingWindow.merge(key, burst, mergedBurst))
+        .map(event.getId());
+    }));
+  }
+
+  private UserEvent mergeInto(Burst burst, UserEvent event) {
+    return UserEvent.builder()
+      .id(burst.eventId().toString())
+      .timestamp(burst.eventDate().getTime())
+      .type(event.getType())
+      .tenant(event.getTenant())
+      .userId(event.getUserId())
+      .oldValue(burst.oldValue())
+      .newValue(burst.newValue())
+      .build();
+  }
+
+  private Future<Void> replace(UserAuditEntity entity, String tenantId) {
+    if (isSkipped(entity)) {
+      return userEventDao.delete(entity.eventId(), tenantId);
+    }
+    return userEventDao.updateDiff(entity, tenantId)
+      .compose(updated -> updated > 0
+                          ? Future.<Void>succeededFuture()
+                          : userEventDao.save(entity, tenantId).<Void>mapEmpty());
+  }
+
+  private boolean isSkipped(UserAuditEntity entity) {
+    return isUpdateWithNoDiff(entity) || isUpdateWithOnlyMetadataChanges(entity);
   }
 
   private Future<Void> save(UserAuditEntity entity, String tenantId) {
-    if (isUpdateWithNoDiff(entity) || isUpdateWithOnlyMetadataChanges(entity)) {
+    if (isSkipped(entity)) {
       LOGGER.debug("save:: Skipping UserAuditEntity with no user-visible changes [tenantId: {}, eventId: {}, userId: {}]",
         tenantId, entity.eventId(), entity.userId());
       return Future.succeededFuture();
@@ -177,9 +365,24 @@ public class UserEventServiceImpl implements UserEventService {
         }
         return configurationService.getSetting(Setting.USER_RECORDS_PAGE_SIZE, tenantId)
           .map(setting -> (Integer) setting.getValue())
-          .compose(limit -> userEventDao.get(userUUID, eventTsTimestamp, limit, tenantId))
-          .map(entitiesToCollectionMapper)
-          .map(userAuditCollection -> userAuditCollection.withTotalRecords(count));
+          .compose(limit -> fetchPage(userUUID, eventTsTimestamp, limit, count, tenantId));
       });
   }
+
+  /**
+   * Fetches the page and resolves its pending diffs. Records deleted during resolution are subtracted from the
+   * total and the page is fetched again, so that it stays full.
+   */
+  private Future<UserAuditCollection> fetchPage(UUID userId, Timestamp eventTsTimestamp, int limit, int count,
+                                                String tenantId) {
+    return userEventDao.get(userId, eventTsTimestamp, limit, tenantId)
+      .compose(entities -> resolvePending(userId, entities, tenantId)
+        .compose(resolved -> {
+          var deleted = entities.size() - resolved.size();
+          if (deleted > 0) {
+            return fetchPage(userId, eventTsTimestamp, limit, count - deleted, tenantId);
+          }
+          return Future.succeededFuture(entitiesToCollectionMapper.apply(resolved).withTotalRecords(count));
+        }));
+  }
 }
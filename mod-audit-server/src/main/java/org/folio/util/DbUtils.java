@@ -5,9 +5,13 @@ import static org.folio.rest.persist.PostgresClient.convertToPsqlStandard;
 
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
+import java.util.List;
 import java.util.Objects;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -24,4 +28,36 @@ public class DbUtils {
     Spliterator<Row> spliterator = Spliterators.spliterator(rowSet.iterator(), rowSet.rowCount(), Spliterator.ORDERED);
     return StreamSupport.stream(spliterator, false);
   }
+
+  /**
+   * Builds the VALUES placeholders of a multi-row INSERT statement, e.g. {@code ($1, $2), ($3, $4)}
+   * for 2 columns and 2 rows.
+   *
+   * @param columnsCount number of columns in each row
+   * @param rowsCount    number of rows
+   * @return comma-separated list of row placeholders
+   */
+  public static String formatValuesPlaceholders(int columnsCount, int rowsCount) {
+    return IntStream.range(0, rowsCount)
+      .mapToObj(row -> IntStream.rangeClosed(1, columnsCount)
+        .mapToObj(column -> "$" + (row * columnsCount + column))
+        .collect(Collectors.joining(", ", "(", ")")))
+      .collect(Collectors.joining(", "));
+  }
+
+  /**
+   * Concatenates parameters of single-row tuples into one tuple matching {@link #formatValuesPlaceholders}.
+   *
+   * @param tuples tuples of the rows, all of the same size
+   * @return tuple with parameters of all rows in order
+   */
+  public static Tuple mergeTuples(List<Tuple> tuples) {
+    var result = Tuple.tuple();
+    tuples.forEach(tuple -> {
+      for (int i = 0; i < tuple.size(); i++) {
+        result.addValue(tuple.getValue(i));
+      }
+    });
+    return result;
+  }
 }
@@ -0,0 +1,57 @@
+package org.folio.util;
+
+import io.vertx.core.json.jackson.DatabindCodec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Old and new values of an update whose diff is calculated later, see deferred diff mode.
+ * <p>
+ * The snapshot is stored with the audit record as deflated JSON, compressed with the fastest level because it is
+ * written on ingest and usually read at most once.
+ *
+ * @param oldValue value before the update
+ * @param newValue value after the update
+ */
+public record DiffSnapshot(Map<String, Object> oldValue, Map<String, Object> newValue) {
+
+  /**
+   * Compresses the snapshot.
+   *
+   * @return deflated JSON of the snapshot
+   */
+  public byte[] compress() {
+    var deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      var bytes = new ByteArrayOutputStream();
+      try (var out = new DeflaterOutputStream(bytes, deflater)) {
+        DatabindCodec.mapper().writeValue(out, this);
+      }
+      return bytes.toByteArray();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      deflater.end();
+    }
+  }
+
+  /**
+   * Restores the snapshot compressed by {@link #compress()}.
+   *
+   * @param bytes deflated JSON of the snapshot
+   * @return snapshot
+   */
+  public static DiffSnapshot decompress(byte[] bytes) {
+    try (var in = new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+      return DatabindCodec.mapper().readValue(in, DiffSnapshot.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -1,12 +1,7 @@
 package org.folio.util;
 
-import static org.folio.util.AuditEventDBConstants.UNIQUE_CONSTRAINT_VIOLATION_CODE;
-
-import io.vertx.core.Future;
-import io.vertx.pgclient.PgException;
 import javax.ws.rs.core.Response;
 import org.folio.HttpStatus;
-import org.folio.kafka.exception.DuplicateEventException;
 import org.folio.rest.jaxrs.model.Error;
 import org.folio.rest.jaxrs.model.Errors;
 
@@ -27,12 +22,6 @@ public class ErrorUtils {
         .withTotalRecords(1);
   }
 
-  public static <T> Future<T> handleFailures(Throwable throwable, String id) {
-    return (throwable instanceof PgException pgException && pgException.getSqlState().equals(UNIQUE_CONSTRAINT_VIOLATION_CODE)) ?
-      Future.failedFuture(new DuplicateEventException(String.format("Event with id=%s is already processed.", id))) :
-      Future.failedFuture(throwable);
-  }
-
   public static Response errorResponse(HttpStatus status, ErrorCodes errorCode, Throwable throwable) {
     return Response.status(status.toInt())
       .entity(buildErrors(errorCode.getCode(), throwable))
@@ -1,18 +1,168 @@
 package org.folio.util;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonToken;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.jackson.DatabindCodec;
 import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import java.io.IOException;
 import lombok.experimental.UtilityClass;
 
 @UtilityClass
 public class KafkaUtils {
 
   private static final String TOPIC_PATTERN_FORMAT = "(%s\\.)(.*\\.)%s";
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
   public static String getTopicName(KafkaConsumerRecord<?, ?> consumerRecord) {
     var topic = consumerRecord.topic();
     return topic.substring(topic.indexOf('.', topic.indexOf('.') + 1) + 1);
   }
 
+  /**
+   * Estimates size of the record payload as the number of UTF-8 bytes of its key and value.
+   *
+   * @param consumerRecord kafka record
+   * @return estimated payload size in bytes
+   */
+  public static long estimatePayloadSize(KafkaConsumerRecord<String, String> consumerRecord) {
+    return utf8Length(consumerRecord.key()) + utf8Length(consumerRecord.value());
+  }
+
+  private static long utf8Length(String value) {
+    if (value == null) {
+      return 0;
+    }
+    long length = 0;
+    for (int i = 0; i < value.length(); i++) {
+      var ch = value.charAt(i);
+      if (ch < 0x80) {
+        length++;
+      } else if (ch < 0x800) {
+        length += 2;
+      } else if (Character.isHighSurrogate(ch) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+        length += 4;
+        i++;
+      } else {
+        length += 3;
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Finds value of the record header ignoring the case of the header name.
+   *
+   * @param consumerRecord kafka record
+   * @param headerName     name of the header
+   * @return header value or null if the record has no such header
+   */
+  public static String getHeaderValue(KafkaConsumerRecord<?, ?> consumerRecord, String headerName) {
+    for (var header : consumerRecord.headers()) {
+      if (headerName.equalsIgnoreCase(header.key())) {
+        return header.value() == null ? null : header.value().toString();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Reads value of a field of the JSON payload without decoding the payload.
+   * Objects and arrays outside of the path are skipped and the scan stops at the requested field.
+   *
+   * @param payload JSON object
+   * @param path    names of the fields from the top level object to the requested field
+   * @return scalar field value as string or null if the field is missing, is not a scalar or the payload is not a JSON object
+   */
+  public static String scanField(String payload, String... path) {
+    if (payload == null || path.length == 0) {
+      return null;
+    }
+    try (var parser = JSON_FACTORY.createParser(payload)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return null;
+      }
+      var depth = 0;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        var name = parser.currentName();
+        var token = parser.nextToken();
+        if (!path[depth].equals(name)) {
+          parser.skipChildren();
+        } else if (depth == path.length - 1) {
+          return token.isScalarValue() ? parser.getValueAsString() : null;
+        } else if (token == JsonToken.START_OBJECT) {
+          depth++;
+        } else {
+          return null;
+        }
+      }
+      return null;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Reads values of several top level fields of the JSON payload in a single pass without decoding the payload.
+   * Objects and arrays are skipped and the scan stops once all requested fields are read.
+   *
+   * @param payload JSON object
+   * @param names   names of the top level fields
+   * @return values in the order of the names, a value is null if the field is missing or is not a scalar
+   */
+  public static String[] scanFields(String payload, String... names) {
+    var values = new String[names.length];
+    if (payload == null || names.length == 0) {
+      return values;
+    }
+    try (var parser = JSON_FACTORY.createParser(payload)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return values;
+      }
+      var found = new boolean[names.length];
+      var remaining = names.length;
+      while (remaining > 0 && parser.nextToken() == JsonToken.FIELD_NAME) {
+        var index = indexOf(names, parser.currentName());
+        var token = parser.nextToken();
+        if (index >= 0 && !found[index]) {
+          found[index] = true;
+          remaining--;
+          values[index] = token.isScalarValue() ? parser.getValueAsString() : null;
+        }
+        parser.skipChildren();
+      }
+      return values;
+    } catch (IOException e) {
+      return values;
+    }
+  }
+
+  private static int indexOf(String[] names, String name) {
+    for (int i = 0; i < names.length; i++) {
+      if (names[i].equals(name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Binds the record value to the event type directly from the JSON text, without materializing
+   * the value as a {@code JsonObject} first.
+   *
+   * @param consumerRecord kafka record
+   * @param type           event type
+   * @return decoded event
+   * @throws DecodeException if the value cannot be bound to the event type
+   */
+  public static <T> T decodeValue(KafkaConsumerRecord<?, String> consumerRecord, Class<T> type) {
+    try {
+      return DatabindCodec.mapper().readValue(consumerRecord.value(), type);
+    } catch (IOException | IllegalArgumentException e) {
+      throw new DecodeException("Failed to decode " + type.getSimpleName() + ": " + e.getMessage(), e);
+    }
+  }
+
   public static String formatTopicPattern(String env, String topicPattern) {
     return TOPIC_PATTERN_FORMAT.formatted(env, topicPattern);
   }
@@ -0,0 +1,31 @@
+package org.folio.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.experimental.UtilityClass;
+import org.apache.commons.lang3.StringUtils;
+
+@UtilityClass
+public class PropertyUtils {
+
+  /**
+   * Parses per name integer quotas of a module property, e.g. per event concurrency quotas or per tenant weights.
+   *
+   * @param quotas comma separated {@code name:quota} pairs
+   * @return quotas by name
+   */
+  public static Map<String, Integer> parseQuotas(String quotas) {
+    var result = new HashMap<String, Integer>();
+    if (StringUtils.isBlank(quotas)) {
+      return result;
+    }
+    for (var entry : quotas.split(",")) {
+      var separator = entry.lastIndexOf(':');
+      if (separator <= 0) {
+        throw new IllegalArgumentException("Invalid quota: " + entry);
+      }
+      result.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+    }
+    return result;
+  }
+}
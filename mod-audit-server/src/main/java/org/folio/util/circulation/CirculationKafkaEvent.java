@@ -0,0 +1,20 @@
+package org.folio.util.circulation;
+
+public enum CirculationKafkaEvent {
+  LOG_RECORD("log-record");
+
+  private static final String TOPIC_GROUP = "circulation";
+  private final String topicName;
+
+  CirculationKafkaEvent(String value) {
+    this.topicName = value;
+  }
+
+  public String getTopicName() {
+    return TOPIC_GROUP + "." + topicName;
+  }
+
+  public String getTopicPattern() {
+    return TOPIC_GROUP + "\\." + topicName;
+  }
+}
@@ -0,0 +1,15 @@
+package org.folio.util.circulation;
+
+import io.vertx.core.json.JsonObject;
+import java.util.Map;
+
+/**
+ * Circulation log event received from kafka.
+ *
+ * @param eventId      id of the kafka record the event was received in, used to derive ids of the log records
+ *                     so that a redelivered event overwrites the log records written for it
+ * @param payload      log event payload, the same as the body of the {@code /audit/handlers/log-record} callback
+ * @param okapiHeaders okapi headers of the kafka record, used by the log record builders to call other modules
+ */
+public record CirculationLogEvent(String eventId, JsonObject payload, Map<String, String> okapiHeaders) {
+}
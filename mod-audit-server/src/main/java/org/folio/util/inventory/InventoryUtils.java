@@ -34,7 +34,10 @@ public class InventoryUtils {
 
   public static boolean isShadowCopyEvent(InventoryEvent event) {
     var payload = getEventPayload(event);
-    var source = getString(payload, SOURCE_FIELD);
+    return isShadowCopySource(getString(payload, SOURCE_FIELD));
+  }
+
+  public static boolean isShadowCopySource(String source) {
     return source != null && source.startsWith(CONSORTIUM_SOURCE);
   }
 }
@@ -11,10 +11,10 @@ import org.folio.domain.diff.FieldChangeDto;
 import org.folio.exception.ValidationException;
 import org.folio.rest.jaxrs.model.MarcAuditCollection;
 import org.folio.rest.jaxrs.model.MarcAuditItem;
+import org.folio.util.DiffSnapshot;
 
 import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -89,6 +89,47 @@ public class MarcUtil {
     );
   }
 
+  /**
+   * Maps a {@link SourceRecordDomainEvent} of an update to a {@link MarcAuditEntity} without differences,
+   * which are calculated later from the {@link DiffSnapshot} of the event in deferred diff mode.
+   *
+   * @param event the source record update event
+   * @return a {@link MarcAuditEntity} instance with no differences
+   */
+  public static MarcAuditEntity mapToPendingEntity(SourceRecordDomainEvent event) {
+    var data = extractRecordData(event.getEventPayload().getNewRecord(), UPDATED_BY, UPDATED);
+    return new MarcAuditEntity(
+      event.getEventId(),
+      event.getEventMetadata().getEventDate(),
+      data.recordId,
+      event.getEventMetadata().getPublishedBy(),
+      data.action,
+      data.userId,
+      null
+    );
+  }
+
+  /**
+   * Creates a snapshot of the old and new parsed records of an update event.
+   *
+   * @param event the source record update event
+   * @return a {@link DiffSnapshot} of the parsed records
+   */
+  public static DiffSnapshot toDiffSnapshot(SourceRecordDomainEvent event) {
+    return new DiffSnapshot(event.getEventPayload().getOld().getParsedRecord(),
+      event.getEventPayload().getNewRecord().getParsedRecord());
+  }
+
+  /**
+   * Compares the parsed records of the snapshot, see {@link #calculateDifferences(Map, Map)}.
+   *
+   * @param snapshot the snapshot of the parsed records before and after changes
+   * @return a {@link ChangeRecordDto} with the changes between the parsed records
+   */
+  public static ChangeRecordDto calculateDifferences(DiffSnapshot snapshot) {
+    return calculateDifferences(snapshot.oldValue(), snapshot.newValue());
+  }
+
   /**
    * Maps a list of MarcAuditEntity objects to a MarcAuditCollection object.
    *
@@ -122,146 +163,117 @@ public class MarcUtil {
     return item;
   }
 
-  private static ChangeRecordDto calculateDifferences(Map<String, Object> oldParsedRecord, Map<String, Object> newParsedRecord) {
-    var oldFields = flattenFields(oldParsedRecord);
-    var newFields = flattenFields(newParsedRecord);
-    return compareParsedRecords(oldFields, newFields);
-  }
-
   /**
-   * Generates a {@link ChangeRecordDto} representing the differences in a given parsed record
-   * based on the provided change type.
-   *
-   * <p>This method processes the parsed record by flattening its structure and creating a list of
-   * {@link FieldChangeDto} objects for each field. If a field's value is a list, it iterates through
-   * the list and creates individual changes for each element. Otherwise, it directly creates a
-   * change for the field value. The resulting changes are of the specified {@link ChangeType}.
+   * Compares two parsed records and identifies the changes between them.
    *
-   * <p>The method uses the flattened structure of the record to create changes for both individual
-   * values and collections, depending on the structure of the input map.
-   *
-   * @param parsedRecord the map representing the parsed record to process
-   * @param type         the {@link ChangeType} indicating the type of change (e.g., ADDED, REMOVED)
-   * @return a {@link ChangeRecordDto} containing the list of field changes, with no repeatable changes
-   */
-  private static ChangeRecordDto getDifference(Map<String, Object> parsedRecord, ChangeType type) {
-    var changes = new ArrayList<FieldChangeDto>();
-    var content = flattenFields(parsedRecord);
-    content.forEach((key, value) -> addChangesFromValue(value, key, type, changes));
-    return new ChangeRecordDto(changes, Collections.emptyList());
-  }
-
-  /**
-   * Compares two given maps representing parsed records and identifies the changes between them.
-   *
-   * <p>This method computes the differences between the two maps (`oldMap` and `newMap`)
-   * and categorizes the changes into four categories:
+   * <p>Fields of both records are indexed by tag once, and fields with the same tag are aligned in a single pass
+   * over the new record. Only fields of tags that differ are formatted, unchanged tags are compared by their parsed
+   * content. The changes are categorized as:
    * <ul>
-   *   <li>Added fields: Fields that exist in the `newMap` but not in the `oldMap`.</li>
-   *   <li>Removed fields: Fields that exist in the `oldMap` but not in the `newMap`.</li>
-   *   <li>Modified fields: Fields that exist in both maps but have different values.</li>
-   *   <li>Repeatable fields: Collections (e.g., lists) that were modified, tracked as repeatable changes.</li>
+   *   <li>Added fields: tags that exist in the new record but not in the old one.</li>
+   *   <li>Removed fields: tags that exist in the old record but not in the new one.</li>
+   *   <li>Modified fields: non-repeated tags that exist in both records but have different values.</li>
+   *   <li>Repeatable fields: repeated tags with added or removed values, tracked as collection changes.</li>
    * </ul>
    *
-   * <p>The method returns a {@link ChangeRecordDto} containing the categorized changes, including both
-   * individual field changes and repeatable field changes.
-   *
-   * @param oldMap the map representing the original parsed record (state before changes)
-   * @param newMap the map representing the updated parsed record (state after changes)
-   * @return a {@link ChangeRecordDto} consisting of field changes (added, removed, modified) and
+   * @param oldParsedRecord the parsed record before changes
+   * @param newParsedRecord the parsed record after changes
+   * @return a {@link ChangeRecordDto} with added, removed and modified field changes, in that order, and
    * repeatable collection changes
    */
-  private static ChangeRecordDto compareParsedRecords(Map<String, Object> oldMap, Map<String, Object> newMap) {
-    List<FieldChangeDto> added = new ArrayList<>();
-    List<FieldChangeDto> removed = new ArrayList<>();
-    List<FieldChangeDto> modified = new ArrayList<>();
-    List<CollectionChangeDto> repeatable = new ArrayList<>();
-
-    populateEntries(newMap, oldMap, added, ChangeType.ADDED);
-    populateEntries(newMap, oldMap, removed, ChangeType.REMOVED);
-    processModifiedEntries(newMap, oldMap, repeatable, modified);
+  static ChangeRecordDto calculateDifferences(Map<String, Object> oldParsedRecord,
+                                              Map<String, Object> newParsedRecord) {
+    var oldFields = indexFields(oldParsedRecord);
+    var newFields = indexFields(newParsedRecord);
+    var added = new ArrayList<FieldChangeDto>();
+    var removed = new ArrayList<FieldChangeDto>();
+    var modified = new ArrayList<FieldChangeDto>();
+    var repeatable = new ArrayList<CollectionChangeDto>();
+
+    newFields.forEach((tag, newValues) -> {
+      var oldValues = oldFields.get(tag);
+      if (oldValues == null) {
+        addChanges(newValues, tag, ChangeType.ADDED, added);
+      } else if (FIELD_999.equals(tag)) {
+        var filteredOld = filterNonFFValues(formatFields(oldValues));
+        var filteredNew = filterNonFFValues(formatFields(newValues));
+        if (!Objects.equals(filteredOld, filteredNew)) {
+          populateChanges(tag, filteredOld, filteredNew, repeatable, modified);
+        }
+      } else if (!FIELD_005.equals(tag) && !oldValues.equals(newValues)) {
+        populateChanges(tag, formatFields(oldValues), formatFields(newValues), repeatable, modified);
+      }
+    });
+    oldFields.forEach((tag, oldValues) -> {
+      if (!newFields.containsKey(tag)) {
+        addChanges(oldValues, tag, ChangeType.REMOVED, removed);
+      }
+    });
 
-    List<FieldChangeDto> fieldChanges = new ArrayList<>();
+    var fieldChanges = new ArrayList<FieldChangeDto>(added.size() + removed.size() + modified.size());
     fieldChanges.addAll(added);
     fieldChanges.addAll(removed);
     fieldChanges.addAll(modified);
-
     return new ChangeRecordDto(fieldChanges, repeatable);
   }
 
   /**
-   * Populates the given list of {@link FieldChangeDto} with changes detected between the source and target maps.
-   * This method identifies entries in the source map that do not exist in the target map, and based on their values,
-   * adds corresponding change records to the provided list.
-   *
-   * @param firstMap  the first map, potentially representing either the source or target, depending on the change type.
-   * @param secondMap the second map, potentially representing either the source or target, depending on the change type.
-   * @param changes   the list of {@link FieldChangeDto} objects to which detected changes will be added.
-   * @param type      the {@link ChangeType} indicating the type of change (e.g., ADDED, REMOVED, etc.).
-   *                  Determines which map acts as the source and which as the target.
-   *
-   *                  <p>The method determines the source and target maps based on the change type:
-   *                  <ul>
-   *                    <li>If type is {@link ChangeType#ADDED}, {@code firstMap} is treated as the source
-   *                        and {@code secondMap} as the target.</li>
-   *                    <li>Otherwise, {@code secondMap} is treated as the source and {@code firstMap} as the target.</li>
-   *                  </ul>
+   * Generates a {@link ChangeRecordDto} representing the differences in a given parsed record
+   * based on the provided change type.
    *
-   *                  <p>For every key in the source map that does not exist in the target map:
-   *                  <ul>
-   *                    <li>If the value associated with the key is a {@link List}, each element of the list
-   *                        is treated as a separate change and recorded in the list of {@link FieldChangeDto}.</li>
-   *                    <li>For non-list values, the value itself is recorded as a change.</li>
-   *                  </ul>
+   * <p>This method indexes the fields of the parsed record by tag and creates a formatted
+   * {@link FieldChangeDto} of the specified {@link ChangeType} for every field, repeated fields
+   * result in a change per field.
    *
-   *                  <p>{@link FieldChangeDto} objects are created using the {@code addChange} helper method,
-   *                  which encapsulates the creation and storage of change records.
+   * @param parsedRecord the map representing the parsed record to process
+   * @param type         the {@link ChangeType} indicating the type of change (e.g., ADDED, REMOVED)
+   * @return a {@link ChangeRecordDto} containing the list of field changes, with no repeatable changes
    */
-  private static void populateEntries(Map<String, Object> firstMap, Map<String, Object> secondMap,
-                                      List<FieldChangeDto> changes, ChangeType type) {
-    var source = ChangeType.ADDED.equals(type) ? firstMap : secondMap;
-    var target = ChangeType.ADDED.equals(type) ? secondMap : firstMap;
-    source.forEach((key, value) -> {
-      if (!target.containsKey(key)) {
-        addChangesFromValue(value, key, type, changes);
-      }
-    });
+  static ChangeRecordDto getDifference(Map<String, Object> parsedRecord, ChangeType type) {
+    var changes = new ArrayList<FieldChangeDto>();
+    indexFields(parsedRecord).forEach((tag, values) -> addChanges(values, tag, type, changes));
+    return new ChangeRecordDto(changes, Collections.emptyList());
   }
 
   /**
-   * Flattens the fields in the given parsed record map to a single-level map structure.
-   * The method processes the "content" key in the input map, extracts the field data,
-   * and formats it based on specified rules, combining fields with the same tag into lists when necessary.
+   * Indexes fields of the given parsed record by tag, keeping the parsed content of the fields.
+   * The leader is indexed under the {@code LDR} tag, fields with the same tag are kept in the order
+   * they appear in the record.
    *
    * @param input a map representing a parsed record, expected to contain a "content" key
    *              with relevant field data and metadata.
-   * @return a map where field tags are the keys and their corresponding values
-   * are formatted strings or lists of strings.
+   * @return a map where field tags are the keys and the values are lists of the field contents.
    */
   @SuppressWarnings("unchecked")
-  private static Map<String, Object> flattenFields(Map<String, Object> input) {
+  private static Map<String, List<Object>> indexFields(Map<String, Object> input) {
     var content = getContent(input);
-    var fields = (List<Map<String, Object>>) content.get(FIELDS_KEY);
-    var result = new HashMap<String, Object>();
+    var result = new HashMap<String, List<Object>>();
     if (content.containsKey(LEADER_KEY)) {
-      result.put(LDR, content.get(LEADER_KEY));
+      result.computeIfAbsent(LDR, key -> new ArrayList<>(1)).add(content.get(LEADER_KEY));
     }
     if (!content.containsKey(FIELDS_KEY)) {
       return result;
     }
-    fields.forEach(fieldObj -> fieldObj.forEach((tag, value) -> {
-      var formattedValue = formatField(value);
-      result.merge(tag, formattedValue, (existing, newValue) -> {
-        if (existing instanceof List) {
-          ((List<Object>) existing).add(newValue);
-          return existing;
-        }
-        return new ArrayList<>(Arrays.asList(existing, newValue));
-      });
-    }));
+    var fields = (List<Map<String, Object>>) content.get(FIELDS_KEY);
+    fields.forEach(fieldObj -> fieldObj.forEach((tag, value) ->
+      result.computeIfAbsent(tag, key -> new ArrayList<>(1)).add(value)));
     return result;
   }
 
+  /**
+   * Formats the fields of a tag, a single field is formatted to a string and repeated fields to a list of strings.
+   *
+   * @param values the parsed content of the fields with the same tag
+   * @return a formatted string or a list of formatted strings
+   */
+  private static Object formatFields(List<Object> values) {
+    if (values.size() == 1) {
+      return formatField(values.get(0));
+    }
+    var result = new ArrayList<>(values.size());
+    values.forEach(value -> result.add(formatField(value)));
+    return result;
+  }
 
   /**
    * Formats the given field value into a standardized string representation.
@@ -341,54 +353,6 @@ public class MarcUtil {
     repeatable.add(new CollectionChangeDto(key, key, itemChanges));
   }
 
-  /**
-   * Processes entries in the new map to identify fields that have been modified compared to the old map.
-   * For each key in the new map that also exists in the old map, the method checks if the corresponding values
-   * are different. If a difference is detected, the method delegates handling of the modification to
-   * {@code getModifiedFieldMap}.
-   *
-   * @param newMap     the map representing the updated state of fields.
-   * @param oldMap     the map representing the original state of fields.
-   * @param repeatable the list of {@link CollectionChangeDto} objects to store information about repeatable
-   *                   field changes, if applicable.
-   * @param modified   the list of {@link FieldChangeDto} objects to store information about detected field modifications.
-   *
-   *                   <p>For each key-value pair in {@code newMap}:
-   *                   <ul>
-   *                     <li>The method skips processing if the key is equal to {@code FIELD_005} or {@code FIELD_999} with indication {@code FF_IND}, as this field is excluded from modification checks.</li>
-   *                     <li>If the key also exists in {@code oldMap}, the method further checks if the values in both maps are different using {@link Objects#equals}.</li>
-   *                     <li>If a difference is detected, the method calls {@code getModifiedFieldMap} to handle the detected change.</li>
-   *                   </ul>
-   *
-   *                   <p>Detected field modifications are typically categorized into repeatable and non-repeatable changes:
-   *                   <ul>
-   *                     <li>Repeatable field changes are added to the {@code repeatable} list as {@link CollectionChangeDto} objects.</li>
-   *                     <li>Non-repeatable field changes are added to the {@code modified} list as {@link FieldChangeDto} objects.</li>
-   *                   </ul>
-   */
-  private static void processModifiedEntries(
-    Map<String, Object> newMap,
-    Map<String, Object> oldMap,
-    List<CollectionChangeDto> repeatable,
-    List<FieldChangeDto> modified
-  ) {
-    newMap.forEach((key, newValue) -> {
-      if (!FIELD_005.equals(key) && oldMap.containsKey(key)) {
-        var oldValue = oldMap.get(key);
-        if (FIELD_999.equals(key)) {
-          var filteredOld = filterNonFFValues(oldValue);
-          var filteredNew = filterNonFFValues(newValue);
-          if (filteredOld.isEmpty() && filteredNew.isEmpty()) return;
-          if (!Objects.equals(filteredOld, filteredNew)) {
-            populateChanges(key, filteredOld, filteredNew, repeatable, modified);
-          }
-        } else if (!Objects.equals(oldValue, newValue)) {
-          populateChanges(key, oldValue, newValue, repeatable, modified);
-        }
-      }
-    });
-  }
-
   /**
    * Adds a repeatable field change to the list of repeatable changes.
    *
@@ -414,25 +378,17 @@ public class MarcUtil {
   }
 
   /**
-   * Adds individual field changes to the provided list of {@link FieldChangeDto}.
+   * Adds a field change for every field of the tag to the provided list of {@link FieldChangeDto}.
    *
-   * <p>This method checks if the provided value is a list (repeatable field) or a single value.
-   * For lists, it iterates over each element and creates separate change entries.
-   * For single values, it adds the change directly.
+   * <p>The change type (added or removed) determines whether the formatted field is treated as an addition or removal.
    *
-   * <p>The change type (added or removed) determines whether the value is treated as an addition or removal.
-   *
-   * @param changes the list to which the created {@link FieldChangeDto} entries are added.
-   * @param type    the type of change ({@link ChangeType#ADDED} or {@link ChangeType#REMOVED}).
+   * @param values  the parsed content of the fields with the same tag.
    * @param key     the MARC field tag (e.g., "020") that the change applies to.
-   * @param value   the value or list of values representing the field content.
+   * @param type    the type of change ({@link ChangeType#ADDED} or {@link ChangeType#REMOVED}).
+   * @param changes the list to which the created {@link FieldChangeDto} entries are added.
    */
-  private static void addChangesFromValue(Object value, String key, ChangeType type, List<FieldChangeDto> changes) {
-    if (value instanceof List<?>) {
-      ((List<?>) value).forEach(v -> addChange(changes, type, key, v));
-    } else {
-      addChange(changes, type, key, value);
-    }
+  private static void addChanges(List<Object> values, String key, ChangeType type, List<FieldChangeDto> changes) {
+    values.forEach(value -> addChange(changes, type, key, formatField(value)));
   }
 
   private static List<Object> filterNonFFValues(Object value) {
@@ -0,0 +1,64 @@
+package org.folio.util.marc;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.jackson.DatabindCodec;
+import java.io.IOException;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Decodes {@link SourceRecordDomainEvent} from the kafka record value in a single pass.
+ * <p>
+ * The top level fields are read with a streaming parser and the event metadata and payload are bound directly
+ * from the parser, so the record is not materialized as a {@code JsonObject} first. The payload is published
+ * either as a nested object or as a JSON encoded string, the string form is bound from its text.
+ */
+@UtilityClass
+public class SourceRecordDomainEventDecoder {
+
+  private static final String ID_FIELD = "id";
+  private static final String EVENT_TYPE_FIELD = "eventType";
+  private static final String EVENT_METADATA_FIELD = "eventMetadata";
+  private static final String EVENT_PAYLOAD_FIELD = "eventPayload";
+
+  /**
+   * Decodes the event.
+   *
+   * @param value kafka record value
+   * @return decoded event, record type of the event is not set
+   * @throws DecodeException if the value is not a valid event
+   */
+  public static SourceRecordDomainEvent decode(String value) {
+    var mapper = DatabindCodec.mapper();
+    try (var parser = mapper.createParser(value)) {
+      return decode(parser);
+    } catch (IOException e) {
+      throw new DecodeException("Failed to decode source record domain event: " + e.getMessage(), e);
+    }
+  }
+
+  private static SourceRecordDomainEvent decode(JsonParser parser) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new DecodeException("Source record domain event must be a JSON object");
+    }
+    var event = new SourceRecordDomainEvent();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      var field = parser.currentName();
+      var token = parser.nextToken();
+      if (token == JsonToken.VALUE_NULL) {
+        continue;
+      }
+      switch (field) {
+        case ID_FIELD -> event.setEventId(parser.getValueAsString());
+        case EVENT_TYPE_FIELD -> event.setEventType(SourceRecordDomainEventType.fromValue(parser.getValueAsString()));
+        case EVENT_METADATA_FIELD -> event.setEventMetadata(parser.readValueAs(EventMetadata.class));
+        case EVENT_PAYLOAD_FIELD -> event.setEventPayload(token == JsonToken.VALUE_STRING
+                                                          ? DatabindCodec.mapper().readValue(parser.getText(), MarcEventPayload.class)
+                                                          : parser.readValueAs(MarcEventPayload.class));
+        default -> parser.skipChildren();
+      }
+    }
+    return event;
+  }
+}
@@ -0,0 +1,66 @@
+package org.folio.util.metrics;
+
+import io.vertx.core.Vertx;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process registry of module metrics (counters, gauges and summaries).
+ * <p>
+ * Metrics are identified by dot-separated names and are periodically written to the log
+ * when {@code audit.metrics.log-interval-ms} is positive.
+ */
+@Component
+public class MetricsRegistry {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+  private final Map<String, Summary> summaries = new ConcurrentHashMap<>();
+  private final Map<String, Supplier<Number>> gauges = new ConcurrentHashMap<>();
+
+  public MetricsRegistry(Vertx vertx, @Value("${audit.metrics.log-interval-ms:60000}") long logIntervalMs) {
+    if (vertx != null && logIntervalMs > 0) {
+      vertx.setPeriodic(logIntervalMs, id -> logSnapshot());
+    }
+  }
+
+  public LongAdder counter(String name) {
+    return counters.computeIfAbsent(name, key -> new LongAdder());
+  }
+
+  public Summary summary(String name) {
+    return summaries.computeIfAbsent(name, key -> new Summary());
+  }
+
+  public void gauge(String name, Supplier<Number> valueSupplier) {
+    gauges.put(name, valueSupplier);
+  }
+
+  /**
+   * Returns current values of all registered metrics ordered by name.
+   *
+   * @return metric name to value map
+   */
+  public Map<String, Object> snapshot() {
+    var snapshot = new TreeMap<String, Object>();
+    counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+    gauges.forEach((name, gauge) -> snapshot.put(name, gauge.get()));
+    summaries.forEach((name, summary) -> snapshot.put(name, summary.snapshot()));
+    return snapshot;
+  }
+
+  private void logSnapshot() {
+    var snapshot = snapshot();
+    if (!snapshot.isEmpty()) {
+      LOGGER.info("logSnapshot:: Metrics: {}", snapshot);
+    }
+  }
+}
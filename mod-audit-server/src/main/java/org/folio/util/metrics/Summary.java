@@ -0,0 +1,54 @@
+package org.folio.util.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free distribution summary that tracks count, total, max and last recorded value.
+ */
+public class Summary {
+
+  private final LongAdder count = new LongAdder();
+  private final LongAdder total = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+  private final AtomicLong last = new AtomicLong();
+
+  public void record(long value) {
+    count.increment();
+    total.add(value);
+    max.accumulate(value);
+    last.set(value);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getTotal() {
+    return total.sum();
+  }
+
+  public long getMax() {
+    return getCount() == 0 ? 0 : max.get();
+  }
+
+  public double getMean() {
+    var currentCount = getCount();
+    return currentCount == 0 ? 0 : (double) getTotal() / currentCount;
+  }
+
+  public long getLast() {
+    return last.get();
+  }
+
+  public Map<String, Object> snapshot() {
+    return Map.of(
+      "count", getCount(),
+      "total", getTotal(),
+      "max", getMax(),
+      "mean", getMean(),
+      "last", getLast());
+  }
+}
@@ -0,0 +1,55 @@
+package org.folio.util.retry;
+
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.consumer.impl.KafkaConsumerRecordImpl;
+import java.util.Optional;
+import java.util.Set;
+import lombok.experimental.UtilityClass;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+
+@UtilityClass
+public class RetryUtils {
+
+  public static final String RETRY_EVENT_TYPE_PREFIX = "AUDIT_RETRY_";
+  public static final String DEAD_LETTER_EVENT_TYPE = "AUDIT_DEAD_LETTER";
+
+  public static final String ORIGINAL_TOPIC_HEADER = "x-audit-original-topic";
+  public static final String ATTEMPT_HEADER = "x-audit-retry-attempt";
+  public static final String NOT_BEFORE_HEADER = "x-audit-retry-not-before";
+  public static final String ERROR_HEADER = "x-audit-retry-error";
+
+  public static final Set<String> RETRY_HEADERS = Set.of(ORIGINAL_TOPIC_HEADER, ATTEMPT_HEADER, NOT_BEFORE_HEADER,
+    ERROR_HEADER);
+
+  /**
+   * Event type of the retry topic for the given attempt, e.g. {@code AUDIT_RETRY_2}.
+   *
+   * @param attempt number of the retry attempt starting from 1
+   * @return event type of the retry topic
+   */
+  public static String retryEventType(int attempt) {
+    return RETRY_EVENT_TYPE_PREFIX + attempt;
+  }
+
+  /**
+   * Copies the record so that it looks like it was consumed from the given topic, retry headers are not copied.
+   *
+   * @param kafkaConsumerRecord record to copy
+   * @param topic               topic of the copy
+   * @return copy of the record with the given topic
+   */
+  public static KafkaConsumerRecord<String, String> withTopic(KafkaConsumerRecord<String, String> kafkaConsumerRecord,
+                                                              String topic) {
+    var headers = new RecordHeaders();
+    kafkaConsumerRecord.headers().stream()
+      .filter(header -> !RETRY_HEADERS.contains(header.key()))
+      .forEach(header -> headers.add(new RecordHeader(header.key(), header.value().getBytes())));
+    var consumerRecord = new ConsumerRecord<>(topic, kafkaConsumerRecord.partition(), kafkaConsumerRecord.offset(),
+      kafkaConsumerRecord.timestamp(), TimestampType.CREATE_TIME, -1, -1, kafkaConsumerRecord.key(),
+      kafkaConsumerRecord.value(), headers, Optional.empty());
+    return new KafkaConsumerRecordImpl<>(consumerRecord);
+  }
+}
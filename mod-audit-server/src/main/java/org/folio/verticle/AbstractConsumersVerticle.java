@@ -11,13 +11,21 @@ import org.folio.kafka.KafkaConfig;
 import org.folio.kafka.KafkaConsumerWrapper;
 import org.folio.kafka.KafkaTopicNameHelper;
 import org.folio.kafka.SubscriptionDefinition;
+import org.folio.okapi.common.XOkapiHeaders;
 import org.folio.processing.events.utils.PomReaderUtil;
 import org.folio.rest.tools.utils.ModuleName;
+import org.folio.services.dedup.RecentEventIdFilter;
+import org.folio.services.diff.DiffExecutor;
+import org.folio.services.retry.FailedEventPublisher;
+import org.folio.util.KafkaUtils;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.verticle.TopicRoutingRecordHandler.TopicRoute;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 
 public abstract class AbstractConsumersVerticle extends AbstractVerticle {
 
@@ -25,34 +33,115 @@ public abstract class AbstractConsumersVerticle extends AbstractVerticle {
 
   private static final GlobalLoadSensor globalLoadSensor = new GlobalLoadSensor();
 
+  private static final String IN_FLIGHT_BYTES_PAUSE_REASON = "in-flight-bytes";
+
+  private static final String DIFF_QUEUE_PAUSE_REASON = "diff-queue";
+
   @Autowired
   private KafkaConfig kafkaConfig;
 
+  @Autowired
+  private MetricsRegistry metricsRegistry;
+
+  @Autowired
+  private FailedEventPublisher failedEventPublisher;
+
+  @Autowired
+  private RecentEventIdFilter recentEventIdFilter;
+
+  @Autowired
+  private TenantFairScheduler tenantFairScheduler;
+
+  @Autowired
+  private ConsumerScalingController scalingController;
+
+  @Autowired
+  private DiffExecutor diffExecutor;
+
   @Value("${srm.kafka.DataImportConsumer.loadLimit:5}")
   private int loadLimit;
 
+  @Value("${audit.kafka.batch-handler.enabled:false}")
+  private boolean batchHandlerEnabled;
+
+  @Value("${audit.kafka.batch-handler.linger-ms:20}")
+  private long batchHandlerLingerMs;
+
+  @Value("${audit.kafka.key-ordered-dispatch.enabled:false}")
+  private boolean keyOrderedDispatchEnabled;
+
+  @Value("${audit.kafka.adaptive-concurrency.enabled:false}")
+  private boolean adaptiveConcurrencyEnabled;
+
+  @Value("${audit.kafka.adaptive-concurrency.min-limit:1}")
+  private int adaptiveConcurrencyMinLimit;
+
+  @Value("${audit.kafka.adaptive-concurrency.max-limit:50}")
+  private int adaptiveConcurrencyMaxLimit;
+
+  @Value("${audit.kafka.adaptive-concurrency.target-latency-ms:500}")
+  private long adaptiveConcurrencyTargetLatencyMs;
+
+  @Value("${audit.kafka.adaptive-concurrency.backoff-ratio:0.5}")
+  private double adaptiveConcurrencyBackoffRatio;
+
+  @Value("${audit.kafka.adaptive-concurrency.window-size:50}")
+  private int adaptiveConcurrencyWindowSize;
+
+  @Value("${audit.kafka.adaptive-concurrency.percentile:0.9}")
+  private double adaptiveConcurrencyPercentile;
+
+  @Value("${audit.kafka.max-in-flight-bytes:0}")
+  private long maxInFlightBytes;
+
+  @Value("${audit.kafka.retry.enabled:false}")
+  private boolean retryEnabled;
+
   private final List<KafkaConsumerWrapper<String, String>> consumerWrappers = new ArrayList<>();
 
+  private ConsumerPauseArbiter pauseArbiter;
+
+  private InFlightBytesLimiter inFlightBytesLimiter;
+
+  private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+  private TenantFairScheduler.Lane schedulerLane;
+
+  private int schedulingLimit;
+
   @Override
   public void start(Promise<Void> startPromise) {
     LOGGER.info("start:: Starting {} verticle", getClass().getSimpleName());
     List<Future<Void>> futures = new ArrayList<>();
+    pauseArbiter = new ConsumerPauseArbiter(getClass().getSimpleName(), consumerWrappers);
+    if (maxInFlightBytes > 0) {
+      inFlightBytesLimiter = new InFlightBytesLimiter(getClass().getSimpleName(), maxInFlightBytes,
+        () -> pauseArbiter.pause(IN_FLIGHT_BYTES_PAUSE_REASON),
+        () -> pauseArbiter.resume(IN_FLIGHT_BYTES_PAUSE_REASON),
+        metricsRegistry);
+    }
 
+    schedulingLimit = getEvents().size() * getProcessingLimit();
+    if (diffExecutor.isEnabled()) {
+      diffExecutor.registerBackpressure(context, schedulingLimit,
+        () -> pauseArbiter.pause(DIFF_QUEUE_PAUSE_REASON),
+        () -> pauseArbiter.resume(DIFF_QUEUE_PAUSE_REASON));
+    }
     getEvents().forEach(event -> {
       SubscriptionDefinition subscriptionDefinition = subscriptionDefinition(event, kafkaConfig);
+      var handler = resolveHandler();
       KafkaConsumerWrapper<String, String> consumerWrapper = KafkaConsumerWrapper.<String, String>builder()
         .context(context)
         .vertx(vertx)
         .kafkaConfig(kafkaConfig)
-        .loadLimit(loadLimit)
-        .globalLoadSensor(globalLoadSensor)
+        .loadLimit(getProcessingLimit() + getSchedulerQueueLimit())
+        .globalLoadSensor(adaptiveConcurrencyEnabled ? new GlobalLoadSensor() : globalLoadSensor)
         .subscriptionDefinition(subscriptionDefinition)
         .build();
 
       consumerWrappers.add(consumerWrapper);
 
-      futures.add(consumerWrapper.start(getHandler(),
-        constructModuleName() + "_" + getClass().getSimpleName()));
+      futures.add(consumerWrapper.start(handler, constructModuleName() + "_" + getClass().getSimpleName()));
     });
 
     Future.all(futures).onComplete(ar -> startPromise.complete());
@@ -61,6 +150,9 @@ public abstract class AbstractConsumersVerticle extends AbstractVerticle {
   @Override
   public void stop(Promise<Void> stopPromise) {
     LOGGER.info("stop:: Stopping {} verticle", getClass().getSimpleName());
+    diffExecutor.unregisterBackpressure(context);
+    concurrencyLimiter = null;
+    schedulerLane = null;
     List<Future<Void>> futures = new ArrayList<>();
     consumerWrappers.forEach(consumerWrapper -> futures.add(consumerWrapper.stop()));
     Future.all(futures).onComplete(ar -> stopPromise.complete());
@@ -73,11 +165,146 @@ public abstract class AbstractConsumersVerticle extends AbstractVerticle {
         event);
   }
 
+  /**
+   * Resolves routes of the verticle events without starting consumers, so the events can be consumed
+   * by {@link MultiplexedConsumersVerticle}. The verticle must be initialized with the vertx instance and context
+   * the handlers run on.
+   *
+   * @param schedulingLimit records of the verticle processed at once when records are scheduled between tenants
+   * @return routes of the verticle events
+   */
+  List<TopicRoute> resolveTopicRoutes(int schedulingLimit) {
+    this.schedulingLimit = schedulingLimit;
+    return getEvents().stream()
+      .map(event -> new TopicRoute(event, subscriptionPattern(event), resolveDispatchHandler()))
+      .toList();
+  }
+
+  /**
+   * Routes of the verticle events to the record handler without dispatch decorators, so records of the events
+   * can be re-processed after they were consumed from another topic, e.g. from a retry topic.
+   *
+   * @return routes of the verticle events
+   */
+  public List<TopicRoute> getTopicRoutes() {
+    return getEvents().stream()
+      .map(event -> new TopicRoute(event, subscriptionPattern(event), getHandler()))
+      .toList();
+  }
+
+  private Pattern subscriptionPattern(String event) {
+    return Pattern.compile(subscriptionDefinition(event, kafkaConfig).getSubscriptionPattern());
+  }
+
+  private AsyncRecordHandler<String, String> resolveHandler() {
+    var handler = resolveDispatchHandler();
+    if (scalingController != null && scalingController.isEnabled()) {
+      handler = scalingController.getStats(getClass().getSimpleName()).wrap(handler);
+    }
+    if (inFlightBytesLimiter == null) {
+      return handler;
+    }
+    var limitedHandler = handler;
+    return kafkaConsumerRecord -> inFlightBytesLimiter.execute(KafkaUtils.estimatePayloadSize(kafkaConsumerRecord),
+      () -> limitedHandler.handle(kafkaConsumerRecord));
+  }
+
+  private AsyncRecordHandler<String, String> resolveDispatchHandler() {
+    var handler = resolveProcessingHandler();
+    if (retryEnabled && isRetryable()) {
+      return new RetryingRecordHandler(handler, failedEventPublisher);
+    }
+    return handler;
+  }
+
+  private AsyncRecordHandler<String, String> resolveProcessingHandler() {
+    var metricsPrefix = "kafka." + getClass().getSimpleName();
+    var deduplicated = recentEventIdFilter != null && recentEventIdFilter.isEnabled() && getEventIdField() != null;
+    var batchHandler = batchHandlerEnabled ? getBatchHandler() : null;
+    if (batchHandler != null) {
+      if (deduplicated) {
+        batchHandler = DeduplicatingRecordHandler.ofBatch(batchHandler, recentEventIdFilter, getEventIdField());
+      }
+      LOGGER.info("resolveHandler:: Using batch handler for {} [maxBatchSize: {}, lingerMs: {}]",
+        getClass().getSimpleName(), loadLimit, batchHandlerLingerMs);
+      return new BatchingRecordHandler<>(vertx, batchHandler, loadLimit, batchHandlerLingerMs,
+        metricsRegistry, metricsPrefix);
+    }
+    var handler = getHandler();
+    if (deduplicated) {
+      handler = DeduplicatingRecordHandler.of(handler, recentEventIdFilter, getEventIdField());
+    }
+    if (adaptiveConcurrencyEnabled) {
+      var limiter = getConcurrencyLimiter();
+      var limitedHandler = handler;
+      handler = kafkaConsumerRecord -> limiter.execute(() -> limitedHandler.handle(kafkaConsumerRecord));
+    }
+    if (tenantFairScheduler.isEnabled()) {
+      var lane = getSchedulerLane();
+      var scheduledHandler = handler;
+      handler = kafkaConsumerRecord -> lane.execute(
+        KafkaUtils.getHeaderValue(kafkaConsumerRecord, XOkapiHeaders.TENANT),
+        () -> scheduledHandler.handle(kafkaConsumerRecord));
+    }
+    if (keyOrderedDispatchEnabled && isKeyOrdered()) {
+      LOGGER.info("resolveHandler:: Using key ordered dispatch for {}", getClass().getSimpleName());
+      return new KeyOrderedRecordHandler<>(handler, metricsRegistry, metricsPrefix);
+    }
+    return handler;
+  }
+
+  private AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+    if (concurrencyLimiter == null) {
+      var name = getClass().getSimpleName();
+      LOGGER.info("getConcurrencyLimiter:: Using adaptive concurrency for {} [minLimit: {}, maxLimit: {}, "
+          + "targetLatencyMs: {}, percentile: {}]", name, adaptiveConcurrencyMinLimit, adaptiveConcurrencyMaxLimit,
+        adaptiveConcurrencyTargetLatencyMs, adaptiveConcurrencyPercentile);
+      concurrencyLimiter = new AdaptiveConcurrencyLimiter(name, adaptiveConcurrencyMinLimit, adaptiveConcurrencyMaxLimit,
+        loadLimit, adaptiveConcurrencyTargetLatencyMs, adaptiveConcurrencyPercentile, adaptiveConcurrencyBackoffRatio,
+        adaptiveConcurrencyWindowSize, metricsRegistry);
+    }
+    return concurrencyLimiter;
+  }
+
+  private TenantFairScheduler.Lane getSchedulerLane() {
+    if (schedulerLane == null) {
+      schedulerLane = tenantFairScheduler.createLane(getClass().getSimpleName(), schedulingLimit);
+    }
+    return schedulerLane;
+  }
+
+  /**
+   * Records the consumers of the verticle process at once without scheduling between tenants.
+   */
+  private int getProcessingLimit() {
+    return adaptiveConcurrencyEnabled ? adaptiveConcurrencyMaxLimit : loadLimit;
+  }
+
+  /**
+   * Records of the verticle that can wait for a processing slot of the tenant fair scheduler, the load limit of
+   * the consumers is raised by this number, so waiting records do not take processing slots. Must be called after
+   * the handlers are resolved.
+   *
+   * @return number of waiting records, 0 if records of the verticle are not scheduled
+   */
+  int getSchedulerQueueLimit() {
+    return schedulerLane == null ? 0 : tenantFairScheduler.getMaxQueued();
+  }
+
   private String constructModuleName() {
     return PomReaderUtil.INSTANCE.constructModuleVersionAndVersion(ModuleName.getModuleName(),
       ModuleName.getModuleVersion());
   }
 
+  /**
+   * Whether the verticle is deployed, events of a verticle that is not enabled are not consumed at all.
+   *
+   * @return true if the verticle consumes its events
+   */
+  public boolean isEnabled() {
+    return true;
+  }
+
   /**
    * Events that consumer subscribed to.
    *
@@ -91,4 +318,42 @@ public abstract class AbstractConsumersVerticle extends AbstractVerticle {
    * @return handler to porcess kafka message
    */
   public abstract AsyncRecordHandler<String, String> getHandler();
+
+  /**
+   * Handler that will be invoked with batches of kafka messages when batch handling is enabled.
+   *
+   * @return batch handler or null if the verticle processes messages one by one
+   */
+  public BatchRecordHandler<String, String> getBatchHandler() {
+    return null;
+  }
+
+  /**
+   * Whether records of the consumed topics are keyed by entity id, so that records with different keys
+   * can be processed concurrently while records with the same key keep their order.
+   *
+   * @return true if the records are keyed by entity id
+   */
+  protected boolean isKeyOrdered() {
+    return false;
+  }
+
+  /**
+   * Top level field of the record value that holds the event id, used to skip recently processed events
+   * when {@code audit.kafka.dedup.recent-event-ids} is set.
+   *
+   * @return name of the event id field or null if records of the verticle are not deduplicated
+   */
+  protected String getEventIdField() {
+    return null;
+  }
+
+  /**
+   * Whether records that failed processing are moved to the retry topics when retries are enabled.
+   *
+   * @return true if failed records are retried through the retry topics
+   */
+  protected boolean isRetryable() {
+    return true;
+  }
 }
@@ -0,0 +1,192 @@
+package org.folio.verticle;
+
+import static org.folio.util.AuditEventDBConstants.UNIQUE_CONSTRAINT_VIOLATION_CODE;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.pgclient.PgException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.util.metrics.Summary;
+
+/**
+ * AIMD (additive-increase, multiplicative-decrease) limiter of concurrently processed records.
+ * <p>
+ * Latencies of completed tasks are collected into windows of {@code windowSize} samples. When a window is full,
+ * the limit is increased by one if its {@code percentile} latency is within {@code targetLatencyMs}, otherwise it is
+ * multiplied by {@code backoffRatio}. A window holds at least as many samples as needed for the percentile to exclude
+ * the slowest one, so a single outlier does not decrease the limit, e.g. 10 samples for p90 and 100 samples for p99.
+ * A database error or timeout decreases the limit immediately.
+ * Tasks that exceed the current limit wait in a queue until a permit is released.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+  private static final double MIN_PERCENTILE = 0.5;
+  private static final double MAX_PERCENTILE = 0.99;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final String name;
+  private final int minLimit;
+  private final int maxLimit;
+  private final long targetLatencyMs;
+  private final double percentile;
+  private final double backoffRatio;
+  private final long[] window;
+  private final Queue<Runnable> waiting = new ArrayDeque<>();
+  private final Summary latency;
+  private final LongAdder throttled;
+  private final LongAdder increases;
+  private final LongAdder decreases;
+
+  private int limit;
+  private int inFlight;
+  private int windowPosition;
+
+  public AdaptiveConcurrencyLimiter(String name, int minLimit, int maxLimit, int initialLimit, long targetLatencyMs,
+                                    double percentile, double backoffRatio, int windowSize,
+                                    MetricsRegistry metricsRegistry) {
+    this.name = name;
+    this.minLimit = Math.max(1, minLimit);
+    this.maxLimit = Math.max(this.minLimit, maxLimit);
+    this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    this.targetLatencyMs = targetLatencyMs;
+    this.percentile = Math.clamp(percentile, MIN_PERCENTILE, MAX_PERCENTILE);
+    this.backoffRatio = backoffRatio;
+    this.window = new long[Math.max(windowSize, (int) Math.round(1 / (1 - this.percentile)))];
+    var prefix = "concurrency." + name;
+    this.latency = metricsRegistry.summary(prefix + ".latency-ms");
+    this.throttled = metricsRegistry.counter(prefix + ".throttled");
+    this.increases = metricsRegistry.counter(prefix + ".limit-increases");
+    this.decreases = metricsRegistry.counter(prefix + ".limit-decreases");
+    metricsRegistry.gauge(prefix + ".limit", this::getLimit);
+    metricsRegistry.gauge(prefix + ".in-flight", this::getInFlight);
+  }
+
+  /**
+   * Executes the task once a permit is available.
+   *
+   * @param task task to execute
+   * @return future with the task result
+   */
+  public <T> Future<T> execute(Supplier<Future<T>> task) {
+    var promise = Promise.<T>promise();
+    Runnable start = () -> run(task, promise);
+    boolean acquired;
+    lock.lock();
+    try {
+      acquired = inFlight < limit;
+      if (acquired) {
+        inFlight++;
+      } else {
+        throttled.increment();
+        waiting.add(start);
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (acquired) {
+      start.run();
+    }
+    return promise.future();
+  }
+
+  public int getLimit() {
+    lock.lock();
+    try {
+      return limit;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getInFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private <T> void run(Supplier<Future<T>> task, Promise<T> promise) {
+    var startTime = System.currentTimeMillis();
+    Future<T> result;
+    try {
+      result = task.get();
+    } catch (Exception e) {
+      result = Future.failedFuture(e);
+    }
+    result.onComplete(ar -> {
+      release(System.currentTimeMillis() - startTime, ar.failed() && isOverloadSignal(ar.cause()));
+      promise.handle(ar);
+    });
+  }
+
+  private void release(long latencyMs, boolean overloaded) {
+    latency.record(latencyMs);
+    Runnable next = null;
+    lock.lock();
+    try {
+      inFlight--;
+      if (overloaded) {
+        decrease("database error");
+      } else {
+        window[windowPosition++] = latencyMs;
+        if (windowPosition == window.length) {
+          adjust();
+        }
+      }
+      if (inFlight < limit && !waiting.isEmpty()) {
+        inFlight++;
+        next = waiting.poll();
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (next != null) {
+      next.run();
+    }
+  }
+
+  private void adjust() {
+    var sorted = Arrays.copyOf(window, window.length);
+    Arrays.sort(sorted);
+    var percentileLatency = sorted[(int) Math.ceil(sorted.length * percentile) - 1];
+    windowPosition = 0;
+    if (percentileLatency > targetLatencyMs) {
+      decrease("p" + Math.round(percentile * 100) + " latency " + percentileLatency + "ms");
+    } else if (limit < maxLimit) {
+      limit++;
+      increases.increment();
+      LOGGER.debug("adjust:: Increased concurrency limit [name: {}, limit: {}, latency: {}ms]",
+        name, limit, percentileLatency);
+    }
+  }
+
+  private void decrease(String reason) {
+    var newLimit = Math.max(minLimit, (int) Math.floor(limit * backoffRatio));
+    windowPosition = 0;
+    if (newLimit < limit) {
+      LOGGER.info("decrease:: Decreased concurrency limit [name: {}, from: {}, to: {}, reason: {}]",
+        name, limit, newLimit, reason);
+      limit = newLimit;
+      decreases.increment();
+    }
+  }
+
+  private static boolean isOverloadSignal(Throwable throwable) {
+    return throwable instanceof TimeoutException
+      || throwable instanceof PgException pgException
+      && !UNIQUE_CONSTRAINT_VIOLATION_CODE.equals(pgException.getSqlState());
+  }
+}
@@ -0,0 +1,26 @@
+package org.folio.verticle;
+
+import io.vertx.core.Future;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import java.util.List;
+
+/**
+ * Handler that processes records of a single topic partition as one batch.
+ * <p>
+ * Consumer verticles use it instead of {@link org.folio.kafka.AsyncRecordHandler} when
+ * {@code audit.kafka.batch-handler.enabled} is set and the verticle provides one.
+ *
+ * @param <K> record key type
+ * @param <V> record value type
+ */
+public interface BatchRecordHandler<K, V> {
+
+  /**
+   * Handles batch of records in the order they were polled.
+   * The offsets of the records are committed only after the returned future is completed.
+   *
+   * @param records records of a single topic partition
+   * @return future completed when all records are processed
+   */
+  Future<Void> handleBatch(List<KafkaConsumerRecord<K, V>> records);
+}
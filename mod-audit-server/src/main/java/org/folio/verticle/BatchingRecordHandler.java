@@ -0,0 +1,130 @@
+package org.folio.verticle;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.util.metrics.Summary;
+
+/**
+ * Adapts {@link BatchRecordHandler} to the per-record {@link AsyncRecordHandler} contract of the consumer wrapper.
+ * <p>
+ * Records are grouped per topic partition and passed to the batch handler when {@code maxBatchSize}
+ * records are collected or {@code lingerMs} elapses since the first record of the batch arrived.
+ * Since the consumer wrapper pauses polling once its load limit is reached, {@code maxBatchSize}
+ * should not exceed that limit. The future of each record completes when its batch is processed.
+ */
+public class BatchingRecordHandler<K, V> implements AsyncRecordHandler<K, V> {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Vertx vertx;
+  private final BatchRecordHandler<K, V> batchHandler;
+  private final int maxBatchSize;
+  private final long lingerMs;
+  private final Summary batchSize;
+  private final Summary batchLatency;
+  private final Map<String, PendingBatch<K, V>> pendingBatches = new HashMap<>();
+
+  public BatchingRecordHandler(Vertx vertx, BatchRecordHandler<K, V> batchHandler, int maxBatchSize, long lingerMs,
+                               MetricsRegistry metricsRegistry, String metricsPrefix) {
+    this.vertx = vertx;
+    this.batchHandler = batchHandler;
+    this.maxBatchSize = Math.max(1, maxBatchSize);
+    this.lingerMs = lingerMs;
+    this.batchSize = metricsRegistry.summary(metricsPrefix + ".batch.size");
+    this.batchLatency = metricsRegistry.summary(metricsPrefix + ".batch.latency-ms");
+  }
+
+  @Override
+  public Future<K> handle(KafkaConsumerRecord<K, V> kafkaConsumerRecord) {
+    var partitionKey = kafkaConsumerRecord.topic() + "-" + kafkaConsumerRecord.partition();
+    var promise = Promise.<K>promise();
+    PendingBatch<K, V> batchToProcess = null;
+    lock.lock();
+    try {
+      var batch = pendingBatches.get(partitionKey);
+      if (batch == null) {
+        batch = new PendingBatch<>();
+        pendingBatches.put(partitionKey, batch);
+        var scheduledBatch = batch;
+        batch.timerId = vertx.setTimer(lingerMs, id -> processScheduled(partitionKey, scheduledBatch));
+      }
+      batch.records.add(kafkaConsumerRecord);
+      batch.promises.add(promise);
+      if (batch.records.size() >= maxBatchSize) {
+        batchToProcess = detach(partitionKey, batch);
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (batchToProcess != null) {
+      process(partitionKey, batchToProcess);
+    }
+    return promise.future();
+  }
+
+  private void processScheduled(String partitionKey, PendingBatch<K, V> batch) {
+    PendingBatch<K, V> batchToProcess;
+    lock.lock();
+    try {
+      batchToProcess = detach(partitionKey, batch);
+    } finally {
+      lock.unlock();
+    }
+    if (batchToProcess != null) {
+      process(partitionKey, batchToProcess);
+    }
+  }
+
+  private PendingBatch<K, V> detach(String partitionKey, PendingBatch<K, V> batch) {
+    if (pendingBatches.get(partitionKey) != batch) {
+      return null;
+    }
+    pendingBatches.remove(partitionKey);
+    vertx.cancelTimer(batch.timerId);
+    return batch;
+  }
+
+  private void process(String partitionKey, PendingBatch<K, V> batch) {
+    var start = System.currentTimeMillis();
+    var size = batch.records.size();
+    Future<Void> result;
+    try {
+      result = batchHandler.handleBatch(batch.records);
+    } catch (Exception e) {
+      result = Future.failedFuture(e);
+    }
+    result.onComplete(ar -> {
+      var latency = System.currentTimeMillis() - start;
+      batchSize.record(size);
+      batchLatency.record(latency);
+      LOGGER.debug("process:: Processed batch [partition: {}, size: {}, latency: {}ms, succeeded: {}]",
+        partitionKey, size, latency, ar.succeeded());
+      for (int i = 0; i < size; i++) {
+        if (ar.succeeded()) {
+          batch.promises.get(i).tryComplete(batch.records.get(i).key());
+        } else {
+          batch.promises.get(i).tryFail(ar.cause());
+        }
+      }
+    });
+  }
+
+  private static final class PendingBatch<K, V> {
+    private final List<KafkaConsumerRecord<K, V>> records = new ArrayList<>();
+    private final List<Promise<K>> promises = new ArrayList<>();
+    private long timerId;
+  }
+}
@@ -0,0 +1,70 @@
+package org.folio.verticle;
+
+import io.vertx.core.Future;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.folio.kafka.AsyncRecordHandler;
+
+/**
+ * Lag and processing latency of records handled by the instances of a consumer verticle since the last snapshot.
+ * <p>
+ * Lag of a record is the time between its kafka timestamp and the start of its processing, so it grows when
+ * the consumers fall behind the producers and drops back once they catch up.
+ */
+public class ConsumerLoadStats {
+
+  private final LongAccumulator maxLag = new LongAccumulator(Math::max, 0);
+  private final LongAdder records = new LongAdder();
+  private final LongAdder totalLatency = new LongAdder();
+
+  /**
+   * Wraps the handler, so that lag and latency of every handled record are recorded.
+   *
+   * @param handler handler to wrap
+   * @return handler that records load of the verticle
+   */
+  public <K, V> AsyncRecordHandler<K, V> wrap(AsyncRecordHandler<K, V> handler) {
+    return kafkaConsumerRecord -> {
+      var startTime = System.currentTimeMillis();
+      recordLag(kafkaConsumerRecord, startTime);
+      Future<K> result;
+      try {
+        result = handler.handle(kafkaConsumerRecord);
+      } catch (Exception e) {
+        result = Future.failedFuture(e);
+      }
+      return result.onComplete(ar -> {
+        records.increment();
+        totalLatency.add(System.currentTimeMillis() - startTime);
+      });
+    };
+  }
+
+  /**
+   * Returns load since the previous snapshot and starts a new measurement period.
+   *
+   * @return load snapshot
+   */
+  public Snapshot snapshot() {
+    var count = records.sumThenReset();
+    var latency = totalLatency.sumThenReset();
+    return new Snapshot(count, maxLag.getThenReset(), count == 0 ? 0 : latency / count);
+  }
+
+  private void recordLag(KafkaConsumerRecord<?, ?> kafkaConsumerRecord, long now) {
+    if (kafkaConsumerRecord.timestamp() > 0) {
+      maxLag.accumulate(now - kafkaConsumerRecord.timestamp());
+    }
+  }
+
+  /**
+   * Load of a consumer verticle within a measurement period.
+   *
+   * @param records       number of processed records
+   * @param maxLagMs      maximum lag of the records
+   * @param meanLatencyMs mean processing latency of the records
+   */
+  public record Snapshot(long records, long maxLagMs, long meanLatencyMs) {
+  }
+}
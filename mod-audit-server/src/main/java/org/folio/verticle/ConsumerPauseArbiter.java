@@ -0,0 +1,97 @@
+package org.folio.verticle;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.KafkaConsumerWrapper;
+
+/**
+ * Single owner of pausing and resuming the consumers of a verticle on behalf of several controllers.
+ * <p>
+ * Every controller pauses fetching with its own reason, the consumers are paused when the first reason is added
+ * and resumed only when the last reason is removed, so one controller can not resume consumers another one
+ * still needs paused. The consumers see a single pause and resume pair no matter how many controllers are involved,
+ * so the pause the consumer wrapper applies itself when its {@code loadLimit} is reached stays balanced.
+ */
+public class ConsumerPauseArbiter {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final String name;
+  private final Runnable pauseAction;
+  private final Runnable resumeAction;
+  private final Set<String> reasons = new HashSet<>();
+
+  /**
+   * @param name             name of the verticle used in logs
+   * @param consumerWrappers consumers of the verticle, may be filled after the arbiter is created
+   */
+  public ConsumerPauseArbiter(String name, Collection<? extends KafkaConsumerWrapper<?, ?>> consumerWrappers) {
+    this(name, () -> consumerWrappers.forEach(KafkaConsumerWrapper::pause),
+      () -> consumerWrappers.forEach(KafkaConsumerWrapper::resume));
+  }
+
+  /**
+   * @param name         name of the verticle used in logs
+   * @param pauseAction  pauses the consumers of the verticle
+   * @param resumeAction resumes the consumers of the verticle
+   */
+  public ConsumerPauseArbiter(String name, Runnable pauseAction, Runnable resumeAction) {
+    this.name = name;
+    this.pauseAction = pauseAction;
+    this.resumeAction = resumeAction;
+  }
+
+  /**
+   * Pauses the consumers unless they are already paused for another reason.
+   *
+   * @param reason reason of the pause
+   */
+  public void pause(String reason) {
+    boolean pause;
+    lock.lock();
+    try {
+      pause = reasons.isEmpty();
+      reasons.add(reason);
+    } finally {
+      lock.unlock();
+    }
+    if (pause) {
+      LOGGER.debug("pause:: Pausing consumers [verticle: {}, reason: {}]", name, reason);
+      pauseAction.run();
+    }
+  }
+
+  /**
+   * Removes the pause reason and resumes the consumers if no other reason is left.
+   *
+   * @param reason reason of the pause
+   */
+  public void resume(String reason) {
+    boolean resume;
+    lock.lock();
+    try {
+      resume = reasons.remove(reason) && reasons.isEmpty();
+    } finally {
+      lock.unlock();
+    }
+    if (resume) {
+      LOGGER.debug("resume:: Resuming consumers [verticle: {}, reason: {}]", name, reason);
+      resumeAction.run();
+    }
+  }
+
+  public boolean isPaused() {
+    lock.lock();
+    try {
+      return !reasons.isEmpty();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
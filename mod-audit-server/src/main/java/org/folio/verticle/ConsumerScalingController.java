@@ -0,0 +1,169 @@
+package org.folio.verticle;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.util.metrics.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deploys and undeploys extra instances of consumer verticles at runtime based on their lag and latency.
+ * <p>
+ * Every {@code audit.kafka.scaling.interval-ms} the controller compares the load of every registered verticle
+ * collected by {@link ConsumerLoadStats} since the previous check:
+ * <ul>
+ *   <li>one extra instance is deployed when the max lag is at least {@code audit.kafka.scaling.scale-up-lag-ms},
+ *   the mean latency is within {@code audit.kafka.scaling.max-latency-ms} and the verticle has less than
+ *   {@code audit.kafka.scaling.max-extra-instances} extra instances</li>
+ *   <li>the last extra instance is undeployed when the max lag drops to {@code audit.kafka.scaling.scale-down-lag-ms}
+ *   or the verticle processed no records</li>
+ * </ul>
+ * High latency means the database or other modules are already saturated, so more consumers would only add load.
+ * Extra instances join the consumer group of the verticle, so they take over partitions of the instances deployed
+ * on start and stay idle if the topics have fewer partitions than consumers.
+ */
+@Component
+public class ConsumerScalingController {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final Vertx vertx;
+  private final ApplicationContext applicationContext;
+  private final MetricsRegistry metricsRegistry;
+  private final boolean enabled;
+  private final long intervalMs;
+  private final int maxExtraInstances;
+  private final long scaleUpLagMs;
+  private final long scaleDownLagMs;
+  private final long maxLatencyMs;
+  private final Map<String, ConsumerLoadStats> stats = new ConcurrentHashMap<>();
+  private final Map<String, ScaledVerticle> verticles = new LinkedHashMap<>();
+  private final LongAdder scaleUps;
+  private final LongAdder scaleDowns;
+
+  @Autowired
+  public ConsumerScalingController(Vertx vertx, ApplicationContext applicationContext, MetricsRegistry metricsRegistry,
+                                   @Value("${audit.kafka.scaling.enabled:false}") boolean enabled,
+                                   @Value("${audit.kafka.scaling.interval-ms:30000}") long intervalMs,
+                                   @Value("${audit.kafka.scaling.max-extra-instances:2}") int maxExtraInstances,
+                                   @Value("${audit.kafka.scaling.scale-up-lag-ms:60000}") long scaleUpLagMs,
+                                   @Value("${audit.kafka.scaling.scale-down-lag-ms:5000}") long scaleDownLagMs,
+                                   @Value("${audit.kafka.scaling.max-latency-ms:2000}") long maxLatencyMs) {
+    this.vertx = vertx;
+    this.applicationContext = applicationContext;
+    this.metricsRegistry = metricsRegistry;
+    this.enabled = enabled;
+    this.intervalMs = intervalMs;
+    this.maxExtraInstances = maxExtraInstances;
+    this.scaleUpLagMs = scaleUpLagMs;
+    this.scaleDownLagMs = scaleDownLagMs;
+    this.maxLatencyMs = maxLatencyMs;
+    this.scaleUps = metricsRegistry.counter("scaling.scale-ups");
+    this.scaleDowns = metricsRegistry.counter("scaling.scale-downs");
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns load statistics shared by all instances of the verticle.
+   *
+   * @param verticleName simple class name of the verticle
+   * @return load statistics
+   */
+  public ConsumerLoadStats getStats(String verticleName) {
+    return stats.computeIfAbsent(verticleName, name -> new ConsumerLoadStats());
+  }
+
+  /**
+   * Registers verticle deployed on start, so that extra instances of it can be deployed with the same options.
+   *
+   * @param verticleClass     verticle class
+   * @param deploymentOptions options the verticle was deployed with
+   */
+  public <T extends AbstractConsumersVerticle> void register(Class<T> verticleClass,
+                                                             DeploymentOptions deploymentOptions) {
+    var options = new DeploymentOptions(deploymentOptions).setInstances(1);
+    register(verticleClass.getSimpleName(),
+      () -> vertx.deployVerticle(applicationContext.getAutowireCapableBeanFactory().createBean(verticleClass), options));
+  }
+
+  void register(String verticleName, Supplier<Future<String>> deployer) {
+    var scaledVerticle = new ScaledVerticle(verticleName, deployer, getStats(verticleName));
+    verticles.put(verticleName, scaledVerticle);
+    metricsRegistry.gauge("scaling." + verticleName + ".extra-instances", scaledVerticle.extraDeployments::size);
+  }
+
+  /**
+   * Starts periodic checks of the registered verticles.
+   */
+  public void start() {
+    LOGGER.info("start:: Starting consumer scaling [verticles: {}, intervalMs: {}, maxExtraInstances: {}, "
+        + "scaleUpLagMs: {}, scaleDownLagMs: {}, maxLatencyMs: {}]", verticles.keySet(), intervalMs, maxExtraInstances,
+      scaleUpLagMs, scaleDownLagMs, maxLatencyMs);
+    vertx.setPeriodic(intervalMs, id -> evaluate());
+  }
+
+  void evaluate() {
+    verticles.values().forEach(this::evaluate);
+  }
+
+  private void evaluate(ScaledVerticle verticle) {
+    var snapshot = verticle.stats.snapshot();
+    if (verticle.busy) {
+      return;
+    }
+    var extraInstances = verticle.extraDeployments.size();
+    if (snapshot.maxLagMs() >= scaleUpLagMs && snapshot.meanLatencyMs() <= maxLatencyMs
+      && extraInstances < maxExtraInstances) {
+      LOGGER.info("evaluate:: Deploying extra instance of {} [maxLagMs: {}, meanLatencyMs: {}, extraInstances: {}]",
+        verticle.name, snapshot.maxLagMs(), snapshot.meanLatencyMs(), extraInstances);
+      verticle.busy = true;
+      verticle.deployer.get()
+        .onSuccess(deploymentId -> {
+          verticle.extraDeployments.push(deploymentId);
+          scaleUps.increment();
+        })
+        .onFailure(e -> LOGGER.warn("evaluate:: Failed to deploy extra instance of {}", verticle.name, e))
+        .onComplete(ar -> verticle.busy = false);
+    } else if (extraInstances > 0 && (snapshot.records() == 0 || snapshot.maxLagMs() <= scaleDownLagMs)) {
+      LOGGER.info("evaluate:: Undeploying extra instance of {} [records: {}, maxLagMs: {}, extraInstances: {}]",
+        verticle.name, snapshot.records(), snapshot.maxLagMs(), extraInstances);
+      verticle.busy = true;
+      var deploymentId = verticle.extraDeployments.pop();
+      vertx.undeploy(deploymentId)
+        .onSuccess(v -> scaleDowns.increment())
+        .onFailure(e -> LOGGER.warn("evaluate:: Failed to undeploy extra instance of {} [deploymentId: {}]",
+          verticle.name, deploymentId, e))
+        .onComplete(ar -> verticle.busy = false);
+    }
+  }
+
+  private static final class ScaledVerticle {
+
+    private final String name;
+    private final Supplier<Future<String>> deployer;
+    private final ConsumerLoadStats stats;
+    private final Deque<String> extraDeployments = new ArrayDeque<>();
+    private boolean busy;
+
+    private ScaledVerticle(String name, Supplier<Future<String>> deployer, ConsumerLoadStats stats) {
+      this.name = name;
+      this.deployer = deployer;
+      this.stats = stats;
+    }
+  }
+}
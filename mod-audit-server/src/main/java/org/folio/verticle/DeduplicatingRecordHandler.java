@@ -0,0 +1,111 @@
+package org.folio.verticle;
+
+import io.vertx.core.Future;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.okapi.common.XOkapiHeaders;
+import org.folio.services.dedup.RecentEventIdFilter;
+import org.folio.util.KafkaUtils;
+
+/**
+ * Skips records of events that were processed recently before they are decoded.
+ * <p>
+ * The event id is read from a top level field of the record value without decoding the whole payload and
+ * the tenant from the {@code x-okapi-tenant} header. Records without a tenant or a valid event id are always
+ * passed to the delegate. An event is remembered only after its record was processed successfully,
+ * so failed records are not skipped when they are redelivered.
+ */
+public class DeduplicatingRecordHandler implements AsyncRecordHandler<String, String>, BatchRecordHandler<String, String> {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final AsyncRecordHandler<String, String> delegate;
+  private final BatchRecordHandler<String, String> batchDelegate;
+  private final RecentEventIdFilter filter;
+  private final String eventIdField;
+
+  private DeduplicatingRecordHandler(AsyncRecordHandler<String, String> delegate,
+                                     BatchRecordHandler<String, String> batchDelegate,
+                                     RecentEventIdFilter filter, String eventIdField) {
+    this.delegate = delegate;
+    this.batchDelegate = batchDelegate;
+    this.filter = filter;
+    this.eventIdField = eventIdField;
+  }
+
+  public static DeduplicatingRecordHandler of(AsyncRecordHandler<String, String> delegate,
+                                              RecentEventIdFilter filter, String eventIdField) {
+    return new DeduplicatingRecordHandler(delegate, null, filter, eventIdField);
+  }
+
+  public static DeduplicatingRecordHandler ofBatch(BatchRecordHandler<String, String> batchDelegate,
+                                                   RecentEventIdFilter filter, String eventIdField) {
+    return new DeduplicatingRecordHandler(null, batchDelegate, filter, eventIdField);
+  }
+
+  @Override
+  public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    var key = EventKey.of(kafkaConsumerRecord, eventIdField);
+    if (key == null) {
+      return delegate.handle(kafkaConsumerRecord);
+    }
+    if (filter.isProcessed(key.tenantId(), key.eventId())) {
+      LOGGER.debug("handle:: Skipping recently processed event [tenantId: {}, eventId: {}]",
+        key.tenantId(), key.eventId());
+      return Future.succeededFuture(kafkaConsumerRecord.key());
+    }
+    return delegate.handle(kafkaConsumerRecord)
+      .onComplete(ar -> {
+        if (ar.succeeded()) {
+          filter.markProcessed(key.tenantId(), key.eventId());
+        }
+      });
+  }
+
+  @Override
+  public Future<Void> handleBatch(List<KafkaConsumerRecord<String, String>> records) {
+    var pending = new ArrayList<KafkaConsumerRecord<String, String>>(records.size());
+    var keys = new ArrayList<EventKey>(records.size());
+    for (var kafkaConsumerRecord : records) {
+      var key = EventKey.of(kafkaConsumerRecord, eventIdField);
+      if (key == null || !filter.isProcessed(key.tenantId(), key.eventId())) {
+        pending.add(kafkaConsumerRecord);
+        keys.add(key);
+      }
+    }
+    if (pending.isEmpty()) {
+      LOGGER.debug("handleBatch:: Skipping batch of recently processed events [size: {}]", records.size());
+      return Future.succeededFuture();
+    }
+    return batchDelegate.handleBatch(pending)
+      .onSuccess(v -> keys.forEach(key -> {
+        if (key != null) {
+          filter.markProcessed(key.tenantId(), key.eventId());
+        }
+      }));
+  }
+
+  private record EventKey(String tenantId, UUID eventId) {
+
+    static EventKey of(KafkaConsumerRecord<String, String> kafkaConsumerRecord, String eventIdField) {
+      var tenantId = KafkaUtils.getHeaderValue(kafkaConsumerRecord, XOkapiHeaders.TENANT);
+      if (tenantId == null) {
+        return null;
+      }
+      var eventId = KafkaUtils.scanField(kafkaConsumerRecord.value(), eventIdField);
+      if (eventId == null) {
+        return null;
+      }
+      try {
+        return new EventKey(tenantId, UUID.fromString(eventId));
+      } catch (IllegalArgumentException e) {
+        return null;
+      }
+    }
+  }
+}
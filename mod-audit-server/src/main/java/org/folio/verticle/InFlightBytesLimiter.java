@@ -0,0 +1,137 @@
+package org.folio.verticle;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.util.metrics.Summary;
+
+/**
+ * Limits estimated payload bytes of records processed concurrently by a consumer verticle.
+ * <p>
+ * A task is started when its size fits into {@code maxBytes}, a single task larger than the budget is started
+ * only when nothing else is in flight. When the budget is exhausted {@code onExhausted} is invoked, e.g. to pause
+ * fetching, and {@code onAvailable} is invoked once in-flight bytes drop below half of the budget.
+ */
+public class InFlightBytesLimiter {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final String name;
+  private final long maxBytes;
+  private final Runnable onExhausted;
+  private final Runnable onAvailable;
+  private final Queue<PendingTask<?>> waiting = new ArrayDeque<>();
+  private final Summary recordBytes;
+
+  private long inFlightBytes;
+  private boolean exhausted;
+
+  public InFlightBytesLimiter(String name, long maxBytes, Runnable onExhausted, Runnable onAvailable,
+                              MetricsRegistry metricsRegistry) {
+    this.name = name;
+    this.maxBytes = maxBytes;
+    this.onExhausted = onExhausted;
+    this.onAvailable = onAvailable;
+    this.recordBytes = metricsRegistry.summary("kafka." + name + ".record-bytes");
+    metricsRegistry.gauge("kafka." + name + ".in-flight-bytes", this::getInFlightBytes);
+  }
+
+  /**
+   * Executes the task once its estimated size fits into the budget.
+   *
+   * @param bytes estimated size of the task payload
+   * @param task  task to execute
+   * @return future with the task result
+   */
+  public <T> Future<T> execute(long bytes, Supplier<Future<T>> task) {
+    recordBytes.record(bytes);
+    var pendingTask = new PendingTask<>(bytes, task, Promise.<T>promise());
+    boolean admitted;
+    boolean pause = false;
+    lock.lock();
+    try {
+      admitted = waiting.isEmpty() && fits(bytes);
+      if (admitted) {
+        inFlightBytes += bytes;
+      } else {
+        waiting.add(pendingTask);
+      }
+      if (!exhausted && (!admitted || inFlightBytes >= maxBytes)) {
+        exhausted = true;
+        pause = true;
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (pause) {
+      LOGGER.info("execute:: In-flight bytes budget exhausted, pausing fetching [verticle: {}, inFlightBytes: {}, maxBytes: {}]",
+        name, getInFlightBytes(), maxBytes);
+      onExhausted.run();
+    }
+    if (admitted) {
+      run(pendingTask);
+    }
+    return pendingTask.promise.future();
+  }
+
+  public long getInFlightBytes() {
+    lock.lock();
+    try {
+      return inFlightBytes;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private boolean fits(long bytes) {
+    return inFlightBytes == 0 || inFlightBytes + bytes <= maxBytes;
+  }
+
+  private <T> void run(PendingTask<T> pendingTask) {
+    Future<T> result;
+    try {
+      result = pendingTask.task.get();
+    } catch (Exception e) {
+      result = Future.failedFuture(e);
+    }
+    result.onComplete(ar -> {
+      release(pendingTask.bytes);
+      pendingTask.promise.handle(ar);
+    });
+  }
+
+  private void release(long bytes) {
+    var admitted = new ArrayDeque<PendingTask<?>>();
+    boolean resume = false;
+    lock.lock();
+    try {
+      inFlightBytes -= bytes;
+      while (!waiting.isEmpty() && fits(waiting.peek().bytes)) {
+        var next = waiting.poll();
+        inFlightBytes += next.bytes;
+        admitted.add(next);
+      }
+      if (exhausted && waiting.isEmpty() && inFlightBytes < maxBytes / 2) {
+        exhausted = false;
+        resume = true;
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (resume) {
+      LOGGER.info("release:: In-flight bytes dropped below half of the budget, resuming fetching [verticle: {}]", name);
+      onAvailable.run();
+    }
+    admitted.forEach(this::run);
+  }
+
+  private record PendingTask<T>(long bytes, Supplier<Future<T>> task, Promise<T> promise) { }
+}
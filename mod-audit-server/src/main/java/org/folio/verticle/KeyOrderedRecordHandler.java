@@ -0,0 +1,103 @@
+package org.folio.verticle;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.util.metrics.MetricsRegistry;
+
+/**
+ * Dispatches records of a partition concurrently while keeping strict order for records with the same key.
+ * <p>
+ * A record starts processing as soon as the previous record with the same key is completed, records with
+ * different keys are processed in parallel. The returned future of a record is completed only after all
+ * previous records of the same partition are completed, so the consumer wrapper commits offsets only up to
+ * the lowest fully processed position. Records without key are not ordered against each other.
+ */
+public class KeyOrderedRecordHandler<K, V> implements AsyncRecordHandler<K, V> {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final AsyncRecordHandler<K, V> delegate;
+  private final Map<K, Future<K>> keyTails = new HashMap<>();
+  private final Map<String, Future<K>> partitionTails = new HashMap<>();
+  private final LongAdder deferredRecords;
+
+  public KeyOrderedRecordHandler(AsyncRecordHandler<K, V> delegate, MetricsRegistry metricsRegistry, String metricsPrefix) {
+    this.delegate = delegate;
+    this.deferredRecords = metricsRegistry.counter(metricsPrefix + ".key-ordered.deferred");
+    metricsRegistry.gauge(metricsPrefix + ".key-ordered.keys-in-flight", this::keysInFlight);
+  }
+
+  @Override
+  public Future<K> handle(KafkaConsumerRecord<K, V> kafkaConsumerRecord) {
+    var key = kafkaConsumerRecord.key();
+    var partitionKey = kafkaConsumerRecord.topic() + "-" + kafkaConsumerRecord.partition();
+    var processing = Promise.<K>promise();
+    Future<K> previousForKey;
+    Future<K> completion;
+    lock.lock();
+    try {
+      previousForKey = key == null ? null : keyTails.get(key);
+      if (key != null) {
+        keyTails.put(key, processing.future());
+      }
+      var previousForPartition = partitionTails.get(partitionKey);
+      completion = previousForPartition == null
+                   ? processing.future()
+                   : previousForPartition.transform(ar -> processing.future());
+      partitionTails.put(partitionKey, completion);
+    } finally {
+      lock.unlock();
+    }
+
+    processing.future().onComplete(ar -> release(keyTails, key, processing.future()));
+    completion.onComplete(ar -> release(partitionTails, partitionKey, completion));
+
+    if (previousForKey == null) {
+      handleSafely(kafkaConsumerRecord).onComplete(processing);
+    } else {
+      LOGGER.debug("handle:: Deferring record until previous record with the same key is processed [key: {}, offset: {}]",
+        key, kafkaConsumerRecord.offset());
+      deferredRecords.increment();
+      previousForKey.onComplete(ar -> handleSafely(kafkaConsumerRecord).onComplete(processing));
+    }
+    return completion;
+  }
+
+  private Future<K> handleSafely(KafkaConsumerRecord<K, V> kafkaConsumerRecord) {
+    try {
+      return delegate.handle(kafkaConsumerRecord);
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+
+  private <T> void release(Map<T, Future<K>> tails, T key, Future<K> future) {
+    lock.lock();
+    try {
+      if (key != null && tails.get(key) == future) {
+        tails.remove(key);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private int keysInFlight() {
+    lock.lock();
+    try {
+      return keyTails.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
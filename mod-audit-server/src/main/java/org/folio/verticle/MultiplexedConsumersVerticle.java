@@ -0,0 +1,176 @@
+package org.folio.verticle;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.kafka.client.consumer.KafkaConsumer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.kafka.KafkaConfig;
+import org.folio.processing.events.utils.PomReaderUtil;
+import org.folio.rest.tools.utils.ModuleName;
+import org.folio.services.diff.DiffExecutor;
+import org.folio.util.KafkaUtils;
+import org.folio.util.PropertyUtils;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.verticle.MultiplexedKafkaConsumer.TopicQuota;
+import org.folio.verticle.TopicRoutingRecordHandler.TopicRoute;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumer verticle that consumes the events of all consumer verticles with a single kafka consumer,
+ * so the module runs one consumer group member, fetch thread and broker connection instead of one per event.
+ * <p>
+ * The consumer subscribes to the topics of all events in its own consumer group and routes records to the handlers
+ * of their events with {@link TopicRoutingRecordHandler}. Every event is limited by its concurrency quota, configured
+ * with {@code audit.kafka.consumer.multiplexed.topic-quotas} as comma separated {@code event:quota} pairs, events
+ * without explicit quota use {@code audit.kafka.consumer.multiplexed.default-quota}. When records of a topic reach
+ * the quota of its event only the partitions of that topic are paused, so a busy event does not take processing
+ * slots of other events. When records are scheduled between tenants, the quotas of the events of a verticle make up
+ * the processing slots of its scheduler lane and every quota is raised by the records that may wait in the lane.
+ * Events of verticles that are not enabled are not consumed. The consumer group differs from the groups of the
+ * separate consumer verticles, so the committed offsets of those groups are not taken over.
+ */
+@Component
+public class MultiplexedConsumersVerticle extends AbstractVerticle {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+  private static final String IN_FLIGHT_BYTES_PAUSE_REASON = "in-flight-bytes";
+  private static final String DIFF_QUEUE_PAUSE_REASON = "diff-queue";
+
+  @Autowired
+  private List<AbstractConsumersVerticle> consumersVerticles;
+
+  @Autowired
+  private ApplicationContext applicationContext;
+
+  @Autowired
+  private KafkaConfig kafkaConfig;
+
+  @Autowired
+  private MetricsRegistry metricsRegistry;
+
+  @Autowired
+  private DiffExecutor diffExecutor;
+
+  @Value("${audit.kafka.consumer.multiplexed.default-quota:5}")
+  private int defaultQuota;
+
+  @Value("${audit.kafka.consumer.multiplexed.topic-quotas:}")
+  private String topicQuotas;
+
+  @Value("${audit.kafka.max-in-flight-bytes:0}")
+  private long maxInFlightBytes;
+
+  private final List<AbstractConsumersVerticle> verticles = new ArrayList<>();
+
+  private MultiplexedKafkaConsumer consumer;
+
+  private ConsumerPauseArbiter pauseArbiter;
+
+  @Override
+  public void start(Promise<Void> startPromise) {
+    LOGGER.info("start:: Starting {} verticle", getClass().getSimpleName());
+    var quotas = PropertyUtils.parseQuotas(topicQuotas);
+    var inFlightBytesLimiter = createInFlightBytesLimiter();
+    var processingLimit = 0;
+    List<TopicRoute> routes = new ArrayList<>();
+    List<TopicQuota> routeQuotas = new ArrayList<>();
+    for (var verticleBean : consumersVerticles) {
+      if (!verticleBean.isEnabled()) {
+        continue;
+      }
+      var verticle = createVerticle(verticleBean.getClass());
+      verticles.add(verticle);
+      var schedulingLimit = verticle.getEvents().stream()
+        .mapToInt(event -> quotas.getOrDefault(event, defaultQuota))
+        .sum();
+      processingLimit += schedulingLimit;
+      for (var route : verticle.resolveTopicRoutes(schedulingLimit)) {
+        var quota = quotas.getOrDefault(route.name(), defaultQuota) + verticle.getSchedulerQueueLimit();
+        LOGGER.info("start:: Consuming event within multiplexed verticle [event: {}, verticle: {}, quota: {}]",
+          route.name(), verticle.getClass().getSimpleName(), quota);
+        routes.add(route);
+        routeQuotas.add(new TopicQuota(route.pattern(), quota));
+      }
+    }
+    var handler = resolveHandler(new TopicRoutingRecordHandler(routes), inFlightBytesLimiter);
+    consumer = new MultiplexedKafkaConsumer(context, KafkaConsumer.create(vertx, consumerProps()), handler,
+      routeQuotas);
+    pauseArbiter = new ConsumerPauseArbiter(getClass().getSimpleName(), consumer::pause, consumer::resume);
+    if (diffExecutor.isEnabled()) {
+      diffExecutor.registerBackpressure(context, processingLimit,
+        () -> pauseArbiter.pause(DIFF_QUEUE_PAUSE_REASON), () -> pauseArbiter.resume(DIFF_QUEUE_PAUSE_REASON));
+    }
+
+    consumer.start()
+      .onFailure(e -> LOGGER.warn("start:: Multiplexed consumer was not subscribed", e))
+      .onComplete(ar -> startPromise.complete());
+  }
+
+  @Override
+  public void stop(Promise<Void> stopPromise) {
+    LOGGER.info("stop:: Stopping {} verticle", getClass().getSimpleName());
+    diffExecutor.unregisterBackpressure(context);
+    var consumerStopped = consumer == null ? Future.<Void>succeededFuture() : consumer.stop();
+    consumerStopped
+      .transform(ar -> Future.all(verticles.stream().map(this::stopVerticle).toList()))
+      .onComplete(ar -> stopPromise.complete());
+  }
+
+  private Map<String, String> consumerProps() {
+    var props = new HashMap<>(kafkaConfig.getConsumerProps());
+    props.put(ConsumerConfig.GROUP_ID_CONFIG, constructModuleName() + "_" + getClass().getSimpleName());
+    props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+    return props;
+  }
+
+  /**
+   * Creates own instance of the consumer verticle, so the singleton verticle beans are not initialized with
+   * the vertx instance and context of this verticle.
+   */
+  private AbstractConsumersVerticle createVerticle(Class<? extends AbstractConsumersVerticle> verticleClass) {
+    AbstractConsumersVerticle verticle = applicationContext.getAutowireCapableBeanFactory().createBean(verticleClass);
+    verticle.init(vertx, context);
+    return verticle;
+  }
+
+  private Future<Void> stopVerticle(AbstractConsumersVerticle verticle) {
+    Promise<Void> promise = Promise.promise();
+    verticle.stop(promise);
+    return promise.future()
+      .onComplete(ar -> applicationContext.getAutowireCapableBeanFactory().destroyBean(verticle));
+  }
+
+  private InFlightBytesLimiter createInFlightBytesLimiter() {
+    if (maxInFlightBytes <= 0) {
+      return null;
+    }
+    return new InFlightBytesLimiter(getClass().getSimpleName(), maxInFlightBytes,
+      () -> pauseArbiter.pause(IN_FLIGHT_BYTES_PAUSE_REASON), () -> pauseArbiter.resume(IN_FLIGHT_BYTES_PAUSE_REASON),
+      metricsRegistry);
+  }
+
+  private AsyncRecordHandler<String, String> resolveHandler(AsyncRecordHandler<String, String> handler,
+                                                            InFlightBytesLimiter inFlightBytesLimiter) {
+    if (inFlightBytesLimiter == null) {
+      return handler;
+    }
+    return kafkaConsumerRecord -> inFlightBytesLimiter.execute(KafkaUtils.estimatePayloadSize(kafkaConsumerRecord),
+      () -> handler.handle(kafkaConsumerRecord));
+  }
+
+  private String constructModuleName() {
+    return PomReaderUtil.INSTANCE.constructModuleVersionAndVersion(ModuleName.getModuleName(),
+      ModuleName.getModuleVersion());
+  }
+}
@@ -0,0 +1,251 @@
+package org.folio.verticle;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toSet;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.kafka.client.common.TopicPartition;
+import io.vertx.kafka.client.consumer.KafkaConsumer;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.consumer.OffsetAndMetadata;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.AsyncRecordHandler;
+
+/**
+ * Single kafka consumer subscribed to the topics of several events, so records of all events share one consumer
+ * group member, fetch thread and broker connection.
+ * <p>
+ * Every topic is limited by the quota of the first event whose subscription pattern matches the topic, when records
+ * of a topic in processing reach its quota the assigned partitions of the topic are paused and resumed once
+ * processing of the records catches up, so a busy event does not stop fetching of other events. The whole consumer
+ * is paused with {@link #pause()} regardless of the quotas.
+ * <p>
+ * Offsets are committed per partition up to the lowest record still in processing, records that failed processing
+ * are committed as well. State of the consumer is confined to the context it was created on.
+ */
+public class MultiplexedKafkaConsumer {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final Context context;
+  private final KafkaConsumer<String, String> consumer;
+  private final AsyncRecordHandler<String, String> handler;
+  private final List<TopicQuota> topicQuotas;
+  private final Map<String, TopicState> topics = new HashMap<>();
+  private final Map<TopicPartition, PartitionOffsets> partitions = new HashMap<>();
+  private final Set<TopicPartition> assigned = new HashSet<>();
+  private boolean paused;
+
+  /**
+   * @param context     context the records are consumed and handled on
+   * @param consumer    kafka consumer created on the context with auto commit disabled
+   * @param handler     handler of the records of all topics
+   * @param topicQuotas subscription patterns of the events and their quotas, the consumer subscribes to all of them
+   */
+  public MultiplexedKafkaConsumer(Context context, KafkaConsumer<String, String> consumer,
+                                  AsyncRecordHandler<String, String> handler, List<TopicQuota> topicQuotas) {
+    this.context = context;
+    this.consumer = consumer;
+    this.handler = handler;
+    this.topicQuotas = List.copyOf(topicQuotas);
+  }
+
+  public Future<Void> start() {
+    var pattern = subscriptionPattern(topicQuotas);
+    LOGGER.info("start:: Subscribing multiplexed consumer [pattern: {}]", pattern);
+    consumer.handler(this::handle);
+    consumer.partitionsAssignedHandler(this::onPartitionsAssigned);
+    consumer.partitionsRevokedHandler(this::onPartitionsRevoked);
+    consumer.exceptionHandler(e -> LOGGER.warn("start:: Error while consuming records", e));
+    return consumer.subscribe(pattern);
+  }
+
+  public Future<Void> stop() {
+    return consumer.close();
+  }
+
+  /**
+   * Pauses all assigned partitions, may be called from any thread.
+   */
+  public void pause() {
+    context.runOnContext(v -> {
+      if (!paused) {
+        paused = true;
+        pausePartitions(assigned);
+      }
+    });
+  }
+
+  /**
+   * Resumes all assigned partitions except the ones of the topics that reached their quota, may be called from
+   * any thread.
+   */
+  public void resume() {
+    context.runOnContext(v -> {
+      if (paused) {
+        paused = false;
+        resumePartitions(partitionsOf(topic -> !topicState(topic).paused));
+      }
+    });
+  }
+
+  static Pattern subscriptionPattern(List<TopicQuota> topicQuotas) {
+    return Pattern.compile(topicQuotas.stream()
+      .map(topicQuota -> "(?:" + topicQuota.pattern().pattern() + ")")
+      .collect(joining("|")));
+  }
+
+  private void handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    var topic = topicState(kafkaConsumerRecord.topic());
+    var partition = new TopicPartition(kafkaConsumerRecord.topic(), kafkaConsumerRecord.partition());
+    var offsets = partitions.computeIfAbsent(partition, p -> new PartitionOffsets());
+    offsets.received(kafkaConsumerRecord.offset());
+    if (++topic.inFlight >= topic.quota && !topic.paused) {
+      LOGGER.debug("handle:: Pausing topic that reached its quota [topic: {}, quota: {}]",
+        kafkaConsumerRecord.topic(), topic.quota);
+      topic.paused = true;
+      if (!paused) {
+        pausePartitions(partitionsOf(kafkaConsumerRecord.topic()::equals));
+      }
+    }
+    Future<String> result;
+    try {
+      result = handler.handle(kafkaConsumerRecord);
+    } catch (Exception e) {
+      result = Future.failedFuture(e);
+    }
+    result.onComplete(ar ->
+      context.runOnContext(v -> onCompleted(kafkaConsumerRecord, partition, offsets, topic, ar)));
+  }
+
+  private void onCompleted(KafkaConsumerRecord<String, String> kafkaConsumerRecord, TopicPartition partition,
+                           PartitionOffsets offsets, TopicState topic, AsyncResult<String> ar) {
+    if (ar.failed()) {
+      LOGGER.warn("onCompleted:: Error while processing record, committing its offset "
+          + "[topic: {}, partition: {}, offset: {}]", kafkaConsumerRecord.topic(), kafkaConsumerRecord.partition(),
+        kafkaConsumerRecord.offset(), ar.cause());
+    }
+    offsets.completed(kafkaConsumerRecord.offset());
+    if (--topic.inFlight < topic.quota && topic.paused) {
+      LOGGER.debug("onCompleted:: Resuming topic [topic: {}, quota: {}]", kafkaConsumerRecord.topic(), topic.quota);
+      topic.paused = false;
+      if (!paused) {
+        resumePartitions(partitionsOf(kafkaConsumerRecord.topic()::equals));
+      }
+    }
+    if (partitions.get(partition) == offsets) {
+      commit(partition, offsets);
+    }
+  }
+
+  private void commit(TopicPartition partition, PartitionOffsets offsets) {
+    var offset = offsets.committable();
+    if (offset <= offsets.committed) {
+      return;
+    }
+    offsets.committed = offset;
+    consumer.commit(Map.of(partition, new OffsetAndMetadata(offset, null)))
+      .onFailure(e -> LOGGER.warn("commit:: Error while committing offset [topic: {}, partition: {}, offset: {}]",
+        partition.getTopic(), partition.getPartition(), offset, e));
+  }
+
+  private void onPartitionsAssigned(Set<TopicPartition> topicPartitions) {
+    LOGGER.info("onPartitionsAssigned:: Partitions assigned [partitions: {}]", topicPartitions);
+    assigned.addAll(topicPartitions);
+    pausePartitions(topicPartitions.stream()
+      .filter(partition -> paused || topicState(partition.getTopic()).paused)
+      .collect(toSet()));
+  }
+
+  private void onPartitionsRevoked(Set<TopicPartition> topicPartitions) {
+    LOGGER.info("onPartitionsRevoked:: Partitions revoked [partitions: {}]", topicPartitions);
+    assigned.removeAll(topicPartitions);
+    topicPartitions.forEach(partitions::remove);
+  }
+
+  private TopicState topicState(String topic) {
+    return topics.computeIfAbsent(topic, t -> new TopicState(topicQuotas.stream()
+      .filter(topicQuota -> topicQuota.pattern().matcher(t).matches())
+      .mapToInt(TopicQuota::quota)
+      .findFirst()
+      .orElse(Integer.MAX_VALUE)));
+  }
+
+  private Set<TopicPartition> partitionsOf(Predicate<String> topicFilter) {
+    return assigned.stream()
+      .filter(partition -> topicFilter.test(partition.getTopic()))
+      .collect(toSet());
+  }
+
+  private void pausePartitions(Set<TopicPartition> topicPartitions) {
+    if (!topicPartitions.isEmpty()) {
+      consumer.pause(Set.copyOf(topicPartitions))
+        .onFailure(e -> LOGGER.warn("pausePartitions:: Error while pausing partitions [partitions: {}]",
+          topicPartitions, e));
+    }
+  }
+
+  private void resumePartitions(Set<TopicPartition> topicPartitions) {
+    if (!topicPartitions.isEmpty()) {
+      consumer.resume(Set.copyOf(topicPartitions))
+        .onFailure(e -> LOGGER.warn("resumePartitions:: Error while resuming partitions [partitions: {}]",
+          topicPartitions, e));
+    }
+  }
+
+  /**
+   * Subscription pattern of an event and the number of its records processed at once.
+   *
+   * @param pattern subscription pattern of the event topics
+   * @param quota   records of a topic processed at once before its partitions are paused
+   */
+  public record TopicQuota(Pattern pattern, int quota) { }
+
+  private static final class TopicState {
+
+    private final int quota;
+    private int inFlight;
+    private boolean paused;
+
+    private TopicState(int quota) {
+      this.quota = quota;
+    }
+  }
+
+  private static final class PartitionOffsets {
+
+    private final TreeSet<Long> pending = new TreeSet<>();
+    private long highest = -1;
+    private long committed = -1;
+
+    private void received(long offset) {
+      if (highest < 0) {
+        committed = offset;
+      }
+      pending.add(offset);
+      highest = Math.max(highest, offset);
+    }
+
+    private void completed(long offset) {
+      pending.remove(offset);
+    }
+
+    /**
+     * Offset of the next record to consume after a restart, all records before it are processed.
+     */
+    private long committable() {
+      return pending.isEmpty() ? highest + 1 : pending.first();
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package org.folio.verticle;
+
+import io.vertx.core.Future;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.services.retry.FailedEventPublisher;
+
+/**
+ * Moves records that failed processing to the retry topics instead of failing them in place, so a single poison
+ * record does not block its partition.
+ * <p>
+ * A record is failed in place only when it could not be published, e.g. when kafka is not available.
+ */
+public class RetryingRecordHandler implements AsyncRecordHandler<String, String> {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final AsyncRecordHandler<String, String> delegate;
+  private final FailedEventPublisher failedEventPublisher;
+
+  public RetryingRecordHandler(AsyncRecordHandler<String, String> delegate, FailedEventPublisher failedEventPublisher) {
+    this.delegate = delegate;
+    this.failedEventPublisher = failedEventPublisher;
+  }
+
+  @Override
+  public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    return handleSafely(kafkaConsumerRecord)
+      .recover(e -> {
+        LOGGER.warn("handle:: Processing of record failed, moving it to retry topic [topic: {}, key: {}]",
+          kafkaConsumerRecord.topic(), kafkaConsumerRecord.key(), e);
+        return failedEventPublisher.publish(kafkaConsumerRecord, e)
+          .map(kafkaConsumerRecord.key())
+          .recover(publishError -> Future.failedFuture(e));
+      });
+  }
+
+  private Future<String> handleSafely(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    try {
+      return delegate.handle(kafkaConsumerRecord);
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+  }
+}
@@ -0,0 +1,339 @@
+package org.folio.verticle;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.util.PropertyUtils;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.util.metrics.Summary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Weighted fair scheduler of records processed by the consumer verticles, shared between tenants.
+ * <p>
+ * Every verticle schedules its records in its own lane, so a busy verticle does not take processing slots of
+ * other verticles. A lane processes at most as many records at once as the consumers of the verticle would process
+ * without scheduling. Records above that wait in per-tenant queues, and a released slot goes to the waiting tenant
+ * that has received the least service relative to its weight (stride scheduling), preferring tenants that hold
+ * less than their weighted share of the slots and, on a tie, the tenant waiting longer. A tenant that was idle
+ * does not accumulate credit, it starts from the current virtual time.
+ * <p>
+ * Waiting records do not take processing slots: the load limit of the consumers of a scheduled verticle is raised
+ * by {@code audit.kafka.fair-scheduling.max-queued}, so up to that many records per verticle can wait in the lane
+ * while the processing slots are handed out. The scheduler can only reorder records that were already fetched,
+ * consumers still fetch their partitions in order. Tenants are therefore served fairly within that window of
+ * fetched records, and when one tenant fills the whole window the consumers pause until its records are processed.
+ * <p>
+ * Weights are set with {@code audit.kafka.fair-scheduling.tenant-weights} as comma separated {@code tenant:weight}
+ * pairs, tenants without explicit weight have weight 1. Records per second of a tenant can be capped with
+ * {@code audit.kafka.fair-scheduling.tenant-rate-limits} in the same format, the cap applies within every lane.
+ * Queueing delay of every tenant is recorded to the {@code fair-scheduler.<tenant>.wait-ms} summary.
+ */
+@Component
+public class TenantFairScheduler {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final long STRIDE = 1_000_000L;
+  private static final String UNKNOWN_TENANT = "unknown";
+
+  private final Vertx vertx;
+  private final MetricsRegistry metricsRegistry;
+  private final boolean enabled;
+  private final int maxQueued;
+  private final Map<String, Integer> weights;
+  private final Map<String, Integer> rateLimits;
+
+  @Autowired
+  public TenantFairScheduler(Vertx vertx, MetricsRegistry metricsRegistry,
+                             @Value("${audit.kafka.fair-scheduling.enabled:false}") boolean enabled,
+                             @Value("${audit.kafka.fair-scheduling.max-queued:100}") int maxQueued,
+                             @Value("${audit.kafka.fair-scheduling.tenant-weights:}") String weights,
+                             @Value("${audit.kafka.fair-scheduling.tenant-rate-limits:}") String rateLimits) {
+    this(vertx, metricsRegistry, enabled, maxQueued, PropertyUtils.parseQuotas(weights),
+      PropertyUtils.parseQuotas(rateLimits));
+  }
+
+  TenantFairScheduler(Vertx vertx, MetricsRegistry metricsRegistry, boolean enabled, int maxQueued,
+                      Map<String, Integer> weights, Map<String, Integer> rateLimits) {
+    this.vertx = vertx;
+    this.metricsRegistry = metricsRegistry;
+    this.enabled = enabled;
+    this.maxQueued = Math.max(0, maxQueued);
+    this.weights = weights;
+    this.rateLimits = rateLimits;
+    if (enabled) {
+      LOGGER.info("TenantFairScheduler:: Using tenant fair scheduling [maxQueued: {}, weights: {}, rateLimits: {}]",
+        this.maxQueued, weights, rateLimits);
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Number of records of a verticle that can wait for a processing slot, the load limit of the consumers of
+   * a scheduled verticle is raised by this number.
+   *
+   * @return number of waiting records per verticle
+   */
+  public int getMaxQueued() {
+    return maxQueued;
+  }
+
+  /**
+   * Creates the lane records of a verticle are scheduled in.
+   *
+   * @param name        name of the verticle used in metrics and logs
+   * @param maxInFlight records of the verticle processed at once
+   * @return lane of the verticle
+   */
+  public Lane createLane(String name, int maxInFlight) {
+    var lane = new Lane(Math.max(1, maxInFlight));
+    LOGGER.info("createLane:: Scheduling records of verticle fairly between tenants [verticle: {}, maxInFlight: {}]",
+      name, lane.maxInFlight);
+    metricsRegistry.gauge("fair-scheduler." + name + ".in-flight", lane::getInFlight);
+    metricsRegistry.gauge("fair-scheduler." + name + ".waiting", lane::getWaiting);
+    return lane;
+  }
+
+  /**
+   * Records of a single verticle, scheduled between tenants.
+   */
+  public final class Lane {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final int maxInFlight;
+    private final Map<String, TenantState> tenants = new HashMap<>();
+
+    private int inFlight;
+    private long virtualTime;
+    private boolean refillScheduled;
+
+    private Lane(int maxInFlight) {
+      this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Executes the task once the tenant is granted a slot.
+     *
+     * @param tenantId tenant the task belongs to
+     * @param task     task to execute
+     * @return future with the task result
+     */
+    public <T> Future<T> execute(String tenantId, Supplier<Future<T>> task) {
+      var promise = Promise.<T>promise();
+      List<Runnable> started;
+      lock.lock();
+      try {
+        var tenant = tenants.computeIfAbsent(tenantId == null ? UNKNOWN_TENANT : tenantId,
+          TenantFairScheduler.this::createTenantState);
+        if (tenant.waiting.isEmpty()) {
+          tenant.pass = Math.max(tenant.pass, virtualTime);
+        }
+        tenant.waiting.add(new WaitingTask(() -> run(tenant, task, promise), System.nanoTime()));
+        started = dispatch();
+      } finally {
+        lock.unlock();
+      }
+      started.forEach(Runnable::run);
+      return promise.future();
+    }
+
+    public int getInFlight() {
+      lock.lock();
+      try {
+        return inFlight;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    public int getWaiting() {
+      lock.lock();
+      try {
+        return tenants.values().stream().mapToInt(tenant -> tenant.waiting.size()).sum();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private <T> void run(TenantState tenant, Supplier<Future<T>> task, Promise<T> promise) {
+      Future<T> result;
+      try {
+        result = task.get();
+      } catch (Exception e) {
+        result = Future.failedFuture(e);
+      }
+      result.onComplete(ar -> {
+        release(tenant);
+        promise.handle(ar);
+      });
+    }
+
+    private void release(TenantState tenant) {
+      List<Runnable> started;
+      lock.lock();
+      try {
+        tenant.inFlight--;
+        inFlight--;
+        started = dispatch();
+      } finally {
+        lock.unlock();
+      }
+      started.forEach(Runnable::run);
+    }
+
+    /**
+     * Grants free slots to waiting tenants, must be called under the lock.
+     *
+     * @return tasks to start outside the lock
+     */
+    private List<Runnable> dispatch() {
+      var started = new ArrayList<Runnable>();
+      var now = System.nanoTime();
+      while (inFlight < maxInFlight) {
+        var tenant = selectNext(now);
+        if (tenant == null) {
+          break;
+        }
+        var waitingTask = tenant.waiting.poll();
+        tenant.inFlight++;
+        inFlight++;
+        virtualTime = Math.max(virtualTime, tenant.pass);
+        tenant.pass += STRIDE / tenant.weight;
+        tenant.consumeToken();
+        tenant.waitTime.record(TimeUnit.NANOSECONDS.toMillis(now - waitingTask.queuedAt()));
+        started.add(waitingTask.task());
+      }
+      if (inFlight < maxInFlight) {
+        scheduleRefill(now);
+      }
+      return started;
+    }
+
+    private TenantState selectNext(long now) {
+      var activeWeight = 0;
+      for (var tenant : tenants.values()) {
+        if (tenant.inFlight > 0 || !tenant.waiting.isEmpty()) {
+          activeWeight += tenant.weight;
+        }
+      }
+      TenantState selected = null;
+      var selectedUnderShare = false;
+      for (var tenant : tenants.values()) {
+        if (tenant.waiting.isEmpty() || !tenant.hasToken(now)) {
+          continue;
+        }
+        var underShare = tenant.inFlight < Math.max(1, maxInFlight * tenant.weight / activeWeight);
+        if (selected == null || underShare && !selectedUnderShare
+          || underShare == selectedUnderShare && isAhead(tenant, selected)) {
+          selected = tenant;
+          selectedUnderShare = underShare;
+        }
+      }
+      return selected;
+    }
+
+    private boolean isAhead(TenantState tenant, TenantState other) {
+      return tenant.pass < other.pass
+        || tenant.pass == other.pass && tenant.waiting.element().queuedAt() < other.waiting.element().queuedAt();
+    }
+
+    /**
+     * Wakes the lane up when the earliest rate-capped tenant gets a token, so that its waiting records
+     * are dispatched even if no slot is released until then.
+     */
+    private void scheduleRefill(long now) {
+      if (refillScheduled) {
+        return;
+      }
+      var delayNanos = tenants.values().stream()
+        .filter(tenant -> !tenant.waiting.isEmpty())
+        .mapToLong(tenant -> tenant.nanosUntilToken(now))
+        .filter(nanos -> nanos > 0)
+        .min();
+      if (delayNanos.isEmpty()) {
+        return;
+      }
+      refillScheduled = true;
+      vertx.setTimer(Math.max(1, TimeUnit.NANOSECONDS.toMillis(delayNanos.getAsLong())), id -> {
+        List<Runnable> started;
+        lock.lock();
+        try {
+          refillScheduled = false;
+          started = dispatch();
+        } finally {
+          lock.unlock();
+        }
+        started.forEach(Runnable::run);
+      });
+    }
+  }
+
+  private TenantState createTenantState(String tenantId) {
+    return new TenantState(Math.max(1, weights.getOrDefault(tenantId, 1)), rateLimits.getOrDefault(tenantId, 0),
+      metricsRegistry.summary("fair-scheduler." + tenantId + ".wait-ms"));
+  }
+
+  private static final class TenantState {
+
+    private final int weight;
+    private final int rateLimit;
+    private final Summary waitTime;
+    private final Queue<WaitingTask> waiting = new ArrayDeque<>();
+
+    private int inFlight;
+    private long pass;
+    private double tokens;
+    private long lastRefill;
+
+    private TenantState(int weight, int rateLimit, Summary waitTime) {
+      this.weight = weight;
+      this.rateLimit = rateLimit;
+      this.waitTime = waitTime;
+      this.tokens = rateLimit;
+      this.lastRefill = System.nanoTime();
+    }
+
+    private boolean hasToken(long now) {
+      if (rateLimit <= 0) {
+        return true;
+      }
+      tokens = Math.min(rateLimit, tokens + (now - lastRefill) * rateLimit / 1_000_000_000d);
+      lastRefill = now;
+      return tokens >= 1;
+    }
+
+    private void consumeToken() {
+      if (rateLimit > 0) {
+        tokens--;
+      }
+    }
+
+    private long nanosUntilToken(long now) {
+      if (rateLimit <= 0 || hasToken(now)) {
+        return 0;
+      }
+      return (long) Math.ceil((1 - tokens) * 1_000_000_000d / rateLimit);
+    }
+  }
+
+  private record WaitingTask(Runnable task, long queuedAt) {
+  }
+}
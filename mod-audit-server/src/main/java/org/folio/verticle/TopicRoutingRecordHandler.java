@@ -0,0 +1,56 @@
+package org.folio.verticle;
+
+import io.vertx.core.Future;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.AsyncRecordHandler;
+
+/**
+ * Routes records of several subscriptions to their handlers through a topic-to-handler table.
+ * <p>
+ * A route is resolved once per topic by matching the topic name against the subscription patterns of the routes
+ * in declaration order.
+ */
+public class TopicRoutingRecordHandler implements AsyncRecordHandler<String, String> {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final List<TopicRoute> routes;
+  private final Map<String, TopicRoute> routesByTopic = new ConcurrentHashMap<>();
+
+  public TopicRoutingRecordHandler(List<TopicRoute> routes) {
+    this.routes = List.copyOf(routes);
+  }
+
+  @Override
+  public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    var topic = kafkaConsumerRecord.topic();
+    var route = routesByTopic.computeIfAbsent(topic, this::findRoute);
+    if (route == null) {
+      LOGGER.warn("handle:: No handler found for topic [topic: {}]", topic);
+      return Future.failedFuture(new IllegalStateException("No handler found for topic " + topic));
+    }
+    return route.handler().handle(kafkaConsumerRecord);
+  }
+
+  private TopicRoute findRoute(String topic) {
+    return routes.stream()
+      .filter(route -> route.pattern().matcher(topic).matches())
+      .findFirst()
+      .orElse(null);
+  }
+
+  /**
+   * Entry of the topic-to-handler table.
+   *
+   * @param name    event name the route was created for
+   * @param pattern subscription pattern of the event topics
+   * @param handler handler of the event records
+   */
+  public record TopicRoute(String name, Pattern pattern, AsyncRecordHandler<String, String> handler) { }
+}
@@ -23,4 +23,9 @@ public class InvoiceEventConsumersVerticle extends AbstractConsumersVerticle {
   public AsyncRecordHandler<String, String> getHandler() {
     return invoiceEventsHandler;
   }
+
+  @Override
+  protected String getEventIdField() {
+    return "id";
+  }
 }
@@ -23,4 +23,9 @@ public class InvoiceLineEventConsumersVerticle extends AbstractConsumersVerticle
   public AsyncRecordHandler<String, String> getHandler() {
     return invoiceLineEventsHandler;
   }
+
+  @Override
+  protected String getEventIdField() {
+    return "id";
+  }
 }
@@ -23,4 +23,9 @@ public class OrderEventConsumersVerticle extends AbstractConsumersVerticle {
   public AsyncRecordHandler<String, String> getHandler() {
     return orderEventsHandler;
   }
+
+  @Override
+  protected String getEventIdField() {
+    return "id";
+  }
 }
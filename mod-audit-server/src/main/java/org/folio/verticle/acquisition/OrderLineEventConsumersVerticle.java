@@ -23,4 +23,9 @@ public class OrderLineEventConsumersVerticle extends AbstractConsumersVerticle {
   public AsyncRecordHandler<String, String> getHandler() {
     return orderLineEventsHandler;
   }
+
+  @Override
+  protected String getEventIdField() {
+    return "id";
+  }
 }
@@ -23,4 +23,9 @@ public class OrganizationEventConsumersVerticle extends AbstractConsumersVerticl
   public AsyncRecordHandler<String, String> getHandler() {
     return organizationEventsHandler;
   }
+
+  @Override
+  protected String getEventIdField() {
+    return "id";
+  }
 }
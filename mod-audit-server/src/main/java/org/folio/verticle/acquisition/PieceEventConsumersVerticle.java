@@ -23,4 +23,9 @@ public class PieceEventConsumersVerticle extends AbstractConsumersVerticle {
   public AsyncRecordHandler<String, String> getHandler() {
     return pieceEventsHandler;
   }
+
+  @Override
+  protected String getEventIdField() {
+    return "id";
+  }
 }
@@ -0,0 +1,56 @@
+package org.folio.verticle.circulation;
+
+import static org.folio.util.KafkaUtils.formatTopicPattern;
+
+import java.util.List;
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.kafka.KafkaConfig;
+import org.folio.kafka.SubscriptionDefinition;
+import org.folio.util.circulation.CirculationKafkaEvent;
+import org.folio.verticle.AbstractConsumersVerticle;
+import org.folio.verticle.BatchRecordHandler;
+import org.folio.verticle.circulation.consumers.CirculationLogEventHandler;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CirculationLogConsumersVerticle extends AbstractConsumersVerticle {
+
+  private final ObjectFactory<CirculationLogEventHandler> recordHandlerProvider;
+
+  @Value("${circulation.log-record.kafka.consumer.enabled:false}")
+  private boolean enabled;
+
+  public CirculationLogConsumersVerticle(ObjectFactory<CirculationLogEventHandler> recordHandlerProvider) {
+    this.recordHandlerProvider = recordHandlerProvider;
+  }
+
+  @Override
+  protected SubscriptionDefinition subscriptionDefinition(String event, KafkaConfig kafkaConfig) {
+    return SubscriptionDefinition.builder()
+      .eventType(event)
+      .subscriptionPattern(formatTopicPattern(kafkaConfig.getEnvId(), CirculationKafkaEvent.LOG_RECORD.getTopicPattern()))
+      .build();
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  @Override
+  public List<String> getEvents() {
+    return List.of(CirculationKafkaEvent.LOG_RECORD.getTopicName());
+  }
+
+  @Override
+  public AsyncRecordHandler<String, String> getHandler() {
+    return recordHandlerProvider.getObject();
+  }
+
+  @Override
+  public BatchRecordHandler<String, String> getBatchHandler() {
+    return recordHandlerProvider.getObject();
+  }
+}
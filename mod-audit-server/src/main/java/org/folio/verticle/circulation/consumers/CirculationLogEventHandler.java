@@ -0,0 +1,100 @@
+package org.folio.verticle.circulation.consumers;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.kafka.KafkaHeaderUtils;
+import org.folio.rest.util.OkapiConnectionParams;
+import org.folio.services.circulation.CirculationLogService;
+import org.folio.util.circulation.CirculationLogEvent;
+import org.folio.verticle.BatchRecordHandler;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+@Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+public class CirculationLogEventHandler implements AsyncRecordHandler<String, String>, BatchRecordHandler<String, String> {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final Vertx vertx;
+  private final CirculationLogService circulationLogService;
+
+  public CirculationLogEventHandler(Vertx vertx, CirculationLogService circulationLogService) {
+    this.vertx = vertx;
+    this.circulationLogService = circulationLogService;
+  }
+
+  @Override
+  public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    var okapiHeaders = getOkapiHeaders(kafkaConsumerRecord);
+    var tenantId = new OkapiConnectionParams(okapiHeaders, vertx).getTenantId();
+    var event = constructEvent(kafkaConsumerRecord, okapiHeaders);
+    if (event == null) {
+      return Future.succeededFuture(getEventId(kafkaConsumerRecord));
+    }
+
+    LOGGER.info("handle:: Starting processing of circulation log event [eventId: {}, tenantId: {}]", event.eventId(), tenantId);
+    return circulationLogService.saveLogRecords(List.of(event), tenantId)
+      .onSuccess(v -> LOGGER.info("handle:: Circulation log event has been processed [eventId: {}]", event.eventId()))
+      .onFailure(e -> LOGGER.error("Processing of circulation log event with id: {} has been failed", event.eventId(), e))
+      .map(event.eventId());
+  }
+
+  @Override
+  public Future<Void> handleBatch(List<KafkaConsumerRecord<String, String>> kafkaConsumerRecords) {
+    var eventsByTenant = new LinkedHashMap<String, List<CirculationLogEvent>>();
+    for (var kafkaConsumerRecord : kafkaConsumerRecords) {
+      var okapiHeaders = getOkapiHeaders(kafkaConsumerRecord);
+      var event = constructEvent(kafkaConsumerRecord, okapiHeaders);
+      if (event != null) {
+        var tenantId = new OkapiConnectionParams(okapiHeaders, vertx).getTenantId();
+        eventsByTenant.computeIfAbsent(tenantId, id -> new ArrayList<>()).add(event);
+      }
+    }
+
+    LOGGER.info("handleBatch:: Starting processing of {} circulation log events", kafkaConsumerRecords.size());
+    var futures = eventsByTenant.entrySet().stream()
+      .map(entry -> circulationLogService.saveLogRecords(entry.getValue(), entry.getKey()))
+      .toList();
+    return Future.all(futures)
+      .onSuccess(ar -> LOGGER.info("handleBatch:: {} circulation log events have been processed", kafkaConsumerRecords.size()))
+      .onFailure(e -> LOGGER.error("Processing of batch of {} circulation log events has been failed", kafkaConsumerRecords.size(), e))
+      .mapEmpty();
+  }
+
+  private CirculationLogEvent constructEvent(KafkaConsumerRecord<String, String> kafkaConsumerRecord,
+                                             Map<String, String> okapiHeaders) {
+    var eventId = getEventId(kafkaConsumerRecord);
+    try {
+      return new CirculationLogEvent(eventId, new JsonObject(kafkaConsumerRecord.value()), okapiHeaders);
+    } catch (DecodeException | NullPointerException e) {
+      LOGGER.warn("constructEvent:: Circulation log event cannot be decoded, skipping [eventId: {}]", eventId, e);
+      return null;
+    }
+  }
+
+  /**
+   * Okapi headers of the record, looked up case-insensitively by the log record builders.
+   */
+  private Map<String, String> getOkapiHeaders(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    var okapiHeaders = new TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER);
+    okapiHeaders.putAll(KafkaHeaderUtils.kafkaHeadersToMap(kafkaConsumerRecord.headers()));
+    return okapiHeaders;
+  }
+
+  private String getEventId(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    return kafkaConsumerRecord.topic() + ":" + kafkaConsumerRecord.partition() + ":" + kafkaConsumerRecord.offset();
+  }
+}
@@ -8,6 +8,7 @@ import org.folio.kafka.KafkaConfig;
 import org.folio.kafka.SubscriptionDefinition;
 import org.folio.util.inventory.InventoryKafkaEvent;
 import org.folio.verticle.AbstractConsumersVerticle;
+import org.folio.verticle.BatchRecordHandler;
 import org.folio.verticle.inventory.consumers.InventoryEventHandler;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.stereotype.Component;
@@ -38,4 +39,19 @@ public class HoldingsConsumersVerticle extends AbstractConsumersVerticle {
   public AsyncRecordHandler<String, String> getHandler() {
     return recordHandlerProvider.getObject();
   }
+
+  @Override
+  public BatchRecordHandler<String, String> getBatchHandler() {
+    return recordHandlerProvider.getObject();
+  }
+
+  @Override
+  protected boolean isKeyOrdered() {
+    return true;
+  }
+
+  @Override
+  protected String getEventIdField() {
+    return "eventId";
+  }
 }
@@ -3,31 +3,39 @@ package org.folio.verticle.inventory.consumers;
 import static org.folio.util.inventory.InventoryEventType.CREATE;
 import static org.folio.util.inventory.InventoryEventType.UNKNOWN;
 import static org.folio.util.inventory.InventoryUtils.isShadowCopyEvent;
+import static org.folio.util.inventory.InventoryUtils.isShadowCopySource;
 
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
-import io.vertx.core.json.JsonObject;
 import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.kafka.AsyncRecordHandler;
 import org.folio.kafka.KafkaHeaderUtils;
-import org.folio.kafka.exception.DuplicateEventException;
+import org.folio.okapi.common.XOkapiHeaders;
 import org.folio.rest.util.OkapiConnectionParams;
+import org.folio.services.configuration.AuditEnabledCache;
+import org.folio.services.configuration.Setting;
 import org.folio.services.inventory.InventoryEventService;
 import org.folio.util.KafkaUtils;
 import org.folio.util.inventory.InventoryEvent;
+import org.folio.util.inventory.InventoryEventType;
 import org.folio.util.inventory.InventoryKafkaEvent;
 import org.folio.util.inventory.InventoryResourceType;
+import org.folio.verticle.BatchRecordHandler;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 @Component
 @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-public class InventoryEventHandler implements AsyncRecordHandler<String, String> {
+public class InventoryEventHandler implements AsyncRecordHandler<String, String>, BatchRecordHandler<String, String> {
 
   private static final Logger LOGGER = LogManager.getLogger();
   private static final Map<String, InventoryResourceType> TOPIC_TO_RESOURCE_MAP = Map.ofEntries(
@@ -36,28 +44,44 @@ public class InventoryEventHandler implements AsyncRecordHandler<String, String>
     Map.entry(InventoryKafkaEvent.ITEM.getTopicName(), InventoryResourceType.ITEM)
   );
 
+  private static final String EVENT_ID_FIELD = "eventId";
+  private static final String TYPE_FIELD = "type";
+  private static final String NEW_FIELD = "new";
+  private static final String SOURCE_FIELD = "source";
+
   private final InventoryEventService inventoryEventService;
+  private final AuditEnabledCache auditEnabledCache;
   private final Vertx vertx;
 
-  public InventoryEventHandler(Vertx vertx, InventoryEventService inventoryEventService) {
+  @Autowired
+  public InventoryEventHandler(Vertx vertx, InventoryEventService inventoryEventService,
+                               AuditEnabledCache auditEnabledCache) {
     this.vertx = vertx;
     this.inventoryEventService = inventoryEventService;
+    this.auditEnabledCache = auditEnabledCache;
   }
 
   @Override
   public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    if (isSkippedBeforeDecoding(kafkaConsumerRecord)) {
+      return Future.succeededFuture(KafkaUtils.scanField(kafkaConsumerRecord.value(), EVENT_ID_FIELD));
+    }
+    return isAuditEnabled(KafkaUtils.getHeaderValue(kafkaConsumerRecord, XOkapiHeaders.TENANT))
+      .compose(enabled -> {
+        if (!enabled) {
+          LOGGER.debug("handle:: Inventory audit is disabled, skipping event [entityId: {}]", kafkaConsumerRecord.key());
+          return Future.succeededFuture(KafkaUtils.scanField(kafkaConsumerRecord.value(), EVENT_ID_FIELD));
+        }
+        return process(kafkaConsumerRecord);
+      });
+  }
+
+  private Future<String> process(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
     var result = Promise.<String>promise();
     var kafkaHeaders = kafkaConsumerRecord.headers();
     var okapiConnectionParams = new OkapiConnectionParams(KafkaHeaderUtils.kafkaHeadersToMap(kafkaHeaders), vertx);
     var event = constructInventoryEvent(kafkaConsumerRecord);
-    if (UNKNOWN == event.getType()) {
-      LOGGER.debug("handle:: Event type not supported [eventId: {}, entityId: {}]",
-        event.getEventId(), event.getEntityId());
-      result.complete(event.getEventId());
-      return result.future();
-    } else if (CREATE == event.getType() && Boolean.TRUE.equals(event.getIsConsortiumShadowCopy())) {
-      LOGGER.debug("handle:: Shadow copy create event received, skipping processing [eventId: {}, entityId: {}]",
-        event.getEventId(), event.getEntityId());
+    if (isSkipped(event)) {
       result.complete(event.getEventId());
       return result.future();
     }
@@ -69,23 +93,87 @@ public class InventoryEventHandler implements AsyncRecordHandler<String, String>
         result.complete(event.getEventId());
       })
       .onFailure(e -> {
-        if (e instanceof DuplicateEventException) {
-          LOGGER.info("handle:: Duplicate Inventory event with id: {} for entity id: {} received, skipped processing", event.getEventId(), event.getEntityId());
-          result.complete(event.getEventId());
-        } else {
-          LOGGER.error("Processing of Inventory event with id: {} for entity id: {} has been failed", event.getEventId(), event.getEntityId(), e);
-          result.fail(e);
-        }
+        LOGGER.error("Processing of Inventory event with id: {} for entity id: {} has been failed", event.getEventId(), event.getEntityId(), e);
+        result.fail(e);
       });
     return result.future();
   }
 
+  @Override
+  public Future<Void> handleBatch(List<KafkaConsumerRecord<String, String>> kafkaConsumerRecords) {
+    var recordsByTenant = new HashMap<String, List<KafkaConsumerRecord<String, String>>>();
+    for (var kafkaConsumerRecord : kafkaConsumerRecords) {
+      if (!isSkippedBeforeDecoding(kafkaConsumerRecord)) {
+        var okapiConnectionParams = new OkapiConnectionParams(KafkaHeaderUtils.kafkaHeadersToMap(kafkaConsumerRecord.headers()), vertx);
+        recordsByTenant.computeIfAbsent(okapiConnectionParams.getTenantId(), tenantId -> new ArrayList<>()).add(kafkaConsumerRecord);
+      }
+    }
+
+    LOGGER.info("handleBatch:: Starting processing of {} Inventory events", kafkaConsumerRecords.size());
+    var futures = recordsByTenant.entrySet().stream()
+      .map(entry -> isAuditEnabled(entry.getKey())
+        .compose(enabled -> enabled
+                            ? inventoryEventService.processEvents(decode(entry.getValue()), entry.getKey())
+                            : Future.<Void>succeededFuture()))
+      .toList();
+    return Future.all(futures)
+      .onSuccess(ar -> LOGGER.info("handleBatch:: {} Inventory events have been processed", kafkaConsumerRecords.size()))
+      .onFailure(e -> LOGGER.error("Processing of batch of {} Inventory events has been failed", kafkaConsumerRecords.size(), e))
+      .mapEmpty();
+  }
+
+  private List<InventoryEvent> decode(List<KafkaConsumerRecord<String, String>> kafkaConsumerRecords) {
+    var events = new ArrayList<InventoryEvent>(kafkaConsumerRecords.size());
+    for (var kafkaConsumerRecord : kafkaConsumerRecords) {
+      var event = constructInventoryEvent(kafkaConsumerRecord);
+      if (!isSkipped(event)) {
+        events.add(event);
+      }
+    }
+    return events;
+  }
+
+  /**
+   * Drops records that are never stored by reading the event type and the source of the new entity version
+   * from the payload without decoding it.
+   */
+  private boolean isSkippedBeforeDecoding(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    var value = kafkaConsumerRecord.value();
+    var type = InventoryEventType.fromValue(KafkaUtils.scanField(value, TYPE_FIELD));
+    if (UNKNOWN == type) {
+      LOGGER.debug("isSkippedBeforeDecoding:: Event type not supported [entityId: {}]", kafkaConsumerRecord.key());
+      return true;
+    } else if (CREATE == type && isShadowCopySource(KafkaUtils.scanField(value, NEW_FIELD, SOURCE_FIELD))) {
+      LOGGER.debug("isSkippedBeforeDecoding:: Shadow copy create event received, skipping processing [entityId: {}]",
+        kafkaConsumerRecord.key());
+      return true;
+    }
+    return false;
+  }
+
+  private Future<Boolean> isAuditEnabled(String tenantId) {
+    return auditEnabledCache.isEnabled(Setting.INVENTORY_RECORDS_ENABLED, tenantId);
+  }
+
+  private boolean isSkipped(InventoryEvent event) {
+    if (UNKNOWN == event.getType()) {
+      LOGGER.debug("isSkipped:: Event type not supported [eventId: {}, entityId: {}]",
+        event.getEventId(), event.getEntityId());
+      return true;
+    } else if (CREATE == event.getType() && Boolean.TRUE.equals(event.getIsConsortiumShadowCopy())) {
+      LOGGER.debug("isSkipped:: Shadow copy create event received, skipping processing [eventId: {}, entityId: {}]",
+        event.getEventId(), event.getEntityId());
+      return true;
+    }
+    return false;
+  }
+
   private InventoryEvent constructInventoryEvent(KafkaConsumerRecord<String, String> consumerRecord) {
     var topicName = KafkaUtils.getTopicName(consumerRecord);
     var resourceType = TOPIC_TO_RESOURCE_MAP.getOrDefault(topicName, InventoryResourceType.UNKNOWN);
     var entityId = consumerRecord.key();
 
-    var event = new JsonObject(consumerRecord.value()).mapTo(InventoryEvent.class);
+    var event = KafkaUtils.decodeValue(consumerRecord, InventoryEvent.class);
     var shadowCopyEvent = isShadowCopyEvent(event);
     event.setIsConsortiumShadowCopy(shadowCopyEvent);
     event.setEntityId(entityId);
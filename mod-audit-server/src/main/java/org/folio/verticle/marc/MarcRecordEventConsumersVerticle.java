@@ -37,4 +37,14 @@ public class MarcRecordEventConsumersVerticle extends AbstractConsumersVerticle
       .subscriptionPattern(String.join("\\.", kafkaConfig.getEnvId(), "\\w{1,}", event))
       .build();
   }
+
+  @Override
+  protected boolean isKeyOrdered() {
+    return true;
+  }
+
+  @Override
+  protected String getEventIdField() {
+    return "id";
+  }
 }
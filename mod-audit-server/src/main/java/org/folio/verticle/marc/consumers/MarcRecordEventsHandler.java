@@ -3,18 +3,22 @@ package org.folio.verticle.marc.consumers;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
-import io.vertx.core.json.JsonObject;
 import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.kafka.AsyncRecordHandler;
 import org.folio.kafka.KafkaHeaderUtils;
-import org.folio.kafka.exception.DuplicateEventException;
+import org.folio.okapi.common.XOkapiHeaders;
+import org.folio.services.configuration.AuditEnabledCache;
+import org.folio.services.configuration.Setting;
 import org.folio.services.marc.MarcAuditService;
-import org.folio.util.marc.MarcEventPayload;
+import org.folio.util.KafkaUtils;
+import org.folio.util.marc.EventMetadata;
 import org.folio.util.marc.SourceRecordDomainEvent;
+import org.folio.util.marc.SourceRecordDomainEventDecoder;
 import org.folio.util.marc.SourceRecordDomainEventType;
 import org.folio.util.marc.SourceRecordType;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
@@ -28,37 +32,62 @@ public class MarcRecordEventsHandler implements AsyncRecordHandler<String, Strin
   private static final Logger LOGGER = LogManager.getLogger();
 
   private static final String RECORD_TYPE = "folio.srs.recordType";
-  private static final String EVENT_PAYLOAD_KEY = "eventPayload";
+  private static final String EVENT_ID_KEY = "id";
+  private static final String EVENT_TYPE_KEY = "eventType";
+  private static final Map<SourceRecordType, Setting> ENABLED_SETTINGS = Map.of(
+    SourceRecordType.MARC_BIB, Setting.INVENTORY_RECORDS_ENABLED,
+    SourceRecordType.MARC_AUTHORITY, Setting.AUTHORITY_RECORDS_ENABLED
+  );
   private static final String LOG_DATA = "Marc Record audit event with [eventId '%s', action '%s' and record type '%s']";
   private static final String MARC_HOLDING_EVENT_RECEIVED_MSG =
     "handle:: MARC_HOLDING record type does not require saving versions history. Skipping event processing [eventId: '{}']";
 
   private final MarcAuditService marcAuditService;
+  private final AuditEnabledCache auditEnabledCache;
   private final Vertx vertx;
 
+  @Autowired
   public MarcRecordEventsHandler(Vertx vertx,
-                                 MarcAuditService marcAuditService) {
+                                 MarcAuditService marcAuditService,
+                                 AuditEnabledCache auditEnabledCache) {
     this.vertx = vertx;
     this.marcAuditService = marcAuditService;
+    this.auditEnabledCache = auditEnabledCache;
   }
 
   @Override
   public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    // the record type header and the event type field are checked before the payload is decoded
+    var value = kafkaConsumerRecord.value();
+    var recordType = KafkaUtils.getHeaderValue(kafkaConsumerRecord, RECORD_TYPE);
+    if (MARC_HOLDING.name().equals(recordType)) {
+      var eventId = scanEventId(value);
+      LOGGER.debug(MARC_HOLDING_EVENT_RECEIVED_MSG, eventId);
+      return Future.succeededFuture(eventId);
+    }
+    if (SourceRecordDomainEventType.UNKNOWN == SourceRecordDomainEventType.fromValue(KafkaUtils.scanField(value, EVENT_TYPE_KEY))) {
+      var eventId = scanEventId(value);
+      LOGGER.debug("handle:: Event type not supported [eventId: {}]", eventId);
+      return Future.succeededFuture(eventId);
+    }
+    return isAuditEnabled(recordType, KafkaUtils.getHeaderValue(kafkaConsumerRecord, XOkapiHeaders.TENANT))
+      .compose(enabled -> {
+        if (!enabled) {
+          var eventId = scanEventId(value);
+          LOGGER.debug("handle:: Audit of {} records is disabled, skipping event [eventId: {}]", recordType, eventId);
+          return Future.succeededFuture(eventId);
+        }
+        return process(kafkaConsumerRecord);
+      });
+  }
+
+  private Future<String> process(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
     var result = Promise.<String>promise();
     var event = buildSourceRecordDomainEvent(
       kafkaConsumerRecord.value(),
       kafkaConsumerRecord.timestamp(),
       KafkaHeaderUtils.kafkaHeadersToMap(kafkaConsumerRecord.headers())
     );
-    if (MARC_HOLDING == event.getRecordType()) {
-      LOGGER.debug(MARC_HOLDING_EVENT_RECEIVED_MSG, event.getEventId());
-      return Future.succeededFuture(event.getEventId());
-    }
-    if (SourceRecordDomainEventType.UNKNOWN == event.getEventType()) {
-      LOGGER.debug("handle:: Event type not supported [eventId: {}]", event.getEventId());
-      result.complete(event.getEventId());
-      return result.future();
-    }
     var log = String.format(LOG_DATA, event.getEventId(), event.getEventType(), event.getRecordType());
     LOGGER.info("handle:: Starting processing of {}", log);
     marcAuditService.saveMarcDomainEvent(event)
@@ -67,22 +96,28 @@ public class MarcRecordEventsHandler implements AsyncRecordHandler<String, Strin
         result.complete(event.getEventId());
       })
       .onFailure(e -> {
-        if (e instanceof DuplicateEventException) {
-          LOGGER.info("handle:: Duplicate Marc bib audit event with id: {} received, skipped processing", event.getEventId());
-          result.complete(event.getEventId());
-        } else {
-          LOGGER.error("handle:: Fail to process of {}", log, e);
-          result.fail(e);
-        }
+        LOGGER.error("handle:: Fail to process of {}", log, e);
+        result.fail(e);
       });
     return result.future();
   }
 
+  private static String scanEventId(String value) {
+    return KafkaUtils.scanField(value, EVENT_ID_KEY);
+  }
+
+  private Future<Boolean> isAuditEnabled(String recordType, String tenantId) {
+    var setting = recordType == null ? null : ENABLED_SETTINGS.get(SourceRecordType.valueOf(recordType));
+    return setting == null
+           ? Future.succeededFuture(true)
+           : auditEnabledCache.isEnabled(setting, tenantId);
+  }
+
   private SourceRecordDomainEvent buildSourceRecordDomainEvent(String eventValue, long eventTime, Map<String, String> headers) {
-    var eventJson = new JsonObject(eventValue);
-    var payload = new JsonObject(String.valueOf(eventJson.remove(EVENT_PAYLOAD_KEY))).mapTo(MarcEventPayload.class);
-    var event = eventJson.mapTo(SourceRecordDomainEvent.class);
-    event.setEventPayload(payload);
+    var event = SourceRecordDomainEventDecoder.decode(eventValue);
+    if (event.getEventMetadata() == null) {
+      event.setEventMetadata(new EventMetadata());
+    }
     event.getEventMetadata().setEventDate(Instant.ofEpochMilli(eventTime).atZone(ZoneId.systemDefault()).toLocalDateTime());
     event.setRecordType(SourceRecordType.valueOf(headers.get(RECORD_TYPE)));
     return event;
@@ -0,0 +1,42 @@
+package org.folio.verticle.retry;
+
+import java.util.List;
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.util.retry.RetryUtils;
+import org.folio.verticle.AbstractConsumersVerticle;
+import org.folio.verticle.retry.consumers.DeadLetterEventsHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DeadLetterConsumersVerticle extends AbstractConsumersVerticle {
+
+  private final DeadLetterEventsHandler deadLetterEventsHandler;
+
+  @Value("${audit.kafka.retry.enabled:false}")
+  private boolean retryEnabled;
+
+  public DeadLetterConsumersVerticle(DeadLetterEventsHandler deadLetterEventsHandler) {
+    this.deadLetterEventsHandler = deadLetterEventsHandler;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return retryEnabled;
+  }
+
+  @Override
+  public List<String> getEvents() {
+    return retryEnabled ? List.of(RetryUtils.DEAD_LETTER_EVENT_TYPE) : List.of();
+  }
+
+  @Override
+  public AsyncRecordHandler<String, String> getHandler() {
+    return deadLetterEventsHandler;
+  }
+
+  @Override
+  protected boolean isRetryable() {
+    return false;
+  }
+}
@@ -0,0 +1,51 @@
+package org.folio.verticle.retry;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.util.retry.RetryUtils;
+import org.folio.verticle.AbstractConsumersVerticle;
+import org.folio.verticle.retry.consumers.RetryEventsHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RetryConsumersVerticle extends AbstractConsumersVerticle {
+
+  private final ObjectProvider<AbstractConsumersVerticle> consumersVerticles;
+
+  @Value("${audit.kafka.retry.enabled:false}")
+  private boolean retryEnabled;
+
+  @Value("${audit.kafka.retry.max-attempts:3}")
+  private int maxAttempts;
+
+  public RetryConsumersVerticle(ObjectProvider<AbstractConsumersVerticle> consumersVerticles) {
+    this.consumersVerticles = consumersVerticles;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return retryEnabled;
+  }
+
+  @Override
+  public List<String> getEvents() {
+    if (!retryEnabled) {
+      return List.of();
+    }
+    return IntStream.rangeClosed(1, maxAttempts)
+      .mapToObj(RetryUtils::retryEventType)
+      .toList();
+  }
+
+  @Override
+  public AsyncRecordHandler<String, String> getHandler() {
+    var routes = consumersVerticles.orderedStream()
+      .filter(verticle -> verticle != this && verticle.isEnabled())
+      .flatMap(verticle -> verticle.getTopicRoutes().stream())
+      .toList();
+    return new RetryEventsHandler(vertx, routes);
+  }
+}
@@ -0,0 +1,69 @@
+package org.folio.verticle.retry.consumers;
+
+import static org.folio.util.retry.RetryUtils.ATTEMPT_HEADER;
+import static org.folio.util.retry.RetryUtils.ERROR_HEADER;
+import static org.folio.util.retry.RetryUtils.ORIGINAL_TOPIC_HEADER;
+import static org.folio.util.retry.RetryUtils.RETRY_HEADERS;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.UUID;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.dao.retry.DeadLetterEventEntity;
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.kafka.KafkaHeaderUtils;
+import org.folio.rest.util.OkapiConnectionParams;
+import org.folio.services.retry.DeadLetterService;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DeadLetterEventsHandler implements AsyncRecordHandler<String, String> {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+  private static final String OKAPI_TOKEN_HEADER = "x-okapi-token";
+
+  private final DeadLetterService deadLetterService;
+  private final Vertx vertx;
+
+  public DeadLetterEventsHandler(Vertx vertx, DeadLetterService deadLetterService) {
+    this.vertx = vertx;
+    this.deadLetterService = deadLetterService;
+  }
+
+  @Override
+  public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    var headers = KafkaHeaderUtils.kafkaHeadersToMap(kafkaConsumerRecord.headers());
+    var tenantId = new OkapiConnectionParams(headers, vertx).getTenantId();
+    var originalTopic = headers.getOrDefault(ORIGINAL_TOPIC_HEADER, kafkaConsumerRecord.topic());
+    var storedHeaders = new HashMap<String, String>();
+    headers.forEach((name, value) -> {
+      if (!RETRY_HEADERS.contains(name) && !OKAPI_TOKEN_HEADER.equalsIgnoreCase(name)) {
+        storedHeaders.put(name, value);
+      }
+    });
+    var entity = new DeadLetterEventEntity(deadLetterEventId(kafkaConsumerRecord), originalTopic, kafkaConsumerRecord.key(),
+      kafkaConsumerRecord.value(), storedHeaders, headers.get(ERROR_HEADER),
+      Integer.parseInt(headers.getOrDefault(ATTEMPT_HEADER, "0")),
+      kafkaConsumerRecord.timestamp() >= 0 ? new Timestamp(kafkaConsumerRecord.timestamp()) : null,
+      new Timestamp(System.currentTimeMillis()));
+
+    LOGGER.warn("handle:: Saving dead-lettered event [tenantId: {}, originalTopic: {}, key: {}, error: {}]",
+      tenantId, originalTopic, kafkaConsumerRecord.key(), entity.errorMessage());
+    return deadLetterService.saveDeadLetterEvent(entity, tenantId)
+      .map(kafkaConsumerRecord.key());
+  }
+
+  /**
+   * Id of the dead-lettered event derived from the position of the record in the dead-letter topic, so a record
+   * redelivered after a rebalance or restart is saved only once.
+   */
+  private static UUID deadLetterEventId(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    var position = kafkaConsumerRecord.topic() + ":" + kafkaConsumerRecord.partition() + ":" + kafkaConsumerRecord.offset();
+    return UUID.nameUUIDFromBytes(position.getBytes(StandardCharsets.UTF_8));
+  }
+}
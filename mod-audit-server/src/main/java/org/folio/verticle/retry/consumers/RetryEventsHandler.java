@@ -0,0 +1,66 @@
+package org.folio.verticle.retry.consumers;
+
+import static org.folio.util.retry.RetryUtils.NOT_BEFORE_HEADER;
+import static org.folio.util.retry.RetryUtils.ORIGINAL_TOPIC_HEADER;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.kafka.KafkaHeaderUtils;
+import org.folio.util.retry.RetryUtils;
+import org.folio.verticle.TopicRoutingRecordHandler;
+import org.folio.verticle.TopicRoutingRecordHandler.TopicRoute;
+
+/**
+ * Handles records of the retry topics: processes the record with the handler of the topic the record was originally
+ * consumed from once its not-before time is reached.
+ * <p>
+ * A record that is not due yet is not acknowledged before it is due and retried, so a record waiting for its backoff
+ * delay is consumed again after a crash or restart instead of being lost. Records of a retry topic are published
+ * with the same backoff delay and become due in offset order, so the waiting records fill the load limit of the
+ * retry topic and fetching of the topic is paused until they are due, while other topics are consumed as usual.
+ * A failed retry is published to the next retry topic by {@link org.folio.verticle.RetryingRecordHandler}.
+ */
+public class RetryEventsHandler implements AsyncRecordHandler<String, String> {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final Vertx vertx;
+  private final TopicRoutingRecordHandler routingHandler;
+
+  public RetryEventsHandler(Vertx vertx, List<TopicRoute> routes) {
+    this.vertx = vertx;
+    this.routingHandler = new TopicRoutingRecordHandler(routes);
+  }
+
+  @Override
+  public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    var headers = KafkaHeaderUtils.kafkaHeadersToMap(kafkaConsumerRecord.headers());
+    var originalTopic = headers.get(ORIGINAL_TOPIC_HEADER);
+    if (originalTopic == null) {
+      LOGGER.warn("handle:: Original topic header is missing, skipping record [topic: {}, key: {}]",
+        kafkaConsumerRecord.topic(), kafkaConsumerRecord.key());
+      return Future.succeededFuture(kafkaConsumerRecord.key());
+    }
+    var notBefore = headers.get(NOT_BEFORE_HEADER);
+    var delay = notBefore == null ? 0 : Long.parseLong(notBefore) - System.currentTimeMillis();
+    if (delay <= 0) {
+      return retry(kafkaConsumerRecord, originalTopic);
+    }
+    LOGGER.debug("handle:: Holding record until it is due [originalTopic: {}, key: {}, delayMs: {}]",
+      originalTopic, kafkaConsumerRecord.key(), delay);
+    Promise<Void> due = Promise.promise();
+    vertx.setTimer(delay, id -> due.complete());
+    return due.future().compose(v -> retry(kafkaConsumerRecord, originalTopic));
+  }
+
+  private Future<String> retry(KafkaConsumerRecord<String, String> kafkaConsumerRecord, String originalTopic) {
+    LOGGER.info("retry:: Retrying record [originalTopic: {}, key: {}]", originalTopic, kafkaConsumerRecord.key());
+    return routingHandler.handle(RetryUtils.withTopic(kafkaConsumerRecord, originalTopic));
+  }
+}
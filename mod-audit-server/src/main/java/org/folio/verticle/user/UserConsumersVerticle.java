@@ -38,4 +38,14 @@ public class UserConsumersVerticle extends AbstractConsumersVerticle {
   public AsyncRecordHandler<String, String> getHandler() {
     return recordHandlerProvider.getObject();
   }
+
+  @Override
+  protected boolean isKeyOrdered() {
+    return true;
+  }
+
+  @Override
+  protected String getEventIdField() {
+    return "id";
+  }
 }
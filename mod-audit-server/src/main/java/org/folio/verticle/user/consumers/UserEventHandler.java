@@ -5,16 +5,20 @@ import static org.folio.util.user.UserEventType.UNKNOWN;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
-import io.vertx.core.json.JsonObject;
 import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.kafka.AsyncRecordHandler;
 import org.folio.kafka.KafkaHeaderUtils;
-import org.folio.kafka.exception.DuplicateEventException;
+import org.folio.okapi.common.XOkapiHeaders;
 import org.folio.rest.util.OkapiConnectionParams;
+import org.folio.services.configuration.AuditEnabledCache;
+import org.folio.services.configuration.Setting;
 import org.folio.services.user.UserEventService;
+import org.folio.util.KafkaUtils;
 import org.folio.util.user.UserEvent;
+import org.folio.util.user.UserEventType;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
@@ -25,20 +29,43 @@ public class UserEventHandler implements AsyncRecordHandler<String, String> {
 
   private static final Logger LOGGER = LogManager.getLogger();
 
+  private static final String ID_FIELD = "id";
+  private static final String TYPE_FIELD = "type";
+
   private final UserEventService userEventService;
+  private final AuditEnabledCache auditEnabledCache;
   private final Vertx vertx;
 
-  public UserEventHandler(Vertx vertx, UserEventService userEventService) {
+  @Autowired
+  public UserEventHandler(Vertx vertx, UserEventService userEventService, AuditEnabledCache auditEnabledCache) {
     this.vertx = vertx;
     this.userEventService = userEventService;
+    this.auditEnabledCache = auditEnabledCache;
   }
 
   @Override
   public Future<String> handle(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
+    var fields = KafkaUtils.scanFields(kafkaConsumerRecord.value(), TYPE_FIELD, ID_FIELD);
+    var eventId = fields[1];
+    if (UNKNOWN == UserEventType.fromValue(fields[0])) {
+      LOGGER.debug("handle:: Event type not supported [eventId: {}, userId: {}]", eventId, kafkaConsumerRecord.key());
+      return Future.succeededFuture(eventId);
+    }
+    var tenantId = KafkaUtils.getHeaderValue(kafkaConsumerRecord, XOkapiHeaders.TENANT);
+    return auditEnabledCache.isEnabled(Setting.USER_RECORDS_ENABLED, tenantId).compose(isEnabled -> {
+      if (!isEnabled) {
+        LOGGER.debug("handle:: User audit is disabled, skipping event [eventId: {}, userId: {}]", eventId, kafkaConsumerRecord.key());
+        return Future.succeededFuture(eventId);
+      }
+      return process(kafkaConsumerRecord);
+    });
+  }
+
+  private Future<String> process(KafkaConsumerRecord<String, String> kafkaConsumerRecord) {
     var result = Promise.<String>promise();
     var kafkaHeaders = kafkaConsumerRecord.headers();
     var okapiConnectionParams = new OkapiConnectionParams(KafkaHeaderUtils.kafkaHeadersToMap(kafkaHeaders), vertx);
-    var event = new JsonObject(kafkaConsumerRecord.value()).mapTo(UserEvent.class);
+    var event = KafkaUtils.decodeValue(kafkaConsumerRecord, UserEvent.class);
     event.setUserId(kafkaConsumerRecord.key());
 
     if (UNKNOWN == event.getType()) {
@@ -55,13 +82,8 @@ public class UserEventHandler implements AsyncRecordHandler<String, String> {
         result.complete(event.getId());
       })
       .onFailure(e -> {
-        if (e instanceof DuplicateEventException) {
-          LOGGER.info("handle:: Duplicate User event with id: {} for user id: {} received, skipped processing", event.getId(), event.getUserId());
-          result.complete(event.getId());
-        } else {
-          LOGGER.error("Processing of User event with id: {} for user id: {} has been failed", event.getId(), event.getUserId(), e);
-          result.fail(e);
-        }
+        LOGGER.error("Processing of User event with id: {} for user id: {} has been failed", event.getId(), event.getUserId(), e);
+        result.fail(e);
       });
     return result.future();
   }
@@ -0,0 +1,32 @@
+INSERT INTO setting (id, key, value, type, description, group_id, created_date, created_by, updated_date, updated_by)
+VALUES ('audit.inventory.diff.deferred',
+        'diff.deferred',
+        to_jsonb(false::boolean),
+        'BOOLEAN',
+        'Defines if diffs of inventory and MARC bib record updates are calculated when the records are first viewed instead of on ingest',
+        'audit.inventory',
+        now(),
+        '00000000-0000-0000-0000-000000000000',
+        now(),
+        '00000000-0000-0000-0000-000000000000'),
+       ('audit.authority.diff.deferred',
+        'diff.deferred',
+        to_jsonb(false::boolean),
+        'BOOLEAN',
+        'Defines if diffs of MARC authority record updates are calculated when the records are first viewed instead of on ingest',
+        'audit.authority',
+        now(),
+        '00000000-0000-0000-0000-000000000000',
+        now(),
+        '00000000-0000-0000-0000-000000000000'),
+       ('audit.user.diff.deferred',
+        'diff.deferred',
+        to_jsonb(false::boolean),
+        'BOOLEAN',
+        'Defines if diffs of user record updates are calculated when the records are first viewed instead of on ingest',
+        'audit.user',
+        now(),
+        '00000000-0000-0000-0000-000000000000',
+        now(),
+        '00000000-0000-0000-0000-000000000000')
+ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,22 @@
+INSERT INTO setting (id, key, value, type, description, group_id, created_date, created_by, updated_date, updated_by)
+VALUES ('audit.inventory.update.coalescing.window',
+        'update.coalescing.window',
+        to_jsonb(0::integer),
+        'INTEGER',
+        'Window in seconds in which updates of the same inventory record by the same user are merged into one audit record, 0 disables merging',
+        'audit.inventory',
+        now(),
+        '00000000-0000-0000-0000-000000000000',
+        now(),
+        '00000000-0000-0000-0000-000000000000'),
+       ('audit.user.update.coalescing.window',
+        'update.coalescing.window',
+        to_jsonb(0::integer),
+        'INTEGER',
+        'Window in seconds in which updates of the same user record by the same user are merged into one audit record, 0 disables merging',
+        'audit.user',
+        now(),
+        '00000000-0000-0000-0000-000000000000',
+        now(),
+        '00000000-0000-0000-0000-000000000000')
+ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,11 @@
+-- compressed old and new values of updates saved in deferred diff mode, until their diff is calculated
+ALTER TABLE instance_audit ADD COLUMN IF NOT EXISTS diff_snapshot bytea;
+ALTER TABLE instance_audit ADD COLUMN IF NOT EXISTS diff_pending  boolean NOT NULL DEFAULT false;
+ALTER TABLE holdings_audit ADD COLUMN IF NOT EXISTS diff_snapshot bytea;
+ALTER TABLE holdings_audit ADD COLUMN IF NOT EXISTS diff_pending  boolean NOT NULL DEFAULT false;
+ALTER TABLE item_audit ADD COLUMN IF NOT EXISTS diff_snapshot bytea;
+ALTER TABLE item_audit ADD COLUMN IF NOT EXISTS diff_pending  boolean NOT NULL DEFAULT false;
+
+CREATE INDEX IF NOT EXISTS idx_instance_audit_diff_pending ON instance_audit USING BTREE (event_date) WHERE diff_pending;
+CREATE INDEX IF NOT EXISTS idx_holdings_audit_diff_pending ON holdings_audit USING BTREE (event_date) WHERE diff_pending;
+CREATE INDEX IF NOT EXISTS idx_item_audit_diff_pending ON item_audit USING BTREE (event_date) WHERE diff_pending;
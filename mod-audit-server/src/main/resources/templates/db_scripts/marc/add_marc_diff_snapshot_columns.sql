@@ -0,0 +1,8 @@
+-- compressed old and new parsed records of updates saved in deferred diff mode, until their diff is calculated
+ALTER TABLE marc_bib_audit ADD COLUMN IF NOT EXISTS diff_snapshot bytea;
+ALTER TABLE marc_bib_audit ADD COLUMN IF NOT EXISTS diff_pending  boolean NOT NULL DEFAULT false;
+ALTER TABLE marc_authority_audit ADD COLUMN IF NOT EXISTS diff_snapshot bytea;
+ALTER TABLE marc_authority_audit ADD COLUMN IF NOT EXISTS diff_pending  boolean NOT NULL DEFAULT false;
+
+CREATE INDEX IF NOT EXISTS idx_marc_bib_audit_diff_pending ON marc_bib_audit USING BTREE (event_date) WHERE diff_pending;
+CREATE INDEX IF NOT EXISTS idx_marc_authority_audit_diff_pending ON marc_authority_audit USING BTREE (event_date) WHERE diff_pending;
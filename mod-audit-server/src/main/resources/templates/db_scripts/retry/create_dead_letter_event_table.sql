@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS dead_letter_event (
+    id             UUID      PRIMARY KEY,
+    original_topic VARCHAR   NOT NULL,
+    event_key      VARCHAR,
+    payload        TEXT      NOT NULL,
+    headers        JSONB,
+    error_message  TEXT,
+    attempts       INTEGER   NOT NULL,
+    event_date     TIMESTAMP,
+    created_date   TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_dead_letter_event_created_date ON dead_letter_event USING BTREE (created_date DESC);
@@ -0,0 +1,5 @@
+-- compressed old and new values of updates saved in deferred diff mode, until their diff is calculated
+ALTER TABLE user_audit ADD COLUMN IF NOT EXISTS diff_snapshot BYTEA;
+ALTER TABLE user_audit ADD COLUMN IF NOT EXISTS diff_pending  BOOLEAN NOT NULL DEFAULT false;
+
+CREATE INDEX IF NOT EXISTS idx_user_audit_diff_pending ON user_audit USING BTREE (event_date) WHERE diff_pending;
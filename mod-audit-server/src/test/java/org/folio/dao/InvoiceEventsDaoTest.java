@@ -1,5 +1,6 @@
 package org.folio.dao;
 
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.TENANT_ID;
 import static org.folio.utils.EntityUtils.createInvoiceAuditEvent;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -10,9 +11,9 @@ import static org.mockito.Mockito.verify;
 import java.util.UUID;
 
 import io.vertx.core.Vertx;
-import io.vertx.pgclient.PgException;
 import org.folio.CopilotGenerated;
 import org.folio.dao.acquisition.impl.InvoiceEventsDaoImpl;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.rest.jaxrs.model.InvoiceAuditEvent;
 import org.folio.util.PostgresClientFactory;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,13 +27,15 @@ public class InvoiceEventsDaoTest {
 
   @Spy
   private PostgresClientFactory postgresClientFactory = new PostgresClientFactory(Vertx.vertx());
+  @Spy
+  private BatchWriterFactory batchWriterFactory = directBatchWriterFactory();
   @InjectMocks
   InvoiceEventsDaoImpl invoiceEventDao;
 
   @BeforeEach
   public void setUp() {
     MockitoAnnotations.openMocks(this);
-    invoiceEventDao = new InvoiceEventsDaoImpl(postgresClientFactory);
+    invoiceEventDao = new InvoiceEventsDaoImpl(postgresClientFactory, batchWriterFactory);
   }
 
   @Test
@@ -45,16 +48,15 @@ public class InvoiceEventsDaoTest {
   }
 
   @Test
-  void shouldThrowConstraintViolation() {
+  void shouldSkipDuplicateEvent() {
     var invoiceAuditEvent = createInvoiceAuditEvent(UUID.randomUUID().toString());
 
     var saveFuture = invoiceEventDao.save(invoiceAuditEvent, TENANT_ID);
     saveFuture.onComplete(ar -> {
       var reSaveFuture = invoiceEventDao.save(invoiceAuditEvent, TENANT_ID);
       reSaveFuture.onComplete(re -> {
-        assertTrue(re.failed());
-        assertTrue(re.cause() instanceof PgException);
-        assertEquals("ERROR: duplicate key value violates unique constraint \"acquisition_invoice_log_pkey\" (23505)", re.cause().getMessage());
+        assertTrue(re.succeeded());
+        assertEquals(0, re.result().rowCount());
       });
     });
     verify(postgresClientFactory, times(1)).createInstance(TENANT_ID);
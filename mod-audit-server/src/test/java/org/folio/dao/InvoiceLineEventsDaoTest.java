@@ -1,5 +1,6 @@
 package org.folio.dao;
 
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.TENANT_ID;
 import static org.folio.utils.EntityUtils.createInvoiceLineAuditEvent;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -10,9 +11,9 @@ import static org.mockito.Mockito.verify;
 import java.util.UUID;
 
 import io.vertx.core.Vertx;
-import io.vertx.pgclient.PgException;
 import org.folio.CopilotGenerated;
 import org.folio.dao.acquisition.impl.InvoiceLineEventsDaoImpl;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.rest.jaxrs.model.InvoiceLineAuditEvent;
 import org.folio.util.PostgresClientFactory;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,13 +27,15 @@ public class InvoiceLineEventsDaoTest {
 
   @Spy
   private PostgresClientFactory postgresClientFactory = new PostgresClientFactory(Vertx.vertx());
+  @Spy
+  private BatchWriterFactory batchWriterFactory = directBatchWriterFactory();
   @InjectMocks
   InvoiceLineEventsDaoImpl invoiceLineEventsDao;
 
   @BeforeEach
   public void setUp() {
     MockitoAnnotations.openMocks(this);
-    invoiceLineEventsDao = new InvoiceLineEventsDaoImpl(postgresClientFactory);
+    invoiceLineEventsDao = new InvoiceLineEventsDaoImpl(postgresClientFactory, batchWriterFactory);
   }
 
   @Test
@@ -45,16 +48,15 @@ public class InvoiceLineEventsDaoTest {
   }
 
   @Test
-  void shouldThrowConstraintViolation() {
+  void shouldSkipDuplicateEvent() {
     var invoiceLineAuditEvent = createInvoiceLineAuditEvent(UUID.randomUUID().toString());
 
     var saveFuture = invoiceLineEventsDao.save(invoiceLineAuditEvent, TENANT_ID);
     saveFuture.onComplete(ar -> {
       var reSaveFuture = invoiceLineEventsDao.save(invoiceLineAuditEvent, TENANT_ID);
       reSaveFuture.onComplete(re -> {
-        assertTrue(re.failed());
-        assertTrue(re.cause() instanceof PgException);
-        assertEquals("ERROR: duplicate key value violates unique constraint \"acquisition_invoice_line_log_pkey\" (23505)", re.cause().getMessage());
+        assertTrue(re.succeeded());
+        assertEquals(0, re.result().rowCount());
       });
     });
     verify(postgresClientFactory, times(1)).createInstance(TENANT_ID);
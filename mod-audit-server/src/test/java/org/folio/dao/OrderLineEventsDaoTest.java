@@ -1,5 +1,6 @@
 package org.folio.dao;
 
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.TENANT_ID;
 import static org.folio.utils.EntityUtils.createOrderLineAuditEvent;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -12,8 +13,8 @@ import static org.mockito.Mockito.verify;
 import java.util.UUID;
 
 import io.vertx.core.Vertx;
-import io.vertx.pgclient.PgException;
 import org.folio.dao.acquisition.impl.OrderLineEventsDaoImpl;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.rest.jaxrs.model.OrderAuditEvent;
 import org.folio.util.PostgresClientFactory;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,13 +27,15 @@ public class OrderLineEventsDaoTest {
 
   @Spy
   private PostgresClientFactory postgresClientFactory = new PostgresClientFactory(Vertx.vertx());
+  @Spy
+  private BatchWriterFactory batchWriterFactory = directBatchWriterFactory();
   @InjectMocks
   OrderLineEventsDaoImpl orderLineEventsDao;
 
   @BeforeEach
   public void setUp() {
     MockitoAnnotations.openMocks(this);
-    orderLineEventsDao = new OrderLineEventsDaoImpl(postgresClientFactory);
+    orderLineEventsDao = new OrderLineEventsDaoImpl(postgresClientFactory, batchWriterFactory);
   }
 
   @Test
@@ -45,16 +48,15 @@ public class OrderLineEventsDaoTest {
   }
 
   @Test
-  void shouldThrowConstraintViolation() {
+  void shouldSkipDuplicateEvent() {
     var orderLineAuditEvent = createOrderLineAuditEvent(UUID.randomUUID().toString());
 
     var saveFuture = orderLineEventsDao.save(orderLineAuditEvent, TENANT_ID);
     saveFuture.onComplete(ar -> {
       var reSaveFuture = orderLineEventsDao.save(orderLineAuditEvent, TENANT_ID);
       reSaveFuture.onComplete(re -> {
-        assertTrue(re.failed());
-        assertTrue(re.cause() instanceof  PgException);
-        assertEquals("ERROR: duplicate key value violates unique constraint \"acquisition_order_line_log_pkey\" (23505)", re.cause().getMessage());
+        assertTrue(re.succeeded());
+        assertEquals(0, re.result().rowCount());
       });
     });
     verify(postgresClientFactory, times(1)).createInstance(TENANT_ID);
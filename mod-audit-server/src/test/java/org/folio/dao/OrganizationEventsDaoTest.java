@@ -1,9 +1,9 @@
 package org.folio.dao;
 
 import io.vertx.core.Vertx;
-import io.vertx.pgclient.PgException;
 import org.folio.CopilotGenerated;
 import org.folio.dao.acquisition.impl.OrganizationEventsDaoImpl;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.rest.jaxrs.model.OrganizationAuditEvent;
 import org.folio.util.PostgresClientFactory;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +14,7 @@ import org.mockito.Spy;
 
 import java.util.UUID;
 
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.TENANT_ID;
 import static org.folio.utils.EntityUtils.createOrganizationAuditEvent;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -26,13 +27,15 @@ public class OrganizationEventsDaoTest {
 
   @Spy
   private PostgresClientFactory postgresClientFactory = new PostgresClientFactory(Vertx.vertx());
+  @Spy
+  private BatchWriterFactory batchWriterFactory = directBatchWriterFactory();
   @InjectMocks
   OrganizationEventsDaoImpl organizationEventDao;
 
   @BeforeEach
   public void setUp() {
     MockitoAnnotations.openMocks(this);
-    organizationEventDao = new OrganizationEventsDaoImpl(postgresClientFactory);
+    organizationEventDao = new OrganizationEventsDaoImpl(postgresClientFactory, batchWriterFactory);
   }
 
   @Test
@@ -45,16 +48,15 @@ public class OrganizationEventsDaoTest {
   }
 
   @Test
-  void shouldThrowConstraintViolation() {
+  void shouldSkipDuplicateEvent() {
     var organizationAuditEvent = createOrganizationAuditEvent(UUID.randomUUID().toString());
 
     var saveFuture = organizationEventDao.save(organizationAuditEvent, TENANT_ID);
     saveFuture.onComplete(ar -> {
       var reSaveFuture = organizationEventDao.save(organizationAuditEvent, TENANT_ID);
       reSaveFuture.onComplete(re -> {
-        assertTrue(re.failed());
-        assertTrue(re.cause() instanceof PgException);
-        assertEquals("ERROR: duplicate key value violates unique constraint \"acquisition_organization_log_pkey\" (23505)", re.cause().getMessage());
+        assertTrue(re.succeeded());
+        assertEquals(0, re.result().rowCount());
       });
     });
     verify(postgresClientFactory, times(1)).createInstance(TENANT_ID);
@@ -1,5 +1,6 @@
 package org.folio.dao;
 
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.TENANT_ID;
 import static org.folio.utils.EntityUtils.createPieceAuditEvent;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -10,8 +11,8 @@ import static org.mockito.Mockito.verify;
 import java.util.UUID;
 
 import io.vertx.core.Vertx;
-import io.vertx.pgclient.PgException;
 import org.folio.dao.acquisition.impl.PieceEventsDaoImpl;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.rest.jaxrs.model.PieceAuditEvent;
 import org.folio.util.PostgresClientFactory;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,13 +25,15 @@ public class PieceEventsDaoTest {
 
   @Spy
   PostgresClientFactory postgresClientFactory = new PostgresClientFactory(Vertx.vertx());
+  @Spy
+  BatchWriterFactory batchWriterFactory = directBatchWriterFactory();
   @InjectMocks
   PieceEventsDaoImpl pieceEventsDao;
 
   @BeforeEach
   public void setUp() {
     MockitoAnnotations.openMocks(this);
-    pieceEventsDao = new PieceEventsDaoImpl(postgresClientFactory);
+    pieceEventsDao = new PieceEventsDaoImpl(postgresClientFactory, batchWriterFactory);
   }
 
   @Test
@@ -43,16 +46,15 @@ public class PieceEventsDaoTest {
   }
 
   @Test
-  void shouldThrowConstrainViolation() {
+  void shouldSkipDuplicateEvent() {
     var pieceAuditEvent = createPieceAuditEvent(UUID.randomUUID().toString());
 
     var saveFuture = pieceEventsDao.save(pieceAuditEvent, TENANT_ID);
     saveFuture.onComplete(ar -> {
       var reSaveFuture = pieceEventsDao.save(pieceAuditEvent, TENANT_ID);
       reSaveFuture.onComplete(re -> {
-        assertTrue(re.failed());
-        assertTrue(re.cause() instanceof PgException);
-        assertEquals("ERROR: duplicate key value violates unique constraint \"acquisition_piece_log_pkey\" (23505)", re.cause().getMessage());
+        assertTrue(re.succeeded());
+        assertEquals(0, re.result().rowCount());
       });
     });
     verify(postgresClientFactory, times(1)).createInstance(TENANT_ID);
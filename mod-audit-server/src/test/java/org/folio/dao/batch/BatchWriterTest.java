@@ -0,0 +1,238 @@
+package org.folio.dao.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@UnitTest
+@ExtendWith(VertxExtension.class)
+class BatchWriterTest {
+
+  private static final String TENANT_ID = "diku";
+
+  private static final SpoolCodec<String> CODEC = SpoolCodec.of(
+    value -> new JsonObject().put("value", value), json -> json.getString("value"));
+
+  @TempDir
+  Path spoolDirectory;
+
+  private final List<List<String>> savedBatches = new CopyOnWriteArrayList<>();
+  private final List<String> savedOneByOne = new CopyOnWriteArrayList<>();
+
+  @Test
+  void shouldSaveRecordImmediatelyWhenNoInsertInProgress(Vertx vertx, VertxTestContext ctx) {
+    var writer = new BatchWriter<>(vertx, "test", 100, 1, this::saveBatch, this::saveOne);
+
+    writer.write(TENANT_ID, "1")
+      .onComplete(ctx.succeeding(v -> ctx.verify(() -> {
+        assertEquals(List.of("1"), savedOneByOne);
+        assertTrue(savedBatches.isEmpty());
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldBatchRecordsArrivedWhileInsertInProgress(Vertx vertx, VertxTestContext ctx) {
+    var firstInsert = Promise.<RowSet<Row>>promise();
+    var writer = new BatchWriter<String>(vertx, "test", 100, 1, this::saveBatch,
+      (tenantId, entity) -> "1".equals(entity) ? firstInsert.future() : saveOne(tenantId, entity));
+
+    var first = writer.write(TENANT_ID, "1");
+    var second = writer.write(TENANT_ID, "2");
+    var third = writer.write(TENANT_ID, "3");
+    assertTrue(savedBatches.isEmpty());
+    firstInsert.complete();
+
+    Future.all(first, second, third)
+      .onComplete(ctx.succeeding(v -> ctx.verify(() -> {
+        assertEquals(List.of(List.of("2", "3")), savedBatches);
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldSaveFullBatchWhileInsertInProgress(Vertx vertx, VertxTestContext ctx) {
+    var writer = new BatchWriter<String>(vertx, "test", 2, 1, this::saveBatch,
+      (tenantId, entity) -> Promise.<RowSet<Row>>promise().future());
+
+    writer.write(TENANT_ID, "1");
+    Future.all(writer.write(TENANT_ID, "2"), writer.write(TENANT_ID, "3"))
+      .onComplete(ctx.succeeding(v -> ctx.verify(() -> {
+        assertEquals(List.of(List.of("2", "3")), savedBatches);
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldKeepSeparateBatchesPerTenant(Vertx vertx, VertxTestContext ctx) {
+    var firstInserts = List.of(Promise.<RowSet<Row>>promise(), Promise.<RowSet<Row>>promise());
+    var writer = new BatchWriter<String>(vertx, "test", 100, 1, this::saveBatch,
+      (tenantId, entity) -> TENANT_ID.equals(tenantId) ? firstInserts.get(0).future() : firstInserts.get(1).future());
+
+    writer.write(TENANT_ID, "1");
+    writer.write("other", "2");
+    var pending = Future.all(writer.write(TENANT_ID, "3"), writer.write("other", "4"),
+      writer.write(TENANT_ID, "5"), writer.write("other", "6"));
+    firstInserts.forEach(Promise::complete);
+
+    pending.onComplete(ctx.succeeding(v -> ctx.verify(() -> {
+      assertEquals(2, savedBatches.size());
+      assertTrue(savedBatches.contains(List.of("3", "5")));
+      assertTrue(savedBatches.contains(List.of("4", "6")));
+      ctx.completeNow();
+    })));
+  }
+
+  @Test
+  void shouldCapBatchSizeByBindParameters(Vertx vertx) {
+    var writer = new BatchWriter<>(vertx, "test", 100_000, 7, this::saveBatch, this::saveOne);
+
+    assertEquals(BatchWriter.MAX_BIND_PARAMETERS / 7, writer.getMaxBatchSize());
+  }
+
+  @Test
+  void shouldSaveOneByOneWhenBatchFails(Vertx vertx, VertxTestContext ctx) {
+    var firstInsert = Promise.<RowSet<Row>>promise();
+    var writer = new BatchWriter<String>(vertx, "test", 2, 1,
+      (tenantId, entities) -> Future.failedFuture(new IllegalStateException("duplicate")),
+      (tenantId, entity) -> switch (entity) {
+        case "first" -> firstInsert.future();
+        case "bad" -> Future.failedFuture(new IllegalArgumentException(entity));
+        default -> saveOne(tenantId, entity);
+      });
+
+    writer.write(TENANT_ID, "first");
+    var good = writer.write(TENANT_ID, "good");
+    var bad = writer.write(TENANT_ID, "bad");
+    firstInsert.complete();
+
+    Future.join(good, bad)
+      .onComplete(ar -> ctx.verify(() -> {
+        assertTrue(good.succeeded());
+        assertTrue(bad.failed());
+        assertInstanceOf(IllegalArgumentException.class, bad.cause());
+        assertEquals(List.of("good"), savedOneByOne);
+        ctx.completeNow();
+      }));
+  }
+
+  @Test
+  void shouldSaveImmediatelyInDirectMode(VertxTestContext ctx) {
+    var writer = BatchWriter.<String>direct("test", this::saveOne);
+
+    writer.write(TENANT_ID, "1")
+      .onComplete(ctx.succeeding(v -> ctx.verify(() -> {
+        assertEquals(List.of("1"), savedOneByOne);
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldSpoolRecordWhenSaveFails(Vertx vertx, VertxTestContext ctx) throws IOException {
+    var spool = new LocalSpool<>(spoolDirectory, 4096, CODEC);
+    var writer = new BatchWriter<String>(vertx, "test", 1, 1, this::saveBatch,
+      (tenantId, entity) -> Future.failedFuture(new IllegalStateException("connection refused")), spool, null, 60_000);
+
+    writer.write(TENANT_ID, "1")
+      .onComplete(ctx.succeeding(rows -> ctx.verify(() -> {
+        assertNull(rows);
+        assertEquals(1, spool.getRecordCount());
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldSpoolRecordWhenSaveIsSlow(Vertx vertx, VertxTestContext ctx) throws IOException {
+    var spool = new LocalSpool<>(spoolDirectory, 4096, CODEC);
+    var writer = new BatchWriter<String>(vertx, "test", 1, 1, this::saveBatch,
+      (tenantId, entity) -> Promise.<RowSet<Row>>promise().future(), spool, null, 10);
+
+    writer.write(TENANT_ID, "1")
+      .onComplete(ctx.succeeding(rows -> ctx.verify(() -> {
+        assertEquals(1, spool.getRecordCount());
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldReplaySpooledRecordsOnDrain(Vertx vertx, VertxTestContext ctx) throws IOException {
+    var spool = new LocalSpool<>(spoolDirectory, 4096, CODEC);
+    spool.append(TENANT_ID, "1");
+    spool.append("other", "2");
+    spool.append(TENANT_ID, "3");
+    var writer = new BatchWriter<>(vertx, "test", 1, 1, this::saveBatch, this::saveOne, spool, null, 60_000);
+
+    writer.drainSpool(10)
+      .onComplete(ctx.succeeding(v -> ctx.verify(() -> {
+        assertEquals(List.of(List.of("1", "3")), savedBatches);
+        assertEquals(List.of("2"), savedOneByOne);
+        assertEquals(0, spool.getRecordCount());
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldNotReplaySpooledRecordsDeletedAfterTheyWereSpooled(Vertx vertx, VertxTestContext ctx) throws IOException {
+    var spool = new LocalSpool<>(spoolDirectory, 4096, CODEC);
+    spool.append(TENANT_ID, "1");
+    spool.append(TENANT_ID, "2");
+    spool.append("other", "1");
+    var writer = new BatchWriter<String>(vertx, "test", 1, 1, this::saveBatch, this::saveOne, spool,
+      entity -> entity, 60_000);
+
+    writer.tombstone(TENANT_ID, "1")
+      .compose(v -> writer.drainSpool(10))
+      .onComplete(ctx.succeeding(v -> ctx.verify(() -> {
+        assertEquals(List.of("2", "1"), savedOneByOne);
+        assertTrue(savedBatches.isEmpty());
+        assertEquals(0, spool.getRecordCount());
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldKeepSpooledRecordsWhenReplayFails(Vertx vertx, VertxTestContext ctx) throws IOException {
+    var spool = new LocalSpool<>(spoolDirectory, 4096, CODEC);
+    spool.append(TENANT_ID, "1");
+    var writer = new BatchWriter<String>(vertx, "test", 1, 1, this::saveBatch,
+      (tenantId, entity) -> Future.failedFuture(new IllegalStateException("connection refused")), spool, null, 60_000);
+
+    writer.drainSpool(10)
+      .onComplete(ctx.succeeding(v -> ctx.verify(() -> {
+        assertEquals(1, spool.getRecordCount());
+        ctx.completeNow();
+      })));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Future<RowSet<Row>> saveBatch(String tenantId, List<String> entities) {
+    savedBatches.add(new ArrayList<>(entities));
+    return Future.succeededFuture(mock(RowSet.class));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Future<RowSet<Row>> saveOne(String tenantId, String entity) {
+    savedOneByOne.add(entity);
+    return Future.succeededFuture(mock(RowSet.class));
+  }
+}
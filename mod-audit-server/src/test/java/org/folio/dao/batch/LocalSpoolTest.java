@@ -0,0 +1,188 @@
+package org.folio.dao.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@UnitTest
+class LocalSpoolTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final SpoolCodec<String> CODEC = SpoolCodec.of(
+    value -> new JsonObject().put("value", value), json -> json.getString("value"));
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void shouldReturnSpooledRecordsInOrder() throws IOException {
+    var spool = new LocalSpool<>(directory, 4096, CODEC);
+    spool.append(TENANT_ID, "1");
+    spool.append("other", "2");
+
+    var segment = spool.oldestSegment();
+
+    assertEquals(List.of(entry(TENANT_ID, "1"), entry("other", "2")),
+      entries(segment));
+    assertEquals(2, spool.getRecordCount());
+    assertTrue(spool.getSizeBytes() > 0);
+  }
+
+  @Test
+  void shouldDeleteReleasedSegment() throws IOException {
+    var spool = new LocalSpool<>(directory, 4096, CODEC);
+    spool.append(TENANT_ID, "1");
+
+    var segment = spool.oldestSegment();
+    spool.release(segment);
+
+    assertNull(spool.oldestSegment());
+    assertEquals(0, spool.getRecordCount());
+    assertEquals(0, spool.getOldestAgeMs());
+    assertTrue(Files.notExists(segment.path()));
+  }
+
+  @Test
+  void shouldRollOverToNewSegmentWhenFull() throws IOException {
+    var spool = new LocalSpool<>(directory, 64, CODEC);
+    spool.append(TENANT_ID, "1");
+    spool.append(TENANT_ID, "2");
+
+    var first = spool.oldestSegment();
+    spool.release(first);
+    var second = spool.oldestSegment();
+
+    assertEquals(List.of(entry(TENANT_ID, "1")), entries(first));
+    assertEquals(List.of(entry(TENANT_ID, "2")), entries(second));
+  }
+
+  @Test
+  void shouldRejectRecordLargerThanSegment() throws IOException {
+    var spool = new LocalSpool<>(directory, 32, CODEC);
+
+    assertThrows(IOException.class, () -> spool.append(TENANT_ID, "x".repeat(100)));
+  }
+
+  @Test
+  void shouldRecoverSegmentsOnRestart() throws IOException {
+    var spool = new LocalSpool<>(directory, 4096, CODEC);
+    spool.append(TENANT_ID, "1");
+    spool.append(TENANT_ID, "2");
+
+    var recovered = new LocalSpool<>(directory, 4096, CODEC);
+    recovered.append(TENANT_ID, "3");
+
+    assertEquals(3, recovered.getRecordCount());
+    var first = recovered.oldestSegment();
+    assertEquals(List.of(entry(TENANT_ID, "1"), entry(TENANT_ID, "2")),
+      entries(first));
+    recovered.release(first);
+    assertEquals(List.of(entry(TENANT_ID, "3")), entries(recovered.oldestSegment()));
+  }
+
+  @Test
+  void shouldSkipCorruptedTailOnRecovery() throws IOException {
+    var spool = new LocalSpool<>(directory, 4096, CODEC);
+    spool.append(TENANT_ID, "1");
+    spool.append(TENANT_ID, "2");
+    var path = spool.oldestSegment().path();
+    try (var file = new RandomAccessFile(path.toFile(), "rw")) {
+      var lastByte = spool.getSizeBytes() - 1;
+      file.seek(lastByte);
+      var value = file.read();
+      file.seek(lastByte);
+      file.write(value ^ 0xFF);
+    }
+
+    var recovered = new LocalSpool<>(directory, 4096, CODEC);
+
+    assertEquals(1, recovered.getRecordCount());
+    assertEquals(List.of(entry(TENANT_ID, "1")), entries(recovered.oldestSegment()));
+  }
+
+  @Test
+  void shouldReportRecordsDeletedAfterTheyWereSpooled() throws IOException {
+    var spool = new LocalSpool<>(directory, 4096, CODEC);
+    spool.append(TENANT_ID, "1");
+    spool.append("other", "1");
+    spool.tombstone(TENANT_ID, "1");
+
+    var entries = spool.oldestSegment().entries();
+
+    assertTrue(spool.isDeleted(entries.get(0), "1"));
+    assertFalse(spool.isDeleted(entries.get(0), "2"));
+    assertFalse(spool.isDeleted(entries.get(1), "1"));
+  }
+
+  @Test
+  void shouldReportAllRecordsOfDeletedTenant() throws IOException {
+    var spool = new LocalSpool<>(directory, 4096, CODEC);
+    spool.append(TENANT_ID, "1");
+    spool.tombstone(TENANT_ID, null);
+
+    var entry = spool.oldestSegment().entries().getFirst();
+
+    assertTrue(spool.isDeleted(entry, "1"));
+    assertTrue(spool.isDeleted(entry, null));
+  }
+
+  @Test
+  void shouldNotReportRecordsSpooledAfterDeletion() throws IOException, InterruptedException {
+    var spool = new LocalSpool<>(directory, 4096, CODEC);
+    spool.append(TENANT_ID, "1");
+    spool.tombstone(TENANT_ID, "2");
+    Thread.sleep(2);
+    spool.append(TENANT_ID, "2");
+
+    var entries = spool.oldestSegment().entries();
+
+    assertFalse(spool.isDeleted(entries.get(1), "2"));
+  }
+
+  @Test
+  void shouldRecoverTombstonesOnRestart() throws IOException {
+    var spool = new LocalSpool<>(directory, 4096, CODEC);
+    spool.append(TENANT_ID, "1");
+    spool.tombstone(TENANT_ID, "1");
+
+    var recovered = new LocalSpool<>(directory, 4096, CODEC);
+
+    assertTrue(recovered.isDeleted(recovered.oldestSegment().entries().getFirst(), "1"));
+  }
+
+  @Test
+  void shouldDropTombstonesWhenSpoolIsEmpty() throws IOException {
+    var spool = new LocalSpool<>(directory, 4096, CODEC);
+    spool.tombstone(TENANT_ID, "1");
+    assertTrue(Files.notExists(directory.resolve("tombstones")));
+
+    spool.append(TENANT_ID, "1");
+    spool.tombstone(TENANT_ID, "1");
+    assertTrue(Files.exists(directory.resolve("tombstones")));
+    spool.release(spool.oldestSegment());
+
+    assertTrue(Files.notExists(directory.resolve("tombstones")));
+  }
+
+  private static String entry(String tenantId, String value) {
+    return tenantId + ":" + value;
+  }
+
+  private static List<String> entries(LocalSpool.Segment<String> segment) {
+    return segment.entries().stream()
+      .map(entry -> entry(entry.tenantId(), entry.entity()))
+      .toList();
+  }
+}
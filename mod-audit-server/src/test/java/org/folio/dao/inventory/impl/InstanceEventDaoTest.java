@@ -1,5 +1,6 @@
 package org.folio.dao.inventory.impl;
 
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.TENANT_ID;
 import static org.folio.utils.EntityUtils.createInventoryAuditEntity;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -7,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
@@ -15,6 +17,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import io.vertx.sqlclient.Row;
@@ -22,10 +25,15 @@ import io.vertx.sqlclient.RowSet;
 import io.vertx.sqlclient.Tuple;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.folio.CopilotGenerated;
+import org.folio.dao.PendingDiff;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.dao.inventory.InventoryAuditEntity;
 import org.folio.rest.persist.PostgresClient;
+import org.folio.util.DiffSnapshot;
 import org.folio.util.PostgresClientFactory;
 import org.folio.utils.MockUtils;
 import org.folio.utils.UnitTest;
@@ -34,6 +42,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @CopilotGenerated(partiallyGenerated = true)
@@ -43,6 +52,8 @@ class InstanceEventDaoTest {
 
   @Mock
   PostgresClientFactory postgresClientFactory;
+  @Spy
+  BatchWriterFactory batchWriterFactory = directBatchWriterFactory();
   @Mock
   PostgresClient postgresClient;
   @InjectMocks
@@ -86,6 +97,17 @@ class InstanceEventDaoTest {
     verify(postgresClientFactory, times(2)).createInstance(TENANT_ID);
   }
 
+  @Test
+  void shouldSaveAllThroughBatchWriter(VertxTestContext ctx) {
+    var entities = List.of(createInventoryAuditEntity(), createInventoryAuditEntity());
+
+    instanceEventDao.saveAll(entities, TENANT_ID)
+      .onComplete(ctx.succeeding(result -> ctx.verify(() -> {
+        verify(postgresClient, times(2)).execute(anyString(), argThat((Tuple tuple) -> tuple.size() == 6));
+        ctx.completeNow();
+      })));
+  }
+
   @Test
   void shouldGetInventoryAuditEntities(VertxTestContext ctx) {
     var entityId = UUID.randomUUID();
@@ -103,6 +125,45 @@ class InstanceEventDaoTest {
       }));
   }
 
+  @Test
+  void shouldSavePendingDiffsWithCompressedSnapshots(VertxTestContext ctx) {
+    var entity = createInventoryAuditEntity();
+    var snapshot = new DiffSnapshot(Map.of("title", "Old title"), Map.of("title", "New title"));
+
+    instanceEventDao.savePending(List.of(new PendingDiff<>(entity, snapshot)), TENANT_ID)
+      .onComplete(ctx.succeeding(result -> ctx.verify(() -> {
+        verify(postgresClient).execute(argThat((String query) -> query.contains("diff_snapshot, diff_pending")),
+          argThat((Tuple tuple) -> tuple.size() == 8 && Boolean.TRUE.equals(tuple.getValue(7))
+            && snapshot.equals(DiffSnapshot.decompress(tuple.getBuffer(6).getBytes()))));
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldGetPendingDiffs(VertxTestContext ctx) {
+    var entity = createInventoryAuditEntity();
+    var snapshot = new DiffSnapshot(Map.of("title", "Old title"), Map.of("title", "New title"));
+    var row = mock(Row.class);
+    when(row.getUUID("event_id")).thenReturn(entity.eventId());
+    when(row.getUUID("entity_id")).thenReturn(entity.entityId());
+    when(row.getLocalDateTime("event_date")).thenReturn(entity.eventDate().toLocalDateTime());
+    when(row.getBuffer("diff_snapshot")).thenReturn(Buffer.buffer(snapshot.compress()));
+
+    doReturn(Future.succeededFuture(MockUtils.mockRowSet(row)))
+      .when(postgresClient).execute(anyString(), any(Tuple.class));
+
+    instanceEventDao.getPendingDiffs(entity.entityId(), List.of(entity.eventId()), TENANT_ID)
+      .onComplete(ctx.succeeding(result -> ctx.verify(() -> {
+        assertEquals(1, result.size());
+        assertEquals(entity.eventId(), result.get(0).entity().eventId());
+        assertEquals(snapshot, result.get(0).snapshot());
+        verify(postgresClient).execute(argThat((String query) -> query.contains("diff_pending")),
+          argThat((Tuple tuple) -> entity.entityId().equals(tuple.getUUID(0))
+            && tuple.getValue(1) instanceof UUID[] eventIds && eventIds.length == 1));
+        ctx.completeNow();
+      })));
+  }
+
   @Test
   void shouldDeleteAllInventoryAuditEntities(VertxTestContext ctx) {
     var entityId = UUID.randomUUID();
@@ -0,0 +1,49 @@
+package org.folio.dao.inventory.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.vertx.core.json.JsonObject;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import org.folio.dao.inventory.InventoryAuditEntity;
+import org.folio.domain.diff.ChangeRecordDto;
+import org.folio.domain.diff.FieldChangeDto;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class InventoryAuditBulkInsertDaoImplTest {
+
+  private static final UUID EVENT_ID = UUID.fromString("3f1c2b5e-6f7a-4b8c-9d0e-1f2a3b4c5d6e");
+  private static final UUID ENTITY_ID = UUID.fromString("5b1f2c3d-4e5f-4a6b-8c7d-9e0f1a2b3c4d");
+  private static final UUID USER_ID = UUID.fromString("8f2a4c1e-1b2c-4d5e-9f6a-7b8c9d0e1f2a");
+  private static final LocalDateTime EVENT_DATE = LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_000_000);
+
+  @Test
+  void shouldTurnEntitiesIntoColumns() {
+    var diff = new ChangeRecordDto(List.of(FieldChangeDto.modified("title", "title", "old \"title\"", "new, title")), null);
+    var updated = new InventoryAuditEntity(EVENT_ID, timestamp(), ENTITY_ID, "UPDATE", USER_ID, diff);
+    var created = new InventoryAuditEntity(ENTITY_ID, timestamp(), ENTITY_ID, "CREATE", null, null);
+
+    var columns = InventoryAuditBulkInsertDaoImpl.toColumns(List.of(updated, created));
+
+    assertEquals(6, columns.size());
+    assertArrayEquals(new UUID[] {EVENT_ID, ENTITY_ID}, (UUID[]) columns.getValue(0));
+    assertArrayEquals(new LocalDateTime[] {EVENT_DATE, EVENT_DATE}, (LocalDateTime[]) columns.getValue(1));
+    assertArrayEquals(new UUID[] {ENTITY_ID, ENTITY_ID}, (UUID[]) columns.getValue(2));
+    assertArrayEquals(new String[] {"UPDATE", "CREATE"}, (String[]) columns.getValue(3));
+    assertArrayEquals(new UUID[] {USER_ID, null}, (UUID[]) columns.getValue(4));
+    var diffs = (String[]) columns.getValue(5);
+    assertEquals(diff, new JsonObject(diffs[0]).mapTo(ChangeRecordDto.class));
+    assertNull(diffs[1]);
+  }
+
+  private Timestamp timestamp() {
+    return Timestamp.from(EVENT_DATE.atZone(ZoneId.systemDefault()).toInstant());
+  }
+}
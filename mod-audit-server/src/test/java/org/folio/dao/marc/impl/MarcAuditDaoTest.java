@@ -22,6 +22,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.createMarcAuditEntity;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -48,7 +49,7 @@ public class MarcAuditDaoTest {
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
-    marcAuditDao = new MarcAuditDaoImpl(pgClientFactory);
+    marcAuditDao = new MarcAuditDaoImpl(pgClientFactory, directBatchWriterFactory());
   }
 
   @Test
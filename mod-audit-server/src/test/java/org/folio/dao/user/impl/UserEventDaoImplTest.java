@@ -1,6 +1,7 @@
 package org.folio.dao.user.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.TENANT_ID;
 import static org.folio.utils.EntityUtils.createUserAuditEntity;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -22,6 +23,7 @@ import io.vertx.sqlclient.RowSet;
 import io.vertx.sqlclient.Tuple;
 import java.sql.Timestamp;
 import java.util.Set;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.dao.user.UserAuditConstants;
 import org.folio.rest.persist.Conn;
 import org.folio.rest.persist.PostgresClient;
@@ -33,6 +35,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @UnitTest
@@ -41,6 +44,8 @@ class UserEventDaoImplTest {
 
   @Mock
   PostgresClientFactory postgresClientFactory;
+  @Spy
+  BatchWriterFactory batchWriterFactory = directBatchWriterFactory();
   @Mock
   PostgresClient postgresClient;
   @InjectMocks
@@ -3,17 +3,25 @@ package org.folio.mapper;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import org.folio.services.diff.inventory.InstanceDiffCalculator;
+import org.folio.services.diff.inventory.InventoryDiffCalculator;
+import org.folio.services.diff.inventory.InventoryUpdateNoiseFilter;
 import org.folio.util.inventory.InventoryEvent;
 import org.folio.util.inventory.InventoryEventType;
 import org.folio.util.inventory.InventoryResourceType;
 import org.folio.util.inventory.InventoryUtils;
+import org.folio.util.metrics.MetricsRegistry;
 import org.folio.utils.UnitTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,7 +36,8 @@ class InventoryEventToEntityMapperTest {
 
   @BeforeEach
   void setUp() {
-    mapper = new InventoryEventToEntityMapper(List.of(new InstanceDiffCalculator()));
+    mapper = new InventoryEventToEntityMapper(List.of(new InstanceDiffCalculator()),
+      new InventoryUpdateNoiseFilter(new MetricsRegistry(null, 0), false, "", "", ""));
   }
 
   @Test
@@ -108,4 +117,31 @@ class InventoryEventToEntityMapperTest {
       assertNull(result.diff());
     }
   }
-}
\ No newline at end of file
+
+  @Test
+  void shouldSkipDiffCalculationForNoiseOnlyUpdate() {
+    var diffCalculator = mock(InventoryDiffCalculator.class);
+    when(diffCalculator.getResourceType()).thenReturn(InventoryResourceType.ITEM);
+    var noiseFilter = new InventoryUpdateNoiseFilter(new MetricsRegistry(null, 0), true, "", "",
+      "_version,metadata,status.date");
+    mapper = new InventoryEventToEntityMapper(List.of(diffCalculator), noiseFilter);
+
+    var event = new InventoryEvent();
+    event.setEventId(UUID.randomUUID().toString());
+    event.setEntityId(UUID.randomUUID().toString());
+    event.setEventTs(System.currentTimeMillis());
+    event.setType(InventoryEventType.UPDATE);
+    event.setResourceType(InventoryResourceType.ITEM);
+    event.setOldValue(Map.of("barcode", "123", "_version", 1, "status", Map.of("name", "Available", "date", "1")));
+    event.setNewValue(Map.of("barcode", "123", "_version", 2, "status", Map.of("name", "Available", "date", "2")));
+
+    try (MockedStatic<InventoryUtils> utilities = mockStatic(InventoryUtils.class)) {
+      utilities.when(() -> InventoryUtils.extractUserId(event)).thenReturn(UUID.randomUUID().toString());
+
+      var result = mapper.apply(event);
+
+      assertNull(result.diff());
+      verify(diffCalculator, never()).calculateDiff(any(), any());
+    }
+  }
+}
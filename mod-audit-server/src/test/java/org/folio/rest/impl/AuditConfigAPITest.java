@@ -9,10 +9,12 @@ import static org.folio.services.configuration.SettingGroup.AUTHORITY;
 import static org.folio.services.configuration.SettingGroup.INVENTORY;
 import static org.folio.services.configuration.SettingGroup.USER;
 import static org.folio.services.configuration.SettingKey.ANONYMIZE;
+import static org.folio.services.configuration.SettingKey.DIFF_DEFERRED;
 import static org.folio.services.configuration.SettingKey.ENABLED;
 import static org.folio.services.configuration.SettingKey.EXCLUDED_FIELDS;
 import static org.folio.services.configuration.SettingKey.RECORDS_PAGE_SIZE;
 import static org.folio.services.configuration.SettingKey.RETENTION_PERIOD;
+import static org.folio.services.configuration.SettingKey.UPDATE_COALESCING_WINDOW;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
@@ -40,12 +42,15 @@ public class AuditConfigAPITest extends ApiTestBase {
     "audit.config.groups.settings.audit.inventory.enabled.item.put",
     "audit.config.groups.settings.audit.inventory.records.page.size.item.put",
     "audit.config.groups.settings.audit.inventory.records.retention.period.item.put",
+    "audit.config.groups.settings.audit.inventory.update.coalescing.window.item.put",
+    "audit.config.groups.settings.audit.inventory.diff.deferred.item.put",
     "audit.config.groups.settings.audit.inventory.collection.get"]""");
   private static final Header AUTHORITY_PERMS_HEADER = new Header(XOkapiHeaders.PERMISSIONS, """
     ["audit.config.groups.settings.collection.get",
     "audit.config.groups.settings.audit.authority.enabled.item.put",
     "audit.config.groups.settings.audit.authority.records.page.size.item.put",
     "audit.config.groups.settings.audit.authority.records.retention.period.item.put",
+    "audit.config.groups.settings.audit.authority.diff.deferred.item.put",
     "audit.config.groups.settings.audit.authority.collection.get"]""");
   private static final Header USER_PERMS_HEADER = new Header(XOkapiHeaders.PERMISSIONS, """
     ["audit.config.groups.settings.collection.get",
@@ -54,6 +59,8 @@ public class AuditConfigAPITest extends ApiTestBase {
     "audit.config.groups.settings.audit.user.records.retention.period.item.put",
     "audit.config.groups.settings.audit.user.records.page.size.item.put",
     "audit.config.groups.settings.audit.user.excluded.fields.item.put",
+    "audit.config.groups.settings.audit.user.update.coalescing.window.item.put",
+    "audit.config.groups.settings.audit.user.diff.deferred.item.put",
     "audit.config.groups.settings.audit.user.collection.get"]""");
   private static final Header USER_HEADER = new Header(XOkapiHeaders.USER_ID, UUID.randomUUID().toString());
   private static final Header CONTENT_TYPE_HEADER = new Header("Content-Type", "application/json");
@@ -83,23 +90,23 @@ public class AuditConfigAPITest extends ApiTestBase {
       .then().log().all()
       .statusCode(HttpStatus.HTTP_OK.toInt())
       .assertThat()
-      .body("totalRecords", equalTo(3))
-      .body("settings[1].key", equalTo(RECORDS_PAGE_SIZE.getValue()))
-      .body("settings[1].value", notNullValue())
-      .body("settings[1].type", equalTo("INTEGER"))
-      .body("settings[1].groupId", equalTo(INVENTORY.getId()))
-      .body("settings[1].metadata.createdDate", notNullValue())
-      .body("settings[1].metadata.updatedDate", notNullValue())
-      .body("settings[1].metadata.createdByUserId", notNullValue())
-      .body("settings[1].metadata.updatedByUserId", notNullValue())
-      .body("settings[2].key", equalTo(RETENTION_PERIOD.getValue()))
+      .body("totalRecords", equalTo(5))
+      .body("settings[2].key", equalTo(RECORDS_PAGE_SIZE.getValue()))
       .body("settings[2].value", notNullValue())
       .body("settings[2].type", equalTo("INTEGER"))
       .body("settings[2].groupId", equalTo(INVENTORY.getId()))
       .body("settings[2].metadata.createdDate", notNullValue())
       .body("settings[2].metadata.updatedDate", notNullValue())
       .body("settings[2].metadata.createdByUserId", notNullValue())
-      .body("settings[2].metadata.updatedByUserId", notNullValue());
+      .body("settings[2].metadata.updatedByUserId", notNullValue())
+      .body("settings[3].key", equalTo(RETENTION_PERIOD.getValue()))
+      .body("settings[3].value", notNullValue())
+      .body("settings[3].type", equalTo("INTEGER"))
+      .body("settings[3].groupId", equalTo(INVENTORY.getId()))
+      .body("settings[3].metadata.createdDate", notNullValue())
+      .body("settings[3].metadata.updatedDate", notNullValue())
+      .body("settings[3].metadata.createdByUserId", notNullValue())
+      .body("settings[3].metadata.updatedByUserId", notNullValue());
   }
 
   @Test
@@ -164,7 +171,12 @@ public class AuditConfigAPITest extends ApiTestBase {
       Arguments.of(USER.getId(), ANONYMIZE.getValue(), true, BOOLEAN, USER_HEADERS),
       Arguments.of(USER.getId(), RETENTION_PERIOD.getValue(), 1, INTEGER, USER_HEADERS),
       Arguments.of(USER.getId(), RECORDS_PAGE_SIZE.getValue(), 25, INTEGER, USER_HEADERS),
-      Arguments.of(USER.getId(), EXCLUDED_FIELDS.getValue(), "[\"personal.email\"]", STRING, USER_HEADERS)
+      Arguments.of(USER.getId(), EXCLUDED_FIELDS.getValue(), "[\"personal.email\"]", STRING, USER_HEADERS),
+      Arguments.of(INVENTORY.getId(), UPDATE_COALESCING_WINDOW.getValue(), 30, INTEGER, INVENTORY_HEADERS),
+      Arguments.of(USER.getId(), UPDATE_COALESCING_WINDOW.getValue(), 30, INTEGER, USER_HEADERS),
+      Arguments.of(INVENTORY.getId(), DIFF_DEFERRED.getValue(), true, BOOLEAN, INVENTORY_HEADERS),
+      Arguments.of(AUTHORITY.getId(), DIFF_DEFERRED.getValue(), true, BOOLEAN, AUTHORITY_HEADERS),
+      Arguments.of(USER.getId(), DIFF_DEFERRED.getValue(), true, BOOLEAN, USER_HEADERS)
     );
   }
 
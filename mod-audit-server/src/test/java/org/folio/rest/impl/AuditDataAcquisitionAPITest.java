@@ -1,6 +1,7 @@
 package org.folio.rest.impl;
 
 import static io.restassured.RestAssured.given;
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.ORDER_ID;
 import static org.folio.utils.EntityUtils.ORDER_LINE_ID;
 import static org.folio.utils.EntityUtils.ORGANIZATION_ID;
@@ -24,6 +25,7 @@ import org.folio.dao.acquisition.impl.OrderEventsDaoImpl;
 import org.folio.dao.acquisition.impl.OrderLineEventsDaoImpl;
 import org.folio.dao.acquisition.impl.OrganizationEventsDaoImpl;
 import org.folio.dao.acquisition.impl.PieceEventsDaoImpl;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.rest.jaxrs.model.InvoiceAuditEvent;
 import org.folio.rest.jaxrs.model.InvoiceLineAuditEvent;
 import org.folio.rest.jaxrs.model.OrderAuditEvent;
@@ -54,6 +56,8 @@ public class AuditDataAcquisitionAPITest extends ApiTestBase {
 
   @Spy
   private PostgresClientFactory postgresClientFactory = new PostgresClientFactory(Vertx.vertx());
+  @Spy
+  private BatchWriterFactory batchWriterFactory = directBatchWriterFactory();
 
   @InjectMocks
   OrderEventsDaoImpl orderEventDao;
@@ -71,11 +75,11 @@ public class AuditDataAcquisitionAPITest extends ApiTestBase {
   @BeforeEach
   public void setUp() {
     MockitoAnnotations.openMocks(this);
-    orderEventDao = new OrderEventsDaoImpl(postgresClientFactory);
-    orderLineEventDao = new OrderLineEventsDaoImpl(postgresClientFactory);
-    invoiceEventsDao = new InvoiceEventsDaoImpl(postgresClientFactory);
-    invoiceLineEventsDao = new InvoiceLineEventsDaoImpl(postgresClientFactory);
-    organizationEventsDao = new OrganizationEventsDaoImpl(postgresClientFactory);
+    orderEventDao = new OrderEventsDaoImpl(postgresClientFactory, batchWriterFactory);
+    orderLineEventDao = new OrderLineEventsDaoImpl(postgresClientFactory, batchWriterFactory);
+    invoiceEventsDao = new InvoiceEventsDaoImpl(postgresClientFactory, batchWriterFactory);
+    invoiceLineEventsDao = new InvoiceLineEventsDaoImpl(postgresClientFactory, batchWriterFactory);
+    organizationEventsDao = new OrganizationEventsDaoImpl(postgresClientFactory, batchWriterFactory);
   }
 
   @Test
@@ -2,6 +2,7 @@ package org.folio.rest.impl;
 
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 
 import io.restassured.http.Header;
 import io.restassured.http.Headers;
@@ -18,6 +19,7 @@ import java.util.UUID;
 import lombok.SneakyThrows;
 import org.folio.CopilotGenerated;
 import org.folio.HttpStatus;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.dao.configuration.SettingDao;
 import org.folio.dao.configuration.SettingEntity;
 import org.folio.dao.configuration.SettingValueType;
@@ -70,6 +72,8 @@ public class AuditDataCleanupApiTest extends ApiTestBase {
   PartitionDao partitionDao;
   @Spy
   private PostgresClientFactory postgresClientFactory = new PostgresClientFactory(Vertx.vertx());
+  @Spy
+  private BatchWriterFactory batchWriterFactory = directBatchWriterFactory();
 
   private Map<InventoryResourceType, InventoryEventDaoImpl> resourceToDaoMap;
 
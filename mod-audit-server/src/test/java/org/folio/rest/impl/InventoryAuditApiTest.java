@@ -2,6 +2,7 @@ package org.folio.rest.impl;
 
 import static io.restassured.RestAssured.given;
 import static org.folio.services.configuration.Setting.INVENTORY_RECORDS_PAGE_SIZE;
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
@@ -20,6 +21,7 @@ import java.util.stream.Stream;
 import lombok.SneakyThrows;
 import org.folio.CopilotGenerated;
 import org.folio.HttpStatus;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.dao.configuration.SettingDao;
 import org.folio.dao.configuration.SettingEntity;
 import org.folio.dao.configuration.SettingValueType;
@@ -65,6 +67,8 @@ public class InventoryAuditApiTest extends ApiTestBase {
   SettingDao settingDao;
   @Spy
   private PostgresClientFactory postgresClientFactory = new PostgresClientFactory(Vertx.vertx());
+  @Spy
+  private BatchWriterFactory batchWriterFactory = directBatchWriterFactory();
 
   private Map<InventoryResourceType, InventoryEventDaoImpl> resourceToDaoMap;
 
@@ -21,8 +21,9 @@ import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.header.internals.RecordHeader;
 import org.folio.CopilotGenerated;
 import org.folio.kafka.KafkaTopicNameHelper;
-import org.folio.kafka.exception.DuplicateEventException;
 import org.folio.rest.util.OkapiConnectionParams;
+import org.folio.services.configuration.AuditEnabledCache;
+import org.folio.services.configuration.Setting;
 import org.folio.services.inventory.InventoryEventService;
 import org.folio.util.inventory.InventoryEvent;
 import org.folio.util.inventory.InventoryEventType;
@@ -48,13 +49,16 @@ public class InventoryEventHandlerMockTest {
 
   @Mock
   private InventoryEventService inventoryEventService;
+  @Mock
+  private AuditEnabledCache auditEnabledCache;
 
   private InventoryEventHandler inventoryEventHandler;
 
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
-    inventoryEventHandler = new InventoryEventHandler(vertx, inventoryEventService);
+    when(auditEnabledCache.isEnabled(any(), any())).thenReturn(Future.succeededFuture(true));
+    inventoryEventHandler = new InventoryEventHandler(vertx, inventoryEventService, auditEnabledCache);
   }
 
   @Test
@@ -73,22 +77,6 @@ public class InventoryEventHandlerMockTest {
     });
   }
 
-  @Test
-  void shouldHandleDuplicateEvent() {
-    var event = createInventoryEvent(UUID.randomUUID().toString(), InventoryEventType.CREATE, InventoryResourceType.INSTANCE);
-    var kafkaConsumerRecord = buildKafkaConsumerRecord(event);
-
-    when(inventoryEventService.processEvent(any(), any())).thenReturn(Future.failedFuture(new DuplicateEventException("Duplicate event")));
-
-    var result = inventoryEventHandler.handle(kafkaConsumerRecord);
-
-    result.onComplete(ar -> {
-      assertTrue(ar.succeeded());
-      assertEquals(event.getEventId(), ar.result());
-      verify(inventoryEventService, times(1)).processEvent(any(), any());
-    });
-  }
-
   @Test
   void shouldHandleUnsupportedEvent() {
     var event = createInventoryEvent(UUID.randomUUID().toString(), InventoryEventType.UNKNOWN, InventoryResourceType.INSTANCE);
@@ -117,6 +105,18 @@ public class InventoryEventHandlerMockTest {
     });
   }
 
+  @Test
+  void shouldNotDecodeEventIfAuditIsDisabledForTenant() {
+    when(auditEnabledCache.isEnabled(Setting.INVENTORY_RECORDS_ENABLED, TENANT_ID)).thenReturn(Future.succeededFuture(false));
+    var event = createInventoryEvent(UUID.randomUUID().toString(), InventoryEventType.UPDATE, InventoryResourceType.INSTANCE);
+
+    var result = inventoryEventHandler.handle(buildKafkaConsumerRecord(event));
+
+    assertTrue(result.succeeded());
+    assertEquals(event.getEventId(), result.result());
+    verify(inventoryEventService, never()).processEvent(any(), any());
+  }
+
   @Test
   void shouldFailOnSaveEventError() {
     var event = createInventoryEvent(UUID.randomUUID().toString(), InventoryEventType.CREATE, InventoryResourceType.INSTANCE);
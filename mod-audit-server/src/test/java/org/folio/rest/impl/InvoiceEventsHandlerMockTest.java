@@ -26,6 +26,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 import static org.folio.kafka.KafkaTopicNameHelper.getDefaultNameSpace;
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.createInvoiceAuditEvent;
 import static org.folio.utils.EntityUtils.createInvoiceAuditEventWithoutSnapshot;
 
@@ -55,7 +56,7 @@ public class InvoiceEventsHandlerMockTest {
   @BeforeEach
   public void setUp() {
     MockitoAnnotations.openMocks(this);
-    invoiceEventDao = new InvoiceEventsDaoImpl(postgresClientFactory);
+    invoiceEventDao = new InvoiceEventsDaoImpl(postgresClientFactory, directBatchWriterFactory());
     invoiceAuditEventServiceImpl = new InvoiceAuditEventsServiceImpl(invoiceEventDao);
     invoiceEventsHandler = new InvoiceEventsHandler(vertx, invoiceAuditEventServiceImpl);
   }
@@ -26,6 +26,7 @@ import java.util.Date;
 import java.util.UUID;
 
 import static org.folio.kafka.KafkaTopicNameHelper.getDefaultNameSpace;
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 
 @CopilotGenerated(partiallyGenerated = true)
 public class InvoiceLineEventsHandlerMockTest {
@@ -44,7 +45,7 @@ public class InvoiceLineEventsHandlerMockTest {
   private PostgresClientFactory postgresClientFactory = new PostgresClientFactory(Vertx.vertx());
 
   @InjectMocks
-  InvoiceLineEventsDaoImpl invoiceLineEventsDao = new InvoiceLineEventsDaoImpl(postgresClientFactory);
+  InvoiceLineEventsDaoImpl invoiceLineEventsDao = new InvoiceLineEventsDaoImpl(postgresClientFactory, directBatchWriterFactory());
 
   @InjectMocks
   InvoiceLineAuditEventsServiceImpl invoiceLineAuditEventServiceImpl = new InvoiceLineAuditEventsServiceImpl(invoiceLineEventsDao);
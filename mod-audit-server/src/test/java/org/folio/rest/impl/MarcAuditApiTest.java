@@ -6,6 +6,7 @@ import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import lombok.SneakyThrows;
 import org.folio.HttpStatus;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.dao.configuration.SettingDao;
 import org.folio.dao.marc.MarcAuditEntity;
 import org.folio.dao.marc.impl.MarcAuditDaoImpl;
@@ -26,6 +27,7 @@ import java.util.UUID;
 import java.util.stream.Stream;
 
 import static io.restassured.RestAssured.given;
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
@@ -52,6 +54,8 @@ public class MarcAuditApiTest extends ApiTestBase {
   SettingDao settingDao;
   @Spy
   private PostgresClientFactory postgresClientFactory = new PostgresClientFactory(Vertx.vertx());
+  @Spy
+  private BatchWriterFactory batchWriterFactory = directBatchWriterFactory();
 
   @SneakyThrows
   @ParameterizedTest
@@ -9,8 +9,9 @@ import io.vertx.kafka.client.consumer.impl.KafkaConsumerRecordImpl;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.header.internals.RecordHeader;
 import org.folio.kafka.KafkaTopicNameHelper;
-import org.folio.kafka.exception.DuplicateEventException;
 import org.folio.rest.util.OkapiConnectionParams;
+import org.folio.services.configuration.AuditEnabledCache;
+import org.folio.services.configuration.Setting;
 import org.folio.services.marc.MarcAuditService;
 import org.folio.util.marc.SourceRecordDomainEvent;
 import org.folio.util.marc.SourceRecordType;
@@ -47,13 +48,16 @@ public class MarcRecordEventsHandlerMockTest {
 
   @Mock
   private MarcAuditService marcAuditService;
+  @Mock
+  private AuditEnabledCache auditEnabledCache;
 
   private MarcRecordEventsHandler marcRecordEventsHandler;
 
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
-    marcRecordEventsHandler = new MarcRecordEventsHandler(vertx, marcAuditService);
+    when(auditEnabledCache.isEnabled(any(), any())).thenReturn(Future.succeededFuture(true));
+    marcRecordEventsHandler = new MarcRecordEventsHandler(vertx, marcAuditService, auditEnabledCache);
   }
 
   @Test
@@ -73,34 +77,31 @@ public class MarcRecordEventsHandlerMockTest {
   }
 
   @Test
-  void shouldHandleDuplicateEvent() {
+  void shouldFailOnSaveEventError() {
     var event = createSourceRecordDomainEvent();
     var kafkaConsumerRecord = buildKafkaConsumerRecord(event);
 
-    when(marcAuditService.saveMarcDomainEvent(any())).thenReturn(Future.failedFuture(new DuplicateEventException("Duplicate event")));
+    when(marcAuditService.saveMarcDomainEvent(any())).thenReturn(Future.failedFuture(new RuntimeException("Error")));
 
     var result = marcRecordEventsHandler.handle(kafkaConsumerRecord);
 
     result.onComplete(ar -> {
-      assertTrue(ar.succeeded());
-      assertEquals(event.getEventId(), ar.result());
+      assertTrue(ar.failed());
       verify(marcAuditService, times(1)).saveMarcDomainEvent(any());
     });
   }
 
   @Test
-  void shouldFailOnSaveEventError() {
+  void shouldNotDecodeEventIfAuditIsDisabledForTenant() {
+    when(auditEnabledCache.isEnabled(Setting.INVENTORY_RECORDS_ENABLED, TENANT_ID)).thenReturn(Future.succeededFuture(false));
     var event = createSourceRecordDomainEvent();
     var kafkaConsumerRecord = buildKafkaConsumerRecord(event);
 
-    when(marcAuditService.saveMarcDomainEvent(any())).thenReturn(Future.failedFuture(new RuntimeException("Error")));
-
     var result = marcRecordEventsHandler.handle(kafkaConsumerRecord);
 
-    result.onComplete(ar -> {
-      assertTrue(ar.failed());
-      verify(marcAuditService, times(1)).saveMarcDomainEvent(any());
-    });
+    assertTrue(result.succeeded());
+    assertEquals(event.getEventId(), result.result());
+    verify(marcAuditService, never()).saveMarcDomainEvent(any());
   }
 
   @Test
@@ -24,6 +24,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 import static org.folio.kafka.KafkaTopicNameHelper.getDefaultNameSpace;
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.createOrderAuditEvent;
 import static org.folio.utils.EntityUtils.createOrderAuditEventWithoutSnapshot;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -55,7 +56,7 @@ public class OrderEventsHandlerMockTest {
   @BeforeEach
   public void setUp() {
     MockitoAnnotations.openMocks(this);
-    orderEventDao = new OrderEventsDaoImpl(postgresClientFactory);
+    orderEventDao = new OrderEventsDaoImpl(postgresClientFactory, directBatchWriterFactory());
     orderAuditEventServiceImpl = new OrderAuditEventsServiceImpl(orderEventDao);
     orderEventsHandler =new OrderEventsHandler(vertx, orderAuditEventServiceImpl);
 
@@ -24,6 +24,7 @@ import java.util.Date;
 import java.util.UUID;
 
 import static org.folio.kafka.KafkaTopicNameHelper.getDefaultNameSpace;
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class OrderLineEventsHandlerMockTest {
@@ -43,7 +44,7 @@ public class OrderLineEventsHandlerMockTest {
   private PostgresClientFactory postgresClientFactory = new PostgresClientFactory(Vertx.vertx());
 
   @InjectMocks
-  OrderLineEventsDaoImpl orderLineEventsDao = new OrderLineEventsDaoImpl(postgresClientFactory);
+  OrderLineEventsDaoImpl orderLineEventsDao = new OrderLineEventsDaoImpl(postgresClientFactory, directBatchWriterFactory());
 
   @InjectMocks
   OrderLineAuditEventsServiceImpl orderLineAuditEventServiceImpl = new OrderLineAuditEventsServiceImpl(orderLineEventsDao);
@@ -29,6 +29,7 @@ import java.util.UUID;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.folio.kafka.KafkaTopicNameHelper.getDefaultNameSpace;
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.createOrganizationAuditEvent;
 import static org.folio.utils.EntityUtils.createOrganizationAuditEventWithoutSnapshot;
 
@@ -59,7 +60,7 @@ public class OrganizationEventsHandlerMockTest {
 
   @BeforeEach
   public void setUp() {
-    organizationEventDao = new OrganizationEventsDaoImpl(postgresClientFactory);
+    organizationEventDao = new OrganizationEventsDaoImpl(postgresClientFactory, directBatchWriterFactory());
     organizationAuditEventServiceImpl = new OrganizationAuditEventsServiceImpl(organizationEventDao);
     organizationEventsHandler = new OrganizationEventsHandler(vertx, organizationAuditEventServiceImpl);
   }
@@ -2,6 +2,7 @@ package org.folio.rest.impl;
 
 
 import static org.folio.kafka.KafkaTopicNameHelper.getDefaultNameSpace;
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.createPieceAuditEvent;
 import static org.folio.utils.EntityUtils.createPieceAuditEventWithoutSnapshot;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -52,7 +53,7 @@ public class PieceEventsHandlerMockTest {
   @BeforeEach
   public void setUp() throws Exception {
     MockitoAnnotations.openMocks(this).close();
-    pieceEventsDao = new PieceEventsDaoImpl(postgresClientFactory);
+    pieceEventsDao = new PieceEventsDaoImpl(postgresClientFactory, directBatchWriterFactory());
     pieceAuditEventsService = new PieceAuditEventsServiceImpl(pieceEventsDao);
     pieceEventsHandler = new PieceEventsHandler(vertx, pieceAuditEventsService);
   }
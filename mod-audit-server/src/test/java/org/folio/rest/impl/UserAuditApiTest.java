@@ -3,6 +3,7 @@ package org.folio.rest.impl;
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.folio.services.configuration.Setting.USER_RECORDS_PAGE_SIZE;
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
@@ -18,6 +19,7 @@ import java.util.UUID;
 import lombok.SneakyThrows;
 import org.folio.CopilotGenerated;
 import org.folio.HttpStatus;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.dao.configuration.SettingDao;
 import org.folio.dao.configuration.SettingEntity;
 import org.folio.dao.configuration.SettingValueType;
@@ -59,6 +61,8 @@ public class UserAuditApiTest extends ApiTestBase {
   SettingDao settingDao;
   @Spy
   private PostgresClientFactory postgresClientFactory = new PostgresClientFactory(Vertx.vertx());
+  @Spy
+  private BatchWriterFactory batchWriterFactory = directBatchWriterFactory();
 
   @SneakyThrows
   @Test
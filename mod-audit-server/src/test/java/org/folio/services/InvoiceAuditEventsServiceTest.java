@@ -1,5 +1,6 @@
 package org.folio.services;
 
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.ACTION_DATE_SORT_BY;
 import static org.folio.utils.EntityUtils.DESC_ORDER;
 import static org.folio.utils.EntityUtils.LIMIT;
@@ -52,7 +53,7 @@ public class InvoiceAuditEventsServiceTest {
   public void setUp() throws Exception {
     try (var ignored = MockitoAnnotations.openMocks(this)) {
       var postgresClientFactory =  spy(new PostgresClientFactory(Vertx.vertx()));
-      invoiceEventsDao = spy(new InvoiceEventsDaoImpl(postgresClientFactory));
+      invoiceEventsDao = spy(new InvoiceEventsDaoImpl(postgresClientFactory, directBatchWriterFactory()));
       invoiceAuditEventService = new InvoiceAuditEventsServiceImpl(invoiceEventsDao);
 
       doReturn(postgresClient).when(postgresClientFactory).createInstance(TENANT_ID);
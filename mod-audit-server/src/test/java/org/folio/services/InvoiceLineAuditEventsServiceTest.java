@@ -1,5 +1,6 @@
 package org.folio.services;
 
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.ACTION_DATE_SORT_BY;
 import static org.folio.utils.EntityUtils.DESC_ORDER;
 import static org.folio.utils.EntityUtils.LIMIT;
@@ -52,7 +53,7 @@ public class InvoiceLineAuditEventsServiceTest {
   public void setUp() throws Exception {
     try (var ignored = MockitoAnnotations.openMocks(this)) {
       var postgresClientFactory = spy(new PostgresClientFactory(Vertx.vertx()));
-      invoiceLineEventsDao = spy(new InvoiceLineEventsDaoImpl(postgresClientFactory));
+      invoiceLineEventsDao = spy(new InvoiceLineEventsDaoImpl(postgresClientFactory, directBatchWriterFactory()));
       invoiceLineAuditEventService = new InvoiceLineAuditEventsServiceImpl(invoiceLineEventsDao);
 
       doReturn(postgresClient).when(postgresClientFactory).createInstance(TENANT_ID);
@@ -1,5 +1,6 @@
 package org.folio.services;
 
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.ACTION_DATE_SORT_BY;
 import static org.folio.utils.EntityUtils.DESC_ORDER;
 import static org.folio.utils.EntityUtils.LIMIT;
@@ -50,7 +51,7 @@ public class OrderAuditEventsServiceTest {
   public void setUp() throws Exception {
     try (var ignored = MockitoAnnotations.openMocks(this)) {
       var postgresClientFactory =  spy(new PostgresClientFactory(Vertx.vertx()));
-      orderEventsDao = spy(new OrderEventsDaoImpl(postgresClientFactory));
+      orderEventsDao = spy(new OrderEventsDaoImpl(postgresClientFactory, directBatchWriterFactory()));
       orderAuditEventService = new OrderAuditEventsServiceImpl(orderEventsDao);
 
       doReturn(postgresClient).when(postgresClientFactory).createInstance(TENANT_ID);
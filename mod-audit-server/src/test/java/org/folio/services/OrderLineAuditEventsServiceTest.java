@@ -1,5 +1,6 @@
 package org.folio.services;
 
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.ACTION_DATE_SORT_BY;
 import static org.folio.utils.EntityUtils.DESC_ORDER;
 import static org.folio.utils.EntityUtils.LIMIT;
@@ -50,7 +51,7 @@ public class OrderLineAuditEventsServiceTest {
   public void setUp() throws Exception {
     try (var ignored = MockitoAnnotations.openMocks(this)) {
       var postgresClientFactory =  spy(new PostgresClientFactory(Vertx.vertx()));
-      orderLineEventsDao = spy(new OrderLineEventsDaoImpl(postgresClientFactory));
+      orderLineEventsDao = spy(new OrderLineEventsDaoImpl(postgresClientFactory, directBatchWriterFactory()));
       orderLineAuditEventService = new OrderLineAuditEventsServiceImpl(orderLineEventsDao);
 
       doReturn(postgresClient).when(postgresClientFactory).createInstance(TENANT_ID);
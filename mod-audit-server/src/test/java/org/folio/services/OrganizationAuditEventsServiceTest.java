@@ -21,6 +21,7 @@ import org.mockito.MockitoAnnotations;
 import java.util.List;
 import java.util.UUID;
 
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.ACTION_DATE_SORT_BY;
 import static org.folio.utils.EntityUtils.DESC_ORDER;
 import static org.folio.utils.EntityUtils.LIMIT;
@@ -52,7 +53,7 @@ public class OrganizationAuditEventsServiceTest {
   public void setUp() throws Exception {
     try (var ignored = MockitoAnnotations.openMocks(this)) {
       var postgresClientFactory =  spy(new PostgresClientFactory(Vertx.vertx()));
-      organizationEventsDao = spy(new OrganizationEventsDaoImpl(postgresClientFactory));
+      organizationEventsDao = spy(new OrganizationEventsDaoImpl(postgresClientFactory, directBatchWriterFactory()));
       organizationAuditEventService = new OrganizationAuditEventsServiceImpl(organizationEventsDao);
 
       doReturn(postgresClient).when(postgresClientFactory).createInstance(TENANT_ID);
@@ -0,0 +1,118 @@
+package org.folio.services.circulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.folio.util.circulation.CirculationLogEvent;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class CirculationLogIngestionQueueTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final String OTHER_TENANT_ID = "college";
+  private static final long TIMEOUT_MS = 5_000;
+
+  private final Vertx vertx = Vertx.vertx();
+  private final MetricsRegistry metricsRegistry = new MetricsRegistry(null, 0);
+
+  @Mock
+  private CirculationLogService circulationLogService;
+
+  @AfterEach
+  void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  void shouldRejectEventsWhenQueueIsFull() {
+    when(circulationLogService.saveLogRecords(anyList(), any())).thenReturn(Promise.<Void>promise().future());
+    var queue = createQueue(2, 1, 1);
+
+    assertTrue(queue.offer(event(), TENANT_ID));
+    assertTrue(queue.offer(event(), TENANT_ID));
+    assertTrue(queue.offer(event(), TENANT_ID));
+    assertFalse(queue.offer(event(), TENANT_ID));
+
+    var snapshot = metricsRegistry.snapshot();
+    assertEquals(1L, snapshot.get("audit.circulation.queue.rejected"));
+    assertEquals(2, snapshot.get("audit.circulation.queue.depth"));
+  }
+
+  @Test
+  void shouldDrainQueuedEventsInBatchesPerTenant() {
+    var firstBatch = Promise.<Void>promise();
+    when(circulationLogService.saveLogRecords(anyList(), any()))
+      .thenReturn(firstBatch.future())
+      .thenReturn(Future.succeededFuture());
+    var queue = createQueue(10, 1, 10);
+    var first = event();
+    var second = event();
+    var third = event();
+    var fourth = event();
+
+    queue.offer(first, TENANT_ID);
+    queue.offer(second, TENANT_ID);
+    queue.offer(third, OTHER_TENANT_ID);
+    queue.offer(fourth, TENANT_ID);
+    firstBatch.complete();
+
+    verify(circulationLogService, timeout(TIMEOUT_MS)).saveLogRecords(List.of(first), TENANT_ID);
+    verify(circulationLogService, timeout(TIMEOUT_MS)).saveLogRecords(List.of(second, fourth), TENANT_ID);
+    verify(circulationLogService, timeout(TIMEOUT_MS)).saveLogRecords(List.of(third), OTHER_TENANT_ID);
+  }
+
+  @Test
+  void shouldSaveEventsOneByOneWhenBatchFails() {
+    var firstBatch = Promise.<Void>promise();
+    var first = event();
+    var second = event();
+    var third = event();
+    when(circulationLogService.saveLogRecords(List.of(first), TENANT_ID)).thenReturn(firstBatch.future());
+    when(circulationLogService.saveLogRecords(List.of(second, third), TENANT_ID))
+      .thenReturn(Future.failedFuture(new RuntimeException("Error")));
+    when(circulationLogService.saveLogRecords(List.of(second), TENANT_ID))
+      .thenReturn(Future.failedFuture(new RuntimeException("Error")));
+    when(circulationLogService.saveLogRecords(List.of(third), TENANT_ID)).thenReturn(Future.succeededFuture());
+    var queue = createQueue(10, 1, 10);
+
+    queue.offer(first, TENANT_ID);
+    queue.offer(second, TENANT_ID);
+    queue.offer(third, TENANT_ID);
+    firstBatch.complete();
+
+    verify(circulationLogService, timeout(TIMEOUT_MS)).saveLogRecords(List.of(second), TENANT_ID);
+    verify(circulationLogService, timeout(TIMEOUT_MS)).saveLogRecords(List.of(third), TENANT_ID);
+    verify(circulationLogService, times(1)).saveLogRecords(eq(List.of(second, third)), eq(TENANT_ID));
+  }
+
+  private CirculationLogIngestionQueue createQueue(int maxDepth, int workers, int batchSize) {
+    return new CirculationLogIngestionQueue(vertx, circulationLogService, metricsRegistry, maxDepth, workers, batchSize);
+  }
+
+  private CirculationLogEvent event() {
+    return new CirculationLogEvent(null, new JsonObject().put("logEventType", "CHECK_IN_EVENT").put("id", UUID.randomUUID().toString()), Map.of());
+  }
+}
@@ -0,0 +1,181 @@
+package org.folio.services.coalescing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.UUID;
+import org.folio.rest.jaxrs.model.Setting;
+import org.folio.services.coalescing.UpdateCoalescingWindow.Burst;
+import org.folio.services.configuration.ConfigurationService;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class UpdateCoalescingWindowTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final String KEY = "INSTANCE:diku:" + UUID.randomUUID();
+  private static final long WINDOW_MS = 10_000;
+  private static final org.folio.services.configuration.Setting WINDOW_SETTING =
+    org.folio.services.configuration.Setting.INVENTORY_RECORDS_UPDATE_COALESCING_WINDOW;
+
+  @Mock
+  private ConfigurationService configurationService;
+
+  private UpdateCoalescingWindow window;
+
+  @BeforeEach
+  void setUp() {
+    window = new UpdateCoalescingWindow(configurationService, new MetricsRegistry(null, 0), 2, 60_000);
+  }
+
+  @Test
+  void shouldResolveWindowFromSetting() {
+    mockWindowSetting(Future.succeededFuture(new Setting().withValue(30)));
+
+    assertEquals(30_000L, window.getWindowMs(WINDOW_SETTING, TENANT_ID).result());
+  }
+
+  @Test
+  void shouldCacheWindowOfTenant() {
+    mockWindowSetting(Future.succeededFuture(new Setting().withValue(30)));
+
+    window.getWindowMs(WINDOW_SETTING, TENANT_ID);
+    assertEquals(30_000L, window.getWindowMs(WINDOW_SETTING, TENANT_ID).result());
+
+    verify(configurationService, times(1)).getSetting(WINDOW_SETTING, TENANT_ID);
+  }
+
+  @Test
+  void shouldNotMergeWhenSettingCannotBeLoaded() {
+    mockWindowSetting(Future.failedFuture(new IllegalStateException("Setting not found")));
+
+    assertEquals(0L, window.getWindowMs(WINDOW_SETTING, TENANT_ID).result());
+  }
+
+  @Test
+  void shouldFindBurstOfSameUserWithinWindow() {
+    var performedBy = UUID.randomUUID();
+    var burst = burst(performedBy, 1_000);
+    window.open(KEY, burst);
+
+    assertSame(burst, window.find(KEY, performedBy, 1_000 + WINDOW_MS, WINDOW_MS));
+    assertNull(window.find(KEY, performedBy, 1_001 + WINDOW_MS, WINDOW_MS));
+    assertSame(burst, window.find(KEY, performedBy, 1_000 - WINDOW_MS, WINDOW_MS));
+    assertNull(window.find(KEY, performedBy, 999 - WINDOW_MS, WINDOW_MS));
+    assertNull(window.find(KEY, UUID.randomUUID(), 2_000, WINDOW_MS));
+    assertNull(window.find("INSTANCE:diku:" + UUID.randomUUID(), performedBy, 2_000, WINDOW_MS));
+  }
+
+  @Test
+  void shouldRecognizeMergedUpdates() {
+    var performedBy = UUID.randomUUID();
+    var burst = burst(performedBy, 1_000);
+    var mergedEventId = UUID.randomUUID();
+    window.open(KEY, burst);
+    window.merge(KEY, burst, burst.merge(mergedEventId, 3_000, Map.of("title", "new"), Map.of("title", "newer")));
+
+    var merged = window.find(KEY, performedBy, 4_000, WINDOW_MS);
+    assertTrue(merged.contains(burst.eventId()));
+    assertTrue(merged.contains(mergedEventId));
+    assertFalse(merged.contains(UUID.randomUUID()));
+    assertEquals(3_000, merged.lastEventTs());
+  }
+
+  @Test
+  void shouldMergeUpdatesDeliveredOutOfOrder() {
+    var burst = burst(UUID.randomUUID(), 2_000);
+
+    var withLatest = burst.merge(UUID.randomUUID(), 4_000, Map.of("title", "new"), Map.of("title", "latest"));
+    var withEarliest = withLatest.merge(UUID.randomUUID(), 1_000, Map.of("title", "oldest"), Map.of("title", "old"));
+    var withIntermediate = withEarliest.merge(UUID.randomUUID(), 3_000, Map.of("title", "new"), Map.of("title", "newer"));
+
+    assertEquals(Map.of("title", "oldest"), withIntermediate.oldValue());
+    assertEquals(Map.of("title", "latest"), withIntermediate.newValue());
+    assertEquals(1_000, withIntermediate.firstEventTs());
+    assertEquals(4_000, withIntermediate.lastEventTs());
+    assertEquals(burst.eventId(), withIntermediate.eventId());
+    assertEquals(4, withIntermediate.mergedEventIds().size());
+  }
+
+  @Test
+  void shouldNotReplaceBurstWithOlderOne() {
+    var performedBy = UUID.randomUUID();
+    var latest = burst(performedBy, 2_000);
+    window.open(KEY, latest);
+    window.open(KEY, burst(performedBy, 1_000));
+
+    assertSame(latest, window.find(KEY, performedBy, 2_000, WINDOW_MS));
+  }
+
+  @Test
+  void shouldNotOpenMoreBurstsThanLimit() {
+    var performedBy = UUID.randomUUID();
+    var now = System.currentTimeMillis();
+    window.open("a", burst(performedBy, now));
+    window.open("b", burst(performedBy, now - 2 * WINDOW_MS));
+    window.open("c", burst(performedBy, now));
+
+    assertNull(window.find("b", performedBy, now, WINDOW_MS));
+    assertEquals(now, window.find("c", performedBy, now, WINDOW_MS).lastEventTs());
+
+    window.open("d", burst(performedBy, now));
+
+    assertNull(window.find("d", performedBy, now, WINDOW_MS));
+  }
+
+  @Test
+  void shouldRunActionsOfSameRecordOneByOne() {
+    var first = Promise.<String>promise();
+    var order = new ArrayList<String>();
+
+    var firstResult = window.execute(KEY, () -> {
+      order.add("first started");
+      return first.future();
+    });
+    var secondResult = window.execute(KEY, () -> {
+      order.add("second started");
+      return Future.succeededFuture("second");
+    });
+    var otherResult = window.execute("other", () -> {
+      order.add("other started");
+      return Future.succeededFuture("other");
+    });
+
+    assertEquals(2, order.size());
+    assertFalse(secondResult.isComplete());
+    assertTrue(otherResult.succeeded());
+
+    first.complete("first");
+
+    assertEquals("first", firstResult.result());
+    assertEquals("second", secondResult.result());
+    assertEquals("second started", order.get(2));
+  }
+
+  private Burst burst(UUID performedBy, long eventTs) {
+    return new Burst(UUID.randomUUID(), new Timestamp(eventTs), performedBy, Map.of("title", "old"),
+      Map.of("title", "new"), WINDOW_MS);
+  }
+
+  private void mockWindowSetting(Future<Setting> result) {
+    when(configurationService.getSetting(WINDOW_SETTING, TENANT_ID)).thenReturn(result);
+  }
+}
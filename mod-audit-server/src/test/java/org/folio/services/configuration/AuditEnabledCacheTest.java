@@ -0,0 +1,63 @@
+package org.folio.services.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class AuditEnabledCacheTest {
+
+  private static final String TENANT_ID = "diku";
+
+  @Mock
+  private ConfigurationService configurationService;
+
+  @Test
+  void shouldCacheSettingValue() {
+    when(configurationService.getSetting(Setting.INVENTORY_RECORDS_ENABLED, TENANT_ID))
+      .thenReturn(Future.succeededFuture(setting(false)));
+    var cache = new AuditEnabledCache(configurationService, 60_000);
+
+    assertFalse(cache.isEnabled(Setting.INVENTORY_RECORDS_ENABLED, TENANT_ID).result());
+    assertFalse(cache.isEnabled(Setting.INVENTORY_RECORDS_ENABLED, TENANT_ID).result());
+
+    verify(configurationService, times(1)).getSetting(Setting.INVENTORY_RECORDS_ENABLED, TENANT_ID);
+  }
+
+  @Test
+  void shouldNotCacheFailedLookup() {
+    when(configurationService.getSetting(Setting.USER_RECORDS_ENABLED, TENANT_ID))
+      .thenReturn(Future.failedFuture(new IllegalStateException("db is down")))
+      .thenReturn(Future.succeededFuture(setting(true)));
+    var cache = new AuditEnabledCache(configurationService, 60_000);
+
+    assertTrue(cache.isEnabled(Setting.USER_RECORDS_ENABLED, TENANT_ID).result());
+    assertTrue(cache.isEnabled(Setting.USER_RECORDS_ENABLED, TENANT_ID).result());
+
+    verify(configurationService, times(2)).getSetting(Setting.USER_RECORDS_ENABLED, TENANT_ID);
+  }
+
+  @Test
+  void shouldReportEnabledWhenCacheIsNotActive() {
+    var cache = new AuditEnabledCache(configurationService, 0);
+
+    assertTrue(cache.isEnabled(Setting.INVENTORY_RECORDS_ENABLED, TENANT_ID).result());
+
+    verifyNoInteractions(configurationService);
+  }
+
+  private static org.folio.rest.jaxrs.model.Setting setting(boolean value) {
+    return new org.folio.rest.jaxrs.model.Setting().withValue(value);
+  }
+}
@@ -3,6 +3,7 @@ package org.folio.services.configuration;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.folio.util.DbUtils.formatDBTableName;
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
@@ -11,6 +12,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 import lombok.SneakyThrows;
+import org.folio.dao.batch.BatchWriterFactory;
 import org.folio.dao.configuration.SettingDao;
 import org.folio.dao.configuration.SettingEntity;
 import org.folio.dao.configuration.SettingGroupDao;
@@ -48,6 +50,8 @@ public class ConfigurationServiceTransactionTest extends ApiTestBase {
   UserEventDaoImpl userEventDao;
   @Spy
   private PostgresClientFactory postgresClientFactory = new PostgresClientFactory(Vertx.vertx());
+  @Spy
+  private BatchWriterFactory batchWriterFactory = directBatchWriterFactory();
 
   private SettingMappers settingMappers;
   private SettingValidationService validationService;
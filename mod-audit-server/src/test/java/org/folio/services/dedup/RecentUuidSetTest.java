@@ -0,0 +1,66 @@
+package org.folio.services.dedup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class RecentUuidSetTest {
+
+  @Test
+  void shouldContainAddedIds() {
+    var set = new RecentUuidSet(10);
+    var id = UUID.randomUUID();
+
+    assertTrue(set.add(id));
+    assertFalse(set.add(id));
+    assertTrue(set.contains(id));
+    assertFalse(set.contains(UUID.randomUUID()));
+    assertEquals(1, set.size());
+  }
+
+  @Test
+  void shouldEvictOldestNotReferencedId() {
+    var set = new RecentUuidSet(3);
+    var first = UUID.randomUUID();
+    var second = UUID.randomUUID();
+    var third = UUID.randomUUID();
+    set.add(first);
+    set.add(second);
+    set.add(third);
+    set.contains(first);
+
+    set.add(UUID.randomUUID());
+
+    assertTrue(set.contains(first));
+    assertFalse(set.contains(second));
+    assertTrue(set.contains(third));
+    assertEquals(3, set.size());
+  }
+
+  @Test
+  void shouldKeepLastIdsWhenOverflowedManyTimes() {
+    var capacity = 100;
+    var set = new RecentUuidSet(capacity);
+    var ids = new ArrayList<UUID>();
+    for (int i = 0; i < capacity * 50; i++) {
+      var id = new UUID(i % 7, i);
+      ids.add(id);
+      set.add(id);
+    }
+
+    ids.subList(ids.size() - capacity, ids.size()).forEach(id -> assertTrue(set.contains(id)));
+    ids.subList(0, ids.size() - capacity).forEach(id -> assertFalse(set.contains(id)));
+  }
+
+  @Test
+  void shouldRejectNotPositiveCapacity() {
+    assertThrows(IllegalArgumentException.class, () -> new RecentUuidSet(0));
+  }
+}
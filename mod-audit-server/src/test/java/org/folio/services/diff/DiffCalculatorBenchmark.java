@@ -0,0 +1,165 @@
+package org.folio.services.diff;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import org.folio.domain.diff.ChangeRecordDto;
+import org.folio.rest.external.HoldingsRecord;
+import org.folio.rest.external.Instance;
+import org.folio.services.diff.inventory.HoldingsDiffCalculator;
+import org.folio.services.diff.inventory.InstanceDiffCalculator;
+
+/**
+ * Compares the Javers based diff calculation, {@link JaversDiffCalculator}, with the tree walk of
+ * {@link DiffCalculator}.
+ * <p>
+ * Old and new versions of an instance have the given number of identifiers, contributors, subjects and notes each,
+ * old and new versions of a holdings record the given number of holdings statements, statements for indexes and
+ * notes each. Every 20th element of the new version is modified. Unless the number of iterations is given, it is
+ * scaled down for large collections. The class is not picked up by surefire, run it with its {@code main} method:
+ * {@code java -cp <test classpath> org.folio.services.diff.DiffCalculatorBenchmark [elements] [iterations]}.
+ */
+public class DiffCalculatorBenchmark {
+
+  public static void main(String[] args) {
+    var elementCounts = args.length > 0 ? List.of(Integer.parseInt(args[0])) : List.of(5, 50, 250, 5_000);
+
+    DiffCalculator<Instance> instanceCalculator = new InstanceDiffCalculator();
+    var instanceJavers = new JaversDiffCalculator<>(Instance.class,
+      value -> instanceCalculator.access(value).get(), mapChange -> false);
+    DiffCalculator<HoldingsRecord> holdingsCalculator = new HoldingsDiffCalculator();
+    var holdingsJavers = new JaversDiffCalculator<>(HoldingsRecord.class,
+      value -> holdingsCalculator.access(value).get(), mapChange -> false);
+    for (var elements : elementCounts) {
+      var iterations = args.length > 1 ? Integer.parseInt(args[1]) : Math.clamp(250_000 / elements, 20, 5_000);
+      run("instance", instanceJavers::calculateDiff, instanceCalculator::calculateDiff,
+        modifiedEvery -> instance(elements, modifiedEvery), elements, iterations);
+      run("holdings", holdingsJavers::calculateDiff, holdingsCalculator::calculateDiff,
+        modifiedEvery -> holdings(elements, modifiedEvery), elements, iterations);
+    }
+  }
+
+  private static void run(String type, BiFunction<Map<String, Object>, Map<String, Object>, ChangeRecordDto> javers,
+                          BiFunction<Map<String, Object>, Map<String, Object>, ChangeRecordDto> treeWalk,
+                          IntFunction<Map<String, Object>> payload, int elements, int iterations) {
+    var oldValue = payload.apply(0);
+    var newValue = payload.apply(20);
+    // warm up both diffs before measuring
+    measure(javers, oldValue, newValue, Math.max(1, iterations / 4));
+    measure(treeWalk, oldValue, newValue, Math.max(1, iterations / 4));
+
+    var javersResult = measure(javers, oldValue, newValue, iterations);
+    var treeWalkResult = measure(treeWalk, oldValue, newValue, iterations);
+    System.out.printf("%s, elements: %d, iterations: %d%n", type, elements, iterations);
+    System.out.printf("  %-10s %10.1f us/op %12d bytes/op%n", "javers", javersResult.microsPerOp(),
+      javersResult.bytesPerOp());
+    System.out.printf("  %-10s %10.1f us/op %12d bytes/op%n", "tree walk", treeWalkResult.microsPerOp(),
+      treeWalkResult.bytesPerOp());
+  }
+
+  private static Result measure(BiFunction<Map<String, Object>, Map<String, Object>, ChangeRecordDto> diff,
+                                Map<String, Object> oldInstance, Map<String, Object> newInstance, int iterations) {
+    var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    var threadId = Thread.currentThread().threadId();
+    var allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+    var start = System.nanoTime();
+    var checksum = 0;
+    for (int i = 0; i < iterations; i++) {
+      var changes = diff.apply(oldInstance, newInstance);
+      checksum += changes.getFieldChanges().size() + changes.getCollectionChanges().size();
+    }
+    var elapsed = System.nanoTime() - start;
+    var allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+    if (checksum == 0) {
+      throw new IllegalStateException("No differences were found");
+    }
+    return new Result(elapsed / 1000d / iterations, allocated / iterations);
+  }
+
+  /**
+   * Builds an instance payload, modifying the title and every {@code modifiedEvery}-th collection element if it is
+   * positive.
+   */
+  private static Map<String, Object> instance(int elements, int modifiedEvery) {
+    var identifiers = new JsonArray();
+    var contributors = new JsonArray();
+    var subjects = new JsonArray();
+    var notes = new JsonArray();
+    for (int i = 0; i < elements; i++) {
+      var text = modifiedEvery > 0 && i % modifiedEvery == 0 ? "updated" : "original";
+      identifiers.add(new JsonObject()
+        .put("identifierTypeId", "8261054f-be78-422d-bd51-4ed9f33c3422")
+        .put("value", "978-0-00-" + i + (modifiedEvery > 0 && i % modifiedEvery == 0 ? "-x" : "")));
+      contributors.add(new JsonObject()
+        .put("name", text + " contributor " + i)
+        .put("contributorNameTypeId", "2b94c631-fca9-4892-a730-03ee529ffe2a")
+        .put("primary", i == 0));
+      subjects.add(new JsonObject()
+        .put("value", "Subject " + i + " -- " + text)
+        .put("sourceId", "e894d0dc-621d-4b1d-98f6-6f7120eb0d40"));
+      notes.add(new JsonObject()
+        .put("note", text + " note " + i + " with some catalogued text")
+        .put("instanceNoteTypeId", "6a2533a7-4de2-4e64-8466-074c2fa9308c")
+        .put("staffOnly", false));
+    }
+    var instance = new JsonObject()
+      .put("id", "5bf370e0-8cca-4d9c-82e4-5170ab2a0a39")
+      .put("hrid", "in00000000001")
+      .put("source", "MARC")
+      .put("title", modifiedEvery > 0 ? "Updated title" : "Title")
+      .put("instanceTypeId", "6312d172-f0cf-40f6-b27d-9fa8feaf332f")
+      .put("languages", new JsonArray().add("eng").add("ger"))
+      .put("identifiers", identifiers)
+      .put("contributors", contributors)
+      .put("subjects", subjects)
+      .put("notes", notes)
+      .put("metadata", new JsonObject()
+        .put("createdDate", "2024-01-01T12:00:00.000+00:00")
+        .put("updatedDate", modifiedEvery > 0 ? "2024-01-02T12:00:00.000+00:00" : "2024-01-01T12:00:00.000+00:00"));
+    // decoded like an event payload, so that the payload consists of plain maps and lists
+    return new JsonObject(instance.encode()).getMap();
+  }
+
+  /**
+   * Builds a holdings record payload, modifying the call number and every {@code modifiedEvery}-th collection
+   * element if it is positive.
+   */
+  private static Map<String, Object> holdings(int elements, int modifiedEvery) {
+    var holdingsStatements = new JsonArray();
+    var holdingsStatementsForIndexes = new JsonArray();
+    var notes = new JsonArray();
+    for (int i = 0; i < elements; i++) {
+      var modified = modifiedEvery > 0 && i % modifiedEvery == 0;
+      holdingsStatements.add(new JsonObject()
+        .put("statement", "v." + i)
+        .put("note", modified ? "updated note " + i : "note " + i));
+      holdingsStatementsForIndexes.add(new JsonObject()
+        .put("statement", "index v." + i + (modified ? " updated" : ""))
+        .put("staffNote", "staff note " + i));
+      notes.add(new JsonObject()
+        .put("holdingsNoteTypeId", "b160f13a-ddba-4053-b9c4-60ec5ea45d56")
+        .put("note", "holdings note " + i)
+        .put("staffOnly", modified));
+    }
+    var holdings = new JsonObject()
+      .put("id", "67cd0046-e4f1-4e4f-9024-adf0b0039d09")
+      .put("hrid", "ho00000000001")
+      .put("instanceId", "5bf370e0-8cca-4d9c-82e4-5170ab2a0a39")
+      .put("permanentLocationId", "fcd64ce1-6995-48f0-840e-89ffa2288371")
+      .put("callNumber", modifiedEvery > 0 ? "CN 2" : "CN 1")
+      .put("holdingsStatements", holdingsStatements)
+      .put("holdingsStatementsForIndexes", holdingsStatementsForIndexes)
+      .put("notes", notes)
+      .put("metadata", new JsonObject()
+        .put("createdDate", "2024-01-01T12:00:00.000+00:00")
+        .put("updatedDate", modifiedEvery > 0 ? "2024-01-02T12:00:00.000+00:00" : "2024-01-01T12:00:00.000+00:00"));
+    // decoded like an event payload, so that the payload consists of plain maps and lists
+    return new JsonObject(holdings.encode()).getMap();
+  }
+
+  private record Result(double microsPerOp, long bytesPerOp) { }
+}
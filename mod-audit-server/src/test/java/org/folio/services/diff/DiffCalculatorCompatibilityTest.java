@@ -0,0 +1,179 @@
+package org.folio.services.diff;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.folio.utils.TenantApiTestUtil.getFile;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import org.folio.domain.diff.ChangeRecordDto;
+import org.folio.domain.diff.ChangeType;
+import org.folio.domain.diff.CollectionItemChangeDto;
+import org.folio.rest.external.HoldingsRecord;
+import org.folio.rest.external.Instance;
+import org.folio.rest.external.Item;
+import org.folio.rest.external.User;
+import org.folio.services.diff.inventory.HoldingsDiffCalculator;
+import org.folio.services.diff.inventory.InstanceDiffCalculator;
+import org.folio.services.diff.inventory.ItemDiffCalculator;
+import org.folio.services.diff.user.UserDiffCalculator;
+import org.folio.utils.UnitTest;
+import org.javers.core.diff.changetype.map.MapChange;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Golden-output suite that checks the diff of every case in {@code diff/golden} against the output of the Javers
+ * based calculation the diff engine replaced. Collection items are compared regardless of their order.
+ * <p>
+ * Javers does not know element keys and reports a changed element of a keyed collection as a removed and an added
+ * element, such pairs of the reference output are merged into the single modified element the diff engine reports.
+ */
+@UnitTest
+class DiffCalculatorCompatibilityTest {
+
+  @ParameterizedTest(name = "instance: {0}")
+  @MethodSource("instanceCases")
+  void shouldMatchJaversOutputForInstance(String name, Map<String, Object> oldValue, Map<String, Object> newValue) {
+    DiffCalculator<Instance> calculator = new InstanceDiffCalculator();
+    assertCompatible(calculator, reference(calculator, Instance.class, mapChange -> false), oldValue, newValue);
+  }
+
+  @ParameterizedTest(name = "holdings: {0}")
+  @MethodSource("holdingsCases")
+  void shouldMatchJaversOutputForHoldings(String name, Map<String, Object> oldValue, Map<String, Object> newValue) {
+    DiffCalculator<HoldingsRecord> calculator = new HoldingsDiffCalculator();
+    assertCompatible(calculator, reference(calculator, HoldingsRecord.class, mapChange -> false), oldValue, newValue);
+  }
+
+  @ParameterizedTest(name = "item: {0}")
+  @MethodSource("itemCases")
+  void shouldMatchJaversOutputForItem(String name, Map<String, Object> oldValue, Map<String, Object> newValue) {
+    DiffCalculator<Item> calculator = new ItemDiffCalculator();
+    assertCompatible(calculator, reference(calculator, Item.class, mapChange -> false), oldValue, newValue);
+  }
+
+  @ParameterizedTest(name = "user: {0}")
+  @MethodSource("userCases")
+  void shouldMatchJaversOutputForUser(String name, Map<String, Object> oldValue, Map<String, Object> newValue) {
+    DiffCalculator<User> calculator = new UserDiffCalculator();
+    assertCompatible(calculator, reference(calculator, User.class,
+      mapChange -> mapChange.getPropertyNameWithPath().startsWith("customFields.")), oldValue, newValue);
+  }
+
+  static Stream<Arguments> instanceCases() {
+    return cases("diff/golden/instance.json");
+  }
+
+  static Stream<Arguments> holdingsCases() {
+    return cases("diff/golden/holdings.json");
+  }
+
+  static Stream<Arguments> itemCases() {
+    return cases("diff/golden/item.json");
+  }
+
+  static Stream<Arguments> userCases() {
+    return cases("diff/golden/user.json");
+  }
+
+  private static Stream<Arguments> cases(String fileName) {
+    return new JsonArray(getFile(fileName)).stream()
+      .map(JsonObject.class::cast)
+      .map(testCase -> Arguments.of(testCase.getString("name"), testCase.getJsonObject("old").getMap(),
+        testCase.getJsonObject("new").getMap()));
+  }
+
+  private static <T> JaversDiffCalculator<T> reference(DiffCalculator<T> calculator, Class<T> type,
+                                                       Predicate<MapChange> mapChangeFilter) {
+    return new JaversDiffCalculator<>(type, value -> calculator.access(value).get(), mapChangeFilter);
+  }
+
+  private static <T> void assertCompatible(DiffCalculator<T> calculator, JaversDiffCalculator<T> reference,
+                                           Map<String, Object> oldValue, Map<String, Object> newValue) {
+    var actual = calculator.calculateDiff(oldValue, newValue);
+    var expected = alignByKey(calculator, reference.calculateDiff(oldValue, newValue));
+
+    assertThat(normalize(actual)).isEqualTo(normalize(expected));
+  }
+
+  private static <T> ChangeRecordDto alignByKey(DiffCalculator<T> calculator, ChangeRecordDto changeRecord) {
+    if (changeRecord == null) {
+      return null;
+    }
+    for (var collectionChange : changeRecord.getCollectionChanges()) {
+      var keyProperties = calculator.getCollectionKey(collectionChange.getFullPath());
+      var removed = indexByKey(collectionChange.getItemChanges(), ChangeType.REMOVED,
+        CollectionItemChangeDto::getOldValue, keyProperties);
+      var added = indexByKey(collectionChange.getItemChanges(), ChangeType.ADDED,
+        CollectionItemChangeDto::getNewValue, keyProperties);
+      var pairedKeys = new HashSet<>(removed.keySet());
+      pairedKeys.retainAll(added.keySet());
+      var itemChanges = new ArrayList<CollectionItemChangeDto>();
+      for (var itemChange : collectionChange.getItemChanges()) {
+        var changeType = itemChange.getChangeType();
+        if (changeType == ChangeType.REMOVED && pairedKeys.contains(keyOf(itemChange.getOldValue(), keyProperties))) {
+          var key = keyOf(itemChange.getOldValue(), keyProperties);
+          itemChanges.add(CollectionItemChangeDto.modified(itemChange.getOldValue(), added.get(key).getNewValue()));
+        } else if (changeType != ChangeType.ADDED
+                   || !pairedKeys.contains(keyOf(itemChange.getNewValue(), keyProperties))) {
+          itemChanges.add(itemChange);
+        }
+      }
+      collectionChange.setItemChanges(itemChanges);
+    }
+    return changeRecord;
+  }
+
+  /**
+   * Indexes item changes of the given type by the key of their value, keys shared by several items are left out.
+   */
+  private static Map<List<Object>, CollectionItemChangeDto> indexByKey(List<CollectionItemChangeDto> itemChanges,
+                                                                       ChangeType changeType,
+                                                                       Function<CollectionItemChangeDto, Object> value,
+                                                                       List<String> keyProperties) {
+    var index = new HashMap<List<Object>, CollectionItemChangeDto>();
+    var duplicates = new HashSet<List<Object>>();
+    itemChanges.stream()
+      .filter(itemChange -> itemChange.getChangeType() == changeType)
+      .forEach(itemChange -> {
+        var key = keyOf(value.apply(itemChange), keyProperties);
+        if (key != null && index.put(key, itemChange) != null) {
+          duplicates.add(key);
+        }
+      });
+    duplicates.forEach(index::remove);
+    return index;
+  }
+
+  private static List<Object> keyOf(Object value, List<String> keyProperties) {
+    if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+        || keyProperties == null || keyProperties.isEmpty()) {
+      return null;
+    }
+    var json = JsonObject.mapFrom(value);
+    var key = keyProperties.stream().map(json::getValue).toList();
+    return key.contains(null) ? null : key;
+  }
+
+  private static Map<String, Object> normalize(ChangeRecordDto changeRecord) {
+    if (changeRecord == null) {
+      return null;
+    }
+    var collectionChanges = new HashMap<String, Object>();
+    changeRecord.getCollectionChanges().forEach(collectionChange -> collectionChanges.put(
+      collectionChange.getFullPath(),
+      List.of(collectionChange.getCollectionName(), new HashSet<>(collectionChange.getItemChanges()))));
+    return Map.of("fieldChanges", Set.copyOf(changeRecord.getFieldChanges()),
+      "collectionChanges", collectionChanges);
+  }
+}
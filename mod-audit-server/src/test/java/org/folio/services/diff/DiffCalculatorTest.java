@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -299,6 +301,96 @@ class DiffCalculatorTest {
       .isNull();
   }
 
+  @Test
+  void shouldAlignCollectionByConfiguredCompositeKey() {
+    var keyedCalculator = keyedSubjectsCalculator(List.of("value", "sourceId"));
+    var oldInstance = getMap(new Instance().withId("1").withSubjects(List.of(
+      new Subject().withValue("Subject 1").withSourceId("Source 1").withTypeId("Type 1"),
+      new Subject().withValue("Subject 1").withSourceId("Source 2").withTypeId("Type 1"))));
+    var newInstance = getMap(new Instance().withId("1").withSubjects(List.of(
+      new Subject().withValue("Subject 1").withSourceId("Source 2").withTypeId("Type 1"),
+      new Subject().withValue("Subject 1").withSourceId("Source 1").withTypeId("Type 2"))));
+
+    var changeRecordDTO = keyedCalculator.calculateDiff(oldInstance, newInstance);
+
+    assertThat(changeRecordDTO.getCollectionChanges().get(0).getItemChanges())
+      .as("Changed element should be reported once as modified")
+      .containsExactly(CollectionItemChangeDto.modified(
+        new Subject().withValue("Subject 1").withSourceId("Source 1").withTypeId("Type 1"),
+        new Subject().withValue("Subject 1").withSourceId("Source 1").withTypeId("Type 2")));
+  }
+
+  @Test
+  void shouldCompareCollectionAsSetIfKeyIsNotUnique() {
+    var keyedCalculator = keyedSubjectsCalculator(List.of("value"));
+    var oldInstance = getMap(new Instance().withId("1").withSubjects(List.of(
+      new Subject().withValue("Subject 1").withTypeId("Type 1"),
+      new Subject().withValue("Subject 1").withTypeId("Type 2"))));
+    var newInstance = getMap(new Instance().withId("1").withSubjects(List.of(
+      new Subject().withValue("Subject 1").withTypeId("Type 1"),
+      new Subject().withValue("Subject 1").withTypeId("Type 3"))));
+
+    var changeRecordDTO = keyedCalculator.calculateDiff(oldInstance, newInstance);
+
+    assertThat(changeRecordDTO.getCollectionChanges().get(0).getItemChanges())
+      .containsExactly(
+        CollectionItemChangeDto.removed(new Subject().withValue("Subject 1").withTypeId("Type 2")),
+        CollectionItemChangeDto.added(new Subject().withValue("Subject 1").withTypeId("Type 3")));
+  }
+
+  @Test
+  void shouldDetectChangesInCollectionsWithThousandsOfElements() {
+    var keyedCalculator = keyedSubjectsCalculator(List.of("value"));
+    var oldSubjects = new ArrayList<Subject>();
+    var newSubjects = new ArrayList<Subject>();
+    var oldLanguages = new ArrayList<String>();
+    var newLanguages = new ArrayList<String>();
+    for (var i = 0; i < 10_000; i++) {
+      oldSubjects.add(new Subject().withValue("Subject " + i).withTypeId("Type"));
+      newSubjects.add(new Subject().withValue("Subject " + i).withTypeId(i == 5_000 ? "Type new" : "Type"));
+      oldLanguages.add("Language " + i);
+      newLanguages.add("Language " + (i + 1));
+    }
+    Collections.reverse(newSubjects);
+    var oldInstance = getMap(new Instance().withId("1").withSubjects(oldSubjects).withLanguages(oldLanguages));
+    var newInstance = getMap(new Instance().withId("1").withSubjects(newSubjects).withLanguages(newLanguages));
+
+    var changeRecordDTO = keyedCalculator.calculateDiff(oldInstance, newInstance);
+
+    assertThat(changeRecordDTO.getCollectionChanges())
+      .extracting(CollectionChangeDto::getCollectionName)
+      .containsExactlyInAnyOrder("subjects", "languages");
+    assertThat(changeRecordDTO.getCollectionChanges())
+      .filteredOn(collectionChange -> collectionChange.getCollectionName().equals("subjects"))
+      .flatExtracting(CollectionChangeDto::getItemChanges)
+      .containsExactly(CollectionItemChangeDto.modified(
+        new Subject().withValue("Subject 5000").withTypeId("Type"),
+        new Subject().withValue("Subject 5000").withTypeId("Type new")));
+    assertThat(changeRecordDTO.getCollectionChanges())
+      .filteredOn(collectionChange -> collectionChange.getCollectionName().equals("languages"))
+      .flatExtracting(CollectionChangeDto::getItemChanges)
+      .containsExactly(CollectionItemChangeDto.removed("Language 0"), CollectionItemChangeDto.added("Language 10000"));
+  }
+
+  private DiffCalculator<Instance> keyedSubjectsCalculator(List<String> key) {
+    return new DiffCalculator<>() {
+      @Override
+      protected Class<Instance> getType() {
+        return Instance.class;
+      }
+
+      @Override
+      protected Supplier<Instance> access(Instance value) {
+        return () -> value;
+      }
+
+      @Override
+      protected List<String> getCollectionKey(String fullPath) {
+        return "subjects".equals(fullPath) ? key : super.getCollectionKey(fullPath);
+      }
+    };
+  }
+
   private static Map<String, Object> getMap(Instance obj) {
     return new JsonObject(Json.encode(obj)).getMap();
   }
@@ -0,0 +1,207 @@
+package org.folio.services.diff;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@UnitTest
+@ExtendWith(VertxExtension.class)
+class DiffExecutorTest {
+
+  private MetricsRegistry metricsRegistry;
+
+  @BeforeEach
+  void setUp() {
+    metricsRegistry = new MetricsRegistry(null, 0);
+  }
+
+  @Test
+  void shouldComputeInlineWhenDisabled(Vertx vertx) {
+    var executor = new DiffExecutor(vertx, metricsRegistry, false, 4, 2, 200);
+    var caller = Thread.currentThread();
+
+    var result = executor.execute("item", Thread::currentThread);
+
+    assertFalse(executor.isEnabled());
+    assertTrue(result.succeeded());
+    assertSame(caller, result.result());
+  }
+
+  @Test
+  void shouldFailInlineComputation() {
+    var result = DiffExecutor.executeInline(() -> {
+      throw new IllegalStateException("diff failed");
+    });
+
+    assertTrue(result.failed());
+    assertEquals("diff failed", result.cause().getMessage());
+  }
+
+  @Test
+  void shouldCompleteOnCallingContext(Vertx vertx, VertxTestContext ctx) {
+    var executor = new DiffExecutor(vertx, metricsRegistry, true, 4, 2, 200);
+    var context = vertx.getOrCreateContext();
+
+    context.runOnContext(v -> executor.execute("item", Thread::currentThread)
+      .onComplete(ctx.succeeding(computedOn -> ctx.verify(() -> {
+        assertSame(context, vertx.getOrCreateContext());
+        assertTrue(computedOn.getName().startsWith("mod-audit-diff"));
+        ctx.completeNow();
+      }))));
+  }
+
+  @Test
+  void shouldLimitConcurrencyPerType(Vertx vertx, VertxTestContext ctx) throws InterruptedException {
+    var executor = new DiffExecutor(vertx, metricsRegistry, true, 4, 1, 200);
+    var release = new CountDownLatch(1);
+    var itemResults = new ArrayList<Future<Integer>>();
+
+    vertx.getOrCreateContext().runOnContext(v -> {
+      for (int i = 0; i < 3; i++) {
+        var index = i;
+        itemResults.add(executor.execute("item", () -> {
+          release.await(10, TimeUnit.SECONDS);
+          return index;
+        }));
+      }
+      // a burst of items does not delay instances
+      executor.execute("instance", () -> "instance")
+        .onComplete(ctx.succeeding(result -> ctx.verify(() -> {
+          var snapshot = metricsRegistry.snapshot();
+          assertEquals(1, snapshot.get("audit.diff.item.running"));
+          assertEquals(2, snapshot.get("audit.diff.item.queued"));
+          release.countDown();
+        })));
+    });
+
+    assertTrue(release.await(10, TimeUnit.SECONDS));
+    vertx.getOrCreateContext().runOnContext(v -> Future.all(itemResults)
+      .onComplete(ctx.succeeding(result -> ctx.verify(() -> {
+        assertEquals(List.of(0, 1, 2), result.list());
+        assertEquals(0, metricsRegistry.snapshot().get("audit.diff.item.running"));
+        ctx.completeNow();
+      }))));
+  }
+
+  @Test
+  void shouldPauseFetchingWhileQueueIsFull(Vertx vertx, VertxTestContext ctx) {
+    var executor = new DiffExecutor(vertx, metricsRegistry, true, 4, 1, 2);
+    var context = vertx.getOrCreateContext();
+    var paused = new AtomicInteger();
+    var resumed = new AtomicInteger();
+    var release = new CountDownLatch(1);
+    executor.registerBackpressure(context, 5, paused::incrementAndGet, resumed::incrementAndGet);
+
+    context.runOnContext(v -> {
+      var results = new ArrayList<Future<String>>();
+      for (int i = 0; i < 3; i++) {
+        results.add(executor.execute("marc_bib", () -> {
+          release.await(10, TimeUnit.SECONDS);
+          return "diff";
+        }));
+      }
+      context.runOnContext(ignored -> release.countDown());
+      Future.all(results).onComplete(ctx.succeeding(result -> ctx.verify(() -> {
+        assertEquals(1, paused.get());
+        assertEquals(1, resumed.get());
+        ctx.completeNow();
+      })));
+    });
+  }
+
+  @Test
+  void shouldDeriveQueueLimitFromLoadLimits(Vertx vertx, VertxTestContext ctx) {
+    var executor = new DiffExecutor(vertx, metricsRegistry, true, 4, 1, 0);
+    var context = vertx.getOrCreateContext();
+    var paused = new AtomicInteger();
+    var resumed = new AtomicInteger();
+    var release = new CountDownLatch(1);
+    // a verticle processing 4 records at once is paused once 2 of its diffs wait
+    executor.registerBackpressure(context, 4, paused::incrementAndGet, resumed::incrementAndGet);
+
+    context.runOnContext(v -> {
+      var results = new ArrayList<Future<String>>();
+      for (int i = 0; i < 2; i++) {
+        results.add(executor.execute("item", () -> {
+          release.await(10, TimeUnit.SECONDS);
+          return "diff";
+        }));
+      }
+      ctx.verify(() -> assertEquals(0, paused.get()));
+      results.add(executor.execute("item", () -> "diff"));
+      context.runOnContext(ignored -> release.countDown());
+      Future.all(results).onComplete(ctx.succeeding(result -> ctx.verify(() -> {
+        assertEquals(1, paused.get());
+        assertEquals(1, resumed.get());
+        ctx.completeNow();
+      })));
+    });
+  }
+
+  @Test
+  void shouldPauseOnlySubmittersOfOverloadedLane(Vertx vertx, VertxTestContext ctx) {
+    var executor = new DiffExecutor(vertx, metricsRegistry, true, 4, 1, 1);
+    var submitter = vertx.getOrCreateContext();
+    var other = vertx.getOrCreateContext();
+    var unregistered = vertx.getOrCreateContext();
+    var submitterEvents = new AtomicInteger();
+    var otherEvents = new AtomicInteger();
+    var unregisteredEvents = new AtomicInteger();
+    var release = new CountDownLatch(1);
+    executor.registerBackpressure(submitter, 5, submitterEvents::incrementAndGet, submitterEvents::incrementAndGet);
+    executor.registerBackpressure(other, 5, otherEvents::incrementAndGet, otherEvents::incrementAndGet);
+    executor.registerBackpressure(unregistered, 5, unregisteredEvents::incrementAndGet,
+      unregisteredEvents::incrementAndGet);
+
+    unregistered.runOnContext(v -> executor.execute("holdings", () -> "diff")
+      .onComplete(ctx.succeeding(diff -> {
+        // a stopped verticle is no longer notified about lanes it submitted to
+        executor.unregisterBackpressure(unregistered);
+        submitter.runOnContext(ignored -> {
+          var results = new ArrayList<Future<String>>();
+          for (int i = 0; i < 2; i++) {
+            results.add(executor.execute("holdings", () -> {
+              release.await(10, TimeUnit.SECONDS);
+              return "diff";
+            }));
+          }
+          submitter.runOnContext(released -> release.countDown());
+          Future.all(results).onComplete(ctx.succeeding(result -> submitter.runOnContext(completed -> ctx.verify(() -> {
+            assertEquals(2, submitterEvents.get());
+            assertEquals(0, otherEvents.get());
+            assertEquals(0, unregisteredEvents.get());
+            ctx.completeNow();
+          }))));
+        });
+      })));
+  }
+
+  @Test
+  void shouldFailOnCallingContext(Vertx vertx, VertxTestContext ctx) {
+    var executor = new DiffExecutor(vertx, metricsRegistry, true, 4, 2, 200);
+
+    vertx.getOrCreateContext().runOnContext(v -> executor.execute("user", () -> {
+        throw new IllegalStateException("diff failed");
+      })
+      .onComplete(ctx.failing(throwable -> ctx.verify(() -> {
+        assertEquals("diff failed", throwable.getMessage());
+        ctx.completeNow();
+      }))));
+  }
+}
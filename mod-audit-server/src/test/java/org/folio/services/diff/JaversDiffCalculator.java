@@ -0,0 +1,210 @@
+package org.folio.services.diff;
+
+import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import org.folio.domain.diff.ChangeRecordDto;
+import org.folio.domain.diff.ChangeType;
+import org.folio.domain.diff.CollectionChangeDto;
+import org.folio.domain.diff.CollectionItemChangeDto;
+import org.folio.domain.diff.FieldChangeDto;
+import org.javers.core.Changes;
+import org.javers.core.Javers;
+import org.javers.core.JaversBuilder;
+import org.javers.core.diff.Change;
+import org.javers.core.diff.ListCompareAlgorithm;
+import org.javers.core.diff.changetype.InitialValueChange;
+import org.javers.core.diff.changetype.TerminalValueChange;
+import org.javers.core.diff.changetype.ValueChange;
+import org.javers.core.diff.changetype.container.CollectionChange;
+import org.javers.core.diff.changetype.container.ElementValueChange;
+import org.javers.core.diff.changetype.container.ValueAddOrRemove;
+import org.javers.core.diff.changetype.container.ValueAdded;
+import org.javers.core.diff.changetype.map.EntryAdded;
+import org.javers.core.diff.changetype.map.EntryChange;
+import org.javers.core.diff.changetype.map.EntryRemoved;
+import org.javers.core.diff.changetype.map.EntryValueChange;
+import org.javers.core.diff.changetype.map.MapChange;
+import org.javers.core.metamodel.object.ValueObjectId;
+
+/**
+ * Javers based diff calculation that was used before {@link DiffCalculator} walked JSON trees directly,
+ * kept as the reference of the diff output.
+ */
+class JaversDiffCalculator<T> {
+
+  private final Javers javers = JaversBuilder.javers()
+    .withListCompareAlgorithm(ListCompareAlgorithm.AS_SET)
+    .build();
+
+  private final Class<T> type;
+  private final UnaryOperator<T> access;
+  private final Predicate<MapChange> mapChangeFilter;
+
+  JaversDiffCalculator(Class<T> type, UnaryOperator<T> access, Predicate<MapChange> mapChangeFilter) {
+    this.type = type;
+    this.access = access;
+    this.mapChangeFilter = mapChangeFilter;
+  }
+
+  ChangeRecordDto calculateDiff(Map<String, Object> oldValue, Map<String, Object> newValue) {
+    var oldRecord = new JsonObject(oldValue).mapTo(type);
+    var newRecord = new JsonObject(newValue).mapTo(type);
+    var diff = javers.compare(access.apply(oldRecord), access.apply(newRecord));
+    return convert(diff.getChanges());
+  }
+
+  private Class<T> getType() {
+    return type;
+  }
+
+  private ChangeRecordDto convert(Changes changes) {
+    if (changes == null || changes.isEmpty()) {
+      return null;
+    }
+    var result = new ChangeRecordDto();
+    var groupedChanges = groupChanges(changes);
+    var parentChanges = groupedChanges.get(getType().getName());
+    var changeList = parentChanges.values().iterator().next();
+    var fieldChanges = new ArrayList<FieldChangeDto>();
+    var collectionChanges = new ArrayList<CollectionChangeDto>();
+
+    for (Change change : changeList) {
+      if (change instanceof ValueChange valueChange) {
+        fieldChanges.add(processValueChange(valueChange));
+      } else if (change instanceof CollectionChange<?> collectionChange) {
+        collectionChanges.add(processCollectionChange(collectionChange, groupedChanges));
+      // MapChanges are skipped by default to filter out noise from JSON schema additionalProperties.
+      // Subclasses opt in for map properties that carry real data (see UserDiffCalculator).
+      } else if (change instanceof MapChange mapChange && shouldProcessMapChange(mapChange)) {
+        fieldChanges.addAll(processMapChange(mapChange));
+      }
+    }
+
+    if (fieldChanges.isEmpty() && collectionChanges.isEmpty()) {
+      return null;
+    }
+    result.setFieldChanges(fieldChanges);
+    result.setCollectionChanges(collectionChanges);
+    return result;
+  }
+
+  private CollectionChangeDto processCollectionChange(CollectionChange<?> collectionChange,
+                                                      Map<String, Map<String, List<Change>>> groupedChanges) {
+    Set<CollectionItemChangeDto> itemChanges = new HashSet<>();
+
+    collectionChange.getChanges().forEach(c -> {
+      if (c instanceof ElementValueChange elementValueChange) {
+        itemChanges.add(processElementValueChange(elementValueChange));
+      } else if (c instanceof ValueAddOrRemove valueAddOrRemove) {
+        processValueAddOrRemove(valueAddOrRemove, groupedChanges).ifPresent(itemChanges::add);
+      }
+    });
+
+    return new CollectionChangeDto(collectionChange.getPropertyNameWithPath(),
+      collectionChange.getPropertyName(), new ArrayList<>(itemChanges));
+  }
+
+  private Optional<CollectionItemChangeDto> processValueAddOrRemove(ValueAddOrRemove valueAddOrRemove,
+                                                                    Map<String, Map<String, List<Change>>> groupedChanges) {
+    CollectionItemChangeDto itemChange = null;
+    var value = valueAddOrRemove.getValue();
+    if (value instanceof ValueObjectId valueObjectId) {
+      for (var change : groupedChanges.get(valueObjectId.getTypeName()).get(valueObjectId.value())) {
+        if (change instanceof ValueChange valueChange) {
+          itemChange = CollectionItemChangeDto.of(
+            determineAddOrRemove(valueAddOrRemove, ChangeType.ADDED, ChangeType.REMOVED),
+            determineAddOrRemove(valueAddOrRemove, null, valueChange.getAffectedObject().orElse(null)),
+            determineAddOrRemove(valueAddOrRemove, valueChange.getAffectedObject().orElse(null), null)
+          );
+        }
+      }
+    } else {
+      itemChange = determineAddOrRemove(valueAddOrRemove, CollectionItemChangeDto.of(null, value),
+        CollectionItemChangeDto.of(value, null));
+    }
+    return Optional.ofNullable(itemChange);
+  }
+
+  private <R> R determineAddOrRemove(ValueAddOrRemove valueAdded, R ifTrue, R ifFalse) {
+    return valueAdded instanceof ValueAdded ? ifTrue : ifFalse;
+  }
+
+  private CollectionItemChangeDto processElementValueChange(ElementValueChange elementValueChange) {
+    return CollectionItemChangeDto.modified(
+      elementValueChange.getLeftValue(),
+      elementValueChange.getRightValue()
+    );
+  }
+
+  private boolean shouldProcessMapChange(MapChange mapChange) {
+    return mapChangeFilter.test(mapChange);
+  }
+
+  private List<FieldChangeDto> processMapChange(MapChange mapChange) {
+    var result = new ArrayList<FieldChangeDto>();
+    String basePath = mapChange.getPropertyNameWithPath();
+    String propName = mapChange.getPropertyName();
+    String prefix = basePath.endsWith(propName)
+      ? basePath.substring(0, basePath.length() - propName.length())
+      : "";
+
+    for (var entry : mapChange.getEntryChanges()) {
+      EntryChange entryChange = (EntryChange) entry;
+      String key = String.valueOf(entryChange.getKey());
+      String fullPath = prefix + key;
+
+      if (entryChange instanceof EntryValueChange evc) {
+        result.add(FieldChangeDto.modified(key, fullPath, evc.getLeftValue(), evc.getRightValue()));
+      } else if (entryChange instanceof EntryAdded ea) {
+        result.add(FieldChangeDto.added(key, fullPath, ea.getValue()));
+      } else if (entryChange instanceof EntryRemoved er) {
+        result.add(FieldChangeDto.removed(key, fullPath, er.getValue()));
+      }
+    }
+    return result;
+  }
+
+  private FieldChangeDto processValueChange(ValueChange valueChange) {
+    return FieldChangeDto.of(
+      valueChange.getPropertyName(),
+      valueChange.getPropertyNameWithPath(),
+      valueChange.getLeft(),
+      valueChange.getRight()
+    );
+  }
+
+  /**
+   * Groups changes by type and object id. Main map key is type name, secondary map key is object id.
+   */
+  private Map<String, Map<String, List<Change>>> groupChanges(Changes changes) {
+    Map<String, Map<String, List<Change>>> groupedChanges = new HashMap<>();
+
+    for (Change change : changes) {
+      String typeName;
+      String objectId;
+      if (change instanceof InitialValueChange || change instanceof TerminalValueChange) {
+        typeName = change.getAffectedGlobalId().getTypeName();
+        objectId = change.getAffectedGlobalId().value();
+      } else {
+        typeName = change.getAffectedGlobalId().masterObjectId().getTypeName();
+        objectId = change.getAffectedGlobalId().masterObjectId().value();
+      }
+
+      groupedChanges
+        .computeIfAbsent(typeName, k -> new HashMap<>())
+        .computeIfAbsent(objectId, k -> new ArrayList<>())
+        .add(change);
+    }
+
+    return groupedChanges;
+  }
+
+}
@@ -9,6 +9,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.folio.CopilotGenerated;
+import org.folio.domain.diff.ChangeType;
+import org.folio.domain.diff.CollectionItemChangeDto;
 import org.folio.domain.diff.FieldChangeDto;
 import org.folio.rest.external.AdditionalCallNumber;
 import org.folio.rest.external.HoldingsRecord;
@@ -81,6 +83,37 @@ class HoldingsDiffCalculatorTest {
     assertThat(changeRecordDTO.getCollectionChanges()).hasSize(1);
   }
 
+  @Test
+  void shouldDetectModifiedHoldingsStatementByItsStatement() {
+    var oldHoldingsRecord = Map.<String, Object>of("id", "1", "holdingsStatements", List.of(
+      Map.of("statement", "v.1", "note", "Old"), Map.of("statement", "v.2")));
+    var newHoldingsRecord = Map.<String, Object>of("id", "1", "holdingsStatements", List.of(
+      Map.of("statement", "v.1", "note", "New"), Map.of("statement", "v.3")));
+
+    var changeRecordDTO = holdingsDiffCalculator.calculateDiff(oldHoldingsRecord, newHoldingsRecord);
+
+    var itemChanges = changeRecordDTO.getCollectionChanges().get(0).getItemChanges();
+    assertThat(itemChanges)
+      .extracting(CollectionItemChangeDto::getChangeType)
+      .containsExactly(ChangeType.MODIFIED, ChangeType.REMOVED, ChangeType.ADDED);
+    assertThat(itemChanges.get(0).getOldValue()).hasFieldOrPropertyWithValue("note", "Old");
+    assertThat(itemChanges.get(0).getNewValue()).hasFieldOrPropertyWithValue("note", "New");
+  }
+
+  @Test
+  void shouldDetectModifiedNoteByItsTypeAndText() {
+    var oldHoldingsRecord = Map.<String, Object>of("id", "1", "notes", List.of(
+      Map.of("holdingsNoteTypeId", "type", "note", "Note", "staffOnly", false)));
+    var newHoldingsRecord = Map.<String, Object>of("id", "1", "notes", List.of(
+      Map.of("holdingsNoteTypeId", "type", "note", "Note", "staffOnly", true)));
+
+    var changeRecordDTO = holdingsDiffCalculator.calculateDiff(oldHoldingsRecord, newHoldingsRecord);
+
+    assertThat(changeRecordDTO.getCollectionChanges().get(0).getItemChanges())
+      .extracting(CollectionItemChangeDto::getChangeType)
+      .containsExactly(ChangeType.MODIFIED);
+  }
+
   private static Map<String, Object> getMap(HoldingsRecord obj) {
     return new JsonObject(Json.encode(obj)).getMap();
   }
@@ -4,8 +4,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
+import java.util.List;
 import java.util.Map;
 import org.folio.CopilotGenerated;
+import org.folio.domain.diff.ChangeType;
+import org.folio.domain.diff.CollectionItemChangeDto;
 import org.folio.domain.diff.FieldChangeDto;
 import org.folio.rest.external.Instance;
 import org.folio.util.inventory.InventoryResourceType;
@@ -52,6 +55,22 @@ class InstanceDiffCalculatorTest {
       .containsExactlyInAnyOrder(FieldChangeDto.modified("title", "title", "Title 1", "Title 2"));
   }
 
+  @Test
+  void shouldDetectModifiedNoteByItsTypeAndText() {
+    var oldInstance = Map.<String, Object>of("id", "1", "notes", List.of(
+      Map.of("instanceNoteTypeId", "type", "note", "Note", "staffOnly", false),
+      Map.of("instanceNoteTypeId", "type", "note", "Old note")));
+    var newInstance = Map.<String, Object>of("id", "1", "notes", List.of(
+      Map.of("instanceNoteTypeId", "type", "note", "Note", "staffOnly", true),
+      Map.of("instanceNoteTypeId", "type", "note", "New note")));
+
+    var changeRecordDTO = instanceDiffCalculator.calculateDiff(oldInstance, newInstance);
+
+    assertThat(changeRecordDTO.getCollectionChanges().get(0).getItemChanges())
+      .extracting(CollectionItemChangeDto::getChangeType)
+      .containsExactly(ChangeType.MODIFIED, ChangeType.REMOVED, ChangeType.ADDED);
+  }
+
   private static Map<String, Object> getMap(Instance obj) {
     return new JsonObject(Json.encode(obj)).getMap();
   }
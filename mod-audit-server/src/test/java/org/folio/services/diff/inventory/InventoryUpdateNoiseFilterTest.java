@@ -0,0 +1,140 @@
+package org.folio.services.diff.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.json.JsonObject;
+import java.util.List;
+import java.util.Map;
+import org.folio.util.inventory.InventoryResourceType;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class InventoryUpdateNoiseFilterTest {
+
+  private MetricsRegistry metricsRegistry;
+  private InventoryUpdateNoiseFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    metricsRegistry = new MetricsRegistry(null, 0);
+    filter = new InventoryUpdateNoiseFilter(metricsRegistry, true, "_version,metadata", "_version,metadata",
+      "_version, metadata, status.date");
+  }
+
+  @Test
+  void shouldSkipUpdateWithOnlyIgnoredPathsChanged() {
+    var oldValue = Map.<String, Object>of("barcode", "123", "_version", 1,
+      "status", Map.of("name", "Available", "date", "2024-01-01T00:00:00.000+00:00"),
+      "metadata", Map.of("updatedDate", "2024-01-01T00:00:00.000+00:00"));
+    var newValue = Map.<String, Object>of("barcode", "123", "_version", 2,
+      "status", Map.of("name", "Available", "date", "2024-01-02T00:00:00.000+00:00"),
+      "metadata", Map.of("updatedDate", "2024-01-02T00:00:00.000+00:00"));
+
+    assertTrue(filter.isNoise(InventoryResourceType.ITEM, oldValue, newValue));
+  }
+
+  @Test
+  void shouldNotSkipUpdateWithMeaningfulChange() {
+    var oldValue = Map.<String, Object>of("barcode", "Aa", "_version", 1);
+    var newValue = Map.<String, Object>of("barcode", "BB", "_version", 2);
+
+    assertFalse(filter.isNoise(InventoryResourceType.ITEM, oldValue, newValue));
+  }
+
+  @Test
+  void shouldIgnorePathOnlyForConfiguredResourceType() {
+    var oldValue = Map.<String, Object>of("status", Map.of("date", "2024-01-01"));
+    var newValue = Map.<String, Object>of("status", Map.of("date", "2024-01-02"));
+
+    assertTrue(filter.isNoise(InventoryResourceType.ITEM, oldValue, newValue));
+    assertFalse(filter.isNoise(InventoryResourceType.INSTANCE, oldValue, newValue));
+  }
+
+  @Test
+  void shouldNotSkipUpdateWithChangeNextToIgnoredPath() {
+    var oldValue = Map.<String, Object>of("status", Map.of("name", "Available", "date", "2024-01-01"));
+    var newValue = Map.<String, Object>of("status", Map.of("name", "Checked out", "date", "2024-01-02"));
+
+    assertFalse(filter.isNoise(InventoryResourceType.ITEM, oldValue, newValue));
+  }
+
+  @Test
+  void shouldNotIgnoreSameNamedPropertiesOfCollectionElements() {
+    var oldValue = Map.<String, Object>of("_version", 1,
+      "circulationNotes", List.of(Map.of("note", "note", "_version", 1, "metadata", Map.of("updatedDate", "1"))),
+      "statuses", List.of(Map.of("date", "2024-01-01")));
+    var newValue = Map.<String, Object>of("_version", 2,
+      "circulationNotes", List.of(Map.of("note", "note", "_version", 2, "metadata", Map.of("updatedDate", "2"))),
+      "statuses", List.of(Map.of("date", "2024-01-01")));
+
+    assertFalse(filter.isNoise(InventoryResourceType.ITEM, oldValue, newValue));
+  }
+
+  @Test
+  void shouldNotIgnorePathInsideCollectionUnderIgnoredPrefix() {
+    var oldValue = Map.<String, Object>of("status", List.of(Map.of("name", "Available", "date", "2024-01-01")));
+    var newValue = Map.<String, Object>of("status", List.of(Map.of("name", "Available", "date", "2024-01-02")));
+
+    assertFalse(filter.isNoise(InventoryResourceType.ITEM, oldValue, newValue));
+  }
+
+  @Test
+  void shouldNotSkipUpdateWithElementAddedToCollection() {
+    var oldValue = Map.<String, Object>of("languages", List.of("eng"));
+    var newValue = Map.<String, Object>of("languages", List.of("eng", "ger"));
+
+    assertFalse(filter.isNoise(InventoryResourceType.INSTANCE, oldValue, newValue));
+  }
+
+  @Test
+  void shouldNotSkipUpdateWithoutOldOrNewValue() {
+    var value = Map.<String, Object>of("title", "title");
+
+    assertFalse(filter.isNoise(InventoryResourceType.INSTANCE, null, value));
+    assertFalse(filter.isNoise(InventoryResourceType.INSTANCE, value, null));
+  }
+
+  @Test
+  void shouldSkipUpdateWithOnlyRepresentationChanged() {
+    var oldValue = new JsonObject()
+      .put("title", "title")
+      .put("subjects", List.of(Map.of("value", "a"), Map.of("value", "b")))
+      .put("numberOfPieces", 1)
+      .putNull("edition")
+      .getMap();
+    var newValue = new JsonObject()
+      .put("numberOfPieces", 1.0)
+      .put("subjects", List.of(Map.of("value", "b"), Map.of("value", "a")))
+      .put("title", "title")
+      .getMap();
+
+    assertTrue(filter.isNoise(InventoryResourceType.INSTANCE, oldValue, newValue));
+  }
+
+  @Test
+  void shouldNotSkipUpdateWhenDisabled() {
+    filter = new InventoryUpdateNoiseFilter(metricsRegistry, false, "", "", "");
+    var value = Map.<String, Object>of("title", "title");
+
+    assertFalse(filter.isNoise(InventoryResourceType.INSTANCE, value, value));
+  }
+
+  @Test
+  void shouldReportSkipRatioPerResourceType() {
+    var value = Map.<String, Object>of("title", "title");
+    filter.isNoise(InventoryResourceType.INSTANCE, value, value);
+    filter.isNoise(InventoryResourceType.INSTANCE, value, Map.of("title", "other"));
+
+    var snapshot = metricsRegistry.snapshot();
+
+    assertEquals(2L, snapshot.get("audit.inventory.noise-filter.instance.checked"));
+    assertEquals(1L, snapshot.get("audit.inventory.noise-filter.instance.skipped"));
+    assertEquals(0.5, snapshot.get("audit.inventory.noise-filter.instance.skip-ratio"));
+    assertEquals(0.0, snapshot.get("audit.inventory.noise-filter.item.skip-ratio"));
+  }
+}
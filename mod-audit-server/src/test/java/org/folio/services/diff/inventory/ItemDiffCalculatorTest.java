@@ -9,6 +9,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.folio.CopilotGenerated;
+import org.folio.domain.diff.ChangeType;
+import org.folio.domain.diff.CollectionItemChangeDto;
 import org.folio.domain.diff.FieldChangeDto;
 import org.folio.rest.external.AdditionalCallNumber;
 import org.folio.rest.external.Item;
@@ -83,6 +85,40 @@ class ItemDiffCalculatorTest {
     assertThat(changeRecordDTO.getCollectionChanges()).hasSize(1);
   }
 
+  @Test
+  void shouldDetectModifiedCirculationNoteByItsId() {
+    var oldItem = Map.<String, Object>of("id", "1", "circulationNotes", List.of(
+      Map.of("id", "n1", "noteType", "Check in", "note", "Old"),
+      Map.of("id", "n2", "noteType", "Check out", "note", "Removed")));
+    var newItem = Map.<String, Object>of("id", "1", "circulationNotes", List.of(
+      Map.of("id", "n3", "noteType", "Check out", "note", "Added"),
+      Map.of("id", "n1", "noteType", "Check in", "note", "New")));
+
+    var changeRecordDTO = itemDiffCalculator.calculateDiff(oldItem, newItem);
+
+    assertThat(changeRecordDTO.getCollectionChanges()).hasSize(1);
+    var itemChanges = changeRecordDTO.getCollectionChanges().get(0).getItemChanges();
+    assertThat(itemChanges)
+      .extracting(CollectionItemChangeDto::getChangeType)
+      .containsExactly(ChangeType.MODIFIED, ChangeType.REMOVED, ChangeType.ADDED);
+    assertThat(itemChanges.get(0).getOldValue()).hasFieldOrPropertyWithValue("note", "Old");
+    assertThat(itemChanges.get(0).getNewValue()).hasFieldOrPropertyWithValue("note", "New");
+  }
+
+  @Test
+  void shouldCompareCirculationNotesAsSetIfIdIsMissing() {
+    var oldItem = Map.<String, Object>of("id", "1", "circulationNotes", List.of(
+      Map.of("id", "n1", "note", "Old"), Map.of("note", "Without id")));
+    var newItem = Map.<String, Object>of("id", "1", "circulationNotes", List.of(
+      Map.of("id", "n1", "note", "New"), Map.of("note", "Without id")));
+
+    var changeRecordDTO = itemDiffCalculator.calculateDiff(oldItem, newItem);
+
+    assertThat(changeRecordDTO.getCollectionChanges().get(0).getItemChanges())
+      .extracting(CollectionItemChangeDto::getChangeType)
+      .containsExactly(ChangeType.REMOVED, ChangeType.ADDED);
+  }
+
   private static Map<String, Object> getMap(Item obj) {
     return new JsonObject(Json.encode(obj)).getMap();
   }
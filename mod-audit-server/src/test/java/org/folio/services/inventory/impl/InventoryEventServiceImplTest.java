@@ -1,13 +1,17 @@
 package org.folio.services.inventory.impl;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -25,26 +29,35 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import org.folio.CopilotGenerated;
+import org.folio.dao.PendingDiff;
 import org.folio.dao.inventory.InventoryAuditEntity;
 import org.folio.dao.inventory.impl.HoldingsEventDao;
 import org.folio.dao.inventory.impl.InstanceEventDao;
 import org.folio.dao.inventory.impl.InventoryEventDaoImpl;
 import org.folio.dao.inventory.impl.ItemEventDao;
+import org.folio.domain.diff.ChangeRecordDto;
+import org.folio.domain.diff.FieldChangeDto;
 import org.folio.mapper.InventoryEntitiesToAuditCollectionMapper;
 import org.folio.mapper.InventoryEventToEntityMapper;
 import org.folio.rest.jaxrs.model.InventoryAuditCollection;
 import org.folio.rest.jaxrs.model.Setting;
+import org.folio.services.coalescing.UpdateCoalescingWindow;
 import org.folio.services.configuration.ConfigurationService;
+import org.folio.services.diff.DeferredDiffMode;
+import org.folio.services.diff.DiffExecutor;
 import org.folio.services.inventory.InventoryEventService;
+import org.folio.util.DiffSnapshot;
 import org.folio.util.inventory.InventoryEvent;
 import org.folio.util.inventory.InventoryEventType;
 import org.folio.util.inventory.InventoryResourceType;
+import org.folio.util.metrics.MetricsRegistry;
 import org.folio.utils.UnitTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -70,6 +83,12 @@ class InventoryEventServiceImplTest {
   private InventoryEntitiesToAuditCollectionMapper entitiesToAuditCollectionMapper;
   @Mock
   private ConfigurationService configurationService;
+  @Mock
+  private UpdateCoalescingWindow coalescingWindow;
+  @Mock
+  private DiffExecutor diffExecutor;
+  @Mock
+  private DeferredDiffMode deferredDiffMode;
 
   private InventoryEventService eventService;
 
@@ -80,9 +99,14 @@ class InventoryEventServiceImplTest {
     daos.put(InventoryResourceType.ITEM, itemEventDao);
 
     daos.values().forEach(dao -> doCallRealMethod().when(dao).resourceType());
+    lenient().when(coalescingWindow.getWindowMs(any(), anyString())).thenReturn(Future.succeededFuture(0L));
+    lenient().when(diffExecutor.execute(anyString(), any()))
+      .thenAnswer(invocation -> DiffExecutor.executeInline(invocation.getArgument(1)));
+    lenient().when(deferredDiffMode.isEnabled(any(), anyString())).thenReturn(Future.succeededFuture(false));
 
     eventService = new InventoryEventServiceImpl(eventToEntityMapper, entitiesToAuditCollectionMapper,
-      configurationService, List.of(instanceEventDao, holdingsEventDao, itemEventDao));
+      configurationService, List.of(instanceEventDao, holdingsEventDao, itemEventDao), coalescingWindow, diffExecutor,
+      deferredDiffMode);
   }
 
   @EnumSource(value = InventoryResourceType.class, mode = EnumSource.Mode.EXCLUDE, names = {"UNKNOWN"})
@@ -134,6 +158,346 @@ class InventoryEventServiceImplTest {
     verify(dao, times(1)).deleteAll(any(UUID.class), anyString());
   }
 
+  @Test
+  void shouldSaveBatchOfInventoryRecordsWithSingleStatementPerResourceType() {
+    var instanceEvents = List.of(createInventoryEvent(InventoryResourceType.INSTANCE),
+      createInventoryEvent(InventoryResourceType.INSTANCE));
+    var itemEvent = createInventoryEvent(InventoryResourceType.ITEM);
+    mockAuditEnabled(true);
+    when(eventToEntityMapper.apply(any())).thenAnswer(invocation -> new InventoryAuditEntity(UUID.randomUUID(),
+      Timestamp.from(Instant.now()), UUID.randomUUID(), InventoryEventType.CREATE.name(), null, null));
+    doReturn(Future.succeededFuture()).when(instanceEventDao).saveAll(anyList(), anyString());
+    doReturn(Future.succeededFuture()).when(itemEventDao).saveAll(anyList(), anyString());
+
+    var saveFuture = eventService.processEvents(List.of(instanceEvents.get(0), itemEvent, instanceEvents.get(1)), TENANT_ID);
+    saveFuture.onComplete(asyncResult -> assertTrue(asyncResult.succeeded()));
+
+    verify(configurationService, times(1)).getSetting(org.folio.services.configuration.Setting.INVENTORY_RECORDS_ENABLED, TENANT_ID);
+    verify(instanceEventDao, times(1)).saveAll(argThat(entities -> entities.size() == 2), eq(TENANT_ID));
+    verify(itemEventDao, times(1)).saveAll(argThat(entities -> entities.size() == 1), eq(TENANT_ID));
+    verify(instanceEventDao, never()).save(any(), anyString());
+  }
+
+  @Test
+  void shouldFailBatchWhenBatchInsertFails() {
+    var inventoryEvents = List.of(createInventoryEvent(InventoryResourceType.INSTANCE),
+      createInventoryEvent(InventoryResourceType.INSTANCE));
+    mockAuditEnabled(true);
+    when(eventToEntityMapper.apply(any())).thenAnswer(invocation -> new InventoryAuditEntity(UUID.randomUUID(),
+      Timestamp.from(Instant.now()), UUID.randomUUID(), InventoryEventType.CREATE.name(), null, null));
+    doReturn(Future.failedFuture(new IllegalStateException("Error"))).when(instanceEventDao).saveAll(anyList(), anyString());
+
+    var saveFuture = eventService.processEvents(inventoryEvents, TENANT_ID);
+
+    assertTrue(saveFuture.failed());
+    verify(instanceEventDao, never()).save(any(), anyString());
+  }
+
+  @Test
+  void shouldKeepEventsOrderAroundConsortiumShadowCopyInBatch() {
+    var createEvent = createInventoryEvent(InventoryResourceType.INSTANCE);
+    var shadowCopyEvent = createInventoryEvent(InventoryResourceType.INSTANCE);
+    shadowCopyEvent.setEntityId(createEvent.getEntityId());
+    shadowCopyEvent.setIsConsortiumShadowCopy(true);
+    var nextCreateEvent = createInventoryEvent(InventoryResourceType.INSTANCE);
+    mockAuditEnabled(true);
+    when(eventToEntityMapper.apply(any())).thenAnswer(invocation -> new InventoryAuditEntity(UUID.randomUUID(),
+      Timestamp.from(Instant.now()), UUID.randomUUID(), InventoryEventType.CREATE.name(), null, null));
+    doReturn(Future.succeededFuture()).when(instanceEventDao).saveAll(anyList(), anyString());
+    doReturn(Future.succeededFuture()).when(instanceEventDao).deleteAll(any(UUID.class), anyString());
+
+    var saveFuture = eventService.processEvents(List.of(createEvent, shadowCopyEvent, nextCreateEvent), TENANT_ID);
+    saveFuture.onComplete(asyncResult -> assertTrue(asyncResult.succeeded()));
+
+    var inOrder = inOrder(instanceEventDao);
+    inOrder.verify(instanceEventDao).saveAll(argThat(entities -> entities.size() == 1), eq(TENANT_ID));
+    inOrder.verify(instanceEventDao).deleteAll(UUID.fromString(createEvent.getEntityId()), TENANT_ID);
+    inOrder.verify(instanceEventDao).saveAll(argThat(entities -> entities.size() == 1), eq(TENANT_ID));
+  }
+
+  @Test
+  void shouldNotSaveBatchWhenAuditDisabled() {
+    mockAuditEnabled(false);
+
+    var saveFuture = eventService.processEvents(List.of(createInventoryEvent(InventoryResourceType.INSTANCE)), TENANT_ID);
+    saveFuture.onComplete(asyncResult -> assertTrue(asyncResult.succeeded()));
+
+    verifyNoInteractions(eventToEntityMapper);
+    verify(instanceEventDao, never()).saveAll(anyList(), anyString());
+  }
+
+  @Test
+  void shouldMergeUpdatesWithinCoalescingWindow() {
+    var coalescingWindow = new UpdateCoalescingWindow(configurationService, new MetricsRegistry(null, 0), 100, 0);
+    eventService = new InventoryEventServiceImpl(eventToEntityMapper, entitiesToAuditCollectionMapper,
+      configurationService, List.of(instanceEventDao, holdingsEventDao, itemEventDao), coalescingWindow, diffExecutor,
+      deferredDiffMode);
+    var first = createInventoryEvent(InventoryResourceType.ITEM);
+    first.setType(InventoryEventType.UPDATE);
+    first.setOldValue(Map.of("status", "Available"));
+    first.setNewValue(Map.of("status", "Checked out"));
+    var second = createInventoryEvent(InventoryResourceType.ITEM);
+    second.setType(InventoryEventType.UPDATE);
+    second.setEntityId(first.getEntityId());
+    second.setEventTs(first.getEventTs() + 1000);
+    second.setOldValue(Map.of("status", "Checked out"));
+    second.setNewValue(Map.of("status", "Available"));
+    var userId = UUID.randomUUID();
+    mockAuditEnabled(true);
+    when(configurationService.getSetting(
+      org.folio.services.configuration.Setting.INVENTORY_RECORDS_UPDATE_COALESCING_WINDOW, TENANT_ID))
+      .thenReturn(Future.succeededFuture(new Setting().withValue(60)));
+    when(eventToEntityMapper.apply(any())).thenAnswer(invocation -> {
+      InventoryEvent event = invocation.getArgument(0);
+      var diff = event.getOldValue().equals(event.getNewValue())
+                 ? null
+                 : new ChangeRecordDto(List.of(FieldChangeDto.of("status", "status", "a", "b")), List.of());
+      return new InventoryAuditEntity(UUID.fromString(event.getEventId()), new Timestamp(event.getEventTs()),
+        UUID.fromString(event.getEntityId()), event.getType().name(), userId, diff);
+    });
+    doReturn(Future.succeededFuture(rowSet)).when(itemEventDao).save(any(), anyString());
+    doReturn(Future.succeededFuture()).when(itemEventDao).delete(any(), any(), anyString());
+
+    var result = eventService.processEvent(first, TENANT_ID)
+      .compose(r -> eventService.processEvent(second, TENANT_ID));
+
+    assertTrue(result.succeeded());
+    verify(itemEventDao, times(1)).save(any(), eq(TENANT_ID));
+    verify(itemEventDao).delete(UUID.fromString(first.getEventId()), UUID.fromString(first.getEntityId()), TENANT_ID);
+    var eventCaptor = ArgumentCaptor.forClass(InventoryEvent.class);
+    verify(eventToEntityMapper, times(3)).apply(eventCaptor.capture());
+    var merged = eventCaptor.getAllValues().get(2);
+    assertEquals(first.getEventId(), merged.getEventId());
+    assertEquals(first.getOldValue(), merged.getOldValue());
+    assertEquals(second.getNewValue(), merged.getNewValue());
+  }
+
+  @Test
+  void shouldReplaceDiffOfMergedUpdatesInBatch() {
+    var coalescingWindow = new UpdateCoalescingWindow(configurationService, new MetricsRegistry(null, 0), 100, 0);
+    eventService = new InventoryEventServiceImpl(eventToEntityMapper, entitiesToAuditCollectionMapper,
+      configurationService, List.of(instanceEventDao, holdingsEventDao, itemEventDao), coalescingWindow, diffExecutor,
+      deferredDiffMode);
+    var first = createInventoryEvent(InventoryResourceType.INSTANCE);
+    first.setType(InventoryEventType.UPDATE);
+    var second = createInventoryEvent(InventoryResourceType.INSTANCE);
+    second.setType(InventoryEventType.UPDATE);
+    second.setEntityId(first.getEntityId());
+    var created = createInventoryEvent(InventoryResourceType.INSTANCE);
+    var userId = UUID.randomUUID();
+    mockAuditEnabled(true);
+    when(configurationService.getSetting(
+      org.folio.services.configuration.Setting.INVENTORY_RECORDS_UPDATE_COALESCING_WINDOW, TENANT_ID))
+      .thenReturn(Future.succeededFuture(new Setting().withValue(60)));
+    when(eventToEntityMapper.apply(any())).thenAnswer(invocation -> {
+      InventoryEvent event = invocation.getArgument(0);
+      return new InventoryAuditEntity(UUID.fromString(event.getEventId()), new Timestamp(event.getEventTs()),
+        UUID.fromString(event.getEntityId()), event.getType().name(), userId,
+        new ChangeRecordDto(List.of(FieldChangeDto.of("title", "title", "a", "b")), List.of()));
+    });
+    doReturn(Future.succeededFuture(rowSet)).when(instanceEventDao).save(any(), anyString());
+    doReturn(Future.succeededFuture(1)).when(instanceEventDao).updateDiff(any(), anyString());
+    doReturn(Future.succeededFuture()).when(instanceEventDao).saveAll(anyList(), anyString());
+
+    var result = eventService.processEvents(List.of(first, created, second), TENANT_ID);
+
+    assertTrue(result.succeeded());
+    verify(instanceEventDao, times(1)).save(argThat(entity -> entity.eventId().toString().equals(first.getEventId())), eq(TENANT_ID));
+    verify(instanceEventDao, times(1)).updateDiff(argThat(entity -> entity.eventId().toString().equals(first.getEventId())), eq(TENANT_ID));
+    verify(instanceEventDao, times(1)).saveAll(argThat(entities -> entities.size() == 1), eq(TENANT_ID));
+  }
+
+  @Test
+  void shouldKeepEventsOrderOfRecordWhenUpdatesAreCoalesced() {
+    var coalescingWindow = new UpdateCoalescingWindow(configurationService, new MetricsRegistry(null, 0), 100, 0);
+    eventService = new InventoryEventServiceImpl(eventToEntityMapper, entitiesToAuditCollectionMapper,
+      configurationService, List.of(instanceEventDao, holdingsEventDao, itemEventDao), coalescingWindow, diffExecutor,
+      deferredDiffMode);
+    var created = createInventoryEvent(InventoryResourceType.INSTANCE);
+    var updated = createInventoryEvent(InventoryResourceType.INSTANCE);
+    updated.setType(InventoryEventType.UPDATE);
+    updated.setEntityId(created.getEntityId());
+    var deleted = createInventoryEvent(InventoryResourceType.INSTANCE);
+    deleted.setType(InventoryEventType.DELETE);
+    deleted.setEntityId(created.getEntityId());
+    mockAuditEnabled(true);
+    when(configurationService.getSetting(
+      org.folio.services.configuration.Setting.INVENTORY_RECORDS_UPDATE_COALESCING_WINDOW, TENANT_ID))
+      .thenReturn(Future.succeededFuture(new Setting().withValue(60)));
+    when(eventToEntityMapper.apply(any())).thenAnswer(invocation -> {
+      InventoryEvent event = invocation.getArgument(0);
+      return new InventoryAuditEntity(UUID.fromString(event.getEventId()), new Timestamp(event.getEventTs()),
+        UUID.fromString(event.getEntityId()), event.getType().name(), UUID.randomUUID(),
+        new ChangeRecordDto(List.of(FieldChangeDto.of("title", "title", "a", "b")), List.of()));
+    });
+    doReturn(Future.succeededFuture(rowSet)).when(instanceEventDao).save(any(), anyString());
+    doReturn(Future.succeededFuture()).when(instanceEventDao).saveAll(anyList(), anyString());
+
+    var result = eventService.processEvents(List.of(created, updated, deleted), TENANT_ID);
+
+    assertTrue(result.succeeded());
+    var inOrder = inOrder(instanceEventDao);
+    inOrder.verify(instanceEventDao).saveAll(argThat(entities -> entities.size() == 1
+      && entities.get(0).eventId().toString().equals(created.getEventId())), eq(TENANT_ID));
+    inOrder.verify(instanceEventDao).save(argThat(entity -> entity.eventId().toString().equals(updated.getEventId())),
+      eq(TENANT_ID));
+    inOrder.verify(instanceEventDao).saveAll(argThat(entities -> entities.size() == 1
+      && entities.get(0).eventId().toString().equals(deleted.getEventId())), eq(TENANT_ID));
+  }
+
+  @Test
+  void shouldSavePendingDiffOfUpdateInDeferredDiffMode() {
+    eventService = new InventoryEventServiceImpl(eventToEntityMapper, entitiesToAuditCollectionMapper,
+      configurationService, List.of(instanceEventDao, holdingsEventDao, itemEventDao), coalescingWindow, diffExecutor,
+      new DeferredDiffMode(configurationService, 10, 0));
+    var update = createInventoryEvent(InventoryResourceType.ITEM);
+    update.setType(InventoryEventType.UPDATE);
+    update.setOldValue(Map.of("status", "Available"));
+    update.setNewValue(Map.of("status", "Checked out"));
+    mockAuditEnabled(true);
+    doReturn(Future.succeededFuture()).when(itemEventDao).savePending(anyList(), anyString());
+
+    var result = eventService.processEvent(update, TENANT_ID);
+
+    assertTrue(result.succeeded());
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<PendingDiff<InventoryAuditEntity>>> captor = ArgumentCaptor.forClass(List.class);
+    verify(itemEventDao).savePending(captor.capture(), eq(TENANT_ID));
+    var pendingDiff = captor.getValue().get(0);
+    assertEquals(UUID.fromString(update.getEventId()), pendingDiff.entity().eventId());
+    assertEquals(InventoryEventType.UPDATE.name(), pendingDiff.entity().action());
+    assertEquals(new DiffSnapshot(update.getOldValue(), update.getNewValue()), pendingDiff.snapshot());
+    verifyNoInteractions(eventToEntityMapper);
+    verify(itemEventDao, never()).save(any(), anyString());
+  }
+
+  @Test
+  void shouldResolvePendingDiffsOnRead() {
+    var deferredDiffMode = new DeferredDiffMode(configurationService, 10, 0);
+    eventService = new InventoryEventServiceImpl(eventToEntityMapper, entitiesToAuditCollectionMapper,
+      configurationService, List.of(instanceEventDao, holdingsEventDao, itemEventDao), coalescingWindow, diffExecutor,
+      deferredDiffMode);
+    var entityId = UUID.randomUUID();
+    var userId = UUID.randomUUID();
+    var changed = new InventoryAuditEntity(UUID.randomUUID(), Timestamp.from(Instant.now()), entityId,
+      InventoryEventType.UPDATE.name(), userId, null);
+    var noise = new InventoryAuditEntity(UUID.randomUUID(), Timestamp.from(Instant.now()), entityId,
+      InventoryEventType.UPDATE.name(), userId, null);
+    var created = new InventoryAuditEntity(UUID.randomUUID(), Timestamp.from(Instant.now()), entityId,
+      InventoryEventType.CREATE.name(), userId, null);
+    var diff = new ChangeRecordDto(List.of(FieldChangeDto.of("title", "title", "a", "b")), List.of());
+    var resolved = new InventoryAuditEntity(changed.eventId(), changed.eventDate(), entityId,
+      changed.action(), userId, diff);
+    doReturn(Future.succeededFuture(new Setting().withValue(10))).when(configurationService).getSetting(
+      org.folio.services.configuration.Setting.INVENTORY_RECORDS_PAGE_SIZE, TENANT_ID);
+    doReturn(Future.succeededFuture(3)).when(instanceEventDao).count(entityId, TENANT_ID);
+    doReturn(Future.succeededFuture(List.of(changed, noise, created)),
+      Future.succeededFuture(List.of(resolved, created))).when(instanceEventDao)
+      .get(entityId, null, 10, TENANT_ID);
+    doReturn(Future.succeededFuture(List.of(
+      new PendingDiff<>(changed, new DiffSnapshot(Map.of("title", "a"), Map.of("title", "b"))),
+      new PendingDiff<>(noise, new DiffSnapshot(Map.of("title", "a"), Map.of("title", "a"))))))
+      .when(instanceEventDao).getPendingDiffs(entityId, List.of(changed.eventId(), noise.eventId()), TENANT_ID);
+    when(eventToEntityMapper.apply(any())).thenAnswer(invocation -> {
+      InventoryEvent event = invocation.getArgument(0);
+      return new InventoryAuditEntity(UUID.fromString(event.getEventId()), new Timestamp(event.getEventTs()),
+        UUID.fromString(event.getEntityId()), event.getType().name(), UUID.randomUUID(),
+        event.getOldValue().equals(event.getNewValue()) ? null : diff);
+    });
+    doReturn(Future.succeededFuture(1)).when(instanceEventDao).updateDiff(any(), anyString());
+    doReturn(Future.succeededFuture()).when(instanceEventDao).delete(any(), any(), anyString());
+    doReturn(new InventoryAuditCollection()).when(entitiesToAuditCollectionMapper).apply(anyList());
+
+    var result = eventService.getEvents(InventoryResourceType.INSTANCE, entityId.toString(), null, TENANT_ID);
+
+    assertTrue(result.succeeded());
+    assertEquals(2, result.result().getTotalRecords());
+    verify(instanceEventDao).updateDiff(resolved, TENANT_ID);
+    verify(instanceEventDao).delete(noise.eventId(), entityId, TENANT_ID);
+    verify(instanceEventDao, times(2)).get(entityId, null, 10, TENANT_ID);
+    verify(entitiesToAuditCollectionMapper).apply(List.of(resolved, created));
+  }
+
+  @Test
+  void shouldReturnPageAsIsWhenPendingDiffsAreNotResolved() {
+    eventService = new InventoryEventServiceImpl(eventToEntityMapper, entitiesToAuditCollectionMapper,
+      configurationService, List.of(instanceEventDao, holdingsEventDao, itemEventDao), coalescingWindow, diffExecutor,
+      new DeferredDiffMode(configurationService, 10, 0));
+    var entityId = UUID.randomUUID();
+    var pending = new InventoryAuditEntity(UUID.randomUUID(), Timestamp.from(Instant.now()), entityId,
+      InventoryEventType.UPDATE.name(), UUID.randomUUID(), null);
+    doReturn(Future.succeededFuture(new Setting().withValue(10))).when(configurationService).getSetting(
+      org.folio.services.configuration.Setting.INVENTORY_RECORDS_PAGE_SIZE, TENANT_ID);
+    doReturn(Future.succeededFuture(1)).when(instanceEventDao).count(entityId, TENANT_ID);
+    doReturn(Future.succeededFuture(List.of(pending))).when(instanceEventDao).get(entityId, null, 10, TENANT_ID);
+    doReturn(Future.failedFuture("connection lost")).when(instanceEventDao)
+      .getPendingDiffs(entityId, List.of(pending.eventId()), TENANT_ID);
+    doReturn(new InventoryAuditCollection()).when(entitiesToAuditCollectionMapper).apply(anyList());
+
+    var result = eventService.getEvents(InventoryResourceType.INSTANCE, entityId.toString(), null, TENANT_ID);
+
+    assertTrue(result.succeeded());
+    verify(entitiesToAuditCollectionMapper).apply(List.of(pending));
+  }
+
+  @Test
+  void shouldResolveBatchOfPendingDiffs() {
+    eventService = new InventoryEventServiceImpl(eventToEntityMapper, entitiesToAuditCollectionMapper,
+      configurationService, List.of(instanceEventDao, holdingsEventDao, itemEventDao), coalescingWindow, diffExecutor,
+      new DeferredDiffMode(configurationService, 10, 0));
+    var pending = new InventoryAuditEntity(UUID.randomUUID(), Timestamp.from(Instant.now()), UUID.randomUUID(),
+      InventoryEventType.UPDATE.name(), UUID.randomUUID(), null);
+    var diff = new ChangeRecordDto(List.of(FieldChangeDto.of("barcode", "barcode", "1", "2")), List.of());
+    doReturn(Future.succeededFuture(List.of())).when(instanceEventDao).getPendingDiffs(10, TENANT_ID);
+    doReturn(Future.succeededFuture(List.of())).when(holdingsEventDao).getPendingDiffs(10, TENANT_ID);
+    doReturn(Future.succeededFuture(List.of(
+      new PendingDiff<>(pending, new DiffSnapshot(Map.of("barcode", "1"), Map.of("barcode", "2"))))))
+      .when(itemEventDao).getPendingDiffs(10, TENANT_ID);
+    when(eventToEntityMapper.apply(argThat(event -> InventoryResourceType.ITEM == event.getResourceType()
+      && pending.eventId().toString().equals(event.getEventId()))))
+      .thenReturn(new InventoryAuditEntity(pending.eventId(), pending.eventDate(), pending.entityId(),
+        pending.action(), pending.userId(), diff));
+    doReturn(Future.succeededFuture(1)).when(itemEventDao).updateDiff(any(), anyString());
+
+    var result = eventService.resolvePendingDiffs(TENANT_ID);
+
+    assertTrue(result.succeeded());
+    verify(itemEventDao).updateDiff(new InventoryAuditEntity(pending.eventId(), pending.eventDate(),
+      pending.entityId(), pending.action(), pending.userId(), diff), TENANT_ID);
+  }
+
+  @Test
+  void shouldResolvePendingDiffsUntilDrained() {
+    eventService = new InventoryEventServiceImpl(eventToEntityMapper, entitiesToAuditCollectionMapper,
+      configurationService, List.of(instanceEventDao, holdingsEventDao, itemEventDao), coalescingWindow, diffExecutor,
+      new DeferredDiffMode(configurationService, 1, 0));
+    var first = new InventoryAuditEntity(UUID.randomUUID(), Timestamp.from(Instant.now()), UUID.randomUUID(),
+      InventoryEventType.UPDATE.name(), UUID.randomUUID(), null);
+    var second = new InventoryAuditEntity(UUID.randomUUID(), Timestamp.from(Instant.now()), UUID.randomUUID(),
+      InventoryEventType.UPDATE.name(), UUID.randomUUID(), null);
+    var snapshot = new DiffSnapshot(Map.of("barcode", "1"), Map.of("barcode", "2"));
+    var diff = new ChangeRecordDto(List.of(FieldChangeDto.of("barcode", "barcode", "1", "2")), List.of());
+    doReturn(Future.succeededFuture(List.of())).when(instanceEventDao).getPendingDiffs(1, TENANT_ID);
+    doReturn(Future.succeededFuture(List.of())).when(holdingsEventDao).getPendingDiffs(1, TENANT_ID);
+    doReturn(Future.succeededFuture(List.of(new PendingDiff<>(first, snapshot))),
+      Future.succeededFuture(List.of(new PendingDiff<>(second, snapshot))),
+      Future.succeededFuture(List.of()))
+      .when(itemEventDao).getPendingDiffs(1, TENANT_ID);
+    when(eventToEntityMapper.apply(any())).thenAnswer(invocation -> {
+      InventoryEvent event = invocation.getArgument(0);
+      return new InventoryAuditEntity(UUID.fromString(event.getEventId()), new Timestamp(event.getEventTs()),
+        UUID.fromString(event.getEntityId()), event.getType().name(), null, diff);
+    });
+    doReturn(Future.succeededFuture(1)).when(itemEventDao).updateDiff(any(), anyString());
+
+    var result = eventService.resolvePendingDiffs(TENANT_ID);
+
+    assertTrue(result.succeeded());
+    verify(itemEventDao, times(3)).getPendingDiffs(1, TENANT_ID);
+    verify(itemEventDao, times(2)).updateDiff(any(), eq(TENANT_ID));
+    verify(instanceEventDao).getPendingDiffs(1, TENANT_ID);
+  }
+
   @Test
   void shouldFailToProcessEventWhenDaoNotFound() {
     var inventoryEvent = createInventoryEvent(InventoryResourceType.UNKNOWN);
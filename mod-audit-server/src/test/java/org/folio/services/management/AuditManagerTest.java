@@ -81,6 +81,7 @@ class AuditManagerTest {
       .thenReturn(Future.succeededFuture());
     when(partitionService.cleanUpAndCreateSubPartitions(TENANT_ID))
       .thenReturn(Future.succeededFuture());
+    mockResolvePendingDiffs(Future.succeededFuture());
 
     var result = auditManager.executeDatabaseCleanup(TENANT_ID);
     result.onComplete(ar -> assertTrue(ar.succeeded()));
@@ -92,6 +93,10 @@ class AuditManagerTest {
     verify(marcService, times(1)).expireRecords(eq(TENANT_ID), timestampCaptor.capture(), eq(SourceRecordType.MARC_AUTHORITY));
     verify(userEventService, times(1)).expireRecords(eq(TENANT_ID), timestampCaptor.capture());
     verify(partitionService).cleanUpAndCreateSubPartitions(TENANT_ID);
+    verify(inventoryService).resolvePendingDiffs(TENANT_ID);
+    verify(marcService).resolvePendingDiffs(TENANT_ID, SourceRecordType.MARC_BIB);
+    verify(marcService).resolvePendingDiffs(TENANT_ID, SourceRecordType.MARC_AUTHORITY);
+    verify(userEventService).resolvePendingDiffs(TENANT_ID);
 
     var capturedTimestamps = timestampCaptor.getAllValues();
     capturedTimestamps.forEach(timestamp -> {
@@ -118,6 +123,7 @@ class AuditManagerTest {
       .thenReturn(Future.succeededFuture(userDisabledSettingCollection));
     when(partitionService.cleanUpAndCreateSubPartitions(TENANT_ID))
       .thenReturn(Future.succeededFuture());
+    mockResolvePendingDiffs(Future.succeededFuture());
 
     var result = auditManager.executeDatabaseCleanup(TENANT_ID);
     result.onComplete(ar -> assertTrue(ar.succeeded()));
@@ -128,4 +134,27 @@ class AuditManagerTest {
     verify(userEventService, never()).expireRecords(eq(TENANT_ID), any(Timestamp.class));
     verify(partitionService).cleanUpAndCreateSubPartitions(TENANT_ID);
   }
+
+  @Test
+  void testExecuteDatabaseCleanupSucceedsWhenPendingDiffsAreNotResolved() {
+    var disabledSettingCollection = new SettingCollection()
+      .withSettings(List.of(new Setting().withKey(SettingKey.ENABLED.getValue()).withValue(false)));
+    when(configurationService.getAllSettingsByGroupId(any(), eq(TENANT_ID)))
+      .thenReturn(Future.succeededFuture(disabledSettingCollection));
+    when(partitionService.cleanUpAndCreateSubPartitions(TENANT_ID))
+      .thenReturn(Future.succeededFuture());
+    mockResolvePendingDiffs(Future.failedFuture(new IllegalStateException("resolution failed")));
+
+    var result = auditManager.executeDatabaseCleanup(TENANT_ID);
+
+    assertTrue(result.succeeded());
+    verify(inventoryService).resolvePendingDiffs(TENANT_ID);
+    verify(userEventService).resolvePendingDiffs(TENANT_ID);
+  }
+
+  private void mockResolvePendingDiffs(Future<Void> result) {
+    when(inventoryService.resolvePendingDiffs(TENANT_ID)).thenReturn(result);
+    when(marcService.resolvePendingDiffs(eq(TENANT_ID), any(SourceRecordType.class))).thenReturn(result);
+    when(userEventService.resolvePendingDiffs(TENANT_ID)).thenReturn(result);
+  }
 }
@@ -5,6 +5,8 @@ import io.vertx.core.Vertx;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
 import java.sql.Timestamp;
+import java.util.List;
+import org.folio.dao.PendingDiff;
 import org.folio.dao.marc.MarcAuditDao;
 import org.folio.dao.marc.MarcAuditEntity;
 import org.folio.dao.marc.impl.MarcAuditDaoImpl;
@@ -12,7 +14,10 @@ import org.folio.exception.ValidationException;
 import org.folio.rest.jaxrs.model.MarcAuditCollection;
 import org.folio.rest.jaxrs.model.Setting;
 import org.folio.services.configuration.ConfigurationService;
+import org.folio.services.diff.DeferredDiffMode;
+import org.folio.services.diff.DiffExecutor;
 import org.folio.util.PostgresClientFactory;
+import org.folio.util.marc.MarcUtil;
 import org.folio.util.marc.SourceRecordType;
 import org.folio.utils.EntityUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,11 +31,16 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import static org.folio.utils.BatchWriterTestUtil.directBatchWriterFactory;
 import static org.folio.utils.EntityUtils.TENANT_ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
@@ -51,14 +61,20 @@ public class MarcAuditServiceTest {
   private MarcAuditDao marcAuditDao;
   private MarcAuditServiceImpl marcAuditService;
   private ConfigurationService configurationService;
+  private DiffExecutor diffExecutor;
 
   @BeforeEach
   public void setUp() throws Exception {
     try (var ignored = MockitoAnnotations.openMocks(this)) {
       var postgresClientFactory = spy(new PostgresClientFactory(Vertx.vertx()));
-      marcAuditDao = spy(new MarcAuditDaoImpl(postgresClientFactory));
+      marcAuditDao = spy(new MarcAuditDaoImpl(postgresClientFactory, directBatchWriterFactory()));
       configurationService = mock(ConfigurationService.class);
-      marcAuditService = new MarcAuditServiceImpl(marcAuditDao, configurationService);
+      diffExecutor = mock(DiffExecutor.class);
+      when(diffExecutor.execute(anyString(), any()))
+        .thenAnswer(invocation -> DiffExecutor.executeInline(invocation.getArgument(1)));
+      var deferredDiffMode = mock(DeferredDiffMode.class);
+      when(deferredDiffMode.isEnabled(any(), anyString())).thenReturn(Future.succeededFuture(false));
+      marcAuditService = new MarcAuditServiceImpl(marcAuditDao, configurationService, diffExecutor, deferredDiffMode);
     }
   }
 
@@ -115,6 +131,70 @@ public class MarcAuditServiceTest {
     verify(marcAuditDao, times(1)).save(any(MarcAuditEntity.class), any(SourceRecordType.class), eq(TENANT_ID));
   }
 
+  @Test
+  void shouldSavePendingDiffOfUpdateInDeferredDiffMode() {
+    marcAuditService = new MarcAuditServiceImpl(marcAuditDao, configurationService, diffExecutor,
+      new DeferredDiffMode(configurationService, 10, 0));
+    var event = EntityUtils.updateSourceRecordDomainEvent();
+
+    mockAuditEnabled(true);
+    doReturn(Future.succeededFuture(rowSet)).when(marcAuditDao).savePending(anyList(), any(SourceRecordType.class), anyString());
+
+    var saveFuture = marcAuditService.saveMarcDomainEvent(event);
+
+    assertTrue(saveFuture.succeeded());
+    verify(marcAuditDao).savePending(eq(List.of(new PendingDiff<>(MarcUtil.mapToPendingEntity(event),
+      MarcUtil.toDiffSnapshot(event)))), eq(SourceRecordType.MARC_BIB), eq(TENANT_ID));
+    verify(marcAuditDao, never()).save(any(MarcAuditEntity.class), any(SourceRecordType.class), anyString());
+  }
+
+  @Test
+  void shouldResolvePendingDiffsOnRead() {
+    marcAuditService = new MarcAuditServiceImpl(marcAuditDao, configurationService, diffExecutor,
+      new DeferredDiffMode(configurationService, 10, 0));
+    var event = EntityUtils.updateSourceRecordDomainEvent();
+    var pending = MarcUtil.mapToPendingEntity(event);
+    var entityId = UUID.fromString(pending.entityId());
+
+    when(configurationService.getSetting(org.folio.services.configuration.Setting.INVENTORY_RECORDS_PAGE_SIZE, TENANT_ID))
+      .thenReturn(Future.succeededFuture(new Setting().withValue(10)));
+    doReturn(Future.succeededFuture(1)).when(marcAuditDao).count(entityId, SourceRecordType.MARC_BIB, TENANT_ID);
+    doReturn(Future.succeededFuture(List.of(pending))).when(marcAuditDao)
+      .get(entityId, SourceRecordType.MARC_BIB, TENANT_ID, null, 10);
+    doReturn(Future.succeededFuture(List.of(new PendingDiff<>(pending, MarcUtil.toDiffSnapshot(event)))))
+      .when(marcAuditDao).getPendingDiffs(entityId, List.of(UUID.fromString(pending.eventId())), SourceRecordType.MARC_BIB, TENANT_ID);
+    doReturn(Future.succeededFuture(1)).when(marcAuditDao).updateDiff(any(MarcAuditEntity.class), any(SourceRecordType.class), anyString());
+
+    var result = marcAuditService.getMarcAuditRecords(pending.entityId(), SourceRecordType.MARC_BIB, TENANT_ID, null);
+
+    assertTrue(result.succeeded());
+    var item = result.result().getMarcAuditItems().get(0);
+    assertEquals(pending.eventId(), item.getEventId());
+    assertNotNull(item.getDiff());
+    verify(marcAuditDao).updateDiff(eq(new MarcAuditEntity(pending.eventId(), pending.eventDate(), pending.entityId(),
+      pending.origin(), pending.action(), pending.userId(), MarcUtil.mapToEntity(event).diff())), eq(SourceRecordType.MARC_BIB), eq(TENANT_ID));
+  }
+
+  @Test
+  void shouldDeletePendingRecordWithoutChangesWhenResolvingBatch() {
+    marcAuditService = new MarcAuditServiceImpl(marcAuditDao, configurationService, diffExecutor,
+      new DeferredDiffMode(configurationService, 10, 0));
+    var event = EntityUtils.sourceRecordDomainEventWithNoDiff();
+    var pending = MarcUtil.mapToPendingEntity(event);
+    assertNull(pending.diff());
+
+    doReturn(Future.succeededFuture(List.of(new PendingDiff<>(pending, MarcUtil.toDiffSnapshot(event)))))
+      .when(marcAuditDao).getPendingDiffs(10, SourceRecordType.MARC_AUTHORITY, TENANT_ID);
+    doReturn(Future.succeededFuture()).when(marcAuditDao).delete(any(UUID.class), any(UUID.class), any(SourceRecordType.class), anyString());
+
+    var result = marcAuditService.resolvePendingDiffs(TENANT_ID, SourceRecordType.MARC_AUTHORITY);
+
+    assertTrue(result.succeeded());
+    verify(marcAuditDao).delete(UUID.fromString(pending.eventId()), UUID.fromString(pending.entityId()),
+      SourceRecordType.MARC_AUTHORITY, TENANT_ID);
+    verify(marcAuditDao, never()).updateDiff(any(MarcAuditEntity.class), any(SourceRecordType.class), anyString());
+  }
+
   @Test
   void shouldRetrieveMarcBibAuditRecordsWhenDaoSucceeds() {
     when(configurationService.getSetting(any(), eq(EntityUtils.TENANT_ID)))
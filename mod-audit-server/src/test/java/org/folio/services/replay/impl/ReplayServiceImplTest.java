@@ -0,0 +1,349 @@
+package org.folio.services.replay.impl;
+
+import static org.folio.services.configuration.Setting.INVENTORY_RECORDS_ENABLED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.kafka.client.common.PartitionInfo;
+import io.vertx.kafka.client.common.TopicPartition;
+import io.vertx.kafka.client.consumer.KafkaConsumer;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecords;
+import io.vertx.kafka.client.consumer.OffsetAndTimestamp;
+import io.vertx.kafka.client.consumer.impl.KafkaConsumerRecordImpl;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import javax.ws.rs.NotFoundException;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.folio.dao.inventory.InventoryAuditBulkInsertDao;
+import org.folio.dao.inventory.InventoryAuditEntity;
+import org.folio.dao.inventory.InventoryEventDao;
+import org.folio.kafka.KafkaConfig;
+import org.folio.rest.jaxrs.model.ReplayJob;
+import org.folio.rest.jaxrs.model.Setting;
+import org.folio.services.configuration.ConfigurationService;
+import org.folio.util.inventory.InventoryEvent;
+import org.folio.util.inventory.InventoryResourceType;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class ReplayServiceImplTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final String TOPIC = "folio.diku.inventory.item";
+  private static final String TABLE_NAME = "item_audit";
+  private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+  private static final UUID USER_ID = UUID.randomUUID();
+
+  @Mock
+  private Vertx vertx;
+  @Mock
+  private KafkaConsumer<String, String> consumer;
+  @Mock
+  private InventoryEventDao inventoryEventDao;
+  @Mock
+  private InventoryAuditBulkInsertDao inventoryAuditBulkInsertDao;
+  @Mock
+  private ConfigurationService configurationService;
+
+  private final MetricsRegistry metricsRegistry = new MetricsRegistry(null, 0);
+  private ReplayServiceImpl replayService;
+  private Map<String, String> consumerProps;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    var kafkaConfig = KafkaConfig.builder().envId("folio").kafkaHost("localhost").kafkaPort("9092").build();
+    when(inventoryEventDao.resourceType()).thenReturn(InventoryResourceType.ITEM);
+    lenient().when(inventoryEventDao.tableName()).thenReturn(TABLE_NAME);
+    lenient().when(vertx.executeBlocking(any(Callable.class), anyBoolean()))
+      .thenAnswer(invocation -> Future.succeededFuture(invocation.<Callable<?>>getArgument(0).call()));
+    lenient().when(consumer.partitionsFor(TOPIC))
+      .thenReturn(Future.succeededFuture(List.of(new PartitionInfo().setTopic(TOPIC).setPartition(0))));
+    lenient().when(consumer.assign(anySet())).thenReturn(Future.succeededFuture());
+    lenient().when(consumer.seek(any(TopicPartition.class), anyLong())).thenReturn(Future.succeededFuture());
+    lenient().when(consumer.pause(anySet())).thenReturn(Future.succeededFuture());
+    lenient().when(consumer.close()).thenReturn(Future.succeededFuture());
+    lenient().when(configurationService.getSetting(INVENTORY_RECORDS_ENABLED, TENANT_ID))
+      .thenReturn(Future.succeededFuture(new Setting().withValue(true)));
+    replayService = new ReplayServiceImpl(vertx, kafkaConfig, this::toEntity, List.of(inventoryEventDao),
+      inventoryAuditBulkInsertDao, configurationService, metricsRegistry, 100, 2, 0, 60_000, props -> {
+        consumerProps = props;
+        return consumer;
+      });
+  }
+
+  @Test
+  void shouldBulkLoadEventsOfTopicRange() {
+    mockRange(0, 3);
+    mockPoll(records(
+      kafkaRecord(0, event("CREATE")),
+      kafkaRecord(1, event("UPDATE")),
+      kafkaRecord(2, "not a json")));
+    when(inventoryAuditBulkInsertDao.bulkInsert(eq(TABLE_NAME), anyList(), eq(TENANT_ID))).thenReturn(Future.succeededFuture(1L));
+
+    var started = replayService.startReplay(new ReplayJob().withResourceType(ReplayJob.ResourceType.ITEM), TENANT_ID);
+
+    assertTrue(started.succeeded());
+    var job = replayService.getReplay(started.result().getId(), TENANT_ID).result();
+    assertEquals(ReplayJob.Status.COMPLETED, job.getStatus());
+    assertEquals(3L, job.getRecordsTotal());
+    assertEquals(3L, job.getRecordsRead());
+    assertEquals(2L, job.getRecordsSkipped());
+    assertEquals(1L, job.getRowsWritten());
+    assertEquals(1L, metricsRegistry.counter("audit.replay.rows-written").sum());
+
+    var entities = captureCopiedEntities();
+    assertEquals(1, entities.size());
+    assertEquals("CREATE", entities.getFirst().action());
+    verify(consumer).seek(PARTITION, 0L);
+    verify(consumer).close();
+    assertFalse(consumerProps.containsKey(ConsumerConfig.GROUP_ID_CONFIG));
+  }
+
+  @Test
+  void shouldDeleteHistoryOfEntityThatBecameShadowCopy() {
+    mockRange(0, 3);
+    var entityId = UUID.randomUUID().toString();
+    mockPoll(records(
+      kafkaRecord(0, entityId, event("CREATE")),
+      kafkaRecord(1, entityId, shadowCopyEvent("UPDATE")),
+      kafkaRecord(2, event("CREATE"))));
+    when(inventoryEventDao.deleteAll(UUID.fromString(entityId), TENANT_ID)).thenReturn(Future.succeededFuture());
+    when(inventoryAuditBulkInsertDao.bulkInsert(eq(TABLE_NAME), anyList(), eq(TENANT_ID))).thenReturn(Future.succeededFuture(1L));
+
+    var job = replayService.startReplay(new ReplayJob().withResourceType(ReplayJob.ResourceType.ITEM), TENANT_ID)
+      .result();
+
+    assertEquals(ReplayJob.Status.COMPLETED, job.getStatus());
+    assertEquals(2L, job.getRecordsSkipped());
+    var entities = captureCopiedEntities();
+    assertEquals(1, entities.size());
+    assertNotEquals(UUID.fromString(entityId), entities.getFirst().entityId());
+    verify(inventoryEventDao).deleteAll(UUID.fromString(entityId), TENANT_ID);
+  }
+
+  @Test
+  void shouldRejectReplayWhenInventoryAuditIsDisabled() {
+    when(configurationService.getSetting(INVENTORY_RECORDS_ENABLED, TENANT_ID))
+      .thenReturn(Future.succeededFuture(new Setting().withValue(false)));
+
+    var result = replayService.startReplay(new ReplayJob().withResourceType(ReplayJob.ResourceType.ITEM), TENANT_ID);
+
+    assertInstanceOf(IllegalArgumentException.class, result.cause());
+    verify(consumer, never()).partitionsFor(anyString());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldEvictFinishedJobAfterRetention() {
+    var timerHandler = ArgumentCaptor.forClass(Handler.class);
+    when(vertx.setTimer(eq(60_000L), timerHandler.capture())).thenReturn(1L);
+    mockRange(0, 0);
+    var id = replayService.startReplay(new ReplayJob().withResourceType(ReplayJob.ResourceType.ITEM), TENANT_ID)
+      .result().getId();
+    assertTrue(replayService.getReplay(id, TENANT_ID).succeeded());
+
+    timerHandler.getValue().handle(1L);
+
+    assertInstanceOf(NotFoundException.class, replayService.getReplay(id, TENANT_ID).cause());
+  }
+
+  @Test
+  void shouldNotReadPastEndOfRange() {
+    var toDate = new Date();
+    when(consumer.endOffsets(Set.of(PARTITION))).thenReturn(Future.succeededFuture(Map.of(PARTITION, 10L)));
+    when(consumer.offsetsForTimes(Map.of(PARTITION, toDate.getTime())))
+      .thenReturn(Future.succeededFuture(Map.of(PARTITION, new OffsetAndTimestamp(2, toDate.getTime()))));
+    when(consumer.beginningOffsets(Set.of(PARTITION))).thenReturn(Future.succeededFuture(Map.of(PARTITION, 0L)));
+    mockPoll(records(
+      kafkaRecord(0, event("CREATE")),
+      kafkaRecord(1, event("DELETE")),
+      kafkaRecord(2, event("CREATE"))));
+    when(inventoryAuditBulkInsertDao.bulkInsert(eq(TABLE_NAME), anyList(), eq(TENANT_ID))).thenReturn(Future.succeededFuture(2L));
+
+    var started = replayService.startReplay(new ReplayJob()
+      .withResourceType(ReplayJob.ResourceType.ITEM)
+      .withToDate(toDate), TENANT_ID);
+
+    var job = started.result();
+    assertEquals(ReplayJob.Status.COMPLETED, job.getStatus());
+    assertEquals(2L, job.getRecordsTotal());
+    assertEquals(2L, job.getRecordsRead());
+    assertEquals(2, captureCopiedEntities().size());
+    verify(consumer).pause(Set.of(PARTITION));
+  }
+
+  @Test
+  void shouldCompleteWithoutReadingEmptyRange() {
+    var fromDate = new Date();
+    when(consumer.endOffsets(Set.of(PARTITION))).thenReturn(Future.succeededFuture(Map.of(PARTITION, 10L)));
+    when(consumer.offsetsForTimes(Map.of(PARTITION, fromDate.getTime()))).thenReturn(Future.succeededFuture(Map.of()));
+
+    var started = replayService.startReplay(new ReplayJob()
+      .withResourceType(ReplayJob.ResourceType.ITEM)
+      .withFromDate(fromDate), TENANT_ID);
+
+    assertEquals(ReplayJob.Status.COMPLETED, started.result().getStatus());
+    assertEquals(0L, started.result().getRecordsTotal());
+    verify(consumer, never()).assign(anySet());
+    verify(consumer, never()).poll(any());
+  }
+
+  @Test
+  void shouldRejectReplayInProgress() {
+    mockRange(0, 3);
+    when(consumer.poll(any())).thenReturn(Promise.<KafkaConsumerRecords<String, String>>promise().future());
+    var replayJob = new ReplayJob().withResourceType(ReplayJob.ResourceType.ITEM);
+
+    assertTrue(replayService.startReplay(replayJob, TENANT_ID).succeeded());
+    var result = replayService.startReplay(replayJob, TENANT_ID);
+
+    assertInstanceOf(IllegalArgumentException.class, result.cause());
+  }
+
+  @Test
+  void shouldCancelReplay() {
+    mockRange(0, 3);
+    var poll = Promise.<KafkaConsumerRecords<String, String>>promise();
+    when(consumer.poll(any())).thenReturn(poll.future());
+    when(consumer.position(PARTITION)).thenReturn(Future.succeededFuture(0L));
+    var id = replayService.startReplay(new ReplayJob().withResourceType(ReplayJob.ResourceType.ITEM), TENANT_ID)
+      .result().getId();
+
+    assertTrue(replayService.cancelReplay(id, TENANT_ID).succeeded());
+    assertEquals(ReplayJob.Status.IN_PROGRESS, replayService.getReplay(id, TENANT_ID).result().getStatus());
+
+    poll.complete(records());
+
+    assertEquals(ReplayJob.Status.CANCELLED, replayService.getReplay(id, TENANT_ID).result().getStatus());
+    verify(consumer).close();
+  }
+
+  @Test
+  void shouldFailReplayWhenRecordsCanNotBeWritten() {
+    mockRange(0, 1);
+    mockPoll(records(kafkaRecord(0, event("CREATE"))));
+    when(inventoryAuditBulkInsertDao.bulkInsert(eq(TABLE_NAME), anyList(), eq(TENANT_ID)))
+      .thenReturn(Future.failedFuture(new IllegalStateException("no partition of relation found")));
+
+    var job = replayService.startReplay(new ReplayJob().withResourceType(ReplayJob.ResourceType.ITEM), TENANT_ID)
+      .result();
+
+    assertEquals(ReplayJob.Status.FAILED, job.getStatus());
+    assertEquals("no partition of relation found", job.getErrorMessage());
+    verify(consumer).close();
+  }
+
+  @Test
+  void shouldNotStartReplayOfMissingTopic() {
+    when(consumer.partitionsFor(TOPIC)).thenReturn(Future.succeededFuture(List.of()));
+
+    var result = replayService.startReplay(new ReplayJob().withResourceType(ReplayJob.ResourceType.ITEM), TENANT_ID);
+
+    assertInstanceOf(IllegalArgumentException.class, result.cause());
+    verify(consumer).close();
+  }
+
+  @Test
+  void shouldNotFindReplayOfOtherTenant() {
+    mockRange(0, 0);
+    var id = replayService.startReplay(new ReplayJob().withResourceType(ReplayJob.ResourceType.ITEM), TENANT_ID)
+      .result().getId();
+
+    assertInstanceOf(NotFoundException.class, replayService.getReplay(id, "college").cause());
+    assertInstanceOf(NotFoundException.class, replayService.cancelReplay(UUID.randomUUID().toString(), TENANT_ID).cause());
+  }
+
+  private InventoryAuditEntity toEntity(InventoryEvent event) {
+    return new InventoryAuditEntity(UUID.fromString(event.getEventId()), new Timestamp(event.getEventTs()),
+      UUID.fromString(event.getEntityId()), event.getType().name(), USER_ID, null);
+  }
+
+  private void mockRange(long start, long end) {
+    when(consumer.endOffsets(Set.of(PARTITION))).thenReturn(Future.succeededFuture(Map.of(PARTITION, end)));
+    when(consumer.beginningOffsets(Set.of(PARTITION))).thenReturn(Future.succeededFuture(Map.of(PARTITION, start)));
+  }
+
+  private void mockPoll(KafkaConsumerRecords<String, String> records) {
+    when(consumer.poll(any())).thenReturn(Future.succeededFuture(records));
+  }
+
+  @SafeVarargs
+  private KafkaConsumerRecords<String, String> records(KafkaConsumerRecord<String, String>... kafkaConsumerRecords) {
+    @SuppressWarnings("unchecked")
+    KafkaConsumerRecords<String, String> records = mock(KafkaConsumerRecords.class);
+    lenient().when(records.isEmpty()).thenReturn(kafkaConsumerRecords.length == 0);
+    lenient().when(records.size()).thenReturn(kafkaConsumerRecords.length);
+    for (int i = 0; i < kafkaConsumerRecords.length; i++) {
+      lenient().when(records.recordAt(i)).thenReturn(kafkaConsumerRecords[i]);
+    }
+    return records;
+  }
+
+  private KafkaConsumerRecord<String, String> kafkaRecord(long offset, String value) {
+    return kafkaRecord(offset, UUID.randomUUID().toString(), value);
+  }
+
+  private KafkaConsumerRecord<String, String> kafkaRecord(long offset, String key, String value) {
+    return new KafkaConsumerRecordImpl<>(new ConsumerRecord<>(TOPIC, 0, offset, key, value));
+  }
+
+  private String event(String type) {
+    return event(type, new JsonObject().put("id", UUID.randomUUID().toString()));
+  }
+
+  private String shadowCopyEvent(String type) {
+    return event(type, new JsonObject().put("id", UUID.randomUUID().toString()).put("source", "CONSORTIUM-FOLIO"));
+  }
+
+  private String event(String type, JsonObject newValue) {
+    return new JsonObject()
+      .put("eventId", UUID.randomUUID().toString())
+      .put("type", type)
+      .put("tenant", TENANT_ID)
+      .put("eventTs", System.currentTimeMillis())
+      .put("new", newValue)
+      .encode();
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<InventoryAuditEntity> captureCopiedEntities() {
+    var captor = ArgumentCaptor.forClass(List.class);
+    verify(inventoryAuditBulkInsertDao).copy(anyString(), captor.capture(), anyString());
+    return captor.getValue();
+  }
+}
@@ -0,0 +1,175 @@
+package org.folio.services.retry;
+
+import static org.folio.util.retry.RetryUtils.ATTEMPT_HEADER;
+import static org.folio.util.retry.RetryUtils.ORIGINAL_TOPIC_HEADER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.consumer.impl.KafkaConsumerRecordImpl;
+import io.vertx.kafka.client.producer.KafkaProducer;
+import io.vertx.kafka.client.producer.KafkaProducerRecord;
+import io.vertx.kafka.client.producer.RecordMetadata;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.folio.kafka.KafkaConfig;
+import org.folio.rest.util.OkapiConnectionParams;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class FailedEventPublisherTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final String ORIGINAL_TOPIC = "folio.diku.inventory.instance";
+
+  @Mock
+  private Vertx vertx;
+  @Mock
+  private KafkaProducer<String, String> producer;
+
+  private final MetricsRegistry metricsRegistry = new MetricsRegistry(null, 0);
+  private final KafkaConfig kafkaConfig = KafkaConfig.builder().envId("folio").build();
+  private FailedEventPublisher publisher;
+
+  @BeforeEach
+  void setUp() {
+    publisher = new FailedEventPublisher(vertx, kafkaConfig, metricsRegistry, 2, 1000, 10, 2, 100, producer);
+  }
+
+  @Test
+  void shouldPublishFirstFailureToFirstRetryTopic() {
+    when(producer.send(any())).thenReturn(Future.succeededFuture(new RecordMetadata()));
+
+    var result = publisher.publish(kafkaRecord(ORIGINAL_TOPIC, Map.of()), new IllegalStateException("failed"));
+
+    assertTrue(result.succeeded());
+    var producerRecord = captureProducerRecord();
+    assertEquals("folio.Default.diku.AUDIT_RETRY_1", producerRecord.topic());
+    assertEquals("key", producerRecord.key());
+    assertEquals(ORIGINAL_TOPIC, header(producerRecord, ORIGINAL_TOPIC_HEADER));
+    assertEquals("1", header(producerRecord, ATTEMPT_HEADER));
+    assertEquals(1, metricsRegistry.counter("kafka.retry.published").sum());
+  }
+
+  @Test
+  void shouldPublishNextAttemptToNextRetryTopic() {
+    when(producer.send(any())).thenReturn(Future.succeededFuture(new RecordMetadata()));
+    var retryRecord = kafkaRecord("folio.Default.diku.AUDIT_RETRY_1",
+      Map.of(ORIGINAL_TOPIC_HEADER, ORIGINAL_TOPIC, ATTEMPT_HEADER, "1"));
+
+    publisher.publish(retryRecord, new IllegalStateException("failed"));
+
+    var producerRecord = captureProducerRecord();
+    assertEquals("folio.Default.diku.AUDIT_RETRY_2", producerRecord.topic());
+    assertEquals(ORIGINAL_TOPIC, header(producerRecord, ORIGINAL_TOPIC_HEADER));
+    assertEquals("2", header(producerRecord, ATTEMPT_HEADER));
+  }
+
+  @Test
+  void shouldPublishToDeadLetterTopicWhenAttemptsAreExhausted() {
+    when(producer.send(any())).thenReturn(Future.succeededFuture(new RecordMetadata()));
+    var retryRecord = kafkaRecord("folio.Default.diku.AUDIT_RETRY_2",
+      Map.of(ORIGINAL_TOPIC_HEADER, ORIGINAL_TOPIC, ATTEMPT_HEADER, "2"));
+
+    publisher.publish(retryRecord, new IllegalStateException("failed"));
+
+    assertEquals("folio.Default.diku.AUDIT_DEAD_LETTER", captureProducerRecord().topic());
+    assertEquals(1, metricsRegistry.counter("kafka.retry.dead-lettered").sum());
+  }
+
+  @Test
+  void shouldFailWhenTenantHeaderIsMissing() {
+    var consumerRecord = new ConsumerRecord<>(ORIGINAL_TOPIC, 0, 0, "key", "value");
+
+    var result = publisher.publish(new KafkaConsumerRecordImpl<>(consumerRecord), new IllegalStateException("failed"));
+
+    assertTrue(result.failed());
+    verifyNoInteractions(producer);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldRetrySendingWhenPublishFails() {
+    when(producer.send(any()))
+      .thenReturn(Future.failedFuture(new IllegalStateException("kafka is not available")))
+      .thenReturn(Future.succeededFuture(new RecordMetadata()));
+    var timerHandler = ArgumentCaptor.forClass(Handler.class);
+    when(vertx.setTimer(eq(100L), timerHandler.capture())).thenReturn(1L);
+
+    var result = publisher.publish(kafkaRecord(ORIGINAL_TOPIC, Map.of()), new IllegalStateException("failed"));
+    assertFalse(result.isComplete());
+
+    timerHandler.getValue().handle(1L);
+
+    assertTrue(result.succeeded());
+    verify(producer, times(2)).send(any());
+    assertEquals(1, metricsRegistry.counter("kafka.retry.published").sum());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldFailWhenAllSendAttemptsFail() {
+    when(producer.send(any())).thenReturn(Future.failedFuture(new IllegalStateException("kafka is not available")));
+    when(vertx.setTimer(eq(100L), any())).thenAnswer(invocation -> {
+      invocation.<Handler<Long>>getArgument(1).handle(1L);
+      return 1L;
+    });
+
+    var result = publisher.publish(kafkaRecord(ORIGINAL_TOPIC, Map.of()), new IllegalStateException("failed"));
+
+    assertTrue(result.failed());
+    verify(producer, times(2)).send(any());
+    assertEquals(0, metricsRegistry.counter("kafka.retry.published").sum());
+  }
+
+  @Test
+  void shouldIncreaseBackoffDelayExponentially() {
+    assertEquals(1000, publisher.getBackoffDelay(1));
+    assertEquals(10000, publisher.getBackoffDelay(2));
+    assertEquals(100000, publisher.getBackoffDelay(3));
+  }
+
+  @SuppressWarnings("unchecked")
+  private KafkaProducerRecord<String, String> captureProducerRecord() {
+    var captor = ArgumentCaptor.forClass(KafkaProducerRecord.class);
+    verify(producer).send(captor.capture());
+    return captor.getValue();
+  }
+
+  private String header(KafkaProducerRecord<String, String> producerRecord, String name) {
+    return producerRecord.headers().stream()
+      .filter(header -> header.key().equals(name))
+      .map(header -> header.value().toString())
+      .findFirst()
+      .orElse(null);
+  }
+
+  private KafkaConsumerRecord<String, String> kafkaRecord(String topic, Map<String, String> headers) {
+    var consumerRecord = new ConsumerRecord<>(topic, 0, 0, "key", "value");
+    consumerRecord.headers().add(new RecordHeader(OkapiConnectionParams.OKAPI_TENANT_HEADER,
+      TENANT_ID.getBytes(StandardCharsets.UTF_8)));
+    headers.forEach((name, value) -> consumerRecord.headers().add(new RecordHeader(name,
+      value.getBytes(StandardCharsets.UTF_8))));
+    return new KafkaConsumerRecordImpl<>(consumerRecord);
+  }
+}
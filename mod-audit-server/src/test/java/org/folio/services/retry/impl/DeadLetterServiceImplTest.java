@@ -0,0 +1,96 @@
+package org.folio.services.retry.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.ws.rs.NotFoundException;
+import org.folio.dao.retry.DeadLetterEventDao;
+import org.folio.dao.retry.DeadLetterEventEntity;
+import org.folio.services.retry.FailedEventPublisher;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class DeadLetterServiceImplTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final String ORIGINAL_TOPIC = "folio.diku.inventory.instance";
+
+  @Mock
+  private DeadLetterEventDao deadLetterEventDao;
+  @Mock
+  private FailedEventPublisher failedEventPublisher;
+  @InjectMocks
+  private DeadLetterServiceImpl deadLetterService;
+
+  @Test
+  void shouldReturnDeadLetterEvents() {
+    var entity = entity(UUID.randomUUID());
+    when(deadLetterEventDao.count(TENANT_ID)).thenReturn(Future.succeededFuture(1));
+    when(deadLetterEventDao.get(0, 10, TENANT_ID)).thenReturn(Future.succeededFuture(List.of(entity)));
+
+    var result = deadLetterService.getDeadLetterEvents(0, 10, TENANT_ID);
+
+    assertTrue(result.succeeded());
+    var collection = result.result();
+    assertEquals(1, collection.getTotalRecords());
+    assertEquals(entity.id().toString(), collection.getDeadLetterEvents().get(0).getId());
+    assertEquals(ORIGINAL_TOPIC, collection.getDeadLetterEvents().get(0).getOriginalTopic());
+    assertEquals(3, collection.getDeadLetterEvents().get(0).getAttempts());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldReplayDeadLetterEventWithRequestOkapiHeaders() {
+    var id = UUID.randomUUID();
+    var entity = entity(id);
+    when(deadLetterEventDao.getById(id, TENANT_ID)).thenReturn(Future.succeededFuture(entity));
+    when(failedEventPublisher.replay(eq(TENANT_ID), eq(ORIGINAL_TOPIC), eq("key"), eq("value"), eq(1000L), any()))
+      .thenReturn(Future.succeededFuture());
+    when(deadLetterEventDao.delete(id, TENANT_ID)).thenReturn(Future.succeededFuture());
+
+    var result = deadLetterService.replayDeadLetterEvent(id.toString(),
+      Map.of("X-Okapi-Token", "token", "Content-Type", "application/json"), TENANT_ID);
+
+    assertTrue(result.succeeded());
+    var headersCaptor = ArgumentCaptor.forClass(Map.class);
+    verify(failedEventPublisher).replay(anyString(), anyString(), anyString(), anyString(), any(), headersCaptor.capture());
+    assertEquals(Map.of("x-okapi-tenant", TENANT_ID, "x-okapi-token", "token"), headersCaptor.getValue());
+    verify(deadLetterEventDao).delete(id, TENANT_ID);
+  }
+
+  @Test
+  void shouldFailReplayWhenDeadLetterEventNotFound() {
+    var id = UUID.randomUUID();
+    when(deadLetterEventDao.getById(id, TENANT_ID)).thenReturn(Future.succeededFuture(null));
+
+    var result = deadLetterService.replayDeadLetterEvent(id.toString(), Map.of(), TENANT_ID);
+
+    assertTrue(result.failed());
+    assertInstanceOf(NotFoundException.class, result.cause());
+    verify(deadLetterEventDao, never()).delete(any(), anyString());
+  }
+
+  private DeadLetterEventEntity entity(UUID id) {
+    return new DeadLetterEventEntity(id, ORIGINAL_TOPIC, "key", "value", Map.of("x-okapi-tenant", TENANT_ID),
+      "failed", 3, new Timestamp(1000), new Timestamp(2000));
+  }
+}
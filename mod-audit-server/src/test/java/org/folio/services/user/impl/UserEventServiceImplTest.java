@@ -3,12 +3,15 @@ package org.folio.services.user.impl;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -25,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Function;
+import org.folio.dao.PendingDiff;
 import org.folio.dao.user.UserAuditEntity;
 import org.folio.dao.user.UserEventDao;
 import org.folio.domain.diff.ChangeRecordDto;
@@ -34,13 +38,17 @@ import org.folio.domain.diff.FieldChangeDto;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.folio.exception.ValidationException;
-import org.folio.kafka.exception.DuplicateEventException;
 import org.folio.mapper.user.UserEventToEntityMapper;
 import org.folio.rest.jaxrs.model.Setting;
 import org.folio.rest.jaxrs.model.UserAuditCollection;
+import org.folio.services.coalescing.UpdateCoalescingWindow;
 import org.folio.services.configuration.ConfigurationService;
+import org.folio.services.diff.DeferredDiffMode;
+import org.folio.services.diff.DiffExecutor;
 import org.folio.services.user.UserEventService;
+import org.folio.util.DiffSnapshot;
 import org.folio.util.user.UserEvent;
+import org.folio.util.metrics.MetricsRegistry;
 import org.folio.util.user.UserEventType;
 import org.folio.utils.UnitTest;
 import org.junit.jupiter.api.BeforeEach;
@@ -66,12 +74,23 @@ class UserEventServiceImplTest {
   private ConfigurationService configurationService;
   @Mock
   private UserEventDao userEventDao;
+  @Mock
+  private UpdateCoalescingWindow coalescingWindow;
+  @Mock
+  private DiffExecutor diffExecutor;
+  @Mock
+  private DeferredDiffMode deferredDiffMode;
 
   private UserEventService eventService;
 
   @BeforeEach
   void setUp() {
-    eventService = new UserEventServiceImpl(eventToEntityMapper, entitiesToCollectionMapper, configurationService, userEventDao);
+    lenient().when(coalescingWindow.getWindowMs(any(), anyString())).thenReturn(Future.succeededFuture(0L));
+    lenient().when(diffExecutor.execute(anyString(), any()))
+      .thenAnswer(invocation -> DiffExecutor.executeInline(invocation.getArgument(1)));
+    lenient().when(deferredDiffMode.isEnabled(any(), anyString())).thenReturn(Future.succeededFuture(false));
+    eventService = new UserEventServiceImpl(eventToEntityMapper, entitiesToCollectionMapper, configurationService, userEventDao,
+      coalescingWindow, diffExecutor, deferredDiffMode);
   }
 
   @Test
@@ -257,25 +276,6 @@ class UserEventServiceImplTest {
       }));
   }
 
-  @Test
-  void shouldHandleDuplicateEvent(VertxTestContext ctx) {
-    var event = createUserEvent(UserEventType.CREATED);
-    mockAuditEnabled(true);
-    mockExcludedFields("");
-    mockAnonymize(false);
-    when(eventToEntityMapper.apply(event)).thenReturn(
-      new UserAuditEntity(UUID.randomUUID(), Timestamp.from(Instant.now()),
-        UUID.randomUUID(), UserEventType.CREATED.name(), null, null));
-    when(userEventDao.save(any(), anyString())).thenReturn(
-      Future.failedFuture(new io.vertx.pgclient.PgException("duplicate", null, "23505", null)));
-
-    eventService.processEvent(event, TENANT_ID)
-      .onComplete(ctx.failing(cause -> {
-        assertInstanceOf(DuplicateEventException.class, cause);
-        ctx.completeNow();
-      }));
-  }
-
   @Test
   void shouldExcludeFieldsBeforeSaving(VertxTestContext ctx) {
     var event = createUserEvent(UserEventType.UPDATED);
@@ -645,6 +645,167 @@ class UserEventServiceImplTest {
       }));
   }
 
+  @Test
+  void shouldMergeUpdatesWithinCoalescingWindow(VertxTestContext ctx) {
+    var coalescingWindow = new UpdateCoalescingWindow(configurationService, new MetricsRegistry(null, 0), 100, 0);
+    eventService = new UserEventServiceImpl(eventToEntityMapper, entitiesToCollectionMapper, configurationService,
+      userEventDao, coalescingWindow, diffExecutor, deferredDiffMode);
+    var first = createUserEvent(UserEventType.UPDATED);
+    var second = createUserEvent(UserEventType.UPDATED);
+    second.setUserId(first.getUserId());
+    second.setTimestamp(first.getTimestamp() + 1000);
+    second.setOldValue(Map.of("key", "value"));
+    second.setNewValue(Map.of("key", "newValue"));
+    var performedBy = UUID.randomUUID();
+    var diff = new ChangeRecordDto(List.of(FieldChangeDto.modified("key", "key", "oldValue", "value")), List.of());
+    mockAuditEnabled(true);
+    mockExcludedFields("");
+    mockAnonymize(false);
+    when(configurationService.getSetting(
+      org.folio.services.configuration.Setting.USER_RECORDS_UPDATE_COALESCING_WINDOW, TENANT_ID))
+      .thenReturn(Future.succeededFuture(new Setting().withValue(60)));
+    when(eventToEntityMapper.apply(any())).thenAnswer(invocation -> {
+      UserEvent event = invocation.getArgument(0);
+      return new UserAuditEntity(UUID.fromString(event.getId()), new Timestamp(event.getTimestamp()),
+        UUID.fromString(event.getUserId()), UserEventType.UPDATED.name(), performedBy, diff);
+    });
+    when(userEventDao.save(any(), anyString())).thenReturn(Future.succeededFuture(rowSet));
+    when(userEventDao.updateDiff(any(), anyString())).thenReturn(Future.succeededFuture(1));
+
+    eventService.processEvent(first, TENANT_ID)
+      .compose(r -> eventService.processEvent(second, TENANT_ID))
+      .onComplete(ctx.succeeding(r -> {
+        var entityCaptor = ArgumentCaptor.forClass(UserAuditEntity.class);
+        verify(userEventDao).save(any(), eq(TENANT_ID));
+        verify(userEventDao).updateDiff(entityCaptor.capture(), eq(TENANT_ID));
+        assertEquals(UUID.fromString(first.getId()), entityCaptor.getValue().eventId());
+        var eventCaptor = ArgumentCaptor.forClass(UserEvent.class);
+        verify(eventToEntityMapper, times(3)).apply(eventCaptor.capture());
+        var merged = eventCaptor.getAllValues().get(2);
+        assertEquals(first.getId(), merged.getId());
+        assertEquals(first.getOldValue(), merged.getOldValue());
+        assertEquals(second.getNewValue(), merged.getNewValue());
+        ctx.completeNow();
+      }));
+  }
+
+  @Test
+  void shouldNotMergeUpdatesOfDifferentUsers(VertxTestContext ctx) {
+    var coalescingWindow = new UpdateCoalescingWindow(configurationService, new MetricsRegistry(null, 0), 100, 0);
+    eventService = new UserEventServiceImpl(eventToEntityMapper, entitiesToCollectionMapper, configurationService,
+      userEventDao, coalescingWindow, diffExecutor, deferredDiffMode);
+    var first = createUserEvent(UserEventType.UPDATED);
+    var second = createUserEvent(UserEventType.UPDATED);
+    second.setUserId(first.getUserId());
+    var diff = new ChangeRecordDto(List.of(FieldChangeDto.modified("key", "key", "oldValue", "value")), List.of());
+    mockAuditEnabled(true);
+    mockExcludedFields("");
+    mockAnonymize(false);
+    when(configurationService.getSetting(
+      org.folio.services.configuration.Setting.USER_RECORDS_UPDATE_COALESCING_WINDOW, TENANT_ID))
+      .thenReturn(Future.succeededFuture(new Setting().withValue(60)));
+    when(eventToEntityMapper.apply(any())).thenAnswer(invocation -> {
+      UserEvent event = invocation.getArgument(0);
+      return new UserAuditEntity(UUID.fromString(event.getId()), new Timestamp(event.getTimestamp()),
+        UUID.fromString(event.getUserId()), UserEventType.UPDATED.name(), UUID.randomUUID(), diff);
+    });
+    when(userEventDao.save(any(), anyString())).thenReturn(Future.succeededFuture(rowSet));
+
+    eventService.processEvent(first, TENANT_ID)
+      .compose(r -> eventService.processEvent(second, TENANT_ID))
+      .onComplete(ctx.succeeding(r -> {
+        verify(userEventDao, times(2)).save(any(), eq(TENANT_ID));
+        verify(userEventDao, never()).updateDiff(any(), anyString());
+        ctx.completeNow();
+      }));
+  }
+
+  @Test
+  void shouldSavePendingDiffOfUpdateInDeferredDiffMode(VertxTestContext ctx) {
+    eventService = new UserEventServiceImpl(eventToEntityMapper, entitiesToCollectionMapper, configurationService,
+      userEventDao, coalescingWindow, diffExecutor, new DeferredDiffMode(configurationService, 10, 0));
+    var event = createUserEvent(UserEventType.UPDATED);
+    event.setNewValue(Map.of("key", "value", "metadata", Map.of("updatedByUserId", UUID.randomUUID().toString())));
+    mockAuditEnabled(true);
+    mockExcludedFields("");
+    mockAnonymize(true);
+    mockDiffDeferred(true);
+    when(userEventDao.savePending(anyList(), anyString())).thenReturn(Future.succeededFuture(rowSet));
+
+    eventService.processEvent(event, TENANT_ID)
+      .onComplete(ctx.succeeding(r -> ctx.verify(() -> {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PendingDiff<UserAuditEntity>>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userEventDao).savePending(captor.capture(), eq(TENANT_ID));
+        var pendingDiff = captor.getValue().get(0);
+        assertEquals(UUID.fromString(event.getId()), pendingDiff.entity().eventId());
+        assertNull(pendingDiff.entity().performedBy());
+        assertNull(pendingDiff.entity().diff());
+        assertEquals(new DiffSnapshot(event.getOldValue(), event.getNewValue()), pendingDiff.snapshot());
+        verifyNoInteractions(eventToEntityMapper);
+        verify(userEventDao, never()).save(any(), anyString());
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldResolvePendingDiffsOnRead(VertxTestContext ctx) {
+    eventService = new UserEventServiceImpl(eventToEntityMapper, entitiesToCollectionMapper, configurationService,
+      userEventDao, coalescingWindow, diffExecutor, new DeferredDiffMode(configurationService, 10, 0));
+    var userId = UUID.randomUUID();
+    var pending = new UserAuditEntity(UUID.randomUUID(), Timestamp.from(Instant.now()), userId,
+      UserEventType.UPDATED.name(), UUID.randomUUID(), null);
+    var diff = new ChangeRecordDto(List.of(FieldChangeDto.of("username", "username", "old", "new")), List.of());
+    var resolved = new UserAuditEntity(pending.eventId(), pending.eventDate(), userId, pending.action(),
+      pending.performedBy(), diff);
+    mockExcludedFields("");
+    mockAnonymize(false);
+    when(userEventDao.count(userId, TENANT_ID)).thenReturn(Future.succeededFuture(1));
+    when(configurationService.getSetting(
+      org.folio.services.configuration.Setting.USER_RECORDS_PAGE_SIZE, TENANT_ID))
+      .thenReturn(Future.succeededFuture(new Setting().withValue(10)));
+    when(userEventDao.get(userId, null, 10, TENANT_ID)).thenReturn(Future.succeededFuture(List.of(pending)));
+    when(userEventDao.getPendingDiffs(userId, List.of(pending.eventId()), TENANT_ID))
+      .thenReturn(Future.succeededFuture(List.of(new PendingDiff<>(pending,
+        new DiffSnapshot(Map.of("username", "old"), Map.of("username", "new"))))));
+    when(eventToEntityMapper.apply(any())).thenReturn(new UserAuditEntity(pending.eventId(), pending.eventDate(),
+      userId, pending.action(), null, diff));
+    when(userEventDao.updateDiff(resolved, TENANT_ID)).thenReturn(Future.succeededFuture(1));
+    when(entitiesToCollectionMapper.apply(List.of(resolved))).thenReturn(new UserAuditCollection());
+
+    eventService.getEvents(userId.toString(), null, TENANT_ID)
+      .onComplete(ctx.succeeding(result -> ctx.verify(() -> {
+        verify(userEventDao).updateDiff(resolved, TENANT_ID);
+        verify(entitiesToCollectionMapper).apply(List.of(resolved));
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldDeletePendingRecordWithOnlyMetadataChangesWhenResolvingBatch(VertxTestContext ctx) {
+    eventService = new UserEventServiceImpl(eventToEntityMapper, entitiesToCollectionMapper, configurationService,
+      userEventDao, coalescingWindow, diffExecutor, new DeferredDiffMode(configurationService, 10, 0));
+    var pending = new UserAuditEntity(UUID.randomUUID(), Timestamp.from(Instant.now()), UUID.randomUUID(),
+      UserEventType.UPDATED.name(), UUID.randomUUID(), null);
+    var metadataOnlyDiff = new ChangeRecordDto(
+      List.of(FieldChangeDto.of("updatedDate", "metadata.updatedDate", "2024-01-01", "2024-01-02")), List.of());
+    mockExcludedFields("");
+    mockAnonymize(false);
+    when(userEventDao.getPendingDiffs(10, TENANT_ID))
+      .thenReturn(Future.succeededFuture(List.of(new PendingDiff<>(pending,
+        new DiffSnapshot(Map.of("key", "value"), Map.of("key", "value"))))));
+    when(eventToEntityMapper.apply(any())).thenReturn(new UserAuditEntity(pending.eventId(), pending.eventDate(),
+      pending.userId(), pending.action(), null, metadataOnlyDiff));
+    when(userEventDao.delete(pending.eventId(), TENANT_ID)).thenReturn(Future.succeededFuture());
+
+    eventService.resolvePendingDiffs(TENANT_ID)
+      .onComplete(ctx.succeeding(r -> ctx.verify(() -> {
+        verify(userEventDao).delete(pending.eventId(), TENANT_ID);
+        verify(userEventDao, never()).updateDiff(any(), anyString());
+        ctx.completeNow();
+      })));
+  }
+
   private UserEvent createUserEvent(UserEventType type) {
     return UserEvent.builder()
       .id(UUID.randomUUID().toString())
@@ -669,6 +830,12 @@ class UserEventServiceImplTest {
       .thenReturn(Future.succeededFuture(new Setting().withValue(value)));
   }
 
+  private void mockDiffDeferred(boolean value) {
+    when(configurationService.getSetting(
+      org.folio.services.configuration.Setting.USER_RECORDS_DIFF_DEFERRED, TENANT_ID))
+      .thenReturn(Future.succeededFuture(new Setting().withValue(value)));
+  }
+
   private void mockExcludedFields(String value) {
     when(configurationService.getSetting(
       org.folio.services.configuration.Setting.USER_RECORDS_EXCLUDED_FIELDS, TENANT_ID))
@@ -0,0 +1,58 @@
+package org.folio.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.json.JsonObject;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class DiffSnapshotTest {
+
+  @Test
+  void shouldRestoreCompressedSnapshot() {
+    var snapshot = new DiffSnapshot(
+      Map.of("title", "Old title", "identifiers", List.of(Map.of("value", "123")), "metadata", Map.of("version", 1)),
+      Map.of("title", "New title", "identifiers", List.of(Map.of("value", "456")), "metadata", Map.of("version", 2)));
+
+    var restored = DiffSnapshot.decompress(snapshot.compress());
+
+    assertEquals(snapshot, restored);
+  }
+
+  @Test
+  void shouldRestoreSnapshotWithoutOldValue() {
+    var snapshot = new DiffSnapshot(null, Map.of("title", "New title"));
+
+    var restored = DiffSnapshot.decompress(snapshot.compress());
+
+    assertNull(restored.oldValue());
+    assertEquals(snapshot.newValue(), restored.newValue());
+  }
+
+  @Test
+  void shouldCompressRepetitiveValues() {
+    var items = List.of(Map.of("barcode", "000000000001", "status", "Available"),
+      Map.of("barcode", "000000000001", "status", "Available"),
+      Map.of("barcode", "000000000001", "status", "Available"));
+    var snapshot = new DiffSnapshot(Map.of("items", items), Map.of("items", items));
+
+    var compressed = snapshot.compress();
+
+    assertTrue(compressed.length < new JsonObject().put("old", snapshot.oldValue())
+      .put("new", snapshot.newValue()).encode().length());
+  }
+
+  @Test
+  void shouldFailToRestoreCorruptedSnapshot() {
+    var corrupted = "not deflated".getBytes();
+
+    assertThrows(UncheckedIOException.class, () -> DiffSnapshot.decompress(corrupted));
+  }
+}
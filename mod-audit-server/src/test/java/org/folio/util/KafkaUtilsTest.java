@@ -1,11 +1,20 @@
 package org.folio.util;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import io.vertx.core.json.DecodeException;
 import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.producer.KafkaHeader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import org.folio.CopilotGenerated;
+import org.folio.util.inventory.InventoryEvent;
+import org.folio.util.inventory.InventoryEventType;
 import org.folio.utils.UnitTest;
 import org.junit.jupiter.api.Test;
 
@@ -31,4 +40,84 @@ class KafkaUtilsTest {
     var pattern = KafkaUtils.formatTopicPattern("env", "inventory.instance");
     assertEquals("(env\\.)(.*\\.)inventory.instance", pattern);
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldEstimatePayloadSize() {
+    KafkaConsumerRecord<String, String> consumerRecord = mock(KafkaConsumerRecord.class);
+    when(consumerRecord.key()).thenReturn("key");
+    when(consumerRecord.value()).thenReturn("{\"id\":1}");
+
+    assertEquals(11, KafkaUtils.estimatePayloadSize(consumerRecord));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldEstimatePayloadSizeInUtf8Bytes() {
+    KafkaConsumerRecord<String, String> consumerRecord = mock(KafkaConsumerRecord.class);
+    var value = "{\"title\":\"Ünïcödé 書名 \uD83D\uDCD6\"}";
+    when(consumerRecord.value()).thenReturn(value);
+
+    assertEquals(value.getBytes(StandardCharsets.UTF_8).length, KafkaUtils.estimatePayloadSize(consumerRecord));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldGetHeaderValueIgnoringCase() {
+    KafkaConsumerRecord<String, String> consumerRecord = mock(KafkaConsumerRecord.class);
+    when(consumerRecord.headers()).thenReturn(List.of(KafkaHeader.header("X-Okapi-Tenant", "diku")));
+
+    assertEquals("diku", KafkaUtils.getHeaderValue(consumerRecord, "x-okapi-tenant"));
+    assertNull(KafkaUtils.getHeaderValue(consumerRecord, "x-okapi-user-id"));
+  }
+
+  @Test
+  void shouldScanField() {
+    var payload = "{\"new\":{\"id\":\"nested\",\"items\":[{\"id\":1}]},\"id\":\"top\",\"count\":2}";
+
+    assertEquals("top", KafkaUtils.scanField(payload, "id"));
+    assertEquals("2", KafkaUtils.scanField(payload, "count"));
+    assertEquals("nested", KafkaUtils.scanField(payload, "new", "id"));
+    assertNull(KafkaUtils.scanField(payload, "new"));
+    assertNull(KafkaUtils.scanField(payload, "new", "missing"));
+    assertNull(KafkaUtils.scanField(payload, "count", "id"));
+    assertNull(KafkaUtils.scanField(payload, "missing"));
+    assertNull(KafkaUtils.scanField("[1,2]", "id"));
+    assertNull(KafkaUtils.scanField("{\"id\":", "id"));
+  }
+
+  @Test
+  void shouldScanFields() {
+    var payload = "{\"new\":{\"type\":\"nested\"},\"type\":\"UPDATED\",\"id\":\"top\",\"items\":[1]}";
+
+    assertArrayEquals(new String[] {"UPDATED", "top"}, KafkaUtils.scanFields(payload, "type", "id"));
+    assertArrayEquals(new String[] {null, "top"}, KafkaUtils.scanFields(payload, "new", "id"));
+    assertArrayEquals(new String[] {null, null}, KafkaUtils.scanFields(payload, "items", "missing"));
+    assertArrayEquals(new String[] {null}, KafkaUtils.scanFields("[1,2]", "id"));
+    assertArrayEquals(new String[] {"UPDATED", null}, KafkaUtils.scanFields("{\"type\":\"UPDATED\",\"id\":", "type", "id"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldDecodeValue() {
+    KafkaConsumerRecord<String, String> consumerRecord = mock(KafkaConsumerRecord.class);
+    when(consumerRecord.value())
+      .thenReturn("{\"eventId\":\"id\",\"type\":\"UPDATE\",\"unknown\":1,\"new\":{\"title\":\"a\",\"count\":2}}");
+
+    var event = KafkaUtils.decodeValue(consumerRecord, InventoryEvent.class);
+
+    assertEquals("id", event.getEventId());
+    assertEquals(InventoryEventType.UPDATE, event.getType());
+    assertEquals("a", event.getNewValue().get("title"));
+    assertEquals(2, event.getNewValue().get("count"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldFailToDecodeInvalidValue() {
+    KafkaConsumerRecord<String, String> consumerRecord = mock(KafkaConsumerRecord.class);
+    when(consumerRecord.value()).thenReturn("{\"eventId\":");
+
+    assertThrows(DecodeException.class, () -> KafkaUtils.decodeValue(consumerRecord, InventoryEvent.class));
+  }
 }
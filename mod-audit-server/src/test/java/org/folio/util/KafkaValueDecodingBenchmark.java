@@ -0,0 +1,140 @@
+package org.folio.util;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.DatabindCodec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+import org.folio.util.inventory.InventoryEvent;
+
+/**
+ * Measures allocation rate and GC time of decoding inventory events under sustained load.
+ * <p>
+ * Every mode decodes the same serialized record value for the given number of seconds, starting from the bytes
+ * received from kafka, so the cost of the value deserializer is included:
+ * <ul>
+ *   <li>{@code JsonObject} - string value parsed into a {@code JsonObject} and mapped to the event</li>
+ *   <li>{@code string}     - string value bound to the event directly, as the consumers do</li>
+ *   <li>{@code bytes}      - bytes bound to the event directly, as a byte array value deserializer would allow</li>
+ * </ul>
+ * The class is not picked up by surefire, run it with its {@code main} method and a fixed heap, e.g.
+ * {@code java -Xmx512m -cp <test classpath> org.folio.util.KafkaValueDecodingBenchmark [items] [seconds]}.
+ */
+public class KafkaValueDecodingBenchmark {
+
+  public static void main(String[] args) {
+    var items = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+    var seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+    var value = event(items).getBytes(StandardCharsets.UTF_8);
+    var modes = List.<Mode>of(
+      new Mode("JsonObject", bytes -> new JsonObject(new String(bytes, StandardCharsets.UTF_8)).mapTo(InventoryEvent.class)),
+      new Mode("string", bytes -> bind(new String(bytes, StandardCharsets.UTF_8))),
+      new Mode("bytes", KafkaValueDecodingBenchmark::bind));
+
+    // warm up all modes before measuring
+    modes.forEach(mode -> run(mode, value, Math.max(1, seconds / 4)));
+
+    System.out.printf("payload: %d KB, duration: %d s%n", value.length / 1024, seconds);
+    for (var mode : modes) {
+      var result = run(mode, value, seconds);
+      System.out.printf("  %-10s %10.0f records/s %8.1f MB/s allocated %8d bytes/record %6d ms GC (%d collections)%n",
+        mode.name(), result.recordsPerSecond(), result.allocationRateMb(), result.bytesPerRecord(),
+        result.gcTimeMs(), result.gcCount());
+    }
+  }
+
+  private static InventoryEvent bind(String value) {
+    try {
+      return DatabindCodec.mapper().readValue(value, InventoryEvent.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static InventoryEvent bind(byte[] value) {
+    try {
+      return DatabindCodec.mapper().readValue(value, InventoryEvent.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static Result run(Mode mode, byte[] value, int seconds) {
+    var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    var threadId = Thread.currentThread().threadId();
+    System.gc();
+    var gcTimeBefore = gcTime();
+    var gcCountBefore = gcCount();
+    var allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+    var start = System.nanoTime();
+    var deadline = start + seconds * 1_000_000_000L;
+    var records = 0L;
+    var checksum = 0L;
+    while (System.nanoTime() < deadline) {
+      for (int i = 0; i < 100; i++) {
+        checksum += mode.decoder().apply(value).getNewValue().size();
+      }
+      records += 100;
+    }
+    var elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000d;
+    var allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+    if (checksum == 0) {
+      throw new IllegalStateException("Nothing was decoded");
+    }
+    return new Result(records / elapsedSeconds, allocated / elapsedSeconds / (1024 * 1024), allocated / records,
+      gcTime() - gcTimeBefore, gcCount() - gcCountBefore);
+  }
+
+  private static long gcTime() {
+    return ManagementFactory.getGarbageCollectorMXBeans().stream()
+      .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+      .filter(time -> time > 0)
+      .sum();
+  }
+
+  private static long gcCount() {
+    return ManagementFactory.getGarbageCollectorMXBeans().stream()
+      .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+      .filter(count -> count > 0)
+      .sum();
+  }
+
+  private static String event(int items) {
+    return new JsonObject()
+      .put("eventId", "3f1c2b5e-6f7a-4b8c-9d0e-1f2a3b4c5d6e")
+      .put("type", "UPDATE")
+      .put("tenant", "diku")
+      .put("eventTs", 1_700_000_000_000L)
+      .put("new", holdings(items, "updated"))
+      .put("old", holdings(items, "original"))
+      .encode();
+  }
+
+  private static JsonObject holdings(int items, String text) {
+    var itemsArray = new JsonArray();
+    for (int i = 0; i < items; i++) {
+      itemsArray.add(new JsonObject()
+        .put("id", "00000000-0000-4000-8000-" + String.format("%012d", i))
+        .put("barcode", "b" + i)
+        .put("status", new JsonObject().put("name", "Available").put("date", "2024-01-01T00:00:00.000+00:00"))
+        .put("notes", new JsonArray().add(new JsonObject().put("note", text + " note " + i).put("staffOnly", false)))
+        .put("copyNumber", String.valueOf(i)));
+    }
+    return new JsonObject()
+      .put("id", "5b1f2c3d-4e5f-4a6b-8c7d-9e0f1a2b3c4d")
+      .put("hrid", "ho00000000001")
+      .put("callNumber", text + " call number")
+      .put("items", itemsArray)
+      .put("metadata", new JsonObject().put("updatedByUserId", "8f2a4c1e-1b2c-4d5e-9f6a-7b8c9d0e1f2a"));
+  }
+
+  private record Mode(String name, Function<byte[], InventoryEvent> decoder) { }
+
+  private record Result(double recordsPerSecond, double allocationRateMb, long bytesPerRecord, long gcTimeMs,
+                        long gcCount) { }
+}
@@ -0,0 +1,30 @@
+package org.folio.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class PropertyUtilsTest {
+
+  @Test
+  void shouldParseQuotas() {
+    var quotas = PropertyUtils.parseQuotas("inventory.instance:10, users:2");
+
+    assertEquals(Map.of("inventory.instance", 10, "users", 2), quotas);
+  }
+
+  @Test
+  void shouldReturnNoQuotasForBlankValue() {
+    assertTrue(PropertyUtils.parseQuotas(" ").isEmpty());
+  }
+
+  @Test
+  void shouldFailOnInvalidQuota() {
+    assertThrows(IllegalArgumentException.class, () -> PropertyUtils.parseQuotas("users"));
+  }
+}
@@ -0,0 +1,239 @@
+package org.folio.util.marc;
+
+import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.folio.domain.diff.ChangeRecordDto;
+import org.folio.domain.diff.ChangeType;
+import org.folio.domain.diff.CollectionChangeDto;
+import org.folio.domain.diff.CollectionItemChangeDto;
+import org.folio.domain.diff.FieldChangeDto;
+
+/**
+ * MARC diff calculation that was used by {@link MarcUtil} before the tag-indexed diff: every field of both records
+ * is formatted and flattened into a map by tag, which is then scanned for added, removed and modified tags.
+ * Kept as the reference for {@link MarcDiffCompatibilityTest} and {@link MarcDiffBenchmark}.
+ */
+final class FlattenedMarcDiff {
+
+  private static final String LDR = "LDR";
+  private static final String FIELD_005 = "005";
+  private static final String FIELD_999 = "999";
+  private static final String FF_IND = "ff";
+  private static final String SUBFIELDS_KEY = "subfields";
+  private static final String FIELDS_KEY = "fields";
+  private static final String LEADER_KEY = "leader";
+  private static final String SPACE_DELIMITER = " ";
+  private static final String SUBFIELD_DELIMITER = " $";
+
+  private FlattenedMarcDiff() {
+  }
+
+  static ChangeRecordDto calculateDifferences(Map<String, Object> oldParsedRecord, Map<String, Object> newParsedRecord) {
+    var oldFields = flattenFields(oldParsedRecord);
+    var newFields = flattenFields(newParsedRecord);
+    return compareParsedRecords(oldFields, newFields);
+  }
+
+  static ChangeRecordDto getDifference(Map<String, Object> parsedRecord, ChangeType type) {
+    var changes = new ArrayList<FieldChangeDto>();
+    var content = flattenFields(parsedRecord);
+    content.forEach((key, value) -> addChangesFromValue(value, key, type, changes));
+    return new ChangeRecordDto(changes, Collections.emptyList());
+  }
+
+  private static ChangeRecordDto compareParsedRecords(Map<String, Object> oldMap, Map<String, Object> newMap) {
+    List<FieldChangeDto> added = new ArrayList<>();
+    List<FieldChangeDto> removed = new ArrayList<>();
+    List<FieldChangeDto> modified = new ArrayList<>();
+    List<CollectionChangeDto> repeatable = new ArrayList<>();
+
+    populateEntries(newMap, oldMap, added, ChangeType.ADDED);
+    populateEntries(newMap, oldMap, removed, ChangeType.REMOVED);
+    processModifiedEntries(newMap, oldMap, repeatable, modified);
+
+    List<FieldChangeDto> fieldChanges = new ArrayList<>();
+    fieldChanges.addAll(added);
+    fieldChanges.addAll(removed);
+    fieldChanges.addAll(modified);
+
+    return new ChangeRecordDto(fieldChanges, repeatable);
+  }
+
+  private static void populateEntries(Map<String, Object> firstMap, Map<String, Object> secondMap,
+                                      List<FieldChangeDto> changes, ChangeType type) {
+    var source = ChangeType.ADDED.equals(type) ? firstMap : secondMap;
+    var target = ChangeType.ADDED.equals(type) ? secondMap : firstMap;
+    source.forEach((key, value) -> {
+      if (!target.containsKey(key)) {
+        addChangesFromValue(value, key, type, changes);
+      }
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> flattenFields(Map<String, Object> input) {
+    var content = getContent(input);
+    var fields = (List<Map<String, Object>>) content.get(FIELDS_KEY);
+    var result = new HashMap<String, Object>();
+    if (content.containsKey(LEADER_KEY)) {
+      result.put(LDR, content.get(LEADER_KEY));
+    }
+    if (!content.containsKey(FIELDS_KEY)) {
+      return result;
+    }
+    fields.forEach(fieldObj -> fieldObj.forEach((tag, value) -> {
+      var formattedValue = formatField(value);
+      result.merge(tag, formattedValue, (existing, newValue) -> {
+        if (existing instanceof List) {
+          ((List<Object>) existing).add(newValue);
+          return existing;
+        }
+        return new ArrayList<>(Arrays.asList(existing, newValue));
+      });
+    }));
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static String formatField(Object value) {
+    if (value instanceof Map<?, ?> map && map.containsKey(SUBFIELDS_KEY)) {
+      var fieldData = (Map<String, Object>) map;
+      var ind1 = (String) fieldData.getOrDefault("ind1", SPACE_DELIMITER);
+      var ind2 = (String) fieldData.getOrDefault("ind2", SPACE_DELIMITER);
+      var subfields = (List<Map<String, Object>>) fieldData.get(SUBFIELDS_KEY);
+      var subfieldsString = subfields.stream()
+        .flatMap(subObj -> subObj.entrySet().stream()
+          .map(e -> SUBFIELD_DELIMITER + e.getKey() + SPACE_DELIMITER + e.getValue()))
+        .collect(Collectors.joining());
+      return ind1 + ind2 + subfieldsString;
+    }
+    return value.toString();
+  }
+
+  private static void populateChanges(
+    String key,
+    Object oldValue,
+    Object newValue,
+    List<CollectionChangeDto> repeatable,
+    List<FieldChangeDto> changes
+  ) {
+    var oldList = convertToList(oldValue);
+    var newList = convertToList(newValue);
+
+    var removedSet = new HashSet<>(oldList);
+    var addedSet = new HashSet<>(newList);
+
+    newList.forEach(removedSet::remove);
+    oldList.forEach(addedSet::remove);
+
+    //Case 1: No changes detected
+    if (removedSet.isEmpty() && addedSet.isEmpty()) return;
+
+    if (isSingleValueChange(oldList, newList) &&
+      !Objects.equals(oldList.get(0), newList.get(0))) {
+      changes.add(FieldChangeDto.modified(key, key, oldList.get(0), newList.get(0)));
+      return;
+    }
+
+    //Case 2: Only addition or removal changes detected
+    if (removedSet.isEmpty() || addedSet.isEmpty()) {
+      var targetSet = removedSet.isEmpty() ? addedSet : removedSet;
+      Function<Object, CollectionItemChangeDto> mapper = removedSet.isEmpty()
+        ? CollectionItemChangeDto::added
+        : CollectionItemChangeDto::removed;
+      addRepeatableChange(key, targetSet, mapper, repeatable);
+      return;
+    }
+
+    var itemChanges = new ArrayList<CollectionItemChangeDto>();
+    removedSet.forEach(item -> itemChanges.add(CollectionItemChangeDto.removed(item)));
+    addedSet.forEach(item -> itemChanges.add(CollectionItemChangeDto.added(item)));
+    repeatable.add(new CollectionChangeDto(key, key, itemChanges));
+  }
+
+  private static void processModifiedEntries(
+    Map<String, Object> newMap,
+    Map<String, Object> oldMap,
+    List<CollectionChangeDto> repeatable,
+    List<FieldChangeDto> modified
+  ) {
+    newMap.forEach((key, newValue) -> {
+      if (!FIELD_005.equals(key) && oldMap.containsKey(key)) {
+        var oldValue = oldMap.get(key);
+        if (FIELD_999.equals(key)) {
+          var filteredOld = filterNonFFValues(oldValue);
+          var filteredNew = filterNonFFValues(newValue);
+          if (filteredOld.isEmpty() && filteredNew.isEmpty()) return;
+          if (!Objects.equals(filteredOld, filteredNew)) {
+            populateChanges(key, filteredOld, filteredNew, repeatable, modified);
+          }
+        } else if (!Objects.equals(oldValue, newValue)) {
+          populateChanges(key, oldValue, newValue, repeatable, modified);
+        }
+      }
+    });
+  }
+
+  private static void addRepeatableChange(
+    String key,
+    Set<Object> targetSet,
+    Function<Object, CollectionItemChangeDto> changeMapper,
+    List<CollectionChangeDto> repeatable
+  ) {
+    List<CollectionItemChangeDto> itemChanges = targetSet.stream()
+      .map(changeMapper)
+      .toList();
+    repeatable.add(new CollectionChangeDto(key, key, itemChanges));
+  }
+
+  private static void addChangesFromValue(Object value, String key, ChangeType type, List<FieldChangeDto> changes) {
+    if (value instanceof List<?>) {
+      ((List<?>) value).forEach(v -> addChange(changes, type, key, v));
+    } else {
+      addChange(changes, type, key, value);
+    }
+  }
+
+  private static List<Object> filterNonFFValues(Object value) {
+    return convertToList(value).stream()
+      .filter(v -> !(v instanceof String str && str.startsWith(FF_IND)))
+      .toList();
+  }
+
+  private static boolean isSingleValueChange(List<Object> oldList, List<Object> newList) {
+    return oldList.size() == 1 && newList.size() == 1;
+  }
+
+  private static void addChange(List<FieldChangeDto> changes, ChangeType type, String key, Object value) {
+    var fieldChange = ChangeType.ADDED.equals(type) ? FieldChangeDto.added(key, key, value) : FieldChangeDto.removed(key, key, value);
+    changes.add(fieldChange);
+  }
+
+  private static List<Object> convertToList(Object value) {
+    return value instanceof List<?> ? new ArrayList<>((List<?>) value) : List.of(value);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> getContent(Map<String, Object> parsedRecord) {
+    var contentObj = parsedRecord.get("content");
+    Map<String, Object> content;
+    if (contentObj instanceof String contentStr) {
+      content = new JsonObject(contentStr).getMap();
+    } else if (contentObj instanceof Map<?, ?> contentMap) {
+      content = (Map<String, Object>) contentMap;
+    } else {
+      return Collections.emptyMap();
+    }
+    return content;
+  }
+}
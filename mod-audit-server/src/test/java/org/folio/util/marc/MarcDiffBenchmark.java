@@ -0,0 +1,88 @@
+package org.folio.util.marc;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import org.folio.domain.diff.ChangeRecordDto;
+
+/**
+ * Compares the MARC diff that formats and flattens every field of both records, {@link FlattenedMarcDiff}, with the
+ * tag-indexed diff of {@link MarcUtil}.
+ * <p>
+ * Old and new versions of a MARC bib record have the given number of data fields, most of them repeated 5xx and 6xx
+ * fields, and every 20th field of the new version is modified. The class is not picked up by surefire, run it with
+ * its {@code main} method:
+ * {@code java -cp <test classpath> org.folio.util.marc.MarcDiffBenchmark [fields] [iterations]}.
+ */
+public class MarcDiffBenchmark {
+
+  public static void main(String[] args) {
+    var iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+    var fieldCounts = args.length > 0 ? List.of(Integer.parseInt(args[0])) : List.of(30, 150, 600);
+
+    for (var fields : fieldCounts) {
+      var oldRecord = parsedRecord(fields, 0);
+      var newRecord = parsedRecord(fields, 20);
+      // warm up both diffs before measuring
+      measure(FlattenedMarcDiff::calculateDifferences, oldRecord, newRecord, iterations / 4);
+      measure(MarcUtil::calculateDifferences, oldRecord, newRecord, iterations / 4);
+
+      var flattened = measure(FlattenedMarcDiff::calculateDifferences, oldRecord, newRecord, iterations);
+      var indexed = measure(MarcUtil::calculateDifferences, oldRecord, newRecord, iterations);
+      System.out.printf("fields: %d%n", fields);
+      System.out.printf("  %-10s %8.1f us/op %10d bytes/op%n", "flattened", flattened.microsPerOp(),
+        flattened.bytesPerOp());
+      System.out.printf("  %-10s %8.1f us/op %10d bytes/op%n", "indexed", indexed.microsPerOp(), indexed.bytesPerOp());
+    }
+  }
+
+  private static Result measure(BiFunction<Map<String, Object>, Map<String, Object>, ChangeRecordDto> diff,
+                                Map<String, Object> oldRecord, Map<String, Object> newRecord, int iterations) {
+    var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    var threadId = Thread.currentThread().threadId();
+    var allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+    var start = System.nanoTime();
+    var checksum = 0;
+    for (int i = 0; i < iterations; i++) {
+      var changes = diff.apply(oldRecord, newRecord);
+      checksum += changes.getFieldChanges().size() + changes.getCollectionChanges().size();
+    }
+    var elapsed = System.nanoTime() - start;
+    var allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+    if (checksum == 0) {
+      throw new IllegalStateException("No differences were found");
+    }
+    return new Result(elapsed / 1000d / iterations, allocated / iterations);
+  }
+
+  /**
+   * Builds parsed record content, modifying every {@code modifiedEvery}-th data field if it is positive.
+   */
+  private static Map<String, Object> parsedRecord(int fields, int modifiedEvery) {
+    var content = new JsonArray()
+      .add(new JsonObject().put("001", "in00000000001"))
+      .add(new JsonObject().put("005", modifiedEvery > 0 ? "20240102120000.0" : "20240101120000.0"))
+      .add(new JsonObject().put("008", "240101s2024    xxu           000 0 eng d"));
+    for (int i = 0; i < fields; i++) {
+      var tag = i % 10 == 0 ? String.valueOf(100 + i % 400) : (i % 2 == 0 ? "500" : "650");
+      var text = modifiedEvery > 0 && i % modifiedEvery == 0 ? "updated" : "original";
+      content.add(new JsonObject().put(tag, new JsonObject()
+        .put("ind1", " ")
+        .put("ind2", "0")
+        .put("subfields", new JsonArray()
+          .add(new JsonObject().put("a", text + " subfield a of field " + i + " with some catalogued text"))
+          .add(new JsonObject().put("x", "subdivision " + i % 7)))));
+    }
+    var parsedRecord = new JsonObject()
+      .put("content", new JsonObject()
+        .put("leader", "02326cam a2200421 i 4500")
+        .put("fields", content));
+    // decoded like an event payload, so that the content consists of plain maps and lists
+    return new JsonObject(parsedRecord.encode()).getMap();
+  }
+
+  private record Result(double microsPerOp, long bytesPerOp) { }
+}
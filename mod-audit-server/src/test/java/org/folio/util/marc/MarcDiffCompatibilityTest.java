@@ -0,0 +1,120 @@
+package org.folio.util.marc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.folio.domain.diff.ChangeType;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Checks that the tag-indexed MARC diff produces exactly the same output, including the order of changes, as the
+ * {@link FlattenedMarcDiff} it replaced, on randomly modified records.
+ */
+@UnitTest
+class MarcDiffCompatibilityTest {
+
+  private static final List<String> CONTROL_TAGS = List.of("001", "003", "005", "008");
+  private static final List<String> DATA_TAGS = List.of("020", "035", "100", "245", "500", "650", "700", "999");
+  private static final List<String> INDICATORS = List.of(" ", "0", "1", "f");
+
+  static Stream<Long> seeds() {
+    return IntStream.range(0, 300).mapToObj(seed -> (long) seed);
+  }
+
+  @ParameterizedTest(name = "seed: {0}")
+  @MethodSource("seeds")
+  void shouldProduceSameDifferencesAsFlattenedDiff(long seed) {
+    var random = new Random(seed);
+    var oldFields = fields(random);
+    var newFields = modify(random, oldFields);
+    var oldRecord = parsedRecord(random, "00000nam  2200000 a 4500", oldFields);
+    var newRecord = parsedRecord(random, random.nextInt(5) == 0 ? "00000cam  2200000 a 4500"
+                                                                : "00000nam  2200000 a 4500", newFields);
+
+    assertEquals(FlattenedMarcDiff.calculateDifferences(oldRecord, newRecord),
+      MarcUtil.calculateDifferences(oldRecord, newRecord));
+  }
+
+  @ParameterizedTest(name = "seed: {0}")
+  @MethodSource("seeds")
+  void shouldProduceSameChangesForCreatedAndDeletedRecord(long seed) {
+    var random = new Random(seed);
+    var parsedRecord = parsedRecord(random, "00000nam  2200000 a 4500", fields(random));
+
+    assertEquals(FlattenedMarcDiff.getDifference(parsedRecord, ChangeType.ADDED),
+      MarcUtil.getDifference(parsedRecord, ChangeType.ADDED));
+    assertEquals(FlattenedMarcDiff.getDifference(parsedRecord, ChangeType.REMOVED),
+      MarcUtil.getDifference(parsedRecord, ChangeType.REMOVED));
+  }
+
+  private static List<Map<String, Object>> fields(Random random) {
+    var fields = new ArrayList<Map<String, Object>>();
+    for (var tag : CONTROL_TAGS) {
+      if (random.nextInt(4) != 0) {
+        fields.add(Map.of(tag, tag + "-" + random.nextInt(3)));
+      }
+    }
+    var count = random.nextInt(12);
+    for (var i = 0; i < count; i++) {
+      fields.add(dataField(random, DATA_TAGS.get(random.nextInt(DATA_TAGS.size()))));
+    }
+    return fields;
+  }
+
+  private static List<Map<String, Object>> modify(Random random, List<Map<String, Object>> fields) {
+    var result = new ArrayList<>(fields);
+    var modifications = random.nextInt(4);
+    for (var i = 0; i < modifications; i++) {
+      switch (random.nextInt(5)) {
+        case 0 -> result.add(dataField(random, DATA_TAGS.get(random.nextInt(DATA_TAGS.size()))));
+        case 1 -> {
+          if (!result.isEmpty()) {
+            result.remove(random.nextInt(result.size()));
+          }
+        }
+        case 2 -> {
+          if (!result.isEmpty()) {
+            var index = random.nextInt(result.size());
+            var tag = result.get(index).keySet().iterator().next();
+            result.set(index, CONTROL_TAGS.contains(tag)
+                              ? Map.of(tag, tag + "-" + random.nextInt(3))
+                              : dataField(random, tag));
+          }
+        }
+        case 3 -> Collections.shuffle(result, random);
+        default -> {
+          // no modification, keeps some records unchanged
+        }
+      }
+    }
+    return result;
+  }
+
+  private static Map<String, Object> dataField(Random random, String tag) {
+    var subfields = new ArrayList<Map<String, Object>>();
+    var count = 1 + random.nextInt(3);
+    for (var i = 0; i < count; i++) {
+      subfields.add(Map.of(String.valueOf((char) ('a' + random.nextInt(3))), "value " + random.nextInt(4)));
+    }
+    var field = new LinkedHashMap<String, Object>();
+    field.put("ind1", INDICATORS.get(random.nextInt(INDICATORS.size())));
+    field.put("ind2", INDICATORS.get(random.nextInt(INDICATORS.size())));
+    field.put("subfields", subfields);
+    return Map.of(tag, field);
+  }
+
+  private static Map<String, Object> parsedRecord(Random random, String leader, List<Map<String, Object>> fields) {
+    var content = new JsonObject().put("leader", leader).put("fields", fields);
+    return Map.of("content", random.nextBoolean() ? content.encode() : content.getMap());
+  }
+}
@@ -0,0 +1,106 @@
+package org.folio.util.marc;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Compares decoding of MARC domain events through an intermediate {@code JsonObject} with the single pass
+ * {@link SourceRecordDomainEventDecoder}.
+ * <p>
+ * Events carry old and new versions of a MARC bib record with the given number of data fields, the payload is
+ * published as a JSON encoded string like source record storage does. The class is not picked up by surefire,
+ * run it with its {@code main} method:
+ * {@code java -cp <test classpath> org.folio.util.marc.MarcEventDecodingBenchmark [fields] [iterations]}.
+ */
+public class MarcEventDecodingBenchmark {
+
+  private static final String EVENT_PAYLOAD_KEY = "eventPayload";
+
+  public static void main(String[] args) {
+    var iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+    var fieldCounts = args.length > 0 ? List.of(Integer.parseInt(args[0])) : List.of(30, 150, 600);
+
+    for (var fields : fieldCounts) {
+      var value = event(fields);
+      // warm up both decoders before measuring
+      measure(MarcEventDecodingBenchmark::decodeWithJsonObject, value, iterations / 4);
+      measure(SourceRecordDomainEventDecoder::decode, value, iterations / 4);
+
+      var tree = measure(MarcEventDecodingBenchmark::decodeWithJsonObject, value, iterations);
+      var streaming = measure(SourceRecordDomainEventDecoder::decode, value, iterations);
+      System.out.printf("fields: %d, payload: %d KB%n", fields, value.length() / 1024);
+      System.out.printf("  %-10s %8.1f us/op %10d bytes/op%n", "JsonObject", tree.microsPerOp(), tree.bytesPerOp());
+      System.out.printf("  %-10s %8.1f us/op %10d bytes/op%n", "streaming", streaming.microsPerOp(), streaming.bytesPerOp());
+    }
+  }
+
+  /**
+   * Decoding that was used by the MARC record events handler before the single pass decoder.
+   */
+  static SourceRecordDomainEvent decodeWithJsonObject(String value) {
+    var eventJson = new JsonObject(value);
+    var payload = new JsonObject(String.valueOf(eventJson.remove(EVENT_PAYLOAD_KEY))).mapTo(MarcEventPayload.class);
+    var event = eventJson.mapTo(SourceRecordDomainEvent.class);
+    event.setEventPayload(payload);
+    return event;
+  }
+
+  private static Result measure(Function<String, SourceRecordDomainEvent> decoder, String value, int iterations) {
+    var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    var threadId = Thread.currentThread().threadId();
+    var allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+    var start = System.nanoTime();
+    var checksum = 0;
+    for (int i = 0; i < iterations; i++) {
+      checksum += decoder.apply(value).getEventId().length();
+    }
+    var elapsed = System.nanoTime() - start;
+    var allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+    if (checksum == 0) {
+      throw new IllegalStateException("Nothing was decoded");
+    }
+    return new Result(elapsed / 1000d / iterations, allocated / iterations);
+  }
+
+  private static String event(int fields) {
+    var payload = new JsonObject()
+      .put("new", record(fields, "updated"))
+      .put("old", record(fields, "original"));
+    return new JsonObject()
+      .put("id", "3f1c2b5e-6f7a-4b8c-9d0e-1f2a3b4c5d6e")
+      .put("eventType", "SOURCE_RECORD_UPDATED")
+      .put("eventMetadata", new JsonObject().put("publishedBy", "mod-source-record-storage").put("tenantId", "diku"))
+      .put(EVENT_PAYLOAD_KEY, payload.encode())
+      .encode();
+  }
+
+  private static JsonObject record(int fields, String text) {
+    var content = new JsonArray()
+      .add(new JsonObject().put("001", "in00000000001"))
+      .add(new JsonObject().put("005", "20240101120000.0"))
+      .add(new JsonObject().put("008", "240101s2024    xxu           000 0 eng d"));
+    for (int i = 0; i < fields; i++) {
+      var tag = String.valueOf(100 + i % 800);
+      content.add(new JsonObject().put(tag, new JsonObject()
+        .put("ind1", " ")
+        .put("ind2", "0")
+        .put("subfields", new JsonArray()
+          .add(new JsonObject().put("a", text + " subfield a of field " + i + " with some catalogued text"))
+          .add(new JsonObject().put("b", text + " subfield b"))
+          .add(new JsonObject().put("c", "responsibility statement " + i)))));
+    }
+    return new JsonObject()
+      .put("id", "5b1f2c3d-4e5f-4a6b-8c7d-9e0f1a2b3c4d")
+      .put("matchedId", "5b1f2c3d-4e5f-4a6b-8c7d-9e0f1a2b3c4d")
+      .put("recordType", "MARC_BIB")
+      .put("parsedRecord", new JsonObject().put("content", new JsonObject()
+        .put("leader", "02326cam a2200421 i 4500")
+        .put("fields", content)))
+      .put("metadata", new JsonObject().put("updatedByUserId", "8f2a4c1e-1b2c-4d5e-9f6a-7b8c9d0e1f2a"));
+  }
+
+  private record Result(double microsPerOp, long bytesPerOp) { }
+}
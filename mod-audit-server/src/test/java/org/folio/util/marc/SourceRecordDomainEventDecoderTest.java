@@ -0,0 +1,81 @@
+package org.folio.util.marc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+import java.util.List;
+import java.util.Map;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class SourceRecordDomainEventDecoderTest {
+
+  private static final String EVENT_ID = "3f1c2b5e-6f7a-4b8c-9d0e-1f2a3b4c5d6e";
+  private static final String RECORD_ID = "5b1f2c3d-4e5f-4a6b-8c7d-9e0f1a2b3c4d";
+
+  @Test
+  void shouldDecodeEventWithNestedPayload() {
+    var value = event().put("eventPayload", payload()).encode();
+
+    var event = SourceRecordDomainEventDecoder.decode(value);
+
+    assertDecoded(event);
+  }
+
+  @Test
+  void shouldDecodeEventWithStringEncodedPayload() {
+    var value = event().put("eventPayload", payload().encode()).encode();
+
+    var event = SourceRecordDomainEventDecoder.decode(value);
+
+    assertDecoded(event);
+  }
+
+  @Test
+  void shouldDecodeUnknownEventType() {
+    var value = new JsonObject().put("id", EVENT_ID).put("eventType", "SOURCE_RECORD_MOVED").encode();
+
+    var event = SourceRecordDomainEventDecoder.decode(value);
+
+    assertEquals(SourceRecordDomainEventType.UNKNOWN, event.getEventType());
+    assertNull(event.getEventPayload());
+  }
+
+  @Test
+  void shouldFailOnInvalidEvent() {
+    assertThrows(DecodeException.class, () -> SourceRecordDomainEventDecoder.decode("[]"));
+    assertThrows(DecodeException.class, () -> SourceRecordDomainEventDecoder.decode("{\"id\":"));
+  }
+
+  private static void assertDecoded(SourceRecordDomainEvent event) {
+    assertEquals(EVENT_ID, event.getEventId());
+    assertEquals(SourceRecordDomainEventType.SOURCE_RECORD_UPDATED, event.getEventType());
+    assertEquals("diku", event.getEventMetadata().getTenantId());
+    assertEquals(RECORD_ID, event.getEventPayload().getNewRecord().getMatchedId());
+    assertEquals(RECORD_ID, event.getEventPayload().getOld().getMatchedId());
+    assertEquals(Map.of("updatedByUserId", "user"), event.getEventPayload().getNewRecord().getMetadata());
+    assertNull(event.getRecordType());
+  }
+
+  private static JsonObject event() {
+    return new JsonObject()
+      .put("id", EVENT_ID)
+      .put("ignored", new JsonObject().put("id", "nested"))
+      .put("eventType", "SOURCE_RECORD_UPDATED")
+      .put("eventMetadata", new JsonObject().put("publishedBy", "mod-source-record-storage").put("tenantId", "diku"));
+  }
+
+  private static JsonObject payload() {
+    var content = Map.of("leader", "00000nam  2200000 a 4500",
+      "fields", List.of(Map.of("001", "in001"), Map.of("245", Map.of("subfields", List.of(Map.of("a", "Title"))))));
+    var record = new JsonObject()
+      .put("matchedId", RECORD_ID)
+      .put("parsedRecord", new JsonObject().put("content", content))
+      .put("metadata", new JsonObject().put("updatedByUserId", "user"));
+    return new JsonObject().put("new", record).put("old", record.copy());
+  }
+}
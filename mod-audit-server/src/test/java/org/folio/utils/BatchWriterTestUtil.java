@@ -0,0 +1,17 @@
+package org.folio.utils;
+
+import lombok.experimental.UtilityClass;
+import org.folio.dao.batch.BatchWriterFactory;
+
+@UtilityClass
+public class BatchWriterTestUtil {
+
+  /**
+   * Creates factory of writers that save every record immediately, as DAOs do with default configuration.
+   *
+   * @return batch writer factory with batching and spooling disabled
+   */
+  public static BatchWriterFactory directBatchWriterFactory() {
+    return new BatchWriterFactory(null, null, false, 1, false, null, 0, 0, 0);
+  }
+}
@@ -0,0 +1,136 @@
+package org.folio.verticle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.pgclient.PgException;
+import java.util.ArrayList;
+import java.util.List;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class AdaptiveConcurrencyLimiterTest {
+
+  private final MetricsRegistry metricsRegistry = new MetricsRegistry(null, 0);
+
+  @Test
+  void shouldQueueTasksAboveLimit() {
+    var limiter = new AdaptiveConcurrencyLimiter("test", 1, 10, 2, 1000, 0.9, 0.5, 10, metricsRegistry);
+    var promises = new ArrayList<Promise<String>>();
+
+    var futures = List.of(limiter.execute(() -> pendingTask(promises)),
+      limiter.execute(() -> pendingTask(promises)),
+      limiter.execute(() -> pendingTask(promises)));
+
+    assertEquals(2, promises.size());
+    assertEquals(2, limiter.getInFlight());
+
+    promises.get(0).complete("done");
+
+    assertTrue(futures.get(0).succeeded());
+    assertEquals(3, promises.size());
+    assertFalse(futures.get(2).isComplete());
+    assertEquals(1, metricsRegistry.counter("concurrency.test.throttled").sum());
+  }
+
+  @Test
+  void shouldIncreaseLimitWhenLatencyIsBelowTarget() {
+    var limiter = new AdaptiveConcurrencyLimiter("test", 1, 10, 2, 1000, 0.5, 0.5, 3, metricsRegistry);
+
+    for (int i = 0; i < 3; i++) {
+      limiter.execute(() -> Future.succeededFuture("done"));
+    }
+
+    assertEquals(3, limiter.getLimit());
+  }
+
+  @Test
+  void shouldNotIncreaseLimitAboveMax() {
+    var limiter = new AdaptiveConcurrencyLimiter("test", 1, 2, 2, 1000, 0.5, 0.5, 2, metricsRegistry);
+
+    for (int i = 0; i < 5; i++) {
+      limiter.execute(() -> Future.succeededFuture("done"));
+    }
+
+    assertEquals(2, limiter.getLimit());
+  }
+
+  @Test
+  void shouldDecreaseLimitWhenLatencyExceedsTarget() throws InterruptedException {
+    var limiter = new AdaptiveConcurrencyLimiter("test", 1, 10, 8, 0, 0.5, 0.5, 2, metricsRegistry);
+    var promises = new ArrayList<Promise<String>>();
+
+    limiter.execute(() -> pendingTask(promises));
+    limiter.execute(() -> pendingTask(promises));
+    Thread.sleep(5);
+    promises.forEach(promise -> promise.complete("done"));
+
+    assertEquals(4, limiter.getLimit());
+  }
+
+  @Test
+  void shouldIgnoreSingleSlowTaskInWindow() throws InterruptedException {
+    var limiter = new AdaptiveConcurrencyLimiter("test", 1, 10, 2, 1, 0.9, 0.5, 10, metricsRegistry);
+    var promise = Promise.<String>promise();
+
+    limiter.execute(promise::future);
+    Thread.sleep(5);
+    promise.complete("done");
+    for (int i = 0; i < 9; i++) {
+      limiter.execute(() -> Future.succeededFuture("done"));
+    }
+
+    assertEquals(3, limiter.getLimit());
+  }
+
+  @Test
+  void shouldNotUseWindowSmallerThanPercentileRequires() {
+    var limiter = new AdaptiveConcurrencyLimiter("test", 1, 10, 2, 1000, 0.99, 0.5, 10, metricsRegistry);
+
+    for (int i = 0; i < 99; i++) {
+      limiter.execute(() -> Future.succeededFuture("done"));
+    }
+
+    assertEquals(2, limiter.getLimit());
+    limiter.execute(() -> Future.succeededFuture("done"));
+    assertEquals(3, limiter.getLimit());
+  }
+
+  @Test
+  void shouldDecreaseLimitOnDatabaseError() {
+    var limiter = new AdaptiveConcurrencyLimiter("test", 2, 10, 8, 1000, 0.9, 0.5, 10, metricsRegistry);
+    var pgException = mock(PgException.class);
+    when(pgException.getSqlState()).thenReturn("53300");
+
+    var result = limiter.execute(() -> Future.failedFuture(pgException));
+    limiter.execute(() -> Future.failedFuture(pgException));
+    limiter.execute(() -> Future.failedFuture(pgException));
+
+    assertTrue(result.failed());
+    assertEquals(2, limiter.getLimit());
+  }
+
+  @Test
+  void shouldNotDecreaseLimitOnDuplicateEvent() {
+    var limiter = new AdaptiveConcurrencyLimiter("test", 1, 10, 8, 1000, 0.9, 0.5, 10, metricsRegistry);
+    var pgException = mock(PgException.class);
+    when(pgException.getSqlState()).thenReturn("23505");
+
+    limiter.execute(() -> Future.failedFuture(pgException));
+
+    assertEquals(8, limiter.getLimit());
+  }
+
+  private Future<String> pendingTask(List<Promise<String>> promises) {
+    var promise = Promise.<String>promise();
+    promises.add(promise);
+    return promise.future();
+  }
+}
@@ -0,0 +1,100 @@
+package org.folio.verticle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@UnitTest
+@ExtendWith(VertxExtension.class)
+class BatchingRecordHandlerTest {
+
+  private static final String TOPIC = "folio.Default.diku.inventory.instance";
+
+  private final List<List<String>> handledBatches = new CopyOnWriteArrayList<>();
+  private final MetricsRegistry metricsRegistry = new MetricsRegistry(null, 0);
+
+  @Test
+  void shouldHandleBatchWhenMaxSizeReached(Vertx vertx, VertxTestContext ctx) {
+    var handler = new BatchingRecordHandler<>(vertx, this::handleBatch, 2, 60_000, metricsRegistry, "test");
+
+    Future.all(handler.handle(kafkaRecord(0, "1")), handler.handle(kafkaRecord(0, "2")))
+      .onComplete(ctx.succeeding(v -> ctx.verify(() -> {
+        assertEquals(List.of(List.of("1", "2")), handledBatches);
+        assertEquals(1, metricsRegistry.summary("test.batch.size").getCount());
+        assertEquals(2, metricsRegistry.summary("test.batch.size").getMax());
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldHandleBatchWhenLingerElapsed(Vertx vertx, VertxTestContext ctx) {
+    var handler = new BatchingRecordHandler<>(vertx, this::handleBatch, 10, 10, metricsRegistry, "test");
+
+    handler.handle(kafkaRecord(0, "1"))
+      .onComplete(ctx.succeeding(key -> ctx.verify(() -> {
+        assertEquals("1", key);
+        assertEquals(List.of(List.of("1")), handledBatches);
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldGroupRecordsByPartition(Vertx vertx, VertxTestContext ctx) {
+    var handler = new BatchingRecordHandler<>(vertx, this::handleBatch, 2, 60_000, metricsRegistry, "test");
+
+    Future.all(handler.handle(kafkaRecord(0, "1")), handler.handle(kafkaRecord(1, "2")),
+        handler.handle(kafkaRecord(0, "3")), handler.handle(kafkaRecord(1, "4")))
+      .onComplete(ctx.succeeding(v -> ctx.verify(() -> {
+        assertEquals(2, handledBatches.size());
+        assertTrue(handledBatches.contains(List.of("1", "3")));
+        assertTrue(handledBatches.contains(List.of("2", "4")));
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldFailAllRecordsWhenBatchFails(Vertx vertx, VertxTestContext ctx) {
+    BatchRecordHandler<String, String> failingHandler = records -> Future.failedFuture(new IllegalStateException("Error"));
+    var handler = new BatchingRecordHandler<>(vertx, failingHandler, 2, 60_000, metricsRegistry, "test");
+
+    var first = handler.handle(kafkaRecord(0, "1"));
+    var second = handler.handle(kafkaRecord(0, "2"));
+
+    Future.join(first, second)
+      .onComplete(ar -> ctx.verify(() -> {
+        assertTrue(first.failed());
+        assertTrue(second.failed());
+        ctx.completeNow();
+      }));
+  }
+
+  private Future<Void> handleBatch(List<KafkaConsumerRecord<String, String>> records) {
+    var keys = new ArrayList<String>();
+    records.forEach(kafkaRecord -> keys.add(kafkaRecord.key()));
+    handledBatches.add(keys);
+    return Future.succeededFuture();
+  }
+
+  @SuppressWarnings("unchecked")
+  private KafkaConsumerRecord<String, String> kafkaRecord(int partition, String key) {
+    KafkaConsumerRecord<String, String> kafkaRecord = mock(KafkaConsumerRecord.class);
+    when(kafkaRecord.topic()).thenReturn(TOPIC);
+    when(kafkaRecord.partition()).thenReturn(partition);
+    when(kafkaRecord.key()).thenReturn(key);
+    return kafkaRecord;
+  }
+}
@@ -0,0 +1,51 @@
+package org.folio.verticle;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import org.folio.kafka.KafkaConsumerWrapper;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class ConsumerPauseArbiterTest {
+
+  @SuppressWarnings("unchecked")
+  private final KafkaConsumerWrapper<String, String> consumerWrapper = mock(KafkaConsumerWrapper.class);
+  private final ConsumerPauseArbiter pauseArbiter = new ConsumerPauseArbiter("test", List.of(consumerWrapper));
+
+  @Test
+  void shouldPauseOnceForSeveralReasons() {
+    pauseArbiter.pause("in-flight-bytes");
+    pauseArbiter.pause("diff-queue");
+    pauseArbiter.pause("in-flight-bytes");
+
+    assertTrue(pauseArbiter.isPaused());
+    verify(consumerWrapper, times(1)).pause();
+  }
+
+  @Test
+  void shouldResumeOnlyWhenLastReasonIsRemoved() {
+    pauseArbiter.pause("in-flight-bytes");
+    pauseArbiter.pause("diff-queue");
+
+    pauseArbiter.resume("in-flight-bytes");
+    verify(consumerWrapper, never()).resume();
+
+    pauseArbiter.resume("diff-queue");
+    assertFalse(pauseArbiter.isPaused());
+    verify(consumerWrapper, times(1)).resume();
+  }
+
+  @Test
+  void shouldIgnoreResumeWithoutPause() {
+    pauseArbiter.resume("in-flight-bytes");
+
+    verify(consumerWrapper, never()).resume();
+  }
+}
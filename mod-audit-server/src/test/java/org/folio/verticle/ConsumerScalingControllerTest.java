@@ -0,0 +1,116 @@
+package org.folio.verticle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.consumer.impl.KafkaConsumerRecordImpl;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class ConsumerScalingControllerTest {
+
+  private static final String VERTICLE_NAME = "ItemConsumersVerticle";
+  private static final long SCALE_UP_LAG_MS = 60_000;
+  private static final long MAX_LATENCY_MS = 200;
+
+  @Mock
+  private Vertx vertx;
+
+  private final MetricsRegistry metricsRegistry = new MetricsRegistry(null, 0);
+  private final AtomicInteger deployments = new AtomicInteger();
+
+  private ConsumerScalingController controller;
+  private AsyncRecordHandler<String, String> handler;
+
+  @BeforeEach
+  void setUp() {
+    controller = new ConsumerScalingController(vertx, null, metricsRegistry, true, 1000, 2, SCALE_UP_LAG_MS, 5_000,
+      MAX_LATENCY_MS);
+    controller.register(VERTICLE_NAME,
+      () -> Future.succeededFuture("deployment-" + deployments.incrementAndGet()));
+    handler = controller.getStats(VERTICLE_NAME).wrap(kafkaConsumerRecord -> Future.succeededFuture("key"));
+  }
+
+  @Test
+  void shouldDeployExtraInstancesUpToLimitWhenLagIsHigh() {
+    for (int i = 0; i < 3; i++) {
+      handler.handle(record(System.currentTimeMillis() - 2 * SCALE_UP_LAG_MS));
+      controller.evaluate();
+    }
+
+    assertEquals(2, deployments.get());
+    assertEquals(2L, metricsRegistry.counter("scaling.scale-ups").sum());
+    assertEquals(2, metricsRegistry.snapshot().get("scaling." + VERTICLE_NAME + ".extra-instances"));
+  }
+
+  @Test
+  void shouldNotDeployExtraInstanceWhenLatencyIsHigh() {
+    var slowHandler = controller.getStats(VERTICLE_NAME).<String, String>wrap(kafkaConsumerRecord -> {
+      sleep(MAX_LATENCY_MS + 100);
+      return Future.succeededFuture("key");
+    });
+    slowHandler.handle(record(System.currentTimeMillis() - 2 * SCALE_UP_LAG_MS));
+
+    controller.evaluate();
+
+    assertEquals(0, deployments.get());
+  }
+
+  @Test
+  void shouldUndeployLastExtraInstanceWhenLagDrops() {
+    when(vertx.undeploy("deployment-2")).thenReturn(Future.succeededFuture());
+    handler.handle(record(System.currentTimeMillis() - 2 * SCALE_UP_LAG_MS));
+    controller.evaluate();
+    handler.handle(record(System.currentTimeMillis() - 2 * SCALE_UP_LAG_MS));
+    controller.evaluate();
+
+    handler.handle(record(System.currentTimeMillis()));
+    controller.evaluate();
+
+    verify(vertx).undeploy("deployment-2");
+    assertEquals(1, metricsRegistry.snapshot().get("scaling." + VERTICLE_NAME + ".extra-instances"));
+  }
+
+  @Test
+  void shouldReportLoadSinceLastSnapshot() {
+    var stats = controller.getStats(VERTICLE_NAME);
+    handler.handle(record(System.currentTimeMillis() - 10_000));
+    handler.handle(record(System.currentTimeMillis() - 1_000));
+
+    var snapshot = stats.snapshot();
+
+    assertEquals(2, snapshot.records());
+    assertEquals(10_000, snapshot.maxLagMs(), 1_000);
+    assertEquals(0, stats.snapshot().records());
+  }
+
+  private KafkaConsumerRecord<String, String> record(long timestamp) {
+    return new KafkaConsumerRecordImpl<>(new ConsumerRecord<>("folio.diku.inventory.item", 0, 0, timestamp,
+      TimestampType.CREATE_TIME, -1, -1, "key", "{}", new RecordHeaders(), Optional.empty()));
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package org.folio.verticle;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.ThreadingModel;
+import io.vertx.core.Verticle;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Compares throughput and memory of consumer verticles deployed on a worker pool and on virtual threads.
+ * <p>
+ * Every simulated record is decoded from a JSON payload of the size of an inventory, MARC or user event and then
+ * waits for a simulated database round trip, the verticle keeps up to {@code loadLimit} records in flight like
+ * the kafka consumer wrapper does. The class is not picked up by surefire, run it with its {@code main} method:
+ * {@code java -cp <test classpath> org.folio.verticle.ConsumerThreadingModelBenchmark [records] [dbLatencyMs]}.
+ */
+public class ConsumerThreadingModelBenchmark {
+
+  private static final int INSTANCES = 11;
+  private static final int POOL_SIZE = 5;
+  private static final int LOAD_LIMIT = 5;
+  private static final List<String> PAYLOADS = List.of(payload(2_000), payload(20_000), payload(500));
+
+  public static void main(String[] args) throws Exception {
+    int records = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+    long dbLatencyMs = args.length > 1 ? Long.parseLong(args[1]) : 5;
+
+    // warm up both models before measuring
+    run(ThreadingModel.WORKER, records / 10, dbLatencyMs);
+    run(ThreadingModel.VIRTUAL_THREAD, records / 10, dbLatencyMs);
+
+    for (var threadingModel : List.of(ThreadingModel.WORKER, ThreadingModel.VIRTUAL_THREAD)) {
+      var result = run(threadingModel, records, dbLatencyMs);
+      System.out.printf("%-15s records: %d, throughput: %.0f records/s, heap used: %d KB, live threads: %d%n",
+        threadingModel, records, result.throughput(), result.heapUsedKb(), result.liveThreads());
+    }
+  }
+
+  private static Result run(ThreadingModel threadingModel, int records, long dbLatencyMs) throws Exception {
+    var vertx = Vertx.vertx();
+    try {
+      var recordsPerInstance = records / INSTANCES;
+      var options = new DeploymentOptions().setThreadingModel(threadingModel).setInstances(INSTANCES);
+      if (threadingModel == ThreadingModel.WORKER) {
+        options.setWorkerPoolSize(POOL_SIZE);
+      }
+      var completed = Promise.<Void>promise();
+      var remainingInstances = new AtomicInteger(INSTANCES);
+      var memoryBean = ManagementFactory.getMemoryMXBean();
+      System.gc();
+      var heapBefore = memoryBean.getHeapMemoryUsage().getUsed();
+      var peakThreads = new AtomicInteger();
+      var start = System.nanoTime();
+
+      Supplier<Verticle> verticleSupplier = () -> new SimulatedConsumerVerticle(recordsPerInstance, dbLatencyMs, () -> {
+        peakThreads.accumulateAndGet(ManagementFactory.getThreadMXBean().getThreadCount(), Math::max);
+        if (remainingInstances.decrementAndGet() == 0) {
+          completed.tryComplete();
+        }
+      });
+      vertx.deployVerticle(verticleSupplier, options).toCompletionStage().toCompletableFuture().get(1, TimeUnit.MINUTES);
+      completed.future().toCompletionStage().toCompletableFuture().get(10, TimeUnit.MINUTES);
+
+      var elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000d;
+      var heapUsedKb = (memoryBean.getHeapMemoryUsage().getUsed() - heapBefore) / 1024;
+      return new Result(recordsPerInstance * INSTANCES / elapsedSeconds, heapUsedKb, peakThreads.get());
+    } finally {
+      vertx.close().toCompletionStage().toCompletableFuture().get(1, TimeUnit.MINUTES);
+    }
+  }
+
+  private static String payload(int size) {
+    var value = "x".repeat(size);
+    return new JsonObject().put("id", "00000000-0000-0000-0000-000000000001").put("value", value).encode();
+  }
+
+  private record Result(double throughput, long heapUsedKb, int liveThreads) { }
+
+  private static class SimulatedConsumerVerticle extends AbstractVerticle {
+
+    private final int records;
+    private final long dbLatencyMs;
+    private final Runnable onCompleted;
+    private int started;
+    private int finished;
+
+    SimulatedConsumerVerticle(int records, long dbLatencyMs, Runnable onCompleted) {
+      this.records = records;
+      this.dbLatencyMs = dbLatencyMs;
+      this.onCompleted = onCompleted;
+    }
+
+    @Override
+    public void start() {
+      for (int i = 0; i < LOAD_LIMIT && started < records; i++) {
+        next();
+      }
+    }
+
+    private void next() {
+      var payload = PAYLOADS.get(started++ % PAYLOADS.size());
+      handle(payload).onComplete(ar -> {
+        if (++finished == records) {
+          onCompleted.run();
+        } else if (started < records) {
+          next();
+        }
+      });
+    }
+
+    private Future<String> handle(String payload) {
+      var id = new JsonObject(payload).getString("id");
+      return vertx.timer(dbLatencyMs).map(id);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package org.folio.verticle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.producer.KafkaHeader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.folio.services.dedup.RecentEventIdFilter;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class DeduplicatingRecordHandlerTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final String KEY = "key";
+
+  private RecentEventIdFilter filter;
+  private AtomicInteger calls;
+
+  @BeforeEach
+  void setUp() {
+    filter = new RecentEventIdFilter(new MetricsRegistry(null, 0), 100);
+    calls = new AtomicInteger();
+  }
+
+  @Test
+  void shouldSkipRecentlyProcessedEvent() {
+    var handler = DeduplicatingRecordHandler.of(consumerRecord -> {
+      calls.incrementAndGet();
+      return Future.succeededFuture(KEY);
+    }, filter, "eventId");
+    var eventId = UUID.randomUUID();
+
+    assertTrue(handler.handle(record(TENANT_ID, eventId)).succeeded());
+    var result = handler.handle(record(TENANT_ID, eventId));
+
+    assertTrue(result.succeeded());
+    assertEquals(KEY, result.result());
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  void shouldKeepEventsOfTenantsApart() {
+    var handler = DeduplicatingRecordHandler.of(consumerRecord -> {
+      calls.incrementAndGet();
+      return Future.succeededFuture(KEY);
+    }, filter, "eventId");
+    var eventId = UUID.randomUUID();
+
+    handler.handle(record(TENANT_ID, eventId));
+    handler.handle(record("college", eventId));
+
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  void shouldNotRememberFailedEvent() {
+    var handler = DeduplicatingRecordHandler.of(consumerRecord -> {
+      calls.incrementAndGet();
+      return Future.failedFuture(new IllegalStateException("failed"));
+    }, filter, "eventId");
+    var eventId = UUID.randomUUID();
+
+    handler.handle(record(TENANT_ID, eventId));
+    var result = handler.handle(record(TENANT_ID, eventId));
+
+    assertTrue(result.failed());
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  void shouldPassRecordWithoutEventId() {
+    var handler = DeduplicatingRecordHandler.of(consumerRecord -> {
+      calls.incrementAndGet();
+      return Future.succeededFuture(KEY);
+    }, filter, "eventId");
+    var consumerRecord = record(TENANT_ID, "{\"entityId\":\"" + UUID.randomUUID() + "\"}");
+
+    handler.handle(consumerRecord);
+    handler.handle(consumerRecord);
+
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  void shouldHandleOnlyNotProcessedRecordsOfBatch() {
+    var batches = new ArrayList<List<KafkaConsumerRecord<String, String>>>();
+    var handler = DeduplicatingRecordHandler.ofBatch(records -> {
+      batches.add(records);
+      return Future.succeededFuture();
+    }, filter, "eventId");
+    var processed = record(TENANT_ID, UUID.randomUUID());
+    var notProcessed = record(TENANT_ID, UUID.randomUUID());
+
+    handler.handleBatch(List.of(processed));
+    var result = handler.handleBatch(List.of(processed, notProcessed));
+
+    assertTrue(result.succeeded());
+    assertEquals(List.of(List.of(processed), List.of(notProcessed)), batches);
+  }
+
+  private static KafkaConsumerRecord<String, String> record(String tenantId, UUID eventId) {
+    return record(tenantId, "{\"entityId\":\"" + UUID.randomUUID() + "\",\"eventId\":\"" + eventId + "\"}");
+  }
+
+  @SuppressWarnings("unchecked")
+  private static KafkaConsumerRecord<String, String> record(String tenantId, String value) {
+    KafkaConsumerRecord<String, String> consumerRecord = mock(KafkaConsumerRecord.class);
+    when(consumerRecord.headers()).thenReturn(List.of(KafkaHeader.header("X-Okapi-Tenant", tenantId)));
+    when(consumerRecord.value()).thenReturn(value);
+    when(consumerRecord.key()).thenReturn(KEY);
+    return consumerRecord;
+  }
+}
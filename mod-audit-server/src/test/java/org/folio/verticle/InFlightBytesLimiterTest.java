@@ -0,0 +1,73 @@
+package org.folio.verticle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class InFlightBytesLimiterTest {
+
+  private final AtomicInteger pauses = new AtomicInteger();
+  private final AtomicInteger resumes = new AtomicInteger();
+  private final List<Promise<String>> started = new ArrayList<>();
+  private final InFlightBytesLimiter limiter = new InFlightBytesLimiter("test", 100,
+    pauses::incrementAndGet, resumes::incrementAndGet, new MetricsRegistry(null, 0));
+
+  @Test
+  void shouldHoldTasksAndPauseWhenBudgetExhausted() {
+    limiter.execute(60, this::pendingTask);
+    var second = limiter.execute(60, this::pendingTask);
+
+    assertEquals(1, started.size());
+    assertEquals(60, limiter.getInFlightBytes());
+    assertEquals(1, pauses.get());
+    assertFalse(second.isComplete());
+
+    started.get(0).complete("done");
+
+    assertEquals(2, started.size());
+    assertEquals(60, limiter.getInFlightBytes());
+    assertEquals(0, resumes.get());
+
+    started.get(1).complete("done");
+
+    assertTrue(second.succeeded());
+    assertEquals(0, limiter.getInFlightBytes());
+    assertEquals(1, resumes.get());
+  }
+
+  @Test
+  void shouldStartOversizedTaskWhenNothingInFlight() {
+    var result = limiter.execute(500, () -> Future.succeededFuture("done"));
+
+    assertTrue(result.succeeded());
+    assertEquals(0, limiter.getInFlightBytes());
+    assertEquals(1, pauses.get());
+    assertEquals(1, resumes.get());
+  }
+
+  @Test
+  void shouldReleaseBytesWhenTaskFails() {
+    var result = limiter.execute(50, () -> {
+      throw new IllegalStateException("Error");
+    });
+
+    assertTrue(result.failed());
+    assertEquals(0, limiter.getInFlightBytes());
+  }
+
+  private Future<String> pendingTask() {
+    var promise = Promise.<String>promise();
+    started.add(promise);
+    return promise.future();
+  }
+}
@@ -0,0 +1,113 @@
+package org.folio.verticle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class KeyOrderedRecordHandlerTest {
+
+  private static final String TOPIC = "folio.Default.diku.inventory.instance";
+
+  private final Map<Long, Promise<String>> pending = new HashMap<>();
+  private final List<Long> started = new CopyOnWriteArrayList<>();
+  private final AsyncRecordHandler<String, String> delegate = kafkaRecord -> {
+    var promise = Promise.<String>promise();
+    started.add(kafkaRecord.offset());
+    pending.put(kafkaRecord.offset(), promise);
+    return promise.future();
+  };
+  private final KeyOrderedRecordHandler<String, String> handler =
+    new KeyOrderedRecordHandler<>(delegate, new MetricsRegistry(null, 0), "test");
+
+  @Test
+  void shouldProcessDifferentKeysConcurrently() {
+    handler.handle(kafkaRecord(0, "a"));
+    handler.handle(kafkaRecord(1, "b"));
+
+    assertEquals(List.of(0L, 1L), started);
+  }
+
+  @Test
+  void shouldKeepOrderForSameKey() {
+    handler.handle(kafkaRecord(0, "a"));
+    handler.handle(kafkaRecord(1, "a"));
+
+    assertEquals(List.of(0L), started);
+
+    pending.get(0L).complete("a");
+
+    assertEquals(List.of(0L, 1L), started);
+  }
+
+  @Test
+  void shouldProcessNextRecordWithSameKeyWhenPreviousFailed() {
+    var first = handler.handle(kafkaRecord(0, "a"));
+    handler.handle(kafkaRecord(1, "a"));
+
+    pending.get(0L).fail(new IllegalStateException("Error"));
+
+    assertTrue(first.failed());
+    assertEquals(List.of(0L, 1L), started);
+  }
+
+  @Test
+  void shouldCompleteRecordsInOffsetOrder() {
+    var first = handler.handle(kafkaRecord(0, "a"));
+    var second = handler.handle(kafkaRecord(1, "b"));
+
+    pending.get(1L).complete("b");
+
+    assertFalse(second.isComplete());
+
+    pending.get(0L).complete("a");
+
+    assertTrue(first.succeeded());
+    assertTrue(second.succeeded());
+    assertEquals("b", second.result());
+  }
+
+  @Test
+  void shouldNotOrderRecordsWithoutKey() {
+    handler.handle(kafkaRecord(0, null));
+    handler.handle(kafkaRecord(1, null));
+
+    assertEquals(List.of(0L, 1L), started);
+  }
+
+  @Test
+  void shouldReportFailureOfDelegateException() {
+    AsyncRecordHandler<String, String> failingDelegate = kafkaRecord -> {
+      throw new IllegalStateException("Error");
+    };
+    var failingHandler = new KeyOrderedRecordHandler<>(failingDelegate, new MetricsRegistry(null, 0), "test");
+
+    Future<String> result = failingHandler.handle(kafkaRecord(0, "a"));
+
+    assertTrue(result.failed());
+  }
+
+  @SuppressWarnings("unchecked")
+  private KafkaConsumerRecord<String, String> kafkaRecord(long offset, String key) {
+    KafkaConsumerRecord<String, String> kafkaRecord = mock(KafkaConsumerRecord.class);
+    lenient().when(kafkaRecord.topic()).thenReturn(TOPIC);
+    lenient().when(kafkaRecord.partition()).thenReturn(0);
+    lenient().when(kafkaRecord.offset()).thenReturn(offset);
+    lenient().when(kafkaRecord.key()).thenReturn(key);
+    return kafkaRecord;
+  }
+}
@@ -0,0 +1,150 @@
+package org.folio.verticle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.kafka.client.common.TopicPartition;
+import io.vertx.kafka.client.consumer.KafkaConsumer;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.consumer.OffsetAndMetadata;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.folio.kafka.AsyncRecordHandler;
+import org.folio.utils.UnitTest;
+import org.folio.verticle.MultiplexedKafkaConsumer.TopicQuota;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class MultiplexedKafkaConsumerTest {
+
+  private static final String INSTANCE_TOPIC = "folio.diku.inventory.instance";
+  private static final String HOLDINGS_TOPIC = "folio.diku.inventory.holdings-record";
+  private static final TopicPartition INSTANCE_PARTITION = new TopicPartition(INSTANCE_TOPIC, 0);
+  private static final TopicPartition HOLDINGS_PARTITION = new TopicPartition(HOLDINGS_TOPIC, 0);
+  private static final List<TopicQuota> TOPIC_QUOTAS = List.of(
+    new TopicQuota(Pattern.compile("(folio\\.)(.*\\.)inventory\\.instance"), 1),
+    new TopicQuota(Pattern.compile("(folio\\.)(.*\\.)inventory\\.holdings-record"), 5));
+
+  @Mock
+  private Context context;
+  @Mock
+  private KafkaConsumer<String, String> consumer;
+  @Mock
+  private AsyncRecordHandler<String, String> handler;
+
+  private final Map<Long, Promise<String>> results = new HashMap<>();
+  private Handler<KafkaConsumerRecord<String, String>> recordHandler;
+  private MultiplexedKafkaConsumer multiplexedConsumer;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    lenient().doAnswer(invocation -> {
+      invocation.<Handler<Void>>getArgument(0).handle(null);
+      return null;
+    }).when(context).runOnContext(any());
+    when(consumer.subscribe(any(Pattern.class))).thenReturn(Future.succeededFuture());
+    lenient().when(consumer.pause(anySet())).thenReturn(Future.succeededFuture());
+    lenient().when(consumer.resume(anySet())).thenReturn(Future.succeededFuture());
+    lenient().when(consumer.commit(anyMap())).thenReturn(Future.succeededFuture(Map.of()));
+    lenient().when(handler.handle(any())).thenAnswer(invocation -> {
+      Promise<String> promise = Promise.promise();
+      results.put(invocation.<KafkaConsumerRecord<String, String>>getArgument(0).offset(), promise);
+      return promise.future();
+    });
+
+    multiplexedConsumer = new MultiplexedKafkaConsumer(context, consumer, handler, TOPIC_QUOTAS);
+    multiplexedConsumer.start();
+
+    var recordHandlerCaptor = ArgumentCaptor.<Handler<KafkaConsumerRecord<String, String>>>forClass(Handler.class);
+    verify(consumer).handler(recordHandlerCaptor.capture());
+    recordHandler = recordHandlerCaptor.getValue();
+    var assignedHandlerCaptor = ArgumentCaptor.<Handler<Set<TopicPartition>>>forClass(Handler.class);
+    verify(consumer).partitionsAssignedHandler(assignedHandlerCaptor.capture());
+    assignedHandlerCaptor.getValue().handle(Set.of(INSTANCE_PARTITION, HOLDINGS_PARTITION));
+  }
+
+  @Test
+  void shouldSubscribeToTopicsOfAllEvents() {
+    var pattern = MultiplexedKafkaConsumer.subscriptionPattern(TOPIC_QUOTAS);
+
+    verify(consumer).subscribe(argThat((Pattern subscribed) -> subscribed.pattern().equals(pattern.pattern())));
+    assertTrue(pattern.matcher(INSTANCE_TOPIC).matches());
+    assertTrue(pattern.matcher(HOLDINGS_TOPIC).matches());
+    assertFalse(pattern.matcher("folio.diku.users").matches());
+  }
+
+  @Test
+  void shouldPauseOnlyPartitionsOfTopicThatReachedItsQuota() {
+    recordHandler.handle(kafkaRecord(INSTANCE_TOPIC, 0));
+    recordHandler.handle(kafkaRecord(HOLDINGS_TOPIC, 1));
+
+    verify(consumer).pause(Set.of(INSTANCE_PARTITION));
+    verify(consumer, never()).pause(Set.of(HOLDINGS_PARTITION));
+
+    results.get(0L).complete("key");
+
+    verify(consumer).resume(Set.of(INSTANCE_PARTITION));
+  }
+
+  @Test
+  void shouldKeepTopicThatReachedItsQuotaPausedWhenConsumerIsResumed() {
+    recordHandler.handle(kafkaRecord(INSTANCE_TOPIC, 0));
+
+    multiplexedConsumer.pause();
+    multiplexedConsumer.resume();
+
+    verify(consumer).pause(Set.of(INSTANCE_PARTITION, HOLDINGS_PARTITION));
+    verify(consumer).resume(Set.of(HOLDINGS_PARTITION));
+    verify(consumer, never()).resume(Set.of(INSTANCE_PARTITION));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldCommitOffsetAfterLastProcessedRecordOfPartition() {
+    recordHandler.handle(kafkaRecord(HOLDINGS_TOPIC, 10));
+    recordHandler.handle(kafkaRecord(HOLDINGS_TOPIC, 11));
+
+    results.get(11L).complete("key");
+    verify(consumer, never()).commit(anyMap());
+
+    results.get(10L).fail(new IllegalStateException("error"));
+
+    var commitCaptor = ArgumentCaptor.<Map<TopicPartition, OffsetAndMetadata>>forClass(Map.class);
+    verify(consumer, times(1)).commit(commitCaptor.capture());
+    assertEquals(12L, commitCaptor.getValue().get(HOLDINGS_PARTITION).getOffset());
+  }
+
+  @SuppressWarnings("unchecked")
+  private KafkaConsumerRecord<String, String> kafkaRecord(String topic, long offset) {
+    KafkaConsumerRecord<String, String> kafkaConsumerRecord = mock(KafkaConsumerRecord.class);
+    when(kafkaConsumerRecord.topic()).thenReturn(topic);
+    when(kafkaConsumerRecord.partition()).thenReturn(0);
+    when(kafkaConsumerRecord.offset()).thenReturn(offset);
+    return kafkaConsumerRecord;
+  }
+}
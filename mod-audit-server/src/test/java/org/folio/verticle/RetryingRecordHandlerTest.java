@@ -0,0 +1,79 @@
+package org.folio.verticle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import org.folio.services.retry.FailedEventPublisher;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class RetryingRecordHandlerTest {
+
+  private static final String KEY = "key";
+
+  @Mock
+  private FailedEventPublisher failedEventPublisher;
+  @Mock
+  private KafkaConsumerRecord<String, String> kafkaConsumerRecord;
+
+  @Test
+  void shouldNotPublishSucceededRecord() {
+    var handler = new RetryingRecordHandler(consumerRecord -> Future.succeededFuture(KEY), failedEventPublisher);
+
+    var result = handler.handle(kafkaConsumerRecord);
+
+    assertTrue(result.succeeded());
+    verifyNoInteractions(failedEventPublisher);
+  }
+
+  @Test
+  void shouldPublishFailedRecord() {
+    var error = new IllegalStateException("failed");
+    when(kafkaConsumerRecord.key()).thenReturn(KEY);
+    when(failedEventPublisher.publish(kafkaConsumerRecord, error)).thenReturn(Future.succeededFuture());
+    var handler = new RetryingRecordHandler(consumerRecord -> Future.failedFuture(error), failedEventPublisher);
+
+    var result = handler.handle(kafkaConsumerRecord);
+
+    assertTrue(result.succeeded());
+    assertEquals(KEY, result.result());
+    verify(failedEventPublisher).publish(kafkaConsumerRecord, error);
+  }
+
+  @Test
+  void shouldPublishRecordThatFailedToDecode() {
+    var error = new IllegalArgumentException("poison record");
+    when(failedEventPublisher.publish(kafkaConsumerRecord, error)).thenReturn(Future.succeededFuture());
+    var handler = new RetryingRecordHandler(consumerRecord -> {
+      throw error;
+    }, failedEventPublisher);
+
+    var result = handler.handle(kafkaConsumerRecord);
+
+    assertTrue(result.succeeded());
+  }
+
+  @Test
+  void shouldFailRecordInPlaceWhenPublishingFails() {
+    var error = new IllegalStateException("failed");
+    when(failedEventPublisher.publish(any(), any())).thenReturn(Future.failedFuture("kafka is not available"));
+    var handler = new RetryingRecordHandler(consumerRecord -> Future.failedFuture(error), failedEventPublisher);
+
+    var result = handler.handle(kafkaConsumerRecord);
+
+    assertTrue(result.failed());
+    assertSame(error, result.cause());
+  }
+}
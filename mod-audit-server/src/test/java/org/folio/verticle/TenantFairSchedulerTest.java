@@ -0,0 +1,135 @@
+package org.folio.verticle;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.folio.util.metrics.MetricsRegistry;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class TenantFairSchedulerTest {
+
+  private final Vertx vertx = Vertx.vertx();
+  private final MetricsRegistry metricsRegistry = new MetricsRegistry(null, 0);
+
+  @AfterEach
+  void tearDown() {
+    vertx.close();
+  }
+
+  @Test
+  void shouldQueueTasksAboveMaxInFlight() {
+    var scheduler = createScheduler(2, Map.of(), Map.of());
+    var promises = new ArrayList<Promise<String>>();
+
+    var futures = List.of(scheduler.execute("diku", () -> pendingTask(promises)),
+      scheduler.execute("diku", () -> pendingTask(promises)),
+      scheduler.execute("college", () -> pendingTask(promises)));
+
+    assertEquals(2, promises.size());
+    assertEquals(1, scheduler.getWaiting());
+
+    promises.get(0).complete("done");
+
+    assertTrue(futures.get(0).succeeded());
+    assertEquals(3, promises.size());
+    assertFalse(futures.get(2).isComplete());
+    assertEquals(1, metricsRegistry.summary("fair-scheduler.college.wait-ms").getCount());
+  }
+
+  @Test
+  void shouldNotShareSlotsBetweenLanes() {
+    var scheduler = new TenantFairScheduler(vertx, metricsRegistry, true, 100, Map.of(), Map.of());
+    var busyLane = scheduler.createLane("BusyVerticle", 1);
+    var otherLane = scheduler.createLane("OtherVerticle", 1);
+    var promises = new ArrayList<Promise<String>>();
+
+    busyLane.execute("diku", () -> pendingTask(promises));
+    busyLane.execute("diku", () -> pendingTask(promises));
+    otherLane.execute("diku", () -> pendingTask(promises));
+
+    assertEquals(2, promises.size());
+    assertEquals(1, busyLane.getWaiting());
+    assertEquals(0, otherLane.getWaiting());
+    assertEquals(1, metricsRegistry.snapshot().get("fair-scheduler.BusyVerticle.waiting"));
+    assertEquals(100, scheduler.getMaxQueued());
+  }
+
+  @Test
+  void shouldAlternateTenantsWithEqualWeights() {
+    var scheduler = createScheduler(1, Map.of(), Map.of());
+    var blocker = Promise.<String>promise();
+    var order = new ArrayList<String>();
+    scheduler.execute("large", blocker::future);
+    for (int i = 0; i < 3; i++) {
+      scheduler.execute("large", () -> completedTask(order, "large"));
+    }
+    scheduler.execute("small", () -> completedTask(order, "small"));
+
+    blocker.complete("done");
+
+    assertEquals(List.of("small", "large", "large", "large"), order);
+  }
+
+  @Test
+  void shouldShareSlotsByWeight() {
+    var scheduler = createScheduler(1, Map.of("large", 2), Map.of());
+    var blocker = Promise.<String>promise();
+    var order = new ArrayList<String>();
+    scheduler.execute("large", blocker::future);
+    for (int i = 0; i < 30; i++) {
+      scheduler.execute("large", () -> completedTask(order, "large"));
+      scheduler.execute("small", () -> completedTask(order, "small"));
+    }
+
+    blocker.complete("done");
+
+    var firstThirty = order.subList(0, 30);
+    var large = firstThirty.stream().filter("large"::equals).count();
+    assertTrue(large >= 19 && large <= 21, "large tenant got " + large + " of 30 slots");
+  }
+
+  @Test
+  void shouldCapTenantRate() {
+    var scheduler = createScheduler(10, Map.of(), Map.of("diku", 2));
+    var order = new CopyOnWriteArrayList<String>();
+
+    for (int i = 0; i < 3; i++) {
+      scheduler.execute("diku", () -> completedTask(order, "diku"));
+    }
+    scheduler.execute("college", () -> completedTask(order, "college"));
+
+    assertEquals(List.of("diku", "diku", "college"), order);
+    assertEquals(1, scheduler.getWaiting());
+    await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> assertEquals(4, order.size()));
+  }
+
+  private TenantFairScheduler.Lane createScheduler(int maxInFlight, Map<String, Integer> weights,
+                                                   Map<String, Integer> rateLimits) {
+    return new TenantFairScheduler(vertx, metricsRegistry, true, 100, weights, rateLimits)
+      .createLane("TestVerticle", maxInFlight);
+  }
+
+  private Future<String> pendingTask(List<Promise<String>> promises) {
+    var promise = Promise.<String>promise();
+    promises.add(promise);
+    return promise.future();
+  }
+
+  private Future<String> completedTask(List<String> order, String tenantId) {
+    order.add(tenantId);
+    return Future.succeededFuture(tenantId);
+  }
+}
@@ -0,0 +1,63 @@
+package org.folio.verticle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.folio.utils.UnitTest;
+import org.folio.verticle.TopicRoutingRecordHandler.TopicRoute;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class TopicRoutingRecordHandlerTest {
+
+  private static final String INSTANCE_TOPIC = "folio.diku.inventory.instance";
+  private static final String USER_TOPIC = "folio.diku.users";
+
+  @Test
+  void shouldRouteRecordsByTopic() {
+    var instanceRecords = new ArrayList<String>();
+    var userRecords = new ArrayList<String>();
+    var handler = new TopicRoutingRecordHandler(List.of(
+      route("inventory.instance", "(folio\\.)(.*\\.)inventory\\.instance", instanceRecords),
+      route("users", "(folio\\.)(.*\\.)users", userRecords)));
+
+    handler.handle(kafkaRecord(INSTANCE_TOPIC, "1"));
+    handler.handle(kafkaRecord(USER_TOPIC, "2"));
+    handler.handle(kafkaRecord(INSTANCE_TOPIC, "3"));
+
+    assertEquals(List.of("1", "3"), instanceRecords);
+    assertEquals(List.of("2"), userRecords);
+  }
+
+  @Test
+  void shouldFailRecordOfUnknownTopic() {
+    var handler = new TopicRoutingRecordHandler(List.of(
+      route("users", "(folio\\.)(.*\\.)users", new ArrayList<>())));
+
+    var result = handler.handle(kafkaRecord("folio.diku.inventory.item", "1"));
+
+    assertTrue(result.failed());
+  }
+
+  private TopicRoute route(String name, String pattern, List<String> handledRecords) {
+    return new TopicRoute(name, Pattern.compile(pattern), kafkaConsumerRecord -> {
+      handledRecords.add(kafkaConsumerRecord.value());
+      return Future.succeededFuture(kafkaConsumerRecord.key());
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  private KafkaConsumerRecord<String, String> kafkaRecord(String topic, String value) {
+    KafkaConsumerRecord<String, String> kafkaConsumerRecord = mock(KafkaConsumerRecord.class);
+    when(kafkaConsumerRecord.topic()).thenReturn(topic);
+    when(kafkaConsumerRecord.value()).thenReturn(value);
+    return kafkaConsumerRecord;
+  }
+}
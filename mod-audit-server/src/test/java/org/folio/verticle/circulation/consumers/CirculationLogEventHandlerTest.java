@@ -0,0 +1,128 @@
+package org.folio.verticle.circulation.consumers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.consumer.impl.KafkaConsumerRecordImpl;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.folio.services.circulation.CirculationLogService;
+import org.folio.util.circulation.CirculationLogEvent;
+import org.folio.utils.UnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith({VertxExtension.class, MockitoExtension.class})
+class CirculationLogEventHandlerTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final String OTHER_TENANT_ID = "college";
+  private static final String TOPIC = "folio.diku.circulation.log-record";
+
+  @Spy
+  private Vertx vertx = Vertx.vertx();
+
+  @Mock
+  private CirculationLogService circulationLogService;
+
+  @Captor
+  private ArgumentCaptor<List<CirculationLogEvent>> eventsCaptor;
+
+  private CirculationLogEventHandler handler;
+
+  @BeforeEach
+  void setUp() {
+    handler = new CirculationLogEventHandler(vertx, circulationLogService);
+  }
+
+  @Test
+  void shouldSaveLogRecordsOfEvent(VertxTestContext ctx) {
+    var kafkaRecord = buildKafkaConsumerRecord(TENANT_ID, 10, payload("CHECK_IN_EVENT").encode());
+    when(circulationLogService.saveLogRecords(anyList(), eq(TENANT_ID))).thenReturn(Future.succeededFuture());
+
+    handler.handle(kafkaRecord)
+      .onComplete(ctx.succeeding(id -> ctx.verify(() -> {
+        assertEquals(TOPIC + ":0:10", id);
+        verify(circulationLogService).saveLogRecords(eventsCaptor.capture(), eq(TENANT_ID));
+        var event = eventsCaptor.getValue().get(0);
+        assertEquals("CHECK_IN_EVENT", event.payload().getString("logEventType"));
+        assertEquals("http://localhost:8080", event.okapiHeaders().get("X-Okapi-Url"));
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldSkipEventThatCannotBeDecoded(VertxTestContext ctx) {
+    var kafkaRecord = buildKafkaConsumerRecord(TENANT_ID, 10, "{not a json");
+
+    handler.handle(kafkaRecord)
+      .onComplete(ctx.succeeding(id -> ctx.verify(() -> {
+        verify(circulationLogService, never()).saveLogRecords(any(), any());
+        ctx.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldFailWhenLogRecordsAreNotSaved(VertxTestContext ctx) {
+    var kafkaRecord = buildKafkaConsumerRecord(TENANT_ID, 10, payload("LOAN").encode());
+    when(circulationLogService.saveLogRecords(anyList(), eq(TENANT_ID)))
+      .thenReturn(Future.failedFuture(new RuntimeException("Error")));
+
+    handler.handle(kafkaRecord)
+      .onComplete(ctx.failing(cause -> ctx.completeNow()));
+  }
+
+  @Test
+  void shouldSaveLogRecordsOfBatchOncePerTenant(VertxTestContext ctx) {
+    var kafkaRecords = List.of(
+      buildKafkaConsumerRecord(TENANT_ID, 1, payload("CHECK_OUT_EVENT").encode()),
+      buildKafkaConsumerRecord(OTHER_TENANT_ID, 2, payload("REQUEST_CREATED_EVENT").encode()),
+      buildKafkaConsumerRecord(TENANT_ID, 3, "{not a json"),
+      buildKafkaConsumerRecord(TENANT_ID, 4, payload("LOAN").encode()));
+    when(circulationLogService.saveLogRecords(anyList(), any())).thenReturn(Future.succeededFuture());
+
+    handler.handleBatch(kafkaRecords)
+      .onComplete(ctx.succeeding(v -> ctx.verify(() -> {
+        verify(circulationLogService).saveLogRecords(eventsCaptor.capture(), eq(TENANT_ID));
+        assertEquals(List.of(TOPIC + ":0:1", TOPIC + ":0:4"),
+          eventsCaptor.getValue().stream().map(CirculationLogEvent::eventId).toList());
+        verify(circulationLogService).saveLogRecords(eventsCaptor.capture(), eq(OTHER_TENANT_ID));
+        assertEquals(1, eventsCaptor.getValue().size());
+        ctx.completeNow();
+      })));
+  }
+
+  private JsonObject payload(String logEventType) {
+    return new JsonObject()
+      .put("logEventType", logEventType)
+      .put("payload", new JsonObject().put("itemBarcode", "12345"));
+  }
+
+  private KafkaConsumerRecord<String, String> buildKafkaConsumerRecord(String tenantId, long offset, String value) {
+    var consumerRecord = new ConsumerRecord<>(TOPIC, 0, offset, "key", value);
+    consumerRecord.headers().add(new RecordHeader("x-okapi-tenant", tenantId.getBytes(StandardCharsets.UTF_8)));
+    consumerRecord.headers().add(new RecordHeader("x-okapi-url", "http://localhost:8080".getBytes(StandardCharsets.UTF_8)));
+    consumerRecord.headers().add(new RecordHeader("x-okapi-token", "token".getBytes(StandardCharsets.UTF_8)));
+    return new KafkaConsumerRecordImpl<>(consumerRecord);
+  }
+}
@@ -0,0 +1,104 @@
+package org.folio.verticle.retry.consumers;
+
+import static org.folio.util.retry.RetryUtils.ATTEMPT_HEADER;
+import static org.folio.util.retry.RetryUtils.NOT_BEFORE_HEADER;
+import static org.folio.util.retry.RetryUtils.ORIGINAL_TOPIC_HEADER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.consumer.impl.KafkaConsumerRecordImpl;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.folio.utils.UnitTest;
+import org.folio.verticle.TopicRoutingRecordHandler.TopicRoute;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class RetryEventsHandlerTest {
+
+  private static final String RETRY_TOPIC = "folio.Default.diku.AUDIT_RETRY_1";
+  private static final String ORIGINAL_TOPIC = "folio.diku.inventory.instance";
+
+  @Mock
+  private Vertx vertx;
+
+  private final List<String> handledTopics = new ArrayList<>();
+
+  @Test
+  void shouldRetryDueRecordRightAway() {
+    var handler = new RetryEventsHandler(vertx, List.of(route(Future.succeededFuture("key"))));
+
+    var result = handler.handle(retryRecord(System.currentTimeMillis() - 1));
+
+    assertTrue(result.succeeded());
+    assertEquals(List.of(ORIGINAL_TOPIC), handledTopics);
+    verifyNoInteractions(vertx);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldNotAcknowledgeRecordBeforeItIsDueAndRetried() {
+    var timerHandler = ArgumentCaptor.forClass(Handler.class);
+    when(vertx.setTimer(anyLong(), timerHandler.capture())).thenReturn(1L);
+    var handler = new RetryEventsHandler(vertx, List.of(route(Future.succeededFuture("key"))));
+
+    var result = handler.handle(retryRecord(System.currentTimeMillis() + 60_000));
+
+    assertFalse(result.isComplete());
+    assertTrue(handledTopics.isEmpty());
+
+    timerHandler.getValue().handle(1L);
+
+    assertTrue(result.succeeded());
+    assertEquals(List.of(ORIGINAL_TOPIC), handledTopics);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void shouldFailRecordWhenRetryFails() {
+    var timerHandler = ArgumentCaptor.forClass(Handler.class);
+    when(vertx.setTimer(anyLong(), timerHandler.capture())).thenReturn(1L);
+    var error = new IllegalStateException("failed");
+    var handler = new RetryEventsHandler(vertx, List.of(route(Future.failedFuture(error))));
+
+    var result = handler.handle(retryRecord(System.currentTimeMillis() + 60_000));
+    timerHandler.getValue().handle(1L);
+
+    assertTrue(result.failed());
+    assertEquals(error, result.cause());
+  }
+
+  private TopicRoute route(Future<String> result) {
+    return new TopicRoute("inventory.instance", Pattern.compile("(folio\\.)(.*\\.)inventory\\.instance"),
+      kafkaConsumerRecord -> {
+        handledTopics.add(kafkaConsumerRecord.topic());
+        return result;
+      });
+  }
+
+  private KafkaConsumerRecord<String, String> retryRecord(long notBefore) {
+    var consumerRecord = new ConsumerRecord<>(RETRY_TOPIC, 0, 0, "key", "value");
+    consumerRecord.headers().add(new RecordHeader(ORIGINAL_TOPIC_HEADER, ORIGINAL_TOPIC.getBytes(StandardCharsets.UTF_8)));
+    consumerRecord.headers().add(new RecordHeader(ATTEMPT_HEADER, "1".getBytes(StandardCharsets.UTF_8)));
+    consumerRecord.headers().add(new RecordHeader(NOT_BEFORE_HEADER,
+      String.valueOf(notBefore).getBytes(StandardCharsets.UTF_8)));
+    return new KafkaConsumerRecordImpl<>(consumerRecord);
+  }
+}
@@ -2,6 +2,7 @@ package org.folio.verticle.user.consumers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -19,8 +20,9 @@ import java.util.Map;
 import java.util.UUID;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.header.internals.RecordHeader;
-import org.folio.kafka.exception.DuplicateEventException;
 import org.folio.rest.util.OkapiConnectionParams;
+import org.folio.services.configuration.AuditEnabledCache;
+import org.folio.services.configuration.Setting;
 import org.folio.services.user.UserEventService;
 import org.folio.util.user.UserEvent;
 import org.folio.util.user.UserEventType;
@@ -44,12 +46,15 @@ class UserEventHandlerTest {
 
   @Mock
   private UserEventService userEventService;
+  @Mock
+  private AuditEnabledCache auditEnabledCache;
 
   private UserEventHandler userEventHandler;
 
   @BeforeEach
   void setUp() {
-    userEventHandler = new UserEventHandler(vertx, userEventService);
+    lenient().when(auditEnabledCache.isEnabled(any(), any())).thenReturn(Future.succeededFuture(true));
+    userEventHandler = new UserEventHandler(vertx, userEventService, auditEnabledCache);
   }
 
   @Test
@@ -68,26 +73,25 @@ class UserEventHandlerTest {
   }
 
   @Test
-  void shouldHandleDuplicateEvent(VertxTestContext ctx) {
-    var event = createUserEvent(UserEventType.CREATED);
+  void shouldHandleUnsupportedEvent(VertxTestContext ctx) {
+    var event = createUserEvent(UserEventType.UNKNOWN);
     var kafkaRecord = buildKafkaConsumerRecord(event);
 
-    when(userEventService.processEvent(any(), any()))
-      .thenReturn(Future.failedFuture(new DuplicateEventException("Duplicate event")));
-
     userEventHandler.handle(kafkaRecord)
       .onComplete(ctx.succeeding(id -> {
         assertEquals(event.getId(), id);
-        verify(userEventService, times(1)).processEvent(any(), any());
+        verify(userEventService, never()).processEvent(any(), any());
         ctx.completeNow();
       }));
   }
 
   @Test
-  void shouldHandleUnsupportedEvent(VertxTestContext ctx) {
-    var event = createUserEvent(UserEventType.UNKNOWN);
+  void shouldSkipEventIfAuditIsDisabledForTenant(VertxTestContext ctx) {
+    var event = createUserEvent(UserEventType.UPDATED);
     var kafkaRecord = buildKafkaConsumerRecord(event);
 
+    when(auditEnabledCache.isEnabled(Setting.USER_RECORDS_ENABLED, TENANT_ID)).thenReturn(Future.succeededFuture(false));
+
     userEventHandler.handle(kafkaRecord)
       .onComplete(ctx.succeeding(id -> {
         assertEquals(event.getId(), id);